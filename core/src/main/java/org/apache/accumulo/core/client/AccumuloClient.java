@@ -254,6 +254,53 @@ public interface AccumuloClient extends AutoCloseable {
    */
   ConditionalWriter createConditionalWriter(String tableName) throws TableNotFoundException;
 
+  /**
+   * Factory method to create an AsyncScanner connected to Accumulo. This method uses the number of
+   * query threads configured when AccumuloClient was created. If none were configured, defaults
+   * will be used.
+   *
+   * @param tableName the name of the table to query
+   * @param authorizations A set of authorization labels that will be checked against the column
+   *        visibility of each key in order to filter data. The authorizations passed in must be a
+   *        subset of the accumulo user's set of authorizations. If the accumulo user has
+   *        authorizations (A1, A2) and authorizations (A2, A3) are passed, then an exception will
+   *        be thrown.
+   * @param maxQueuedReads the maximum number of reads that may be waiting to be sent
+   *
+   * @return AsyncScanner object for reading ranges without blocking
+   * @throws TableNotFoundException when the specified table doesn't exist
+   *
+   * @throws UnsupportedOperationException when the client does not support async scanners
+   *
+   * @since 4.0.0
+   */
+  default AsyncScanner createAsyncScanner(String tableName, Authorizations authorizations,
+      int maxQueuedReads) throws TableNotFoundException {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Factory method to create an AsyncBatchWriter connected to Accumulo.
+   *
+   * @param tableName the name of the table to insert data into
+   * @param config configuration used to create the underlying batch writer. This config will take
+   *        precedence. Any unset values will be merged with the config set when the AccumuloClient
+   *        was created. If no config was set during AccumuloClient creation, BatchWriterConfig
+   *        defaults will be used.
+   * @param maxQueuedMutations the maximum number of mutations that may be waiting to be written
+   *
+   * @return AsyncBatchWriter object for writing data without blocking
+   * @throws TableNotFoundException when the specified table doesn't exist
+   *
+   * @throws UnsupportedOperationException when the client does not support async batch writers
+   *
+   * @since 4.0.0
+   */
+  default AsyncBatchWriter createAsyncBatchWriter(String tableName, BatchWriterConfig config,
+      int maxQueuedMutations) throws TableNotFoundException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Get the current user for this AccumuloClient
    *
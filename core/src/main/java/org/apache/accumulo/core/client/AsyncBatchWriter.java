@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.accumulo.core.data.Mutation;
+
+/**
+ * Sends Mutations to a single Table in Accumulo without blocking the calling thread.
+ * <p>
+ * Mutations added by any number of threads are queued and written by a {@link BatchWriter} in
+ * batches. The future for a mutation completes once the batch containing it has been flushed, so
+ * many threads waiting for their writes to be durable share each flush. The number of mutations
+ * that may be queued is bounded. Once the bound is reached, the futures of new mutations complete
+ * exceptionally with a {@link java.util.concurrent.RejectedExecutionException} until queued
+ * mutations are written.
+ * <p>
+ * In the event that the future of a mutation completes with a {@link MutationsRejectedException},
+ * the futures of all later mutations will also complete with it and the user should close the
+ * current instance and create a new instance.
+ *
+ * @since 4.0.0
+ */
+public interface AsyncBatchWriter extends AutoCloseable {
+
+  /**
+   * Queues one mutation to write.
+   * <p>
+   * Cancelling the returned future before the mutation is given to the batch writer prevents it
+   * from being written. Cancelling it later has no effect on the write.
+   *
+   * @param m the mutation to add
+   * @return a future that completes when the mutation has been written
+   */
+  CompletableFuture<Void> addMutation(Mutation m);
+
+  /**
+   * Writes any queued mutations and releases any resources.
+   *
+   * @throws MutationsRejectedException this could be thrown because current or previous mutations
+   *         failed
+   */
+  @Override
+  void close() throws MutationsRejectedException;
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+
+/**
+ * Reads ranges of a single table without blocking the calling thread.
+ * <p>
+ * Reads requested by any number of threads are queued and sent to the tablet servers together in
+ * batches, so many concurrent point lookups share a small fixed number of threads instead of
+ * needing a thread each. The number of reads that may be queued is bounded. Once the bound is
+ * reached, the futures of new reads complete exceptionally with a
+ * {@link java.util.concurrent.RejectedExecutionException} until queued reads are sent.
+ *
+ * @since 4.0.0
+ */
+public interface AsyncScanner extends AutoCloseable {
+
+  /**
+   * Queues a read of a range.
+   * <p>
+   * Cancelling the returned future before the read is sent removes it from the queue. Cancelling
+   * it after the read is sent discards the result.
+   *
+   * @param range the range to read
+   * @return a future that completes with all key values in the range in sorted order
+   */
+  CompletableFuture<List<Entry<Key,Value>>> read(Range range);
+
+  /**
+   * Releases any resources. The futures of reads that were not completed complete exceptionally.
+   */
+  @Override
+  void close();
+
+}
@@ -63,6 +63,8 @@ public class BatchWriterConfig implements Writable {
   private Durability durability = Durability.DEFAULT;
   private boolean isDurabilitySet = false;
 
+  private Boolean copyMutations = null;
+
   private static long getDefaultTimeout() {
     long defVal =
         ConfigurationTypeHelper.getTimeInMillis(BATCH_WRITER_TIMEOUT_MAX.getDefaultValue());
@@ -219,6 +221,31 @@ public class BatchWriterConfig implements Writable {
     return this;
   }
 
+  /**
+   * Sets whether the BatchWriter copies each mutation passed to it. The default is true, which
+   * leaves the caller free to modify or reuse a mutation after adding it. When set to false, the
+   * BatchWriter takes ownership of each mutation added and the caller must not modify it
+   * afterwards. This avoids a copy of every mutation for callers that create a new mutation for
+   * each call.
+   *
+   * @param copyMutations false to let the BatchWriter keep the mutations passed to it without
+   *        copying them
+   * @since 4.0.0
+   */
+  public BatchWriterConfig setCopyMutations(boolean copyMutations) {
+    this.copyMutations = copyMutations;
+    return this;
+  }
+
+  /**
+   * @return true if the BatchWriter will copy each mutation passed to it
+   * @since 4.0.0
+   * @see #setCopyMutations(boolean)
+   */
+  public boolean isCopyMutations() {
+    return copyMutations != null ? copyMutations : true;
+  }
+
   @Override
   public void write(DataOutput out) throws IOException {
     // write this out in a human-readable way
@@ -238,6 +265,9 @@ public class BatchWriterConfig implements Writable {
     if (durability != Durability.DEFAULT) {
       addField(fields, "durability", durability);
     }
+    if (copyMutations != null) {
+      addField(fields, "copyMutations", copyMutations);
+    }
     String output = StringUtils.join(",", fields);
 
     byte[] bytes = output.getBytes(UTF_8);
@@ -283,6 +313,8 @@ public class BatchWriterConfig implements Writable {
         timeout = Long.valueOf(value);
       } else if ("durability".equals(key)) {
         durability = DurabilityImpl.fromString(value);
+      } else if ("copyMutations".equals(key)) {
+        copyMutations = Boolean.valueOf(value);
       } else {
         /* ignore any other properties */
       }
@@ -333,6 +365,9 @@ public class BatchWriterConfig implements Writable {
           return false;
         }
       }
+      if (isCopyMutations() != other.isCopyMutations()) {
+        return false;
+      }
       return durability == other.durability;
     }
 
@@ -360,6 +395,7 @@ public class BatchWriterConfig implements Writable {
     result.maxLatency = merge(this.maxLatency, other.maxLatency);
     result.timeout = merge(this.timeout, other.timeout);
     result.maxWriteThreads = merge(this.maxWriteThreads, other.maxWriteThreads);
+    result.copyMutations = merge(this.copyMutations, other.copyMutations);
     if (this.isDurabilitySet) {
       result.durability = this.durability;
     } else if (other.isDurabilitySet) {
@@ -372,7 +408,7 @@ public class BatchWriterConfig implements Writable {
   public int hashCode() {
     HashCodeBuilder hcb = new HashCodeBuilder();
     hcb.append(maxMemory).append(maxLatency).append(maxWriteThreads).append(timeout)
-        .append(durability);
+        .append(durability).append(isCopyMutations());
     return hcb.toHashCode();
   }
 
@@ -382,7 +418,8 @@ public class BatchWriterConfig implements Writable {
     sb.append("[maxMemory=").append(getMaxMemory()).append(", maxLatency=")
         .append(getMaxLatency(MILLISECONDS)).append(", maxWriteThreads=")
         .append(getMaxWriteThreads()).append(", timeout=").append(getTimeout(MILLISECONDS))
-        .append(", durability=").append(durability).append("]");
+        .append(", durability=").append(durability).append(", copyMutations=")
+        .append(isCopyMutations()).append("]");
     return sb.toString();
   }
 }
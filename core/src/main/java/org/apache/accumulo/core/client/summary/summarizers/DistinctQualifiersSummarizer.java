@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client.summary.summarizers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.accumulo.core.client.summary.Summarizer;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.summary.HllStatistics;
+import org.apache.datasketches.hll.HllSketch;
+
+/**
+ * Estimates the number of distinct column qualifiers in each column family using an HLL sketch per
+ * family. The estimate for a family is emitted in the statistic named
+ * {@value #DISTINCT_STAT_PREFIX} followed by the family. The sketches are stored in statistics
+ * starting with {@value #SKETCH_PREFIX}, so they can be merged.
+ *
+ * <p>
+ * The {@value #MAX_FAMILIES_OPT} option limits the number of families tracked in each file, and
+ * defaults to {@value #MAX_FAMILIES_DEFAULT}. Entries of families past the limit are counted in the
+ * statistic {@value #TOO_MANY_STAT}. The {@value #LG_K_OPT} option sets log2 of the number of
+ * buckets of each sketch and defaults to {@value #LG_K_DEFAULT}, for a relative error of about
+ * 6.5%.
+ *
+ * @since 4.0.0
+ */
+public class DistinctQualifiersSummarizer implements Summarizer {
+
+  public static final String MAX_FAMILIES_OPT = "maxFamilies";
+  public static final String MAX_FAMILIES_DEFAULT = "32";
+  public static final String LG_K_OPT = "lgK";
+  public static final String LG_K_DEFAULT = "8";
+
+  /**
+   * The prefix of the statistics holding the estimated number of distinct qualifiers of a family.
+   */
+  public static final String DISTINCT_STAT_PREFIX = "dq:";
+
+  /**
+   * The prefix of the statistics that hold the sketches.
+   */
+  public static final String SKETCH_PREFIX = "hll:";
+
+  /**
+   * The number of entries whose family was not tracked, because too many families were seen.
+   */
+  public static final String TOO_MANY_STAT = "tooMany";
+
+  private static String sketchPrefix(String family) {
+    return SKETCH_PREFIX + family + ".";
+  }
+
+  private static int getLgK(SummarizerConfiguration sc) {
+    return Integer.parseInt(sc.getOptions().getOrDefault(LG_K_OPT, LG_K_DEFAULT));
+  }
+
+  @Override
+  public Collector collector(SummarizerConfiguration sc) {
+    int lgK = getLgK(sc);
+    int maxFamilies =
+        Integer.parseInt(sc.getOptions().getOrDefault(MAX_FAMILIES_OPT, MAX_FAMILIES_DEFAULT));
+    return new Collector() {
+      private final Map<ByteSequence,HllSketch> sketches = new HashMap<>();
+      private long tooMany = 0;
+
+      @Override
+      public void accept(Key k, Value v) {
+        ByteSequence family = k.getColumnFamilyData();
+        HllSketch sketch = sketches.get(family);
+        if (sketch == null) {
+          if (sketches.size() >= maxFamilies) {
+            tooMany++;
+            return;
+          }
+          sketch = new HllSketch(lgK);
+          sketches.put(new ArrayByteSequence(family.toArray()), sketch);
+        }
+        sketch.update(k.getColumnQualifierData().toArray());
+      }
+
+      @Override
+      public void summarize(StatisticConsumer sc) {
+        sketches.forEach((family, sketch) -> {
+          String name = family.toString();
+          HllStatistics.write(sketch, sketchPrefix(name), sc);
+          sc.accept(DISTINCT_STAT_PREFIX + name, Math.round(sketch.getEstimate()));
+        });
+        sc.accept(TOO_MANY_STAT, tooMany);
+      }
+    };
+  }
+
+  @Override
+  public Combiner combiner(SummarizerConfiguration sc) {
+    int lgK = getLgK(sc);
+    return (stats1, stats2) -> {
+      List<String> families = new ArrayList<>();
+      for (String stat : stats2.keySet()) {
+        if (stat.startsWith(DISTINCT_STAT_PREFIX)) {
+          families.add(stat.substring(DISTINCT_STAT_PREFIX.length()));
+        }
+      }
+      for (String family : families) {
+        HllSketch merged = HllStatistics.merge(stats1, stats2, sketchPrefix(family), lgK);
+        stats1.put(DISTINCT_STAT_PREFIX + family, Math.round(merged.getEstimate()));
+      }
+      stats1.merge(TOO_MANY_STAT, stats2.getOrDefault(TOO_MANY_STAT, 0L), Long::sum);
+    };
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client.summary.summarizers;
+
+import org.apache.accumulo.core.client.summary.Summarizer;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.summary.HllStatistics;
+import org.apache.datasketches.hll.HllSketch;
+
+/**
+ * Estimates the number of distinct rows using an HLL sketch. Unlike counting rows, the sketches of
+ * files are merged so that rows present in many files are only counted once. The estimate is
+ * emitted in the statistic {@value #DISTINCT_ROWS_STAT}. The sketch itself is stored in statistics
+ * starting with {@value #SKETCH_PREFIX}, so it can be merged.
+ *
+ * <p>
+ * The {@value #LG_K_OPT} option sets log2 of the number of buckets of the sketch, which defaults to
+ * {@value #LG_K_DEFAULT}. The relative error of the estimate is about {@code 1.04/sqrt(2^lgK)},
+ * about 1.6% for the default. Each increment of it doubles the size of the summary.
+ *
+ * @since 4.0.0
+ */
+public class DistinctRowsSummarizer implements Summarizer {
+
+  public static final String LG_K_OPT = "lgK";
+  public static final String LG_K_DEFAULT = "12";
+
+  /**
+   * The estimated number of distinct rows.
+   */
+  public static final String DISTINCT_ROWS_STAT = "distinctRows";
+
+  /**
+   * The prefix of the statistics that hold the sketch.
+   */
+  public static final String SKETCH_PREFIX = "hll.";
+
+  static int getLgK(SummarizerConfiguration sc) {
+    return Integer.parseInt(sc.getOptions().getOrDefault(LG_K_OPT, LG_K_DEFAULT));
+  }
+
+  @Override
+  public Collector collector(SummarizerConfiguration sc) {
+    HllSketch sketch = new HllSketch(getLgK(sc));
+    return new Collector() {
+      private ByteSequence lastRow = null;
+
+      @Override
+      public void accept(Key k, Value v) {
+        // keys are sorted, so each row only needs to be added once
+        if (lastRow == null || !lastRow.equals(k.getRowData())) {
+          byte[] row = k.getRowData().toArray();
+          sketch.update(row);
+          lastRow = new ArrayByteSequence(row);
+        }
+      }
+
+      @Override
+      public void summarize(StatisticConsumer sc) {
+        HllStatistics.write(sketch, SKETCH_PREFIX, sc);
+        sc.accept(DISTINCT_ROWS_STAT, Math.round(sketch.getEstimate()));
+      }
+    };
+  }
+
+  @Override
+  public Combiner combiner(SummarizerConfiguration sc) {
+    int lgK = getLgK(sc);
+    return (stats1, stats2) -> {
+      HllSketch merged = HllStatistics.merge(stats1, stats2, SKETCH_PREFIX, lgK);
+      stats1.put(DISTINCT_ROWS_STAT, Math.round(merged.getEstimate()));
+    };
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client.summary.summarizers;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.accumulo.core.client.summary.Summarizer;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.datasketches.frequencies.ErrorType;
+import org.apache.datasketches.frequencies.ItemsSketch;
+
+/**
+ * Finds the rows with the most entries, which can help find hot spots and skew. The rows of a file
+ * are tracked in a frequent items sketch. The rows with the most entries are emitted in statistics
+ * named {@value #ROW_STAT_PREFIX} followed by the Base64 encoded row, holding the estimated number
+ * of entries of the row. Rows can be binary, so they are encoded to keep distinct rows apart, and
+ * {@link #getRow(String)} decodes them. The counts of rows may be underestimated by up to the
+ * value of the {@value #MAX_ERROR_STAT} statistic, which grows as files are merged.
+ *
+ * <p>
+ * The {@value #MAX_ROWS_OPT} option sets the number of rows emitted, and defaults to
+ * {@value #MAX_ROWS_DEFAULT}. Rows longer than the {@value #MAX_ROW_LEN_OPT} option, which
+ * defaults to {@value #MAX_ROW_LEN_DEFAULT}, are not tracked and are counted in the statistic
+ * {@value #TOO_LONG_STAT}.
+ *
+ * @since 4.0.0
+ */
+public class FrequentRowsSummarizer implements Summarizer {
+
+  public static final String MAX_ROWS_OPT = "maxRows";
+  public static final String MAX_ROWS_DEFAULT = "16";
+  public static final String MAX_ROW_LEN_OPT = "maxRowLen";
+  public static final String MAX_ROW_LEN_DEFAULT = "128";
+
+  /**
+   * The prefix of the statistics holding the estimated number of entries of a row.
+   */
+  public static final String ROW_STAT_PREFIX = "r:";
+
+  /**
+   * The most the counts of rows may be underestimated by.
+   */
+  public static final String MAX_ERROR_STAT = "maxError";
+
+  /**
+   * The number of entries seen.
+   */
+  public static final String TOTAL_STAT = "total";
+
+  /**
+   * The number of entries in rows that were too long to track.
+   */
+  public static final String TOO_LONG_STAT = "tooLong";
+
+  // the size of the sketch's map, which must be a power of 2
+  private static final int MAX_MAP_SIZE = 1024;
+
+  /**
+   * @param stat the name of a statistic that starts with {@value #ROW_STAT_PREFIX}
+   * @return the row the statistic counts the entries of
+   */
+  public static byte[] getRow(String stat) {
+    if (!stat.startsWith(ROW_STAT_PREFIX)) {
+      throw new IllegalArgumentException("Not a row statistic " + stat);
+    }
+    return Base64.getDecoder().decode(stat.substring(ROW_STAT_PREFIX.length()));
+  }
+
+  private static int getMaxRows(SummarizerConfiguration sc) {
+    return Integer.parseInt(sc.getOptions().getOrDefault(MAX_ROWS_OPT, MAX_ROWS_DEFAULT));
+  }
+
+  // keeps the rows with the largest counts and returns the largest count that was removed
+  private static long keepLargest(Map<String,Long> rows, int maxRows) {
+    if (rows.size() <= maxRows) {
+      return 0;
+    }
+    List<Entry<String,Long>> sorted = new ArrayList<>(rows.entrySet());
+    sorted.sort(Entry.<String,Long>comparingByValue(Comparator.reverseOrder()));
+    long largestRemoved = sorted.get(maxRows).getValue();
+    for (Entry<String,Long> entry : sorted.subList(maxRows, sorted.size())) {
+      rows.remove(entry.getKey());
+    }
+    return largestRemoved;
+  }
+
+  @Override
+  public Collector collector(SummarizerConfiguration sc) {
+    int maxRows = getMaxRows(sc);
+    int maxRowLen =
+        Integer.parseInt(sc.getOptions().getOrDefault(MAX_ROW_LEN_OPT, MAX_ROW_LEN_DEFAULT));
+    ItemsSketch<String> sketch = new ItemsSketch<>(MAX_MAP_SIZE);
+    return new Collector() {
+      private ByteSequence row = null;
+      private long rowEntries = 0;
+      private long total = 0;
+      private long tooLong = 0;
+
+      // keys are sorted, so the entries of a row are counted before adding it to the sketch
+      private void finishRow() {
+        if (row != null) {
+          sketch.update(Base64.getEncoder().encodeToString(row.toArray()), rowEntries);
+        }
+      }
+
+      @Override
+      public void accept(Key k, Value v) {
+        total++;
+        ByteSequence keyRow = k.getRowData();
+        if (keyRow.length() > maxRowLen) {
+          tooLong++;
+          return;
+        }
+        if (row == null || !row.equals(keyRow)) {
+          finishRow();
+          row = new ArrayByteSequence(keyRow.toArray());
+          rowEntries = 0;
+        }
+        rowEntries++;
+      }
+
+      @Override
+      public void summarize(StatisticConsumer sc) {
+        finishRow();
+        row = null;
+        Map<String,Long> rows = new HashMap<>();
+        for (ItemsSketch.Row<String> frequent : sketch
+            .getFrequentItems(ErrorType.NO_FALSE_NEGATIVES)) {
+          rows.put(frequent.getItem(), frequent.getEstimate());
+        }
+        long removed = keepLargest(rows, maxRows);
+        rows.forEach((r, count) -> sc.accept(ROW_STAT_PREFIX + r, count));
+        sc.accept(MAX_ERROR_STAT, Math.max(sketch.getMaximumError(), removed));
+        sc.accept(TOTAL_STAT, total);
+        sc.accept(TOO_LONG_STAT, tooLong);
+      }
+    };
+  }
+
+  @Override
+  public Combiner combiner(SummarizerConfiguration sc) {
+    int maxRows = getMaxRows(sc);
+    return (stats1, stats2) -> {
+      Map<String,Long> rows = new HashMap<>();
+      for (Map<String,Long> stats : List.of(stats1, stats2)) {
+        stats.forEach((stat, count) -> {
+          if (stat.startsWith(ROW_STAT_PREFIX)) {
+            rows.merge(stat.substring(ROW_STAT_PREFIX.length()), count, Long::sum);
+          }
+        });
+      }
+      // a row missing from one of the summaries may have had up to its max error entries there,
+      // and a row that is dropped here may have had up to the largest count dropped
+      long removed = keepLargest(rows, maxRows);
+      long maxError = stats1.getOrDefault(MAX_ERROR_STAT, 0L)
+          + stats2.getOrDefault(MAX_ERROR_STAT, 0L) + removed;
+
+      stats1.keySet().removeIf(stat -> stat.startsWith(ROW_STAT_PREFIX));
+      rows.forEach((r, count) -> stats1.put(ROW_STAT_PREFIX + r, count));
+      stats1.put(MAX_ERROR_STAT, maxError);
+      stats1.merge(TOTAL_STAT, stats2.getOrDefault(TOTAL_STAT, 0L), Long::sum);
+      stats1.merge(TOO_LONG_STAT, stats2.getOrDefault(TOO_LONG_STAT, 0L), Long::sum);
+    };
+  }
+}
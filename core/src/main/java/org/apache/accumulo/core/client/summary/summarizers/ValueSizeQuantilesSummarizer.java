@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client.summary.summarizers;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.summary.Summarizer;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.quantilescommon.QuantilesDoublesSketchIterator;
+
+/**
+ * Estimates quantiles of the sizes of values, which {@link EntryLengthSummarizer} only provides a
+ * log2 histogram of. The sizes of a file are collected in a KLL sketch, which is emitted as a
+ * limited number of sizes and their weights, in statistics named {@value #SIZE_STAT_PREFIX}
+ * followed by the size. When merging, sizes are combined into buckets of about equal weight when
+ * there are too many of them, so the rank error grows slowly with the number of merges. Use
+ * {@link #getQuantile(Map, double)} to get a quantile from the statistics.
+ *
+ * <p>
+ * The {@value #MAX_ITEMS_OPT} option sets the number of sizes emitted and defaults to
+ * {@value #MAX_ITEMS_DEFAULT}, for a rank error of around 1%.
+ *
+ * @since 4.0.0
+ */
+public class ValueSizeQuantilesSummarizer implements Summarizer {
+
+  public static final String MAX_ITEMS_OPT = "maxItems";
+  public static final String MAX_ITEMS_DEFAULT = "128";
+
+  /**
+   * The prefix of the statistics holding the weight of a value size.
+   */
+  public static final String SIZE_STAT_PREFIX = "vs:";
+
+  /**
+   * The number of values.
+   */
+  public static final String COUNT_STAT = "count";
+
+  private static int getMaxItems(SummarizerConfiguration sc) {
+    return Integer.parseInt(sc.getOptions().getOrDefault(MAX_ITEMS_OPT, MAX_ITEMS_DEFAULT));
+  }
+
+  private static TreeMap<Long,Long> readItems(Map<String,Long> statistics) {
+    TreeMap<Long,Long> items = new TreeMap<>();
+    statistics.forEach((stat, weight) -> {
+      if (stat.startsWith(SIZE_STAT_PREFIX)) {
+        items.merge(Long.parseLong(stat.substring(SIZE_STAT_PREFIX.length())), weight, Long::sum);
+      }
+    });
+    return items;
+  }
+
+  // combines sorted sizes into at most maxItems buckets of about equal weight, each represented by
+  // its largest size
+  private static TreeMap<Long,Long> compact(TreeMap<Long,Long> items, int maxItems) {
+    if (items.size() <= maxItems) {
+      return items;
+    }
+    long total = items.values().stream().mapToLong(Long::longValue).sum();
+    double bucketWeight = (double) total / maxItems;
+    TreeMap<Long,Long> compacted = new TreeMap<>();
+    long weight = 0;
+    long lastSize = 0;
+    for (Entry<Long,Long> item : items.entrySet()) {
+      weight += item.getValue();
+      lastSize = item.getKey();
+      if (weight >= bucketWeight) {
+        compacted.put(lastSize, weight);
+        weight = 0;
+      }
+    }
+    if (weight > 0) {
+      compacted.put(lastSize, weight);
+    }
+    return compacted;
+  }
+
+  private static void writeItems(TreeMap<Long,Long> items, StatisticConsumer sc) {
+    items.forEach((size, weight) -> sc.accept(SIZE_STAT_PREFIX + size, weight));
+  }
+
+  /**
+   * @param statistics the statistics of a summary produced by this summarizer
+   * @param rank the normalized rank of the quantile, from 0 to 1
+   * @return the estimated value size at the given rank, or -1 if there are no values
+   */
+  public static long getQuantile(Map<String,Long> statistics, double rank) {
+    if (rank < 0 || rank > 1) {
+      throw new IllegalArgumentException("Rank must be between 0 and 1 : " + rank);
+    }
+    TreeMap<Long,Long> items = readItems(statistics);
+    long total = items.values().stream().mapToLong(Long::longValue).sum();
+    double target = rank * total;
+    long weight = 0;
+    for (Entry<Long,Long> item : items.entrySet()) {
+      weight += item.getValue();
+      if (weight >= target) {
+        return item.getKey();
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public Collector collector(SummarizerConfiguration sc) {
+    int maxItems = getMaxItems(sc);
+    KllDoublesSketch sketch = KllDoublesSketch.newHeapInstance();
+    return new Collector() {
+      @Override
+      public void accept(Key k, Value v) {
+        sketch.update(v.getSize());
+      }
+
+      @Override
+      public void summarize(StatisticConsumer sc) {
+        TreeMap<Long,Long> items = new TreeMap<>();
+        if (!sketch.isEmpty()) {
+          QuantilesDoublesSketchIterator iter = sketch.iterator();
+          while (iter.next()) {
+            items.merge((long) iter.getQuantile(), iter.getWeight(), Long::sum);
+          }
+        }
+        writeItems(compact(items, maxItems), sc);
+        sc.accept(COUNT_STAT, sketch.getN());
+      }
+    };
+  }
+
+  @Override
+  public Combiner combiner(SummarizerConfiguration sc) {
+    int maxItems = getMaxItems(sc);
+    return (stats1, stats2) -> {
+      TreeMap<Long,Long> items = readItems(stats1);
+      readItems(stats2).forEach((size, weight) -> items.merge(size, weight, Long::sum));
+      stats1.keySet().removeIf(stat -> stat.startsWith(SIZE_STAT_PREFIX));
+      writeItems(compact(items, maxItems), stats1::put);
+      stats1.merge(COUNT_STAT, stats2.getOrDefault(COUNT_STAT, 0L), Long::sum);
+    };
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Queues requests made by any number of threads and passes them to a consumer in batches, running
+ * at most a fixed number of batches at a time. Each request has a future that the consumer is
+ * expected to complete. Requests whose future is already done when they are taken from the queue,
+ * because the future was cancelled, are not passed to the consumer.
+ */
+class AsyncBatchProcessor<R,V> {
+
+  static class Request<R,V> {
+    final R request;
+    final CompletableFuture<V> future = new CompletableFuture<>();
+
+    private Request(R request) {
+      this.request = request;
+    }
+  }
+
+  private final ConcurrentLinkedQueue<Request<R,V>> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger runningBatches = new AtomicInteger();
+  private final int maxQueued;
+  private final int maxBatchSize;
+  private final int maxConcurrentBatches;
+  private final ExecutorService executor;
+  private final Consumer<List<Request<R,V>>> batchConsumer;
+  private volatile boolean closed = false;
+
+  AsyncBatchProcessor(ExecutorService executor, int maxQueued, int maxBatchSize,
+      int maxConcurrentBatches, Consumer<List<Request<R,V>>> batchConsumer) {
+    this.executor = executor;
+    this.maxQueued = maxQueued;
+    this.maxBatchSize = maxBatchSize;
+    this.maxConcurrentBatches = maxConcurrentBatches;
+    this.batchConsumer = batchConsumer;
+  }
+
+  CompletableFuture<V> submit(R request) {
+    if (closed) {
+      return CompletableFuture.failedFuture(new IllegalStateException("closed"));
+    }
+
+    if (queued.incrementAndGet() > maxQueued) {
+      queued.decrementAndGet();
+      return CompletableFuture.failedFuture(
+          new RejectedExecutionException("More than " + maxQueued + " requests are queued"));
+    }
+
+    Request<R,V> r = new Request<>(request);
+    queue.add(r);
+    dispatch();
+    return r.future;
+  }
+
+  private void dispatch() {
+    while (!queue.isEmpty()) {
+      int running = runningBatches.get();
+      if (running >= maxConcurrentBatches) {
+        // a running task will check the queue again before it exits
+        return;
+      }
+      if (runningBatches.compareAndSet(running, running + 1)) {
+        try {
+          executor.execute(this::runBatches);
+        } catch (RejectedExecutionException e) {
+          // the executor was shutdown
+          runningBatches.decrementAndGet();
+          failQueued(e);
+        }
+        return;
+      }
+    }
+  }
+
+  private void runBatches() {
+    try {
+      List<Request<R,V>> batch;
+      while (!(batch = nextBatch()).isEmpty()) {
+        try {
+          batchConsumer.accept(batch);
+        } catch (RuntimeException e) {
+          for (Request<R,V> r : batch) {
+            r.future.completeExceptionally(e);
+          }
+        }
+      }
+    } finally {
+      runningBatches.decrementAndGet();
+      dispatch();
+    }
+  }
+
+  private List<Request<R,V>> nextBatch() {
+    List<Request<R,V>> batch = new ArrayList<>();
+    Request<R,V> r;
+    while (batch.size() < maxBatchSize && (r = queue.poll()) != null) {
+      queued.decrementAndGet();
+      if (!r.future.isDone()) {
+        batch.add(r);
+      }
+    }
+    return batch;
+  }
+
+  private void failQueued(Exception e) {
+    Request<R,V> r;
+    while ((r = queue.poll()) != null) {
+      queued.decrementAndGet();
+      r.future.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Stops accepting requests. Requests that are already queued are still processed.
+   */
+  void close() {
+    closed = true;
+  }
+
+  /**
+   * Stops accepting requests and completes the futures of queued requests exceptionally.
+   */
+  void closeNow() {
+    closed = true;
+    failQueued(new IllegalStateException("closed"));
+  }
+}
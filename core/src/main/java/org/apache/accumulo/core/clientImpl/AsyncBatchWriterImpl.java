@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.ASYNC_BATCH_WRITER_POOL;
+
+import java.lang.ref.Cleaner.Cleanable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.accumulo.core.client.AsyncBatchWriter;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.clientImpl.AsyncBatchProcessor.Request;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.util.cleaner.CleanerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AsyncBatchWriterImpl implements AsyncBatchWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncBatchWriterImpl.class);
+
+  private final BatchWriter writer;
+  private final ThreadPoolExecutor writePool;
+  private final AsyncBatchProcessor<Mutation,Void> processor;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private final Cleanable cleanable;
+
+  public AsyncBatchWriterImpl(ClientContext context, TableId tableId, BatchWriterConfig config,
+      int maxQueued) {
+    this.writer = new BatchWriterImpl(context, tableId, config);
+    this.writePool = context.threadPools().getPoolBuilder(ASYNC_BATCH_WRITER_POOL)
+        .numCoreThreads(1).build();
+    // The batch writer sends to many tablet servers in parallel, so a single thread writing
+    // everything that was queued and then flushing keeps it busy. Each flush covers all of the
+    // mutations that were queued while the previous flush was running.
+    this.processor =
+        new AsyncBatchProcessor<>(writePool, maxQueued, Integer.MAX_VALUE, 1, this::write);
+    // Call shutdownNow on this thread pool in case the caller does not call close().
+    this.cleanable = CleanerUtil.shutdownThreadPoolExecutor(writePool, closed, log);
+  }
+
+  @Override
+  public CompletableFuture<Void> addMutation(Mutation m) {
+    // fail an invalid mutation on its own, before it can fail the batch it would be written in
+    if (m == null) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("m is null"));
+    }
+    if (m.size() == 0) {
+      return CompletableFuture
+          .failedFuture(new IllegalArgumentException("Can not add empty mutations"));
+    }
+    return processor.submit(m);
+  }
+
+  private void write(List<Request<Mutation,Void>> batch) {
+    List<Request<Mutation,Void>> added = new ArrayList<>(batch.size());
+    try {
+      for (Request<Mutation,Void> r : batch) {
+        try {
+          writer.addMutation(r.request);
+        } catch (RuntimeException e) {
+          // only this mutation was not added, the ones added before it are still written
+          r.future.completeExceptionally(e);
+          continue;
+        }
+        added.add(r);
+      }
+      writer.flush();
+      for (Request<Mutation,Void> r : added) {
+        r.future.complete(null);
+      }
+    } catch (MutationsRejectedException e) {
+      for (Request<Mutation,Void> r : batch) {
+        r.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws MutationsRejectedException {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    processor.close();
+    // let the queued mutations be written
+    writePool.shutdown();
+    // deregister the cleaner, will not call shutdownNow() because closed is now true
+    cleanable.clean();
+    try {
+      writePool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      processor.closeNow();
+      writePool.shutdownNow();
+    }
+    writer.close();
+  }
+}
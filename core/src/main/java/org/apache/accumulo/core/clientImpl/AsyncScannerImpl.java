@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.ASYNC_SCANNER_POOL;
+
+import java.lang.ref.Cleaner.Cleanable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.accumulo.core.client.AsyncScanner;
+import org.apache.accumulo.core.clientImpl.AsyncBatchProcessor.Request;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.core.util.cleaner.CleanerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class AsyncScannerImpl implements AsyncScanner {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncScannerImpl.class);
+
+  // The most ranges read by a single batch scan.
+  private static final int MAX_BATCH_SIZE = 1000;
+  // While one batch is being read, the reads requested in the meantime can be sent as another
+  // batch. This keeps a single slow tablet from holding up every read.
+  private static final int MAX_CONCURRENT_BATCHES = 2;
+
+  private final TabletServerBatchReader reader;
+  private final ThreadPoolExecutor batchPool;
+  private final AsyncBatchProcessor<Range,List<Entry<Key,Value>>> processor;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private final Cleanable cleanable;
+
+  public AsyncScannerImpl(ClientContext context, TableId tableId, String tableName,
+      Authorizations authorizations, int numQueryThreads, int maxQueued) {
+    this.reader = new TabletServerBatchReader(context, AsyncScanner.class, tableId, tableName,
+        authorizations, numQueryThreads);
+    this.batchPool = context.threadPools().getPoolBuilder(ASYNC_SCANNER_POOL)
+        .numCoreThreads(MAX_CONCURRENT_BATCHES).build();
+    this.processor = new AsyncBatchProcessor<>(batchPool, maxQueued, MAX_BATCH_SIZE,
+        MAX_CONCURRENT_BATCHES, this::read);
+    this.cleanable = CleanerUtil.shutdownThreadPoolExecutor(batchPool, closed, log);
+  }
+
+  @Override
+  public CompletableFuture<List<Entry<Key,Value>>> read(Range range) {
+    return processor.submit(range);
+  }
+
+  private void read(List<Request<Range,List<Entry<Key,Value>>>> batch) {
+    List<Range> ranges = new ArrayList<>(batch.size());
+    for (Request<Range,List<Entry<Key,Value>>> r : batch) {
+      ranges.add(r.request);
+    }
+
+    // The batch reader merges overlapping ranges and returns key values in no particular order, so
+    // sort the results and then give each read the key values in its range.
+    TreeMap<Key,Value> results = new TreeMap<>();
+    reader.iterator(ranges).forEachRemaining(e -> results.put(e.getKey(), e.getValue()));
+
+    for (Request<Range,List<Entry<Key,Value>>> r : batch) {
+      r.future.complete(new ArrayList<>(subMap(results, r.request).entrySet()));
+    }
+  }
+
+  static NavigableMap<Key,Value> subMap(NavigableMap<Key,Value> results, Range range) {
+    NavigableMap<Key,Value> subMap = results;
+    if (!range.isInfiniteStartKey()) {
+      subMap = subMap.tailMap(range.getStartKey(), range.isStartKeyInclusive());
+    }
+    if (!range.isInfiniteStopKey()) {
+      subMap = subMap.headMap(range.getEndKey(), range.isEndKeyInclusive());
+    }
+    return subMap;
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      processor.closeNow();
+      // closing the reader causes batches that are being read to fail
+      reader.close();
+      batchPool.shutdownNow();
+      // deregister the cleaner, will not call shutdownNow() because closed is now true
+      cleanable.clean();
+    }
+  }
+}
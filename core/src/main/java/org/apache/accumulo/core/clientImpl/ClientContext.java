@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
@@ -52,6 +53,8 @@ import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.client.AccumuloClient;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.AsyncBatchWriter;
+import org.apache.accumulo.core.client.AsyncScanner;
 import org.apache.accumulo.core.client.BatchDeleter;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.BatchWriter;
@@ -112,6 +115,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Suppliers;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 /**
  * This class represents any essential configuration and credentials needed to initiate RPC
@@ -143,6 +147,7 @@ public class ClientContext implements AccumuloClient {
   private final Supplier<SaslConnectionParams> saslSupplier;
   private final Supplier<SslConnectionParams> sslSupplier;
   private final Supplier<ScanServerSelector> scanServerSelectorSupplier;
+  private final ScanServerLoads scanServerLoads = new ScanServerLoads();
   private final Supplier<ServiceLockPaths> serverPaths;
   private final NamespaceMapping namespaces;
   private TCredentials rpcCreds;
@@ -161,6 +166,7 @@ public class ClientContext implements AccumuloClient {
   private ThreadPoolExecutor scannerReadaheadPool;
   private MeterRegistry micrometer;
   private Caches caches;
+  private ClientMetrics clientMetrics;
 
   private void ensureOpen() {
     if (closed) {
@@ -211,6 +217,11 @@ public class ClientContext implements AccumuloClient {
                 }
               }).collect(Collectors.toSet());
         }
+
+        @Override
+        public OptionalDouble getScanServerLoad(String address) {
+          return scanServerLoads.getLoad(address);
+        }
       });
       return scanServerSelector;
     } catch (ReflectiveOperationException | IllegalArgumentException | SecurityException e) {
@@ -402,6 +413,13 @@ public class ClientContext implements AccumuloClient {
     return batchWriterConfig;
   }
 
+  /**
+   * @return the loads that scan servers returned with their recent scan responses
+   */
+  public ScanServerLoads getScanServerLoads() {
+    return scanServerLoads;
+  }
+
   /**
    * @return the scan server selector implementation used for determining which scan servers will be
    *         used when performing an eventually consistent scan
@@ -717,6 +735,31 @@ public class ClientContext implements AccumuloClient {
     return createConditionalWriter(tableName, null);
   }
 
+  @Override
+  public AsyncScanner createAsyncScanner(String tableName, Authorizations authorizations,
+      int maxQueuedReads) throws TableNotFoundException {
+    ensureOpen();
+    checkArgument(authorizations != null, "authorizations is null");
+    checkArgument(maxQueuedReads > 0, "maxQueuedReads must be positive");
+    Integer numQueryThreads =
+        ClientProperty.BATCH_SCANNER_NUM_QUERY_THREADS.getInteger(getProperties());
+    Objects.requireNonNull(numQueryThreads);
+    return new AsyncScannerImpl(this, requireNotOffline(getTableId(tableName), tableName),
+        tableName, authorizations, numQueryThreads, maxQueuedReads);
+  }
+
+  @Override
+  public AsyncBatchWriter createAsyncBatchWriter(String tableName, BatchWriterConfig config,
+      int maxQueuedMutations) throws TableNotFoundException {
+    ensureOpen();
+    checkArgument(maxQueuedMutations > 0, "maxQueuedMutations must be positive");
+    if (config == null) {
+      config = new BatchWriterConfig();
+    }
+    return new AsyncBatchWriterImpl(this, requireNotOffline(getTableId(tableName), tableName),
+        config.merge(getBatchWriterConfig()), maxQueuedMutations);
+  }
+
   @Override
   public Scanner createScanner(String tableName, Authorizations authorizations)
       throws TableNotFoundException {
@@ -808,6 +851,9 @@ public class ClientContext implements AccumuloClient {
     if (cleanupThreadPool != null) {
       cleanupThreadPool.shutdown(); // wait for shutdown tasks to execute
     }
+    if (clientMetrics != null) {
+      clientMetrics.close();
+    }
     singletonReservation.close();
   }
 
@@ -1035,10 +1081,16 @@ public class ClientContext implements AccumuloClient {
     return ClientProperty.RPC_TRANSPORT_IDLE_TIMEOUT.getTimeInMillis(getProperties());
   }
 
+  protected int getTransportPoolMultiplexedConnections() {
+    ensureOpen();
+    return ClientProperty.RPC_MULTIPLEXED_CONNECTIONS.getInteger(getProperties());
+  }
+
   public synchronized ThriftTransportPool getTransportPool() {
     ensureOpen();
     if (thriftTransportPool == null) {
-      thriftTransportPool = ThriftTransportPool.startNew(this::getTransportPoolMaxAgeMillis);
+      thriftTransportPool = ThriftTransportPool.startNew(this::getTransportPoolMaxAgeMillis,
+          getTransportPoolMultiplexedConnections());
     }
     return thriftTransportPool;
   }
@@ -1054,6 +1106,23 @@ public class ClientContext implements AccumuloClient {
     getCaches();
   }
 
+  /**
+   * @return the metrics recorded by scanners, batch writers and the tablet location cache, which
+   *         do nothing unless {@link ClientProperty#METRICS_ENABLED} is set
+   */
+  public synchronized ClientMetrics getClientMetrics() {
+    ensureOpen();
+    if (clientMetrics == null) {
+      if (ClientProperty.METRICS_ENABLED.getBoolean(getProperties())) {
+        clientMetrics = new ClientMetrics(micrometer == null ? Metrics.globalRegistry : micrometer,
+            ClientProperty.METRICS_HISTOGRAMS_ENABLED.getBoolean(getProperties()));
+      } else {
+        clientMetrics = ClientMetrics.DISABLED;
+      }
+    }
+    return clientMetrics;
+  }
+
   public synchronized Caches getCaches() {
     ensureOpen();
     if (caches == null) {
@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_SCAN_BYTES;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_SCAN_ENTRIES;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_SCAN_RPC_LATENCY;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_TABLET_CACHE_HITS;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_TABLET_CACHE_INVALIDATIONS;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_TABLET_CACHE_MISSES;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_BACKPRESSURE;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_BYTES;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_MUTATIONS;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_QUEUED;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_RPC_LATENCY;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.util.Pair;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the client side metrics of scanners, batch scanners, batch writers and the tablet
+ * location cache. Metrics are only recorded when {@code metrics.enabled} is set in the client
+ * properties, otherwise every method returns without doing anything.
+ *
+ * <p>
+ * The meters are registered with the registry set on the {@link ClientContext}, or when none was
+ * set with Micrometer's global registry, to which an application adds the registry it wants the
+ * metrics published to. Meters are shared by all clients that use the same registry, and are
+ * removed from the registry when the last client using them is closed.
+ */
+public class ClientMetrics {
+
+  public static final String TABLE_TAG = "table.id";
+  public static final String SERVER_TAG = "server";
+
+  static final ClientMetrics DISABLED = new ClientMetrics(null);
+
+  // Batch writers that are open and record metrics. Shared by all clients so that a single gauge
+  // reports the memory used by the writers of every client.
+  private static final Set<TabletServerBatchWriter> OPEN_WRITERS =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  // The number of clients using each registered meter. Registering a meter that is already
+  // registered returns the existing meter, so clients that share a registry share meters and a
+  // meter is only removed when no client uses it anymore.
+  private static final Map<Meter,Integer> METER_USERS = new IdentityHashMap<>();
+
+  private final MeterRegistry registry;
+  private final boolean histograms;
+  // the meters this client registered, guarded by METER_USERS
+  private final List<Meter> meters = new ArrayList<>();
+  private boolean closed = false;
+  private final Map<Pair<TableId,String>,Timer> scanTimers = new ConcurrentHashMap<>();
+  private final Map<String,Timer> writeTimers = new ConcurrentHashMap<>();
+  private final Map<TableId,TableMeters> tableMeters = new ConcurrentHashMap<>();
+  private final Map<TableId,Registered> tabletCaches = new ConcurrentHashMap<>();
+  private final Timer backpressure;
+
+  private class TableMeters {
+    private final Counter scanEntries;
+    private final Counter scanBytes;
+    private final Counter writeMutations;
+    private final Counter writeBytes;
+
+    private TableMeters(TableId tableId) {
+      Tags tags = Tags.of(TABLE_TAG, tableId.canonical());
+      scanEntries = use(Counter.builder(CLIENT_SCAN_ENTRIES.getName())
+          .description(CLIENT_SCAN_ENTRIES.getDescription()).tags(tags).register(registry));
+      scanBytes = use(Counter.builder(CLIENT_SCAN_BYTES.getName())
+          .description(CLIENT_SCAN_BYTES.getDescription()).tags(tags).register(registry));
+      writeMutations = use(Counter.builder(CLIENT_WRITE_MUTATIONS.getName())
+          .description(CLIENT_WRITE_MUTATIONS.getDescription()).tags(tags).register(registry));
+      writeBytes = use(Counter.builder(CLIENT_WRITE_BYTES.getName())
+          .description(CLIENT_WRITE_BYTES.getDescription()).tags(tags).register(registry));
+    }
+  }
+
+  // the tablet cache whose counts are currently reported for a table and the meters reporting them
+  private static class Registered {
+    private final ClientTabletCacheImpl cache;
+    private final List<Meter> meters;
+
+    private Registered(ClientTabletCacheImpl cache, List<Meter> meters) {
+      this.cache = cache;
+      this.meters = meters;
+    }
+  }
+
+  ClientMetrics(MeterRegistry registry) {
+    this(registry, false);
+  }
+
+  /**
+   * @param histograms when true the RPC latency timers publish percentile histograms, which adds
+   *        many time series for every table and server
+   */
+  ClientMetrics(MeterRegistry registry, boolean histograms) {
+    this.registry = registry;
+    this.histograms = histograms;
+    if (registry == null) {
+      backpressure = null;
+    } else {
+      backpressure = use(Timer.builder(CLIENT_WRITE_BACKPRESSURE.getName())
+          .description(CLIENT_WRITE_BACKPRESSURE.getDescription()).register(registry));
+      use(Gauge.builder(CLIENT_WRITE_QUEUED.getName(), OPEN_WRITERS, ClientMetrics::queuedBytes)
+          .description(CLIENT_WRITE_QUEUED.getDescription()).strongReference(true)
+          .register(registry));
+    }
+  }
+
+  private <M extends Meter> M use(M meter) {
+    synchronized (METER_USERS) {
+      if (!closed) {
+        METER_USERS.merge(meter, 1, Integer::sum);
+        meters.add(meter);
+      } else if (!METER_USERS.containsKey(meter)) {
+        // a scan or write that was still running when the client was closed
+        registry.remove(meter);
+      }
+    }
+    return meter;
+  }
+
+  private void release(Meter meter) {
+    // called with the lock on METER_USERS held
+    if (METER_USERS.merge(meter, -1, Integer::sum) == 0) {
+      METER_USERS.remove(meter);
+      registry.remove(meter);
+    }
+  }
+
+  /**
+   * Removes the meters that are no longer used by any client from the registry. Called when the
+   * client is closed.
+   */
+  void close() {
+    if (registry == null) {
+      return;
+    }
+    synchronized (tabletCaches) {
+      synchronized (METER_USERS) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        meters.forEach(this::release);
+        meters.clear();
+      }
+      tabletCaches.clear();
+    }
+  }
+
+  private static double queuedBytes(Collection<TabletServerBatchWriter> writers) {
+    long sum = 0;
+    synchronized (writers) {
+      for (TabletServerBatchWriter writer : writers) {
+        sum += writer.getQueuedBytes();
+      }
+    }
+    return sum;
+  }
+
+  public boolean isEnabled() {
+    return registry != null;
+  }
+
+  private TableMeters getTableMeters(TableId tableId) {
+    return tableMeters.computeIfAbsent(tableId, TableMeters::new);
+  }
+
+  /**
+   * Records a scan or batch scan RPC.
+   *
+   * @param nanos the time the RPC took
+   * @param results the entries returned by the RPC
+   */
+  public void scanRpc(TableId tableId, String server, long nanos,
+      Collection<? extends Map.Entry<Key,Value>> results) {
+    if (registry == null) {
+      return;
+    }
+
+    scanTimers
+        .computeIfAbsent(new Pair<>(tableId, server),
+            p -> use(Timer.builder(CLIENT_SCAN_RPC_LATENCY.getName())
+                .description(CLIENT_SCAN_RPC_LATENCY.getDescription())
+                .tags(TABLE_TAG, tableId.canonical(), SERVER_TAG, server)
+                .publishPercentileHistogram(histograms).register(registry)))
+        .record(nanos, TimeUnit.NANOSECONDS);
+
+    long bytes = 0;
+    for (Map.Entry<Key,Value> entry : results) {
+      bytes += entry.getKey().getSize() + entry.getValue().getSize();
+    }
+    TableMeters meters = getTableMeters(tableId);
+    meters.scanEntries.increment(results.size());
+    meters.scanBytes.increment(bytes);
+  }
+
+  /**
+   * Records a batch writer RPC that sent mutations to a server. The mutations and bytes sent for
+   * each table are recorded separately with {@link #mutationsWritten(TableId, long, long)}, because
+   * a single RPC may write to multiple tables.
+   */
+  public void writeRpc(String server, long nanos) {
+    if (registry == null) {
+      return;
+    }
+
+    writeTimers
+        .computeIfAbsent(server,
+            s -> use(Timer.builder(CLIENT_WRITE_RPC_LATENCY.getName())
+                .description(CLIENT_WRITE_RPC_LATENCY.getDescription()).tags(SERVER_TAG, server)
+                .publishPercentileHistogram(histograms).register(registry)))
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void mutationsWritten(TableId tableId, long mutations, long bytes) {
+    if (registry == null) {
+      return;
+    }
+
+    TableMeters meters = getTableMeters(tableId);
+    meters.writeMutations.increment(mutations);
+    meters.writeBytes.increment(bytes);
+  }
+
+  /**
+   * Records the time a thread was blocked adding a mutation to a batch writer that was full.
+   */
+  public void backpressure(long nanos) {
+    if (registry == null) {
+      return;
+    }
+    backpressure.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  void writerOpened(TabletServerBatchWriter writer) {
+    if (registry != null) {
+      OPEN_WRITERS.add(writer);
+    }
+  }
+
+  void writerClosed(TabletServerBatchWriter writer) {
+    OPEN_WRITERS.remove(writer);
+  }
+
+  /**
+   * Reports the hits, misses and invalidations of a tables tablet location cache. Tablet location
+   * caches are replaced when they are cleared, so this is called each time a cache is obtained and
+   * switches the meters to the new cache when it changed.
+   */
+  void tabletCacheObtained(TableId tableId, ClientTabletCacheImpl cache) {
+    if (registry == null) {
+      return;
+    }
+
+    Registered registered = tabletCaches.get(tableId);
+    if (registered != null && registered.cache == cache) {
+      return;
+    }
+
+    synchronized (tabletCaches) {
+      if (closed) {
+        return;
+      }
+      registered = tabletCaches.get(tableId);
+      if (registered != null) {
+        if (registered.cache == cache) {
+          return;
+        }
+        synchronized (METER_USERS) {
+          registered.meters.forEach(meter -> {
+            meters.remove(meter);
+            release(meter);
+          });
+        }
+      }
+
+      Tags tags = Tags.of(TABLE_TAG, tableId.canonical());
+      List<Meter> meters = new ArrayList<>(3);
+      meters.add(functionCounter(CLIENT_TABLET_CACHE_HITS.getName(),
+          CLIENT_TABLET_CACHE_HITS.getDescription(), tags, cache,
+          ClientTabletCacheImpl::getCacheHits));
+      meters.add(functionCounter(CLIENT_TABLET_CACHE_MISSES.getName(),
+          CLIENT_TABLET_CACHE_MISSES.getDescription(), tags, cache,
+          ClientTabletCacheImpl::getCacheMisses));
+      meters.add(functionCounter(CLIENT_TABLET_CACHE_INVALIDATIONS.getName(),
+          CLIENT_TABLET_CACHE_INVALIDATIONS.getDescription(), tags, cache,
+          ClientTabletCacheImpl::getCacheInvalidations));
+      tabletCaches.put(tableId, new Registered(cache, meters));
+    }
+  }
+
+  private Meter functionCounter(String name, String description, Tags tags,
+      ClientTabletCacheImpl cache, ToDoubleFunction<ClientTabletCacheImpl> count) {
+    return use(FunctionCounter.builder(name, cache, count).description(description).tags(tags)
+        .register(registry));
+  }
+}
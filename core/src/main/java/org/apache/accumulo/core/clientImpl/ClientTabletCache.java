@@ -266,6 +266,10 @@ public abstract class ClientTabletCache {
       instances.put(key, tl);
     }
 
+    if (tl instanceof ClientTabletCacheImpl) {
+      context.getClientMetrics().tabletCacheObtained(tableId, (ClientTabletCacheImpl) tl);
+    }
+
     return tl;
   }
 
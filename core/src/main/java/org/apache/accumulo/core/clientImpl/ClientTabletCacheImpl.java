@@ -31,13 +31,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -68,8 +69,6 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 public class ClientTabletCacheImpl extends ClientTabletCache {
 
   private static final Logger log = LoggerFactory.getLogger(ClientTabletCacheImpl.class);
@@ -95,16 +94,27 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
   protected final TableId tableId;
   protected final ClientTabletCache parent;
-  protected final TreeMap<Text,CachedTablet> metaCache = new TreeMap<>(END_ROW_COMPARATOR);
+  // Readers use the cache without locking. Updates to the cache are made while holding
+  // lookupLock, so a reader may briefly see a hole where overlapping entries were removed before
+  // the new entry was added. A hole looks like a cache miss and is handled by the slow path.
+  protected final ConcurrentSkipListMap<Text,CachedTablet> metaCache =
+      new ConcurrentSkipListMap<>(END_ROW_COMPARATOR);
   protected final CachedTabletObtainer tabletObtainer;
   private final TabletServerLockChecker lockChecker;
   protected final Text lastTabletRow;
 
-  private final TreeSet<KeyExtent> badExtents = new TreeSet<>();
-  private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-  private final Lock rLock = rwLock.readLock();
-  private final Lock wLock = rwLock.writeLock();
+  // Maps each invalidated extent to the sequence number of its latest invalidation. A lookup only
+  // clears the invalidations made before it started, because an extent invalidated while the
+  // metadata table was being read may have been read before it changed.
+  private final ConcurrentSkipListMap<KeyExtent,Long> badExtents = new ConcurrentSkipListMap<>();
+  private final AtomicLong invalidationSeq = new AtomicLong(0);
+  // Serializes reading the metadata table and updating the cache. Threads that miss on the same
+  // rows wait here and then find the rows cached by the first thread instead of reading them again.
+  private final ReentrantLock lookupLock = new ReentrantLock();
   private final AtomicLong tabletHostingRequestCount = new AtomicLong(0);
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder cacheInvalidations = new LongAdder();
 
   public interface CachedTabletObtainer {
     /**
@@ -203,36 +213,34 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
     LockCheckerSession lcSession = new LockCheckerSession();
 
-    rLock.lock();
-    try {
-      processInvalidated(context, lcSession);
+    processInvalidated(context, lcSession);
 
-      // for this to be efficient rows need to be in sorted order, but always sorting is slow...
-      // therefore only sort the
-      // stuff not in the cache.... it is most efficient to pass _locateTablet rows in sorted order
+    // for this to be efficient rows need to be in sorted order, but always sorting is slow...
+    // therefore only sort the
+    // stuff not in the cache.... it is most efficient to pass _locateTablet rows in sorted order
 
-      // For this to be efficient, need to avoid fine grained synchronization and fine grained
-      // logging.
-      // Therefore methods called by this are not synchronized and should not log.
+    // For this to be efficient, need to avoid fine grained synchronization and fine grained
+    // logging.
+    // Therefore methods called by this are not synchronized and should not log.
 
-      for (T mutation : mutations) {
-        row.set(mutation.getRow());
-        CachedTablet tl = findTabletInCache(row);
-        if (!addMutation(binnedMutations, mutation, tl, lcSession)) {
-          notInCache.add(mutation);
-        }
+    for (T mutation : mutations) {
+      row.set(mutation.getRow());
+      CachedTablet tl = findTabletInCache(row);
+      if (!addMutation(binnedMutations, mutation, tl, lcSession)) {
+        notInCache.add(mutation);
       }
-    } finally {
-      rLock.unlock();
     }
 
+    // the mutations not in the cache are counted when they are looked up below
+    cacheHits.add(mutations.size() - notInCache.size());
+
     HashSet<CachedTablet> locationLess = new HashSet<>();
 
     if (!notInCache.isEmpty()) {
       notInCache.sort((o1, o2) -> WritableComparator.compareBytes(o1.getRow(), 0,
           o1.getRow().length, o2.getRow(), 0, o2.getRow().length));
 
-      wLock.lock();
+      lookupLock.lock();
       try {
         // Want to ignore any entries in the cache w/o a location that were created before the
         // following time. Entries created after the following time may have been populated by the
@@ -254,7 +262,7 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
           }
         }
       } finally {
-        wLock.unlock();
+        lookupLock.unlock();
       }
     }
 
@@ -424,21 +432,16 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
     LockCheckerSession lcSession = new LockCheckerSession();
 
-    List<Range> failures;
-    rLock.lock();
-    try {
-      processInvalidated(context, lcSession);
+    processInvalidated(context, lcSession);
 
-      // for this to be optimal, need to look ranges up in sorted order when
-      // ranges are not present in cache... however do not want to always
-      // sort ranges... therefore try binning ranges using only the cache
-      // and sort whatever fails and retry
+    // for this to be optimal, need to look ranges up in sorted order when
+    // ranges are not present in cache... however do not want to always
+    // sort ranges... therefore try binning ranges using only the cache
+    // and sort whatever fails and retry
 
-      failures = findTablets(context, ranges, rangeConsumer, true, lcSession, locationNeed,
-          keyExtent -> {});
-    } finally {
-      rLock.unlock();
-    }
+    List<Range> failures = findTablets(context, ranges, rangeConsumer, true, lcSession,
+        locationNeed, keyExtent -> {});
+    cacheHits.add(ranges.size() - failures.size());
 
     if (!failures.isEmpty()) {
       // sort failures by range start key
@@ -455,13 +458,13 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
       }
 
       // try lookups again
-      wLock.lock();
+      lookupLock.lock();
       try {
 
         failures = findTablets(context, failures, rangeConsumer, false, lcSession, locationNeed,
             locationLessConsumer);
       } finally {
-        wLock.unlock();
+        lookupLock.unlock();
       }
 
       requestTabletHosting(context, locationLess);
@@ -478,12 +481,8 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
   @Override
   public void invalidateCache(KeyExtent failedExtent) {
-    wLock.lock();
-    try {
-      badExtents.add(failedExtent);
-    } finally {
-      wLock.unlock();
-    }
+    badExtents.put(failedExtent, invalidationSeq.incrementAndGet());
+    cacheInvalidations.increment();
     if (log.isTraceEnabled()) {
       log.trace("Invalidated extent={}", failedExtent);
     }
@@ -491,12 +490,9 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
   @Override
   public void invalidateCache(Collection<KeyExtent> keySet) {
-    wLock.lock();
-    try {
-      badExtents.addAll(keySet);
-    } finally {
-      wLock.unlock();
-    }
+    long seq = invalidationSeq.incrementAndGet();
+    keySet.forEach(extent -> badExtents.put(extent, seq));
+    cacheInvalidations.add(keySet.size());
     if (log.isTraceEnabled()) {
       log.trace("Invalidated {} cache entries for table {}", keySet.size(), tableId);
     }
@@ -505,21 +501,20 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
   @Override
   public void invalidateCache(ClientContext context, String server) {
     int invalidatedCount = 0;
+    long seq = invalidationSeq.incrementAndGet();
 
-    wLock.lock();
-    try {
-      for (CachedTablet cacheEntry : metaCache.values()) {
-        var loc = cacheEntry.getTserverLocation();
-        if (loc.isPresent() && loc.orElseThrow().equals(server)) {
-          badExtents.add(cacheEntry.getExtent());
-          invalidatedCount++;
-        }
+    // Only marks the extents as bad, so this does not block threads that are using the cache. The
+    // bad extents are looked up in a batch by the next thread that uses the cache.
+    for (CachedTablet cacheEntry : metaCache.values()) {
+      var loc = cacheEntry.getTserverLocation();
+      if (loc.isPresent() && loc.orElseThrow().equals(server)) {
+        badExtents.put(cacheEntry.getExtent(), seq);
+        invalidatedCount++;
       }
-    } finally {
-      wLock.unlock();
     }
 
     lockChecker.invalidateCache(server);
+    cacheInvalidations.add(invalidatedCount);
 
     if (log.isTraceEnabled()) {
       log.trace("invalidated {} cache entries  table={} server={}", invalidatedCount, tableId,
@@ -531,14 +526,15 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
   @Override
   public void invalidateCache() {
     int invalidatedCount;
-    wLock.lock();
+    lookupLock.lock();
     try {
       invalidatedCount = metaCache.size();
       metaCache.clear();
     } finally {
-      wLock.unlock();
+      lookupLock.unlock();
     }
     this.tabletHostingRequestCount.set(0);
+    cacheInvalidations.add(invalidatedCount);
     if (log.isTraceEnabled()) {
       log.trace("invalidated all {} cache entries for table={}", invalidatedCount, tableId);
     }
@@ -647,6 +643,28 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     return tabletHostingRequestCount.get();
   }
 
+  /**
+   * @return the number of tablet lookups that were answered by the cache
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * @return the number of tablet lookups that were not in the cache and had to read the metadata
+   *         table
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * @return the number of cache entries that were invalidated
+   */
+  public long getCacheInvalidations() {
+    return cacheInvalidations.sum();
+  }
+
   @VisibleForTesting
   public void resetTabletHostingRequestCount() {
     tabletHostingRequestCount.set(0);
@@ -721,6 +739,7 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
   private void lookupTablet(ClientContext context, Text row, boolean retry,
       LockCheckerSession lcSession) throws AccumuloException, AccumuloSecurityException,
       TableNotFoundException, InvalidTabletHostingRequestException {
+    long lookupStart = invalidationSeq.get();
     Text metadataRow = new Text(tableId.canonical());
     metadataRow.append(new byte[] {';'}, 0, 1);
     metadataRow.append(row.getBytes(), 0, row.getLength());
@@ -772,13 +791,18 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
         // save endRow for next iteration
         lastEndRow = locToCache.getExtent().endRow();
 
-        updateCache(locToCache, lcSession);
+        updateCache(locToCache, lcSession, lookupStart);
       }
     }
 
   }
 
-  private void updateCache(CachedTablet cachedTablet, LockCheckerSession lcSession) {
+  /**
+   * @param lookupStart the invalidation sequence number when the lookup that read the tablet
+   *        started
+   */
+  private void updateCache(CachedTablet cachedTablet, LockCheckerSession lcSession,
+      long lookupStart) {
     if (!cachedTablet.getExtent().tableId().equals(tableId)) {
       // sanity check
       throw new IllegalStateException(
@@ -801,11 +825,11 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     metaCache.put(er, cachedTablet);
 
     if (!badExtents.isEmpty()) {
-      removeOverlapping(badExtents, cachedTablet.getExtent());
+      removeOverlapping(badExtents, cachedTablet.getExtent(), lookupStart);
     }
   }
 
-  static void removeOverlapping(TreeMap<Text,CachedTablet> metaCache, KeyExtent nke) {
+  static void removeOverlapping(NavigableMap<Text,CachedTablet> metaCache, KeyExtent nke) {
     Iterator<Entry<Text,CachedTablet>> iter;
 
     if (nke.prevEndRow() == null) {
@@ -840,9 +864,18 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     return row;
   }
 
-  static void removeOverlapping(TreeSet<KeyExtent> extents, KeyExtent nke) {
+  /**
+   * Removes the extents that overlap nke and were invalidated at or before the given sequence
+   * number. Extents invalidated again after that stay in the map.
+   */
+  static void removeOverlapping(ConcurrentNavigableMap<KeyExtent,Long> extents, KeyExtent nke,
+      long maxSeq) {
     for (KeyExtent overlapping : KeyExtent.findOverlapping(nke, extents)) {
-      extents.remove(overlapping);
+      Long seq = extents.get(overlapping);
+      if (seq != null && seq <= maxSeq) {
+        // only removes the entry when it was not invalidated again since it was read
+        extents.remove(overlapping, seq);
+      }
     }
   }
 
@@ -874,39 +907,39 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
       row.append(new byte[] {0}, 0, 1);
     }
 
-    CachedTablet tl;
-
-    if (lock) {
-      rLock.lock();
-      try {
-        tl = processInvalidatedAndCheckLock(context, lcSession, row);
-      } finally {
-        rLock.unlock();
-      }
-    } else {
-      tl = processInvalidatedAndCheckLock(context, lcSession, row);
-    }
-
-    if (tl == null || (locationNeed == LocationNeed.REQUIRED && tl.getTserverLocation().isEmpty()
-        && cacheCutoffTimer.startedAfter(tl.getCreationTimer()))) {
+    CachedTablet tl = processInvalidatedAndCheckLock(context, lcSession, row);
 
+    if (needsLookup(tl, locationNeed, cacheCutoffTimer)) {
+      cacheMisses.increment();
       // not in cache OR the cutoff timer was started after when the cached entry timer was started,
       // so obtain info from metadata table
       if (lock) {
-        wLock.lock();
+        lookupLock.lock();
         try {
-          tl = lookupTabletLocationAndCheckLock(context, row, retry, lcSession);
+          // another thread may have looked up the row while this thread waited for the lock
+          tl = lcSession.checkLock(findTabletInCache(row));
+          if (needsLookup(tl, locationNeed, cacheCutoffTimer)) {
+            tl = lookupTabletLocationAndCheckLock(context, row, retry, lcSession);
+          }
         } finally {
-          wLock.unlock();
+          lookupLock.unlock();
         }
       } else {
         tl = lookupTabletLocationAndCheckLock(context, row, retry, lcSession);
       }
+    } else {
+      cacheHits.increment();
     }
 
     return tl;
   }
 
+  private static boolean needsLookup(CachedTablet tl, LocationNeed locationNeed,
+      Timer cacheCutoffTimer) {
+    return tl == null || (locationNeed == LocationNeed.REQUIRED && tl.getTserverLocation().isEmpty()
+        && cacheCutoffTimer.startedAfter(tl.getCreationTimer()));
+  }
+
   private CachedTablet lookupTabletLocationAndCheckLock(ClientContext context, Text row,
       boolean retry, LockCheckerSession lcSession) throws AccumuloException,
       AccumuloSecurityException, TableNotFoundException, InvalidTabletHostingRequestException {
@@ -921,8 +954,6 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     return lcSession.checkLock(findTabletInCache(row));
   }
 
-  @SuppressFBWarnings(value = {"UL_UNRELEASED_LOCK", "UL_UNRELEASED_LOCK_EXCEPTION_PATH"},
-      justification = "locking is confusing, but probably correct")
   private void processInvalidated(ClientContext context, LockCheckerSession lcSession)
       throws AccumuloSecurityException, AccumuloException, TableNotFoundException,
       InvalidTabletHostingRequestException {
@@ -931,19 +962,17 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
       return;
     }
 
-    final boolean writeLockHeld = rwLock.isWriteLockedByCurrentThread();
+    lookupLock.lock();
     try {
-      if (!writeLockHeld) {
-        rLock.unlock();
-        wLock.lock();
-        if (badExtents.isEmpty()) {
-          return;
-        }
+      if (badExtents.isEmpty()) {
+        // another thread processed the bad extents while this thread waited for the lock
+        return;
       }
 
+      long lookupStart = invalidationSeq.get();
       List<Range> lookups = new ArrayList<>(badExtents.size());
 
-      for (KeyExtent be : badExtents) {
+      for (KeyExtent be : badExtents.keySet()) {
         lookups.add(be.toMetaRange());
         removeOverlapping(metaCache, be);
       }
@@ -965,14 +994,11 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
             tabletObtainer.lookupTablets(context, tserver, binnedRanges.get(tserver), parent);
 
         for (CachedTablet cachedTablet : locations) {
-          updateCache(cachedTablet, lcSession);
+          updateCache(cachedTablet, lcSession, lookupStart);
         }
       }
     } finally {
-      if (!writeLockHeld) {
-        rLock.lock();
-        wLock.unlock();
-      }
+      lookupLock.unlock();
     }
   }
 
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Tracks the load that scan servers return with scan responses. Each server's load is an
+ * exponentially weighted moving average of the loads it returned, and is forgotten when the server
+ * has not responded for a while, because an old load says little about the server now.
+ */
+public class ScanServerLoads {
+
+  private static final double WEIGHT = 0.5;
+  private static final long EXPIRATION_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private static class Load {
+    private final double average;
+    private final long updateTime;
+
+    private Load(double average, long updateTime) {
+      this.average = average;
+      this.updateTime = updateTime;
+    }
+  }
+
+  private final Map<String,Load> loads = new ConcurrentHashMap<>();
+  private final LongSupplier nanoTime;
+
+  public ScanServerLoads() {
+    this(System::nanoTime);
+  }
+
+  @VisibleForTesting
+  ScanServerLoads(LongSupplier nanoTime) {
+    this.nanoTime = nanoTime;
+  }
+
+  private boolean expired(Load load, long now) {
+    return now - load.updateTime > EXPIRATION_NANOS;
+  }
+
+  public void update(String server, int load) {
+    long now = nanoTime.getAsLong();
+    loads.compute(server, (k, prev) -> {
+      if (prev == null || expired(prev, now)) {
+        return new Load(load, now);
+      }
+      return new Load(WEIGHT * load + (1 - WEIGHT) * prev.average, now);
+    });
+  }
+
+  public OptionalDouble getLoad(String server) {
+    Load load = loads.get(server);
+    if (load == null) {
+      return OptionalDouble.empty();
+    }
+    if (expired(load, nanoTime.getAsLong())) {
+      loads.remove(server, load);
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(load.average);
+  }
+}
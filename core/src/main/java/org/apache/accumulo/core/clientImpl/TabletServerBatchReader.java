@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.conf.ClientProperty;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
@@ -75,7 +76,10 @@ public class TabletServerBatchReader extends ScannerOptions implements BatchScan
     queryThreadPool = context.threadPools()
         .getPoolBuilder(
             ACCUMULO_POOL_PREFIX.poolName + ".client.batch.scanner." + batchReaderInstance)
-        .numCoreThreads(numQueryThreads).build();
+        .numCoreThreads(numQueryThreads)
+        .useVirtualThreads(
+            ClientProperty.BATCH_SCANNER_VIRTUAL_THREADS.getBoolean(context.getProperties()))
+        .build();
     // Call shutdown on this thread pool in case the caller does not call close().
     cleanable = CleanerUtil.shutdownThreadPoolExecutor(queryThreadPool, closed, log);
   }
@@ -121,4 +125,17 @@ public class TabletServerBatchReader extends ScannerOptions implements BatchScan
     return new TabletServerBatchReaderIterator(context, tableId, tableName, authorizations, ranges,
         numThreads, queryThreadPool, this, retryTimeout);
   }
+
+  /**
+   * Reads the given ranges using the options and threads of this reader without changing its
+   * ranges, so different ranges can be read concurrently.
+   */
+  Iterator<Entry<Key,Value>> iterator(Collection<Range> ranges) {
+    if (closed.get()) {
+      throw new IllegalStateException("batch reader closed");
+    }
+
+    return new TabletServerBatchReaderIterator(context, tableId, tableName, authorizations,
+        new ArrayList<>(ranges), numThreads, queryThreadPool, this, retryTimeout);
+  }
 }
@@ -23,7 +23,6 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -61,11 +60,11 @@ import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.data.TabletId;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.ScanResultEncoding;
 import org.apache.accumulo.core.dataImpl.TabletIdImpl;
 import org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan;
 import org.apache.accumulo.core.dataImpl.thrift.MultiScanResult;
 import org.apache.accumulo.core.dataImpl.thrift.TKeyExtent;
-import org.apache.accumulo.core.dataImpl.thrift.TKeyValue;
 import org.apache.accumulo.core.dataImpl.thrift.TRange;
 import org.apache.accumulo.core.rpc.ThriftUtil;
 import org.apache.accumulo.core.rpc.clients.ThriftClientTypes;
@@ -912,31 +911,39 @@ public class TabletServerBatchReaderIterator implements Iterator<Entry<Key,Value
         Map<String,String> execHints =
             options.executionHints.isEmpty() ? null : options.executionHints;
 
+        final ClientMetrics metrics = context.getClientMetrics();
+        final TableId tableId = requested.keySet().iterator().next().tableId();
+        long rpcStart = metrics.isEnabled() ? System.nanoTime() : 0;
+
         InitialMultiScan imsr = client.startMultiScan(TraceUtil.traceInfo(), context.rpcCreds(),
             thriftTabletRanges, columns.stream().map(Column::toThrift).collect(Collectors.toList()),
             options.serverSideIteratorList, options.serverSideIteratorOptions,
             ByteBufferUtil.toByteBuffers(authorizations.getAuthorizations()), waitForWrites,
             SamplerConfigurationImpl.toThrift(options.getSamplerConfiguration()),
-            options.batchTimeout, options.classLoaderContext, execHints, busyTimeout);
+            options.batchTimeout, options.classLoaderContext, execHints, busyTimeout, true);
         scanIdToClose = imsr.scanID;
         if (waitForWrites) {
           ThriftScanner.serversWaitedForWrites.get(ttype).add(server.toString());
         }
 
         MultiScanResult scanResult = imsr.result;
+        List<Entry<Key,Value>> entries = new ArrayList<>(ScanResultEncoding.getResults(scanResult));
+
+        if (scanResult.isSetServerLoad()) {
+          context.getScanServerLoads().update(server, scanResult.getServerLoad());
+        }
+
+        if (metrics.isEnabled()) {
+          metrics.scanRpc(tableId, server, System.nanoTime() - rpcStart, entries);
+        }
 
         if (timer != null) {
           log.trace("tid={} Got 1st multi scan results, #results={} {} in {}",
-              Thread.currentThread().getId(), scanResult.results.size(),
+              Thread.currentThread().getId(), entries.size(),
               (scanResult.more ? "scanID=" + imsr.scanID : ""),
               String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0));
         }
 
-        ArrayList<Entry<Key,Value>> entries = new ArrayList<>(scanResult.results.size());
-        for (TKeyValue kv : scanResult.results) {
-          entries.add(new SimpleImmutableEntry<>(new Key(kv.key), new Value(kv.value)));
-        }
-
         if (!entries.isEmpty()) {
           receiver.receive(entries);
         }
@@ -959,20 +966,28 @@ public class TabletServerBatchReaderIterator implements Iterator<Entry<Key,Value
             timer.restart();
           }
 
+          if (metrics.isEnabled()) {
+            rpcStart = System.nanoTime();
+          }
+
           scanResult = client.continueMultiScan(TraceUtil.traceInfo(), imsr.scanID, busyTimeout);
+          entries = new ArrayList<>(ScanResultEncoding.getResults(scanResult));
+
+          if (scanResult.isSetServerLoad()) {
+            context.getScanServerLoads().update(server, scanResult.getServerLoad());
+          }
+
+          if (metrics.isEnabled()) {
+            metrics.scanRpc(tableId, server, System.nanoTime() - rpcStart, entries);
+          }
 
           if (timer != null) {
             log.trace("tid={} oid={} Got more multi scan results, #results={} {} in {}",
                 Thread.currentThread().getId(), nextOpid.getAndIncrement(),
-                scanResult.results.size(), (scanResult.more ? " scanID=" + imsr.scanID : ""),
+                entries.size(), (scanResult.more ? " scanID=" + imsr.scanID : ""),
                 String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0));
           }
 
-          entries = new ArrayList<>(scanResult.results.size());
-          for (TKeyValue kv : scanResult.results) {
-            entries.add(new SimpleImmutableEntry<>(new Key(kv.key), new Value(kv.value)));
-          }
-
           if (!entries.isEmpty()) {
             receiver.receive(entries);
           }
@@ -49,6 +49,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -113,6 +115,16 @@ import io.opentelemetry.context.Scope;
  * Memory accounting
  *   + when a mutation enters the system memory is incremented
  *   + when a mutation successfully leaves the system memory is decremented
+ *
+ * Adding mutations
+ *   + producer threads add mutations to one of several striped buffers, chosen by thread id, so
+ *     that producers do not contend on the batch writer's monitor
+ *   + memory is tracked with atomic counters, producers only take the monitor to wait when the
+ *     memory limit is reached or a flush is in progress
+ *   + the striped buffers are merged into a single set of mutations when they are queued for
+ *     binning
+ *   + producers hold a shared lock while adding a mutation and close holds it exclusively, so
+ *     close waits for adds in progress and adds that start after close see that it is closed
  */
 public class TabletServerBatchWriter implements AutoCloseable {
 
@@ -120,15 +132,19 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
   // basic configuration
   private final ClientContext context;
+  private final ClientMetrics metrics;
   private final long maxMem;
   private final long maxLatency;
   private final long timeout;
   private final Durability durability;
+  private final boolean copyMutations;
 
   // state
-  private boolean flushing;
-  private boolean closed;
+  private volatile boolean flushing;
+  private volatile boolean closed;
   private MutationSet mutations;
+  private final Stripe[] stripes;
+  private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
 
   // background writer
   private final MutationWriter writer;
@@ -139,16 +155,20 @@ public class TabletServerBatchWriter implements AutoCloseable {
   private final Map<String,TimeoutTracker> timeoutTrackers =
       Collections.synchronizedMap(new HashMap<>());
 
+  // memory used by all mutations that were added and not yet written
+  private final AtomicLong totalMemUsed = new AtomicLong(0);
+  // memory used by mutations in the striped buffers
+  private final AtomicLong stripedMemUsed = new AtomicLong(0);
+
   // stats
-  private long totalMemUsed = 0;
   private long lastProcessingStartTime;
 
-  private long totalAdded = 0;
+  private final LongAdder totalAdded = new LongAdder();
   private final AtomicLong totalSent = new AtomicLong(0);
   private final AtomicLong totalBinned = new AtomicLong(0);
   private final AtomicLong totalBinTime = new AtomicLong(0);
   private final AtomicLong totalSendTime = new AtomicLong(0);
-  private long startTime = 0;
+  private volatile long startTime = 0;
   private long initialGCTimes;
   private long initialCompileTimes;
   private double initialSystemLoad;
@@ -170,6 +190,10 @@ public class TabletServerBatchWriter implements AutoCloseable {
   private final AtomicBoolean somethingFailed = new AtomicBoolean(false);
   private Exception lastUnknownError = null;
 
+  private static class Stripe {
+    MutationSet mutations = new MutationSet();
+  }
+
   private static class TimeoutTracker {
 
     final String server;
@@ -210,6 +234,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
   public TabletServerBatchWriter(ClientContext context, BatchWriterConfig config) {
     this.context = context;
+    this.metrics = context.getClientMetrics();
     this.executor = context.threadPools()
         .createGeneralScheduledExecutorService(this.context.getConfiguration());
     this.failedMutations = new FailedMutations();
@@ -218,10 +243,16 @@ public class TabletServerBatchWriter implements AutoCloseable {
         : config.getMaxLatency(MILLISECONDS);
     this.timeout = config.getTimeout(MILLISECONDS);
     this.mutations = new MutationSet();
+    this.stripes = new Stripe[Runtime.getRuntime().availableProcessors()];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe();
+    }
     this.lastProcessingStartTime = System.currentTimeMillis();
     this.durability = config.getDurability();
+    this.copyMutations = config.isCopyMutations();
 
     this.writer = new MutationWriter(config.getMaxWriteThreads());
+    metrics.writerOpened(this);
 
     if (this.maxLatency != Long.MAX_VALUE) {
       latencyTimerFuture = executor
@@ -241,21 +272,73 @@ public class TabletServerBatchWriter implements AutoCloseable {
   }
 
   private synchronized void startProcessing() {
+    // merge the mutations added by producer threads into the set that will be queued
+    for (Stripe stripe : stripes) {
+      MutationSet stripeMutations;
+      synchronized (stripe) {
+        stripeMutations = stripe.mutations;
+        if (stripeMutations.getMemoryUsed() == 0) {
+          continue;
+        }
+        stripe.mutations = new MutationSet();
+      }
+      stripedMemUsed.addAndGet(-stripeMutations.getMemoryUsed());
+      mutations.merge(stripeMutations);
+    }
+
     if (mutations.getMemoryUsed() == 0) {
       return;
     }
     lastProcessingStartTime = System.currentTimeMillis();
-    writer.queueMutations(mutations);
+    queueMutations(mutations);
     mutations = new MutationSet();
   }
 
-  private synchronized void decrementMemUsed(long amount) {
-    totalMemUsed -= amount;
-    this.notifyAll();
+  /**
+   * Queues mutations to be binned and sent to tablet servers by the background threads. Tests
+   * override this to observe what is sent without tablet servers.
+   */
+  void queueMutations(MutationSet mutationsToSend) {
+    writer.queueMutations(mutationsToSend);
   }
 
-  public synchronized void addMutation(TableId table, Mutation m)
-      throws MutationsRejectedException {
+  void decrementMemUsed(long amount) {
+    totalMemUsed.addAndGet(-amount);
+    synchronized (this) {
+      this.notifyAll();
+    }
+  }
+
+  private synchronized void initStartTime() {
+    if (startTime != 0) {
+      return;
+    }
+
+    List<GarbageCollectorMXBean> gcmBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    for (GarbageCollectorMXBean garbageCollectorMXBean : gcmBeans) {
+      initialGCTimes += garbageCollectorMXBean.getCollectionTime();
+    }
+
+    CompilationMXBean compMxBean = ManagementFactory.getCompilationMXBean();
+    if (compMxBean.isCompilationTimeMonitoringSupported()) {
+      initialCompileTimes = compMxBean.getTotalCompilationTime();
+    }
+
+    initialSystemLoad = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+
+    startTime = System.currentTimeMillis();
+  }
+
+  public void addMutation(TableId table, Mutation m) throws MutationsRejectedException {
+    closeLock.readLock().lock();
+    try {
+      addMutationWhileOpen(table, m);
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  private void addMutationWhileOpen(TableId table, Mutation m) throws MutationsRejectedException {
 
     if (closed) {
       throw new IllegalStateException("Closed");
@@ -270,42 +353,43 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
     checkForFailures();
 
-    waitRTE(() -> (totalMemUsed > maxMem || flushing) && !somethingFailed.get());
+    // only take the monitor when this thread may need to wait
+    if (totalMemUsed.get() > maxMem || flushing) {
+      long waitStart = System.nanoTime();
+      synchronized (this) {
+        waitRTE(() -> (totalMemUsed.get() > maxMem || flushing) && !somethingFailed.get());
+      }
+      metrics.backpressure(System.nanoTime() - waitStart);
 
-    // do checks again since things could have changed while waiting and not holding lock
-    if (closed) {
-      throw new IllegalStateException("Closed");
+      // check again since things could have changed while waiting, close can not have happened
+      // because it waits for this add to finish
+      checkForFailures();
     }
-    checkForFailures();
 
     if (startTime == 0) {
-      startTime = System.currentTimeMillis();
-
-      List<GarbageCollectorMXBean> gcmBeans = ManagementFactory.getGarbageCollectorMXBeans();
-      for (GarbageCollectorMXBean garbageCollectorMXBean : gcmBeans) {
-        initialGCTimes += garbageCollectorMXBean.getCollectionTime();
-      }
-
-      CompilationMXBean compMxBean = ManagementFactory.getCompilationMXBean();
-      if (compMxBean.isCompilationTimeMonitoringSupported()) {
-        initialCompileTimes = compMxBean.getTotalCompilationTime();
-      }
-
-      initialSystemLoad = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+      initStartTime();
     }
 
-    // create a copy of mutation so that after this method returns the user
-    // is free to reuse the mutation object, like calling readFields... this
-    // is important for the case where a mutation is passed from map to reduce
-    // to batch writer... the map reduce code will keep passing the same mutation
-    // object into the reduce method
-    m = new Mutation(m);
+    if (copyMutations) {
+      // create a copy of mutation so that after this method returns the user
+      // is free to reuse the mutation object, like calling readFields... this
+      // is important for the case where a mutation is passed from map to reduce
+      // to batch writer... the map reduce code will keep passing the same mutation
+      // object into the reduce method
+      m = new Mutation(m);
+    }
 
-    totalMemUsed += m.estimatedMemoryUsed();
-    mutations.addMutation(table, m);
-    totalAdded++;
+    long memUsed = m.estimatedMemoryUsed();
+    totalMemUsed.addAndGet(memUsed);
+    Stripe stripe = stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+    synchronized (stripe) {
+      stripe.mutations.addMutation(table, m);
+    }
+    totalAdded.increment();
 
-    if (mutations.getMemoryUsed() >= maxMem / 2) {
+    // Checking flushing after the mutation was added to a stripe ensures a concurrent flush either
+    // sees the mutation when it merges the stripes or this thread queues it.
+    if (stripedMemUsed.addAndGet(memUsed) >= maxMem / 2 || flushing) {
       startProcessing();
       checkForFailures();
     }
@@ -342,7 +426,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
       startProcessing();
       checkForFailures();
 
-      waitRTE(() -> totalMemUsed > 0 && !somethingFailed.get());
+      waitRTE(() -> totalMemUsed.get() > 0 && !somethingFailed.get());
 
       flushing = false;
       this.notifyAll();
@@ -357,7 +441,18 @@ public class TabletServerBatchWriter implements AutoCloseable {
   }
 
   @Override
-  public synchronized void close() throws MutationsRejectedException {
+  public void close() throws MutationsRejectedException {
+    // Taken before the monitor, which a thread adding a mutation may wait on while holding the
+    // shared lock. Once held no mutations are being added and no more will be.
+    closeLock.writeLock().lock();
+    try {
+      closeWhileLocked();
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+  }
+
+  private synchronized void closeWhileLocked() throws MutationsRejectedException {
 
     if (closed) {
       return;
@@ -369,7 +464,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
       startProcessing();
 
-      waitRTE(() -> totalMemUsed > 0 && !somethingFailed.get());
+      waitRTE(() -> totalMemUsed.get() > 0 && !somethingFailed.get());
 
       logStats();
 
@@ -379,6 +474,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
       throw e;
     } finally {
       span.end();
+      metrics.writerClosed(this);
       // make a best effort to release these resources
       writer.binningThreadPool.shutdownNow();
       writer.sendThreadPool.shutdownNow();
@@ -386,6 +482,13 @@ public class TabletServerBatchWriter implements AutoCloseable {
     }
   }
 
+  /**
+   * @return the estimated memory used by mutations that were added and not yet written
+   */
+  long getQueuedBytes() {
+    return totalMemUsed.get();
+  }
+
   private void logStats() {
     if (log.isTraceEnabled()) {
       long finishTime = System.currentTimeMillis();
@@ -403,6 +506,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
       }
 
       double averageRate = totalSent.get() / (totalSendTime.get() / 1000.0);
+      long totalAdded = this.totalAdded.sum();
       double overallRate = totalAdded / ((finishTime - startTime) / 1000.0);
 
       double finalSystemLoad = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
@@ -562,22 +666,28 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
   private void checkForFailures() throws MutationsRejectedException {
     if (somethingFailed.get()) {
-      List<ConstraintViolationSummary> cvsList = violations.asList();
-      HashMap<TabletId,Set<org.apache.accumulo.core.client.security.SecurityErrorCode>> af =
-          new HashMap<>();
-      for (Entry<KeyExtent,Set<SecurityErrorCode>> entry : authorizationFailures.entrySet()) {
-        HashSet<org.apache.accumulo.core.client.security.SecurityErrorCode> codes = new HashSet<>();
-
-        for (SecurityErrorCode sce : entry.getValue()) {
-          codes.add(org.apache.accumulo.core.client.security.SecurityErrorCode.valueOf(sce.name()));
-        }
+      synchronized (this) {
+        throwFailures();
+      }
+    }
+  }
 
-        af.put(new TabletIdImpl(entry.getKey()), codes);
+  private void throwFailures() throws MutationsRejectedException {
+    List<ConstraintViolationSummary> cvsList = violations.asList();
+    HashMap<TabletId,Set<org.apache.accumulo.core.client.security.SecurityErrorCode>> af =
+        new HashMap<>();
+    for (Entry<KeyExtent,Set<SecurityErrorCode>> entry : authorizationFailures.entrySet()) {
+      HashSet<org.apache.accumulo.core.client.security.SecurityErrorCode> codes = new HashSet<>();
+
+      for (SecurityErrorCode sce : entry.getValue()) {
+        codes.add(org.apache.accumulo.core.client.security.SecurityErrorCode.valueOf(sce.name()));
       }
 
-      throw new MutationsRejectedException(context, cvsList, af, serverSideErrors, unknownErrors,
-          lastUnknownError);
+      af.put(new TabletIdImpl(entry.getKey()), codes);
     }
+
+    throw new MutationsRejectedException(context, cvsList, af, serverSideErrors, unknownErrors,
+        lastUnknownError);
   }
 
   // END code for handling unrecoverable errors
@@ -589,7 +699,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
    */
   private synchronized void addFailedMutations(MutationSet failedMutations) {
     mutations.addAll(failedMutations);
-    if (mutations.getMemoryUsed() >= maxMem / 2 || closed || flushing) {
+    if (mutations.getMemoryUsed() + stripedMemUsed.get() >= maxMem / 2 || closed || flushing) {
       startProcessing();
     }
   }
@@ -964,6 +1074,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
           // set the session on the sessionCloser so that any failures after this point will close
           // the session if needed
+          long rpcStart = metrics.isEnabled() ? System.nanoTime() : 0;
           sessionCloser.setSession(
               client.startUpdate(tinfo, context.rpcCreds(), DurabilityImpl.toThrift(durability)));
 
@@ -990,6 +1101,17 @@ public class TabletServerBatchWriter implements AutoCloseable {
           // the write completed successfully so no need to close the session
           sessionCloser.clearSession();
 
+          if (metrics.isEnabled()) {
+            metrics.writeRpc(location, System.nanoTime() - rpcStart);
+            for (Entry<KeyExtent,List<Mutation>> entry : tabMuts.entrySet()) {
+              long bytes = 0;
+              for (Mutation mutation : entry.getValue()) {
+                bytes += mutation.numBytes();
+              }
+              metrics.mutationsWritten(entry.getKey().tableId(), entry.getValue().size(), bytes);
+            }
+          }
+
           // @formatter:off
             Map<KeyExtent,Long> failures = updateErrors.failedExtents.entrySet().stream().collect(toMap(
                             entry -> KeyExtent.fromThrift(entry.getKey()),
@@ -1183,7 +1305,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
   // END code for sending mutations to tablet servers using background threads
 
-  private static class MutationSet {
+  static class MutationSet {
 
     private final HashMap<TableId,List<Mutation>> mutations;
     private long memoryUsed = 0;
@@ -1221,6 +1343,15 @@ public class TabletServerBatchWriter implements AutoCloseable {
       }
     }
 
+    /**
+     * Adds all of the mutations in another set, appending each tables list of mutations at once.
+     */
+    void merge(MutationSet other) {
+      other.mutations.forEach((table, tableMutations) -> mutations
+          .computeIfAbsent(table, k -> new ArrayList<>()).addAll(tableMutations));
+      memoryUsed += other.memoryUsed;
+    }
+
     public void addAll(TableId table, List<Mutation> mutations) {
       for (Mutation mutation : mutations) {
         addMutation(table, mutation);
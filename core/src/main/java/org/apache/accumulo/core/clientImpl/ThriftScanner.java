@@ -49,6 +49,7 @@ import org.apache.accumulo.core.client.sample.SamplerConfiguration;
 import org.apache.accumulo.core.clientImpl.ClientTabletCache.CachedTablet;
 import org.apache.accumulo.core.clientImpl.thrift.TInfo;
 import org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException;
+import org.apache.accumulo.core.conf.ClientProperty;
 import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.Column;
 import org.apache.accumulo.core.data.Key;
@@ -59,6 +60,7 @@ import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.data.TabletId;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.ScanResultEncoding;
 import org.apache.accumulo.core.dataImpl.TabletIdImpl;
 import org.apache.accumulo.core.dataImpl.thrift.InitialScan;
 import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
@@ -146,7 +148,7 @@ public class ThriftScanner {
             scanState.size, scanState.serverSideIteratorList, scanState.serverSideIteratorOptions,
             scanState.authorizations.getAuthorizationsBB(), waitForWrites, scanState.isolated,
             scanState.readaheadThreshold, null, scanState.batchTimeOut, classLoaderContext,
-            scanState.executionHints, 0L);
+            scanState.executionHints, 0L, false, false);
         if (waitForWrites) {
           serversWaitedForWrites.get(ttype).add(server);
         }
@@ -247,6 +249,8 @@ public class ThriftScanner {
     SamplerConfiguration samplerConfig;
     Map<String,String> executionHints;
 
+    boolean adaptiveBatchSize;
+
     ScanServerAttemptsImpl scanAttempts;
 
     Duration busyTimeout;
@@ -293,6 +297,9 @@ public class ThriftScanner {
 
       this.batchTimeOut = batchTimeOut;
 
+      this.adaptiveBatchSize =
+          ClientProperty.SCANNER_BATCH_SIZE_ADAPTIVE.getBoolean(context.getProperties());
+
       if (executionHints == null || executionHints.isEmpty()) {
         this.executionHints = null; // avoid thrift serialization for empty map
       } else {
@@ -852,6 +859,9 @@ public class ThriftScanner {
     TabletScanClientService.Client client =
         ThriftUtil.getClient(ThriftClientTypes.TABLET_SCAN, parsedLocation, context);
 
+    final ClientMetrics metrics = context.getClientMetrics();
+    final long rpcStart = metrics.isEnabled() ? System.nanoTime() : 0;
+
     String old = Thread.currentThread().getName();
     try {
       ScanResult sr;
@@ -884,7 +894,8 @@ public class ThriftScanner {
             scanState.authorizations.getAuthorizationsBB(), waitForWrites, scanState.isolated,
             scanState.readaheadThreshold,
             SamplerConfigurationImpl.toThrift(scanState.samplerConfig), scanState.batchTimeOut,
-            scanState.classLoaderContext, scanState.executionHints, busyTimeout);
+            scanState.classLoaderContext, scanState.executionHints, busyTimeout, true,
+            scanState.adaptiveBatchSize);
         if (waitForWrites) {
           serversWaitedForWrites.get(ttype).add(addr.serverAddress);
         }
@@ -914,11 +925,22 @@ public class ThriftScanner {
         }
       }
 
+      List<KeyValue> results = ScanResultEncoding.getResults(sr);
+
+      if (sr.isSetServerLoad()) {
+        context.getScanServerLoads().update(addr.serverAddress, sr.getServerLoad());
+      }
+
+      if (metrics.isEnabled()) {
+        metrics.scanRpc(addr.getExtent().tableId(), addr.serverAddress,
+            System.nanoTime() - rpcStart, results);
+      }
+
       if (sr.more) {
         if (timer != null) {
           log.trace("tid={} Finished scan in {} #results={} scanid={}",
               Thread.currentThread().getId(),
-              String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0), sr.results.size(),
+              String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0), results.size(),
               scanState.scanID);
         }
       } else {
@@ -929,7 +951,7 @@ public class ThriftScanner {
             log.trace("tid={} Completely finished scan in {} #results={}",
                 Thread.currentThread().getId(),
                 String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0),
-                sr.results.size());
+                results.size());
           }
 
         } else if (scanState.range.getEndKey() == null || !scanState.range
@@ -941,7 +963,7 @@ public class ThriftScanner {
             log.trace("tid={} Finished scanning tablet in {} #results={}",
                 Thread.currentThread().getId(),
                 String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0),
-                sr.results.size());
+                results.size());
           }
         } else {
           scanState.finished = true;
@@ -949,23 +971,16 @@ public class ThriftScanner {
             log.trace("tid={} Completely finished in {} #results={}",
                 Thread.currentThread().getId(),
                 String.format("%.3f secs", timer.elapsed(MILLISECONDS) / 1000.0),
-                sr.results.size());
+                results.size());
           }
         }
       }
 
-      Key.decompress(sr.results);
-
-      if (!sr.results.isEmpty() && !scanState.finished) {
-        scanState.range = new Range(new Key(sr.results.get(sr.results.size() - 1).key), false,
+      if (!results.isEmpty() && !scanState.finished) {
+        scanState.range = new Range(new Key(results.get(results.size() - 1).getKey()), false,
             scanState.range.getEndKey(), scanState.range.isEndKeyInclusive());
       }
 
-      List<KeyValue> results = new ArrayList<>(sr.results.size());
-      for (TKeyValue tkv : sr.results) {
-        results.add(new KeyValue(new Key(tkv.key), tkv.value));
-      }
-
       return results;
 
     } catch (ThriftSecurityException e) {
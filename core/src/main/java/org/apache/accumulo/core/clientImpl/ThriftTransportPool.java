@@ -41,6 +41,8 @@ import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
+import org.apache.accumulo.core.rpc.MultiplexedConnection;
+import org.apache.accumulo.core.rpc.MultiplexedTransport;
 import org.apache.accumulo.core.rpc.ThriftUtil;
 import org.apache.accumulo.core.rpc.clients.ThriftClientTypes;
 import org.apache.accumulo.core.util.Pair;
@@ -70,8 +72,14 @@ public class ThriftTransportPool {
 
   private final LongSupplier maxAgeMillis;
 
-  private ThriftTransportPool(LongSupplier maxAgeMillis) {
+  // When greater than zero, scan and write RPCs to a server share at most this many connections.
+  private final int multiplexedConnections;
+  private final Map<ThriftTransportKey,List<SharedConnection>> sharedConnections =
+      new ConcurrentHashMap<>();
+
+  private ThriftTransportPool(LongSupplier maxAgeMillis, int multiplexedConnections) {
     this.maxAgeMillis = maxAgeMillis;
+    this.multiplexedConnections = multiplexedConnections;
     this.checkThread = Threads.createThread("Thrift Connection Pool Checker", () -> {
       try {
         final long minNanos = MILLISECONDS.toNanos(250);
@@ -100,11 +108,17 @@ public class ThriftTransportPool {
    * Create a new instance and start its checker thread, returning the instance.
    *
    * @param maxAgeMillis the supplier for the max age of idle transports before they are cleaned up
+   * @param multiplexedConnections the number of connections per server that scan and write RPCs
+   *        share, or zero to give each RPC its own connection
    * @return a new instance with its checker thread started to clean up idle transports
    */
-  static ThriftTransportPool startNew(LongSupplier maxAgeMillis) {
-    var pool = new ThriftTransportPool(maxAgeMillis);
+  static ThriftTransportPool startNew(LongSupplier maxAgeMillis, int multiplexedConnections) {
+    var pool = new ThriftTransportPool(maxAgeMillis, multiplexedConnections);
     log.debug("Set thrift transport pool idle time to {}ms", maxAgeMillis.getAsLong());
+    if (multiplexedConnections > 0) {
+      log.debug("Multiplexing scan and write RPCs over {} connections per server",
+          multiplexedConnections);
+    }
     pool.checkThread.start();
     return pool;
   }
@@ -113,6 +127,9 @@ public class ThriftTransportPool {
       ClientContext context, boolean preferCached) throws TTransportException {
 
     ThriftTransportKey cacheKey = new ThriftTransportKey(type, location, milliseconds, context);
+    if (preferCached && canMultiplex(cacheKey)) {
+      return getSharedTransport(cacheKey);
+    }
     if (preferCached) {
       CachedConnection connection = connectionPool.reserveAny(cacheKey);
       if (connection != null) {
@@ -145,6 +162,76 @@ public class ThriftTransportPool {
     return null;
   }
 
+  private boolean canMultiplex(ThriftTransportKey cacheKey) {
+    // Clients send scan and write RPCs to every tablet server often and from many threads, so these
+    // are the RPCs that otherwise need many connections per server. Servers run the requests of a
+    // shared connection concurrently, and each shared transport waits for its previous request to
+    // finish before sending the next one, so the RPCs of a scan or update session still run in the
+    // order they were sent. SASL transports do their own framing, which this does not support.
+    return multiplexedConnections > 0 && !cacheKey.isSasl()
+        && (cacheKey.getType() == ThriftClientTypes.TABLET_SCAN
+            || cacheKey.getType() == ThriftClientTypes.TABLET_INGEST);
+  }
+
+  /**
+   * Returns a transport over the least busy shared connection to a server, opening another
+   * connection when all are busy and there are fewer than the configured number.
+   */
+  private TTransport getSharedTransport(ThriftTransportKey cacheKey) throws TTransportException {
+    if (connectionPool.isShutdown()) {
+      throw new TransportPoolShutdownException(
+          "The Accumulo singleton for connection pooling is disabled.  This is likely caused by "
+              + "all AccumuloClients being closed or garbage collected.");
+    }
+
+    List<SharedConnection> connections =
+        sharedConnections.computeIfAbsent(cacheKey, k -> new ArrayList<>());
+    synchronized (connections) {
+      SharedConnection leastBusy = null;
+      for (SharedConnection connection : connections) {
+        if (leastBusy == null || connection.reserved < leastBusy.reserved) {
+          leastBusy = connection;
+        }
+      }
+
+      if (leastBusy == null
+          || (leastBusy.reserved > 0 && connections.size() < multiplexedConnections)) {
+        log.trace("Creating new shared connection to {}", cacheKey.getServer());
+        leastBusy = new SharedConnection(new MultiplexedConnection(ThriftUtil.createClientTransport(
+            cacheKey.getServer(), (int) cacheKey.getTimeout(), cacheKey.getSslParams(), null)));
+        connections.add(leastBusy);
+      }
+
+      SharedTransport transport = new SharedTransport(cacheKey, leastBusy);
+      leastBusy.reserved++;
+      return transport;
+    }
+  }
+
+  private void returnSharedTransport(SharedTransport transport) {
+    transport.close();
+
+    SharedConnection connection = transport.sharedConnection;
+    boolean closeConnection = false;
+    List<SharedConnection> connections = sharedConnections.get(transport.cacheKey);
+    synchronized (connections) {
+      connection.reserved--;
+      connection.lastReturnTime = System.currentTimeMillis();
+      // errors close the connection, except for timeouts which only fail the call that timed out
+      if (!connection.connection.isOpen()) {
+        closeConnection = connections.remove(connection);
+      }
+    }
+
+    if (closeConnection) {
+      connection.connection.close();
+    }
+
+    if (transport.sawError()) {
+      recordError(transport.cacheKey);
+    }
+  }
+
   private TTransport createNewTransport(ThriftTransportKey cacheKey) throws TTransportException {
     TTransport transport = ThriftUtil.createClientTransport(cacheKey.getServer(),
         (int) cacheKey.getTimeout(), cacheKey.getSslParams(), cacheKey.getSaslParams());
@@ -171,6 +258,11 @@ public class ThriftTransportPool {
       return;
     }
 
+    if (transport instanceof SharedTransport) {
+      returnSharedTransport((SharedTransport) transport);
+      return;
+    }
+
     CachedTTransport cachedTransport = (CachedTTransport) transport;
     ArrayList<CachedConnection> closeList = new ArrayList<>();
     boolean existInCache = connectionPool.returnTransport(cachedTransport, closeList);
@@ -185,35 +277,38 @@ public class ThriftTransportPool {
     });
 
     if (cachedTransport.sawError) {
+      recordError(cachedTransport.getCacheKey());
+    }
 
-      boolean shouldWarn = false;
-      long ecount;
-
-      synchronized (errorCount) {
+    if (!existInCache) {
+      log.warn("Returned tablet server connection to cache that did not come from cache");
+      // close outside of sync block
+      transport.close();
+    }
+  }
 
-        ecount = errorCount.merge(cachedTransport.getCacheKey(), 1L, Long::sum);
+  private void recordError(ThriftTransportKey cacheKey) {
+    boolean shouldWarn = false;
+    long ecount;
 
-        // logs the first time an error occurred
-        errorTime.computeIfAbsent(cachedTransport.getCacheKey(), k -> System.currentTimeMillis());
+    synchronized (errorCount) {
 
-        if (ecount >= ERROR_THRESHOLD && serversWarnedAbout.add(cachedTransport.getCacheKey())) {
-          // boolean facilitates logging outside of lock
-          shouldWarn = true;
-        }
-      }
+      ecount = errorCount.merge(cacheKey, 1L, Long::sum);
 
-      log.trace("Returned connection had error {}", cachedTransport.getCacheKey());
+      // logs the first time an error occurred
+      errorTime.computeIfAbsent(cacheKey, k -> System.currentTimeMillis());
 
-      if (shouldWarn) {
-        log.warn("Server {} had {} failures in a short time period, will not complain anymore",
-            cachedTransport.getCacheKey(), ecount);
+      if (ecount >= ERROR_THRESHOLD && serversWarnedAbout.add(cacheKey)) {
+        // boolean facilitates logging outside of lock
+        shouldWarn = true;
       }
     }
 
-    if (!existInCache) {
-      log.warn("Returned tablet server connection to cache that did not come from cache");
-      // close outside of sync block
-      transport.close();
+    log.trace("Returned connection had error {}", cacheKey);
+
+    if (shouldWarn) {
+      log.warn("Server {} had {} failures in a short time period, will not complain anymore",
+          cacheKey, ecount);
     }
   }
 
@@ -234,12 +329,34 @@ public class ThriftTransportPool {
       }
     }
 
+    List<SharedConnection> expiredShared = new ArrayList<>();
+    long currTime = System.currentTimeMillis();
+    for (List<SharedConnection> connections : sharedConnections.values()) {
+      synchronized (connections) {
+        connections.removeIf(c -> {
+          boolean expired = !c.connection.isOpen() || (c.reserved == 0
+              && currTime - c.lastReturnTime > maxAgeMillis.getAsLong());
+          if (expired) {
+            expiredShared.add(c);
+          }
+          return expired;
+        });
+      }
+    }
+
     // Close connections outside of sync block
     expiredConnections.forEach(c -> c.transport.close());
+    expiredShared.forEach(c -> c.connection.close());
   }
 
   void shutdown() {
     connectionPool.shutdown();
+    for (List<SharedConnection> connections : sharedConnections.values()) {
+      synchronized (connections) {
+        connections.forEach(c -> c.connection.close());
+        connections.clear();
+      }
+    }
     try {
       checkThread.join();
     } catch (InterruptedException e) {
@@ -554,6 +671,34 @@ public class ThriftTransportPool {
     long lastReturnTime;
   }
 
+  private static class SharedConnection {
+
+    SharedConnection(MultiplexedConnection connection) {
+      this.connection = connection;
+      this.lastReturnTime = System.currentTimeMillis();
+    }
+
+    final MultiplexedConnection connection;
+
+    // the number of transports using this connection, guarded by the list holding this connection
+    int reserved;
+
+    long lastReturnTime;
+  }
+
+  private static class SharedTransport extends MultiplexedTransport {
+
+    private final ThriftTransportKey cacheKey;
+    private final SharedConnection sharedConnection;
+
+    SharedTransport(ThriftTransportKey cacheKey, SharedConnection sharedConnection)
+        throws TTransportException {
+      super(sharedConnection.connection);
+      this.cacheKey = cacheKey;
+      this.sharedConnection = sharedConnection;
+    }
+  }
+
   public static class TransportPoolShutdownException extends RuntimeException {
     public TransportPoolShutdownException(String msg) {
       super(msg);
@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -60,7 +61,6 @@ import org.apache.accumulo.core.clientImpl.ClientContext;
 import org.apache.accumulo.core.clientImpl.TableOperationsImpl;
 import org.apache.accumulo.core.clientImpl.bulk.Bulk.FileInfo;
 import org.apache.accumulo.core.clientImpl.bulk.Bulk.Files;
-import org.apache.accumulo.core.conf.AccumuloConfiguration;
 import org.apache.accumulo.core.conf.ClientProperty;
 import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
 import org.apache.accumulo.core.conf.Property;
@@ -263,52 +263,6 @@ public class BulkImport implements ImportDestinationArguments, ImportMappingOpti
     long l;
   }
 
-  public static Map<KeyExtent,Long> estimateSizes(AccumuloConfiguration acuConf,
-      UnreferencedTabletFile dataFile, long fileSize, Collection<KeyExtent> extents, FileSystem ns,
-      Cache<String,Long> fileLenCache, CryptoService cs) throws IOException {
-
-    if (extents.size() == 1) {
-      return Collections.singletonMap(extents.iterator().next(), fileSize);
-    }
-
-    long totalIndexEntries = 0;
-    Map<KeyExtent,MLong> counts = new TreeMap<>();
-    for (KeyExtent keyExtent : extents) {
-      counts.put(keyExtent, new MLong(0));
-    }
-
-    Text row = new Text();
-
-    try (FileSKVIterator index =
-        FileOperations.getInstance().newIndexReaderBuilder().forFile(dataFile, ns, ns.getConf(), cs)
-            .withTableConfiguration(acuConf).withFileLenCache(fileLenCache).build()) {
-      while (index.hasTop()) {
-        Key key = index.getTopKey();
-        totalIndexEntries++;
-        key.getRow(row);
-
-        for (Entry<KeyExtent,MLong> entry : counts.entrySet()) {
-          if (entry.getKey().contains(row)) {
-            entry.getValue().l++;
-          }
-        }
-
-        index.next();
-      }
-    }
-
-    Map<KeyExtent,Long> results = new TreeMap<>();
-    for (KeyExtent keyExtent : extents) {
-      double numEntries = counts.get(keyExtent).l;
-      if (numEntries == 0) {
-        numEntries = 1;
-      }
-      long estSize = (long) ((numEntries / totalIndexEntries) * fileSize);
-      results.put(keyExtent, estSize);
-    }
-    return results;
-  }
-
   public interface KeyExtentCache {
     KeyExtent lookup(Text row);
   }
@@ -338,22 +292,96 @@ public class BulkImport implements ImportDestinationArguments, ImportMappingOpti
     return result;
   }
 
+  /**
+   * Finds the tablets a file overlaps and estimates the size of the file in each of those tablets
+   * in a single sweep over the file's index. The tablets found are the same as those found by
+   * {@link #findOverlappingTablets(KeyExtentCache, FileSKVIterator)}, which reads every row of the
+   * file, and the size in each tablet is estimated from the fraction of the index entries that fall
+   * in it.
+   *
+   * <p>
+   * All of the data after one index entry up to and including the next is in the same block, so
+   * when two consecutive index entries fall in the same tablet or in adjacent tablets all of the
+   * data between them is known to be in those tablets. The data reader is only seeked when two
+   * consecutive index entries are separated by other tablets, to find which of the tablets in
+   * between have data. So data blocks are only read for files whose blocks span more than two
+   * tablets, and the number of tablet lookups is proportional to the number of tablets the file
+   * overlaps rather than the number of index entries.
+   *
+   * @param index an iterator over the file's index
+   * @param reader a reader for the file that has not been seeked
+   */
+  public static Map<KeyExtent,Long> mapFileToTablets(KeyExtentCache extentCache,
+      FileSKVIterator index, FileSKVIterator reader, long fileSize) throws IOException {
+    Text firstRow = reader.getFirstRow();
+    if (firstRow == null) {
+      return Map.of();
+    }
+
+    // tracks the number of index entries in each tablet, in the order the tablets are found
+    Map<KeyExtent,MLong> counts = new LinkedHashMap<>();
+    KeyExtent current = extentCache.lookup(firstRow);
+    counts.put(current, new MLong(0));
+
+    long totalIndexEntries = 0;
+    Text row = new Text();
+    while (index.hasTop()) {
+      index.getTopKey().getRow(row);
+      totalIndexEntries++;
+
+      if (!current.contains(row)) {
+        KeyExtent next = extentCache.lookup(new Text(row));
+        if (!Objects.equals(current.endRow(), next.prevEndRow())) {
+          addTabletsBetween(extentCache, reader, current, next, counts);
+        }
+        current = next;
+        counts.putIfAbsent(current, new MLong(0));
+      }
+
+      counts.get(current).l++;
+      index.next();
+    }
+
+    if (counts.size() == 1) {
+      return Map.of(current, fileSize);
+    }
+
+    Map<KeyExtent,Long> results = new HashMap<>();
+    for (Entry<KeyExtent,MLong> entry : counts.entrySet()) {
+      double numEntries = Math.max(1, entry.getValue().l);
+      results.put(entry.getKey(),
+          (long) ((numEntries / Math.max(1, totalIndexEntries)) * fileSize));
+    }
+    return results;
+  }
+
+  /**
+   * Seeks the reader to find the tablets between two non-adjacent tablets that contain data.
+   */
+  private static void addTabletsBetween(KeyExtentCache extentCache, FileSKVIterator reader,
+      KeyExtent prev, KeyExtent next, Map<KeyExtent,MLong> counts) throws IOException {
+    Collection<ByteSequence> columnFamilies = Collections.emptyList();
+    Text row = nextRow(prev.endRow());
+    while (true) {
+      reader.seek(new Range(row, true, next.prevEndRow(), true), columnFamilies, false);
+      if (!reader.hasTop()) {
+        break;
+      }
+      KeyExtent extent = extentCache.lookup(reader.getTopKey().getRow());
+      counts.putIfAbsent(extent, new MLong(0));
+      if (extent.endRow() == null || extent.endRow().compareTo(next.prevEndRow()) >= 0) {
+        break;
+      }
+      row = nextRow(extent.endRow());
+    }
+  }
+
   private static Text nextRow(Text row) {
     Text next = new Text(row);
     next.append(byte0, 0, byte0.length);
     return next;
   }
 
-  public static List<KeyExtent> findOverlappingTablets(ClientContext context,
-      KeyExtentCache extentCache, UnreferencedTabletFile file, FileSystem fs,
-      Cache<String,Long> fileLenCache, CryptoService cs) throws IOException {
-    try (FileSKVIterator reader = FileOperations.getInstance().newReaderBuilder()
-        .forFile(file, fs, fs.getConf(), cs).withTableConfiguration(context.getConfiguration())
-        .withFileLenCache(fileLenCache).seekToBeginning().build()) {
-      return findOverlappingTablets(extentCache, reader);
-    }
-  }
-
   private static Map<String,Long> getFileLenMap(List<FileStatus> statuses) {
     HashMap<String,Long> fileLens = new HashMap<>();
     for (FileStatus status : statuses) {
@@ -540,16 +568,23 @@ public class BulkImport implements ImportDestinationArguments, ImportMappingOpti
       CompletableFuture<Map<KeyExtent,Bulk.FileInfo>> future = CompletableFuture.supplyAsync(() -> {
         try {
           long t1 = System.currentTimeMillis();
-          List<KeyExtent> extents =
-              findOverlappingTablets(context, extentCache, file, fs, fileLensCache, cs);
+          Map<KeyExtent,Long> estSizes;
+          try (
+              FileSKVIterator index = FileOperations.getInstance().newIndexReaderBuilder()
+                  .forFile(file, fs, fs.getConf(), cs)
+                  .withTableConfiguration(context.getConfiguration())
+                  .withFileLenCache(fileLensCache).build();
+              FileSKVIterator reader = FileOperations.getInstance().newReaderBuilder()
+                  .forFile(file, fs, fs.getConf(), cs)
+                  .withTableConfiguration(context.getConfiguration())
+                  .withFileLenCache(fileLensCache).build()) {
+            estSizes = mapFileToTablets(extentCache, index, reader, fileStatus.getLen());
+          }
           // make sure file isn't going to too many tablets
-          checkTabletCount(maxTablets, extents.size(), file.toString());
-          Map<KeyExtent,Long> estSizes = estimateSizes(context.getConfiguration(), file,
-              fileStatus.getLen(), extents, fs, fileLensCache, cs);
+          checkTabletCount(maxTablets, estSizes.size(), file.toString());
           Map<KeyExtent,Bulk.FileInfo> pathLocations = new HashMap<>();
-          for (KeyExtent ke : extents) {
-            pathLocations.put(ke, new Bulk.FileInfo(file.getPath(), estSizes.getOrDefault(ke, 0L)));
-          }
+          estSizes.forEach(
+              (ke, estSize) -> pathLocations.put(ke, new Bulk.FileInfo(file.getPath(), estSize)));
           long t2 = System.currentTimeMillis();
           log.debug("Mapped {} to {} tablets in {}ms", file, pathLocations.size(), t2 - t1);
           return pathLocations;
@@ -427,16 +427,18 @@ public abstract class AccumuloConfiguration implements Iterable<Entry<String,Str
     public final Optional<String> prioritizerClass;
     public final Map<String,String> prioritizerOpts;
     public final boolean isScanServer;
+    public final boolean virtualThreads;
 
     public ScanExecutorConfig(String name, int maxThreads, OptionalInt priority,
         Optional<String> comparatorFactory, Map<String,String> comparatorFactoryOpts,
-        boolean isScanServer) {
+        boolean isScanServer, boolean virtualThreads) {
       this.name = name;
       this.maxThreads = maxThreads;
       this.priority = priority;
       this.prioritizerClass = comparatorFactory;
       this.prioritizerOpts = comparatorFactoryOpts;
       this.isScanServer = isScanServer;
+      this.virtualThreads = virtualThreads;
     }
 
     /**
@@ -559,6 +561,7 @@ public abstract class AccumuloConfiguration implements Iterable<Entry<String,Str
   private static final String SCAN_EXEC_PRIORITY = "priority";
   private static final String SCAN_EXEC_PRIORITIZER = "prioritizer";
   private static final String SCAN_EXEC_PRIORITIZER_OPTS = "prioritizer.opts.";
+  private static final String SCAN_EXEC_VIRTUAL = "virtual";
 
   public Collection<ScanExecutorConfig> getScanExecutors(boolean isScanServer) {
 
@@ -583,6 +586,7 @@ public abstract class AccumuloConfiguration implements Iterable<Entry<String,Str
       Integer threads = null;
       Integer prio = null;
       String prioritizerClass = null;
+      boolean virtualThreads = false;
       Map<String,String> prioritizerOpts = new HashMap<>();
 
       for (Entry<String,String> subEntry : entry.getValue().entrySet()) {
@@ -595,6 +599,8 @@ public abstract class AccumuloConfiguration implements Iterable<Entry<String,Str
           prio = Integer.parseInt(val);
         } else if (opt.equals(SCAN_EXEC_PRIORITIZER)) {
           prioritizerClass = val;
+        } else if (opt.equals(SCAN_EXEC_VIRTUAL)) {
+          virtualThreads = Boolean.parseBoolean(val);
         } else if (opt.startsWith(SCAN_EXEC_PRIORITIZER_OPTS)) {
           String key = opt.substring(SCAN_EXEC_PRIORITIZER_OPTS.length());
           if (key.isEmpty()) {
@@ -611,7 +617,7 @@ public abstract class AccumuloConfiguration implements Iterable<Entry<String,Str
 
       scanResources.add(new ScanExecutorConfig(name, threads,
           prio == null ? OptionalInt.empty() : OptionalInt.of(prio),
-          Optional.ofNullable(prioritizerClass), prioritizerOpts, isScanServer));
+          Optional.ofNullable(prioritizerClass), prioritizerOpts, isScanServer, virtualThreads));
     }
 
     return scanResources;
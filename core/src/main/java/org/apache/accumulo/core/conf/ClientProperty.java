@@ -90,6 +90,11 @@ public enum ClientProperty {
   // Scanner
   SCANNER_BATCH_SIZE("scanner.batch.size", "1000", PropertyType.COUNT,
       "Number of key/value pairs that will be fetched at time from tablet server", "2.0.0", false),
+  SCANNER_BATCH_SIZE_ADAPTIVE("scanner.batch.size.adaptive", "false", PropertyType.BOOLEAN,
+      "When true, scanners ask servers to start with small batches, so the first entries arrive"
+          + " quickly, and to grow the batches while the client keeps up. Batches never exceed"
+          + " the batch size of the scanner or table.scan.max.memory.",
+      "4.0.0", false),
 
   SCAN_SERVER_SELECTOR("scan.server.selector.impl", ConfigurableScanServerSelector.class.getName(),
       PropertyType.CLASSNAME, "Class used by client to find Scan Servers", "2.1.0", false),
@@ -101,6 +106,10 @@ public enum ClientProperty {
   // BatchScanner
   BATCH_SCANNER_NUM_QUERY_THREADS("batch.scanner.num.query.threads", "3", PropertyType.COUNT,
       "Number of concurrent query threads to spawn for querying", "2.0.0", false),
+  BATCH_SCANNER_VIRTUAL_THREADS("batch.scanner.virtual.threads", "false", PropertyType.BOOLEAN,
+      "When true and the JVM supports virtual threads, batch scanners query tablet servers using"
+          + " virtual threads",
+      "4.0.0", false),
 
   // Bulk load
   BULK_LOAD_THREADS("bulk.threads", ImportMappingOptions.BULK_LOAD_THREADS_DEFAULT,
@@ -133,6 +142,30 @@ public enum ClientProperty {
   RPC_TRANSPORT_IDLE_TIMEOUT("rpc.transport.idle.timeout", "3s", PropertyType.TIMEDURATION,
       "The maximum duration to leave idle transports open in the client's transport pool", "2.1.0",
       false),
+  RPC_MULTIPLEXED_CONNECTIONS("rpc.multiplexed.connections", "0", PropertyType.COUNT,
+      "The number of connections to each tablet server or scan server that scan and write RPCs"
+          + " share. When greater than zero, concurrent scan and write RPCs to a server are sent"
+          + " over at most this many connections instead of each RPC using a connection of its"
+          + " own. A server runs the requests sent over one connection concurrently, while the"
+          + " RPCs of one scan or write session still run in order. Requires servers that"
+          + " support multiplexed connections and is not used when SASL is enabled. Set to 0 to"
+          + " disable.",
+      "4.0.0", false),
+
+  // Metrics
+  METRICS_ENABLED("metrics.enabled", "false", PropertyType.BOOLEAN,
+      "When true, scanners, batch scanners, batch writers and the tablet location cache record"
+          + " Micrometer metrics. The metrics are registered with Micrometer's global registry,"
+          + " so an application publishes them by adding its registry to that registry. RPC"
+          + " latencies are tagged by table id and server, so the number of metrics grows with"
+          + " the number of tables and servers the client uses. The metrics of a client are"
+          + " removed when it is closed.",
+      "4.0.0", false),
+  METRICS_HISTOGRAMS_ENABLED("metrics.histograms.enabled", "false", PropertyType.BOOLEAN,
+      "When true, and metrics are enabled, the RPC latency metrics of scanners and batch"
+          + " writers also publish percentile histograms. Each histogram adds many time series"
+          + " for every table and server the client uses.",
+      "4.0.0", false),
 
   ;
 
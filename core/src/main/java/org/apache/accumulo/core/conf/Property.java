@@ -90,6 +90,11 @@ public enum Property {
           + " This property is not used for SSL type server sockets. A value of zero"
           + " will use the Thrift default value.",
       "2.1.3"),
+  RPC_SERVER_VIRTUAL_THREADS("rpc.server.threads.virtual", "false", PropertyType.BOOLEAN,
+      "When true and the JVM supports virtual threads, Thrift servers handle requests on virtual"
+          + " threads. This lets a server, like a scan server, have many requests waiting on scans"
+          + " without holding a platform thread for each.",
+      "4.0.0"),
   RPC_SSL_KEYSTORE_PATH("rpc.javax.net.ssl.keyStore", "", PropertyType.PATH,
       "Path of the keystore file for the server's private SSL key.", "1.6.0"),
   @Sensitive
@@ -451,6 +456,15 @@ public enum Property {
       "The number of threads used to seed fate split task, the actual split work is done by fate"
           + " threads.",
       "4.0.0"),
+  MANAGER_SPLIT_INDEX_THREADS("manager.split.index.threadpool.size", "16", PropertyType.COUNT,
+      "The number of threads used to read file indexes when finding split points for tablets. The"
+          + " indexes of a tablets files are read in parallel.",
+      "4.0.0"),
+  MANAGER_SPLIT_INDEX_CACHE_SIZE("manager.split.index.cache.size", "64M", PropertyType.MEMORY,
+      "The amount of memory used to cache the rows read from file indexes when finding split"
+          + " points. Files are often shared by many tablets, so caching lets tablets that split"
+          + " around the same time read each index once.",
+      "4.0.0"),
 
   MANAGER_COMPACTION_SERVICE_PRIORITY_QUEUE_INITIAL_SIZE(
       "manager.compaction.major.service.queue.initial.size", "10000", PropertyType.COUNT,
@@ -495,7 +509,9 @@ public enum Property {
   @Experimental
   SSERV_CACHED_TABLET_METADATA_EXPIRATION("sserver.cache.metadata.expiration", "5m",
       PropertyType.TIMEDURATION,
-      "The time after which cached tablet metadata will be expired if not previously refreshed.",
+      "The time after which cached tablet metadata will be expired if not previously refreshed."
+          + " While tablet metadata is cached, scans of a tablet share the tablet created from"
+          + " that metadata, which is closed once it has not been used for this long.",
       "2.1.0"),
   @Experimental
   SSERV_CACHED_TABLET_METADATA_REFRESH_PERCENT("sserver.cache.metadata.refresh.percent", ".75",
@@ -527,8 +543,12 @@ public enum Property {
           + "and an optional prioritizer can be configured. To configure a new executor, set "
           + "`sserver.scan.executors.<name>.threads=<number>`.  Optionally, can also set "
           + "`sserver.scan.executors.<name>.priority=<number 1 to 10>`, "
-          + "`sserver.scan.executors.<name>.prioritizer=<class name>`, and "
-          + "`sserver.scan.executors.<name>.prioritizer.opts.<key>=<value>`.",
+          + "`sserver.scan.executors.<name>.prioritizer=<class name>`, "
+          + "`sserver.scan.executors.<name>.prioritizer.opts.<key>=<value>`, and "
+          + "`sserver.scan.executors.<name>.virtual=true`. When virtual is true and the JVM"
+          + " supports virtual threads, scans run on virtual threads so that scans blocked on I/O"
+          + " do not hold platform threads. The threads setting still limits how many scans run"
+          + " at once and queued scans still run in prioritizer order.",
       "2.1.0"),
   @Experimental
   SSERV_SCAN_EXECUTORS_DEFAULT_THREADS("sserver.scan.executors.default.threads", "16",
@@ -549,6 +569,15 @@ public enum Property {
       "The amount of time a scan reference is unused before its deleted from metadata table.",
       "2.1.0"),
   @Experimental
+  SSERV_SCAN_REFERENCE_PRERESERVE("sserver.scan.reference.prereserve", "true",
+      PropertyType.BOOLEAN,
+      "When the cached metadata of a tablet is refreshed and the tablet has new files, reserve"
+          + " the new files in the background if the tablet's previous files are still"
+          + " referenced by this scan server. This moves the metadata writes for the new files of"
+          + " tablets that are being scanned off of the scan path. Only takes effect when "
+          + SSERV_CACHED_TABLET_METADATA_REFRESH_PERCENT.getKey() + " is greater than zero.",
+      "4.0.0"),
+  @Experimental
   SSERV_THREADCHECK("sserver.server.threadcheck.time", "1s", PropertyType.TIMEDURATION,
       "The time between adjustments of the thrift server thread pool.", "2.1.0"),
   @Experimental
@@ -570,6 +599,17 @@ public enum Property {
       "Specifies the size of the cache for RFile index blocks.", "1.3.5"),
   TSERV_SUMMARYCACHE_SIZE("tserver.cache.summary.size", "10%", PropertyType.MEMORY,
       "Specifies the size of the cache for summary data on each tablet server.", "2.0.0"),
+  TSERV_SUMMARY_FILE_CACHE_SIZE("tserver.cache.summary.file.size", "16M", PropertyType.MEMORY,
+      "Specifies the size of the cache for the summaries of each file on each tablet server. Unlike"
+          + " the summary block cache, this cache holds the summaries selected and merged for each"
+          + " file, so that gathering the summaries of a table again does not read the summary data"
+          + " of its files again. Set to 0 to disable.",
+      "4.0.0"),
+  TSERV_SCAN_RESULT_CACHE_SIZE("tserver.cache.scan.results.size", "32M", PropertyType.MEMORY,
+      "Specifies the size of the cache for the results of scans on each tablet and scan server."
+          + " Only scans of tables with table.cache.scan.results.enable set are cached. Set to 0 to"
+          + " disable.",
+      "4.0.0"),
   TSERV_PORTSEARCH("tserver.port.search", "true", PropertyType.BOOLEAN,
       "if the tserver.port.client ports are in use, search higher ports until one is available.",
       "1.3.5"),
@@ -640,8 +680,12 @@ public enum Property {
           + "and an optional prioritizer can be configured. To configure a new executor, set "
           + "`tserver.scan.executors.<name>.threads=<number>`.  Optionally, can also set "
           + "`tserver.scan.executors.<name>.priority=<number 1 to 10>`, "
-          + "`tserver.scan.executors.<name>.prioritizer=<class name>`, and "
-          + "`tserver.scan.executors.<name>.prioritizer.opts.<key>=<value>`.",
+          + "`tserver.scan.executors.<name>.prioritizer=<class name>`, "
+          + "`tserver.scan.executors.<name>.prioritizer.opts.<key>=<value>`, and "
+          + "`tserver.scan.executors.<name>.virtual=true`. When virtual is true and the JVM"
+          + " supports virtual threads, scans run on virtual threads so that scans blocked on I/O"
+          + " do not hold platform threads. The threads setting still limits how many scans run"
+          + " at once and queued scans still run in prioritizer order.",
       "2.0.0"),
   TSERV_SCAN_EXECUTORS_DEFAULT_THREADS("tserver.scan.executors.default.threads", "16",
       PropertyType.COUNT, "The number of threads for the scan executor that tables use by default.",
@@ -658,6 +702,16 @@ public enum Property {
       PropertyType.TIMEDURATION,
       "Max time for the thrift client handler to wait for scan results before timing out.",
       "2.1.0"),
+  TSERV_SCAN_RESULTS_READAHEAD_BATCHES("tserver.scan.results.readahead.batches", "2",
+      PropertyType.COUNT,
+      "Once a scan has read ahead, the maximum number of batches that a tablet server or scan"
+          + " server will read and buffer for a scan session before the client asks for them. The"
+          + " server keeps reading batches while the client is processing the previous ones, so"
+          + " the client does not wait for a batch to be read. Each batch is still returned by its"
+          + " own continueScan call, so a sequential scan still makes one round trip per batch."
+          + " Setting this to 1 only reads the next batch ahead. Each buffered batch can use up to"
+          + " the scan's batch size of memory.",
+      "4.0.0"),
   TSERV_MIGRATE_MAXCONCURRENT("tserver.migrations.concurrent.max", "1", PropertyType.COUNT,
       "The maximum number of concurrent tablet migrations for a tablet server.", "1.3.5"),
   TSERV_MINC_MAXCONCURRENT("tserver.compaction.minor.concurrent.max", "4", PropertyType.COUNT,
@@ -687,6 +741,18 @@ public enum Property {
   TSERV_LOG_BUSY_TABLETS_INTERVAL("tserver.log.busy.tablets.interval", "1h",
       PropertyType.TIMEDURATION, "Time interval between logging out busy tablets information.",
       "1.10.0"),
+  TSERV_HOT_ROWS_TRACKED("tserver.hot.rows.tracked", "0", PropertyType.COUNT,
+      "Number of rows each tablet server counts when finding the rows that are most frequently"
+          + " updated or looked up by a single row scan. Rows used more often than 1/N of all"
+          + " counted updates and lookups in an interval, where N is this number, are always found."
+          + " At the end of each interval the hot rows are logged with the split points that would"
+          + " move them to their own tablets. Memory use is proportional to 8 times this number"
+          + " of rows. If <= 0, hot rows are not tracked.",
+      "4.0.0"),
+  TSERV_HOT_ROWS_INTERVAL("tserver.hot.rows.interval", "1m", PropertyType.TIMEDURATION,
+      "Time interval over which hot rows are counted, when tserver.hot.rows.tracked is"
+          + " greater than zero.",
+      "4.0.0"),
   TSERV_HOLD_TIME_SUICIDE("tserver.hold.time.max", "5m", PropertyType.TIMEDURATION,
       "The maximum time for a tablet server to be in the \"memory full\" state."
           + " If the tablet server cannot write out memory in this much time, it will"
@@ -774,6 +840,23 @@ public enum Property {
       "The listening port for the garbage collector's monitor service.", "1.3.5"),
   GC_DELETE_THREADS("gc.threads.delete", "16", PropertyType.COUNT,
       "The number of threads used to delete RFiles and write-ahead logs.", "1.3.5"),
+  GC_DELETE_THREADS_PER_VOLUME("gc.threads.delete.volume", "8", PropertyType.COUNT,
+      "The maximum number of concurrent file deletes the garbage collector will issue against a"
+          + " single volume. The total number of concurrent deletes is bounded by"
+          + " `gc.threads.delete`.",
+      "4.0.0"),
+  GC_DELETE_RATE("gc.delete.rate", "0", PropertyType.COUNT,
+      "The maximum number of namenode operations per second the garbage collector will issue"
+          + " while deleting files. Each file delete may take more than one operation, for example"
+          + " when moving the file to the Hadoop trash fails or when a delete fails and the file"
+          + " existence is checked. A move to trash is only attempted when trash is enabled for"
+          + " the volume. A value of 0 disables rate limiting.",
+      "4.0.0"),
+  GC_DELETE_BATCH_SIZE("gc.delete.batch.size", "1000", PropertyType.COUNT,
+      "The number of deleted files the garbage collector accumulates before removing their"
+          + " candidate entries from the metadata. Candidate entries are removed in batches while"
+          + " file deletes are still in progress.",
+      "4.0.0"),
   GC_SAFEMODE("gc.safemode", "false", PropertyType.BOOLEAN,
       "Provides listing of files to be deleted but does not delete any files.", "2.1.0"),
   GC_USE_FULL_COMPACTION("gc.post.metadata.action", "flush", PropertyType.GC_POST_ACTION,
@@ -1032,6 +1115,14 @@ public enum Property {
       "Determines whether index block cache is enabled for a table.", "1.3.5"),
   TABLE_BLOCKCACHE_ENABLED("table.cache.block.enable", "false", PropertyType.BOOLEAN,
       "Determines whether data block cache is enabled for a table.", "1.3.5"),
+  TABLE_SCAN_RESULT_CACHE_ENABLED("table.cache.scan.results.enable", "false",
+      PropertyType.BOOLEAN,
+      "Determines whether tablet and scan servers cache the results of scans of a table that fit"
+          + " in a single batch, so that repeating a scan of a tablet whose data has not changed"
+          + " does not read its data again. Cached results are not used once the data of the tablet"
+          + " or the configuration of the table changes. Should not be enabled for tables with"
+          + " iterators whose results depend on anything else, such as the current time.",
+      "4.0.0"),
   TABLE_ITERATOR_PREFIX("table.iterator.", null, PropertyType.PREFIX,
       "Properties in this category specify iterators that are applied at"
           + " various stages (scopes) of interaction with a table. These properties"
@@ -1430,15 +1521,16 @@ public enum Property {
       GC_PORT, MANAGER_CLIENTPORT, TSERV_CLIENTPORT, SSERV_CLIENTPORT, SSERV_PORTSEARCH,
       COMPACTOR_PORTSEARCH, TSERV_PORTSEARCH,
 
-      // max message options
-      RPC_MAX_MESSAGE_SIZE,
+      // rpc options
+      RPC_MAX_MESSAGE_SIZE, RPC_SERVER_VIRTUAL_THREADS,
 
       // compaction coordiantor properties
       MANAGER_COMPACTION_SERVICE_PRIORITY_QUEUE_INITIAL_SIZE,
 
       // block cache options
       TSERV_CACHE_MANAGER_IMPL, TSERV_DATACACHE_SIZE, TSERV_INDEXCACHE_SIZE,
-      TSERV_SUMMARYCACHE_SIZE, SSERV_DATACACHE_SIZE, SSERV_INDEXCACHE_SIZE, SSERV_SUMMARYCACHE_SIZE,
+      TSERV_SUMMARYCACHE_SIZE, TSERV_SUMMARY_FILE_CACHE_SIZE, TSERV_SCAN_RESULT_CACHE_SIZE,
+      SSERV_DATACACHE_SIZE, SSERV_INDEXCACHE_SIZE, SSERV_SUMMARYCACHE_SIZE,
 
       // blocksize options
       TSERV_DEFAULT_BLOCKSIZE, SSERV_DEFAULT_BLOCKSIZE,
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.dataImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.KeyValue;
+import org.apache.accumulo.core.dataImpl.thrift.MultiScanResult;
+import org.apache.accumulo.core.dataImpl.thrift.ScanResult;
+import org.apache.accumulo.core.dataImpl.thrift.TKeyValue;
+import org.apache.accumulo.core.file.rfile.RelativeKey;
+import org.apache.accumulo.core.util.ByteBufferUtil;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Encodes a batch of scan results into a single byte buffer, where each key is written relative to
+ * the previous key using {@link RelativeKey}. Keys in a batch usually share most of their row,
+ * family, qualifier and visibility, so this is much smaller than a list of
+ * {@link org.apache.accumulo.core.dataImpl.thrift.TKey} and avoids creating a buffer per field.
+ *
+ * <p>
+ * A client asks for encoded results by setting the {@code encodeResults} argument when starting a
+ * scan. Servers that do not know about the argument ignore it and return the results as a list, so
+ * clients must handle both forms, which {@link #getResults(ScanResult)} and
+ * {@link #getResults(MultiScanResult)} do. Clients that do not ask always get the results as a
+ * list.
+ */
+public class ScanResultEncoding {
+
+  private ScanResultEncoding() {}
+
+  public static ByteBuffer encode(List<? extends KeyValue> results) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream(64 * results.size() + 8);
+      DataOutputStream out = new DataOutputStream(baos);
+      WritableUtils.writeVInt(out, results.size());
+      Key prevKey = null;
+      for (KeyValue kv : results) {
+        Key key = kv.getKey();
+        new RelativeKey(prevKey, key).write(out);
+        byte[] value = kv.getValue().get();
+        WritableUtils.writeVInt(out, value.length);
+        out.write(value);
+        prevKey = key;
+      }
+      out.flush();
+      return ByteBuffer.wrap(baos.toByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Decodes the results created by {@link #encode(List)}. Consecutive keys that have the same row,
+   * family, qualifier or visibility share the byte array for that field.
+   */
+  public static List<KeyValue> decode(ByteBuffer encoded) {
+    ByteArrayInputStream bais;
+    if (encoded.hasArray()) {
+      bais = new ByteArrayInputStream(encoded.array(), encoded.arrayOffset() + encoded.position(),
+          encoded.remaining());
+    } else {
+      bais = new ByteArrayInputStream(ByteBufferUtil.toBytes(encoded));
+    }
+
+    try (DataInputStream in = new DataInputStream(bais)) {
+      int size = WritableUtils.readVInt(in);
+      List<KeyValue> results = new ArrayList<>(size);
+      RelativeKey relativeKey = new RelativeKey();
+      for (int i = 0; i < size; i++) {
+        // reading sets the previous key for the next read
+        relativeKey.readFields(in);
+        byte[] value = new byte[WritableUtils.readVInt(in)];
+        in.readFully(value);
+        results.add(new KeyValue(relativeKey.getKey(), value));
+      }
+      return results;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return the results of a scan, whether they were encoded or sent as a list
+   */
+  public static List<KeyValue> getResults(ScanResult scanResult) {
+    if (scanResult.isSetEncodedResults()) {
+      return decode(scanResult.encodedResults);
+    }
+
+    Key.decompress(scanResult.results);
+    return toKeyValues(scanResult.results);
+  }
+
+  /**
+   * @return the results of a multi scan, whether they were encoded or sent as a list
+   */
+  public static List<KeyValue> getResults(MultiScanResult scanResult) {
+    if (scanResult.isSetEncodedResults()) {
+      return decode(scanResult.encodedResults);
+    }
+
+    return toKeyValues(scanResult.results);
+  }
+
+  private static List<KeyValue> toKeyValues(List<TKeyValue> tkvs) {
+    List<KeyValue> results = new ArrayList<>(tkvs.size());
+    for (TKeyValue tkv : tkvs) {
+      results.add(new KeyValue(new Key(tkv.key), tkv.value));
+    }
+    return results;
+  }
+}
@@ -58,6 +58,12 @@ import org.apache.hadoop.io.Text;
  * classes should override the {@link TermSource#seekColfams} in their implementation's
  * {@link #init(SortedKeyValueIterator, Map, IteratorEnvironment)} method.
  *
+ * By default the intersection seeks the source of a term every time it moves to a later docID.
+ * Each seek positions every file and the in memory map of the tablet, so queries with many or
+ * very frequent terms can spend most of their time seeking. Setting a posting batch size with
+ * {@link #setPostingBatchSize(IteratorSetting, int)} makes the iterator read the docIDs of each
+ * term in batches and search them in memory instead.
+ *
  * An example of using the IntersectingIterator is available in
  * <a href="https://github.com/apache/accumulo-examples/blob/main/docs/shard.md">the examples
  * repo</a>
@@ -134,6 +140,177 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
   protected Key topKey = null;
   protected Value value = new Value(emptyByteArray);
 
+  private static final byte[] zeroByte = {0};
+
+  // the number of docIDs read from each term at a time, zero when docIDs are not batched
+  private int postingBatchSize = 0;
+  private PostingList[] postingLists = null;
+
+  /**
+   * The docIDs of one term in the current partition, read from the term's source in batches.
+   * Moving to the first docID at or after a target is a galloping search of the batch, and only
+   * seeks the source when the target is past the end of the batch.
+   */
+  private class PostingList {
+    private final TermSource source;
+    private final Text[] docIDs;
+    private int size = 0;
+    private int pos = 0;
+    // true when the batch holds the last docIDs of the term in the current partition
+    private boolean lastBatch = false;
+
+    private PostingList(TermSource source, int batchSize) {
+      this.source = source;
+      this.docIDs = new Text[batchSize];
+      for (int i = 0; i < batchSize; i++) {
+        docIDs[i] = new Text();
+      }
+    }
+
+    private void reset() {
+      size = 0;
+      pos = 0;
+      lastBatch = false;
+    }
+
+    private void seekSource(Key seekKey) throws IOException {
+      source.iter.seek(new Range(seekKey, true, null, false), source.seekColfams, true);
+    }
+
+    private boolean pastEndOfRange(Key key) {
+      if (overallRange.getEndKey() == null) {
+        return false;
+      }
+      int endCompare = overallRange.getEndKey().getRow().compareTo(key.getRow());
+      return (!overallRange.isEndKeyInclusive() && endCompare <= 0) || endCompare < 0;
+    }
+
+    /**
+     * Positions the source on the term in the current partition or a later one.
+     *
+     * @return the partition the source is positioned in, or null if it has no more entries for
+     *         the term in the range
+     */
+    private Text alignPartition() throws IOException {
+      while (true) {
+        if (!source.iter.hasTop()) {
+          return null;
+        }
+        Key top = source.iter.getTopKey();
+        if (pastEndOfRange(top)) {
+          return null;
+        }
+        Text partition = getPartition(top);
+        if (currentPartition.compareTo(partition) > 0) {
+          seekSource(buildKey(currentPartition, source.term));
+          continue;
+        }
+        if (source.term != null) {
+          int termCompare = source.term.compareTo(getTerm(top));
+          if (termCompare > 0) {
+            seekSource(buildKey(partition, source.term));
+            continue;
+          }
+          if (termCompare < 0) {
+            // no more entries for the term in this partition
+            seekSource(buildFollowingPartitionKey(top));
+            continue;
+          }
+        }
+        return partition;
+      }
+    }
+
+    /**
+     * Like {@link #alignPartition()}, but the docIDs left in the batch are in the current partition
+     * even though the source was already read past them.
+     *
+     * @return the partition of the next docID of the term, or null if there are no more
+     */
+    private Text nextPartition() throws IOException {
+      if (pos < size) {
+        return currentPartition;
+      }
+      return alignPartition();
+    }
+
+    private boolean inCurrentList(Key key) {
+      return !pastEndOfRange(key) && currentPartition.equals(getPartition(key))
+          && (source.term == null || source.term.equals(getTerm(key)));
+    }
+
+    private void refill(Text target) throws IOException {
+      size = 0;
+      pos = 0;
+      Text partition = alignPartition();
+      if (partition != null && partition.equals(currentPartition)
+          && getDocID(source.iter.getTopKey()).compareTo(target) < 0) {
+        // the docIDs between the end of the last batch and the target are not needed
+        seekSource(buildKey(currentPartition, source.term, target));
+        partition = alignPartition();
+      }
+      if (partition == null || !partition.equals(currentPartition)) {
+        lastBatch = true;
+        return;
+      }
+
+      while (size < docIDs.length) {
+        docIDs[size++].set(getDocID(source.iter.getTopKey()));
+        source.iter.next();
+        if (!source.iter.hasTop() || !inCurrentList(source.iter.getTopKey())) {
+          lastBatch = true;
+          return;
+        }
+      }
+    }
+
+    // returns the index of the first docID at or after target in the batch, or size if none are
+    private int gallop(Text target) {
+      int lo = pos;
+      if (docIDs[lo].compareTo(target) >= 0) {
+        return lo;
+      }
+      // docIDs[lo] is before the target, double the step until passing it
+      int step = 1;
+      int hi = lo + step;
+      while (hi < size && docIDs[hi].compareTo(target) < 0) {
+        lo = hi;
+        step <<= 1;
+        hi = lo + step;
+      }
+      int low = lo + 1;
+      int high = Math.min(hi, size);
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (docIDs[mid].compareTo(target) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * @return the first docID of the term at or after target in the current partition, or null if
+     *         there is none
+     */
+    private Text advanceTo(Text target) throws IOException {
+      while (true) {
+        if (pos < size) {
+          pos = gallop(target);
+          if (pos < size) {
+            return docIDs[pos];
+          }
+        }
+        if (lastBatch) {
+          return null;
+        }
+        refill(target);
+      }
+    }
+  }
+
   public IntersectingIterator() {}
 
   @Override
@@ -148,6 +325,7 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
       for (int i = 0; i < sourcesCount; i++) {
         sources[i] = new TermSource(other.sources[i].iter.deepCopy(env), other.sources[i].term);
       }
+      setPostingBatchSize(other.postingBatchSize);
     }
   }
 
@@ -373,13 +551,23 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
     if (currentPartition == null) {
       return;
     }
-    // precondition: the current row is set up and the sources all have the same column qualifier
-    // while we don't have a match, seek in the source with the smallest column qualifier
-    sources[0].iter.next();
+    if (postingLists != null) {
+      // the smallest docID after the current one
+      currentDocID.append(zeroByte, 0, 1);
+    } else {
+      // precondition: the current row is set up and the sources all have the same column
+      // qualifier while we don't have a match, seek in the source with the smallest column
+      // qualifier
+      sources[0].iter.next();
+    }
     advanceToIntersection();
   }
 
   protected void advanceToIntersection() throws IOException {
+    if (postingLists != null) {
+      advanceToBatchedIntersection();
+      return;
+    }
     boolean cursorChanged = true;
     while (cursorChanged) {
       // seek all of the sources to at least the highest seen column qualifier in the current row
@@ -398,6 +586,84 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
     topKey = buildKey(currentPartition, nullText, currentDocID);
   }
 
+  private void resetPostingLists() {
+    for (PostingList postingList : postingLists) {
+      postingList.reset();
+    }
+  }
+
+  // finds the first docID at or after currentDocID that has all terms and none of the negated ones
+  private void advanceToBatchedIntersection() throws IOException {
+    nextPartition: while (true) {
+      // move all terms that must be present to the same partition
+      for (int i = 0; i < sourcesCount; i++) {
+        if (sources[i].notFlag) {
+          continue;
+        }
+        Text partition = postingLists[i].nextPartition();
+        if (partition == null) {
+          currentPartition = null;
+          topKey = null;
+          return;
+        }
+        if (partition.compareTo(currentPartition) > 0) {
+          currentPartition.set(partition);
+          currentDocID.set(emptyByteArray);
+          resetPostingLists();
+          continue nextPartition;
+        }
+      }
+
+      boolean matched = false;
+      while (!matched) {
+        matched = true;
+        for (int i = 0; i < sourcesCount; i++) {
+          if (sources[i].notFlag) {
+            continue;
+          }
+          Text docID = postingLists[i].advanceTo(currentDocID);
+          if (docID == null) {
+            // a term has no more docIDs in this partition
+            currentPartition.set(
+                getPartition(buildFollowingPartitionKey(buildKey(currentPartition, nullText))));
+            currentDocID.set(emptyByteArray);
+            resetPostingLists();
+            continue nextPartition;
+          }
+          if (docID.compareTo(currentDocID) > 0) {
+            currentDocID.set(docID);
+            matched = false;
+          }
+        }
+
+        for (int i = 0; matched && i < sourcesCount; i++) {
+          if (sources[i].notFlag) {
+            Text docID = postingLists[i].advanceTo(currentDocID);
+            if (docID != null && docID.equals(currentDocID)) {
+              currentDocID.append(zeroByte, 0, 1);
+              matched = false;
+            }
+          }
+        }
+      }
+
+      topKey = buildKey(currentPartition, nullText, currentDocID);
+      return;
+    }
+  }
+
+  private void setPostingBatchSize(int batchSize) {
+    postingBatchSize = batchSize;
+    if (batchSize > 0 && sources != null) {
+      postingLists = new PostingList[sourcesCount];
+      for (int i = 0; i < sourcesCount; i++) {
+        postingLists[i] = new PostingList(sources[i], batchSize);
+      }
+    } else {
+      postingLists = null;
+    }
+  }
+
   public static String stringTopKey(SortedKeyValueIterator<Key,Value> iter) {
     if (iter.hasTop()) {
       return iter.getTopKey().toString();
@@ -407,6 +673,7 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
 
   private static final String columnFamiliesOptionName = "columnFamilies";
   private static final String notFlagOptionName = "notFlag";
+  private static final String postingBatchSizeOptionName = "postingBatchSize";
 
   /**
    * @return encoded columns
@@ -504,6 +771,9 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
       sources[i] = new TermSource(source.deepCopy(env), terms[i], notFlag[i]);
     }
     sourcesCount = terms.length;
+
+    String batchSize = options.get(postingBatchSizeOptionName);
+    setPostingBatchSize(batchSize == null ? 0 : Integer.parseInt(batchSize));
   }
 
   @Override
@@ -512,6 +782,9 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
     overallRange = new Range(range);
     currentPartition = new Text();
     currentDocID.set(emptyByteArray);
+    if (postingLists != null) {
+      resetPostingLists();
+    }
 
     // seek each of the sources to the right column family within the row given by key
     for (int i = 0; i < sourcesCount; i++) {
@@ -559,4 +832,21 @@ public class IntersectingIterator implements SortedKeyValueIterator<Key,Value> {
     cfg.addOption(IntersectingIterator.notFlagOptionName,
         IntersectingIterator.encodeBooleans(notFlags));
   }
+
+  /**
+   * Reads the docIDs of each term in batches of the given size. When a term has to move to the
+   * first docID at or after the docID of another term, the batch is searched in memory and the
+   * term's source is only seeked when that docID is past the end of the batch. This replaces most
+   * of the seeks of the sources with reads of the keys that follow, which is faster for terms that
+   * are frequent or queried together with many other terms. A size of zero, the default, seeks the
+   * sources for every docID.
+   *
+   * @since 4.0.0
+   */
+  public static void setPostingBatchSize(IteratorSetting cfg, int batchSize) {
+    if (batchSize < 0) {
+      throw new IllegalArgumentException("Posting batch size must be non-negative " + batchSize);
+    }
+    cfg.addOption(IntersectingIterator.postingBatchSizeOptionName, Integer.toString(batchSize));
+  }
 }
@@ -0,0 +1,471 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.iterators.user;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.lexicoder.Encoder;
+import org.apache.accumulo.core.client.sample.SamplerConfiguration;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.LongCombiner;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.ValueFormatException;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.quantilescommon.QuantilesDoublesSketchIterator;
+
+/**
+ * Computes approximate aggregates of the data in a range from the sample of a table. When a scan
+ * has sampling enabled, this iterator reads the sample data in the range of each tablet and
+ * returns a single entry, holding the number of entries, a sketch of the distinct rows and
+ * optionally a sketch of the quantiles of the values. These entries are merged by
+ * {@link Aggregate#of(Iterable)}, which scales the counts by the sampling ratio and provides
+ * confidence bounds. Reading the sample instead of all data makes these much faster than
+ * computing exact aggregates, at the cost of accuracy.
+ *
+ * <p>
+ * The sample must be configured with a sampler that has a {@code modulus} option, such as the
+ * {@link org.apache.accumulo.core.client.sample.RowSampler}, which selects about one in every
+ * modulus rows. Distinct row counts are only scaled correctly when the sampler selects data by
+ * hashing the row. When sampling is not enabled for the scan, the aggregates cover all data and
+ * the counts are exact.
+ *
+ * <p>
+ * Example use:
+ *
+ * <pre>
+ * <code>
+ * scanner.setSamplerConfiguration(tableSamplerConfig);
+ * scanner.setRange(range);
+ * IteratorSetting is = new IteratorSetting(100, SampleAggregatingIterator.class);
+ * SampleAggregatingIterator.setEncodingType(is, LongCombiner.Type.STRING);
+ * scanner.addScanIterator(is);
+ * Aggregate aggregate = Aggregate.of(scanner);
+ * </code>
+ * </pre>
+ *
+ * @since 4.0.0
+ */
+public class SampleAggregatingIterator
+    implements SortedKeyValueIterator<Key,Value>, OptionDescriber {
+
+  private static final String TYPE_OPTION = "type";
+  private static final String LG_K_OPTION = "lgK";
+  private static final String QUANTILES_K_OPTION = "quantilesK";
+
+  private static final int DEFAULT_LG_K = 12;
+  private static final int DEFAULT_QUANTILES_K = 200;
+
+  private static final int SERIALIZATION_VERSION = 1;
+
+  private SortedKeyValueIterator<Key,Value> source;
+  private Map<String,String> options;
+  private int modulus = 1;
+  private int lgK = DEFAULT_LG_K;
+  private int quantilesK = DEFAULT_QUANTILES_K;
+  private Encoder<Long> encoder = null;
+
+  private Key topKey = null;
+  private Value topValue = null;
+
+  @Override
+  public void init(SortedKeyValueIterator<Key,Value> source, Map<String,String> options,
+      IteratorEnvironment env) throws IOException {
+    validateOptions(options);
+    this.source = source;
+    this.options = Map.copyOf(options);
+
+    if (options.containsKey(LG_K_OPTION)) {
+      lgK = Integer.parseInt(options.get(LG_K_OPTION));
+    }
+    if (options.containsKey(QUANTILES_K_OPTION)) {
+      quantilesK = Integer.parseInt(options.get(QUANTILES_K_OPTION));
+    }
+    if (options.containsKey(TYPE_OPTION)) {
+      encoder = getEncoder(LongCombiner.Type.valueOf(options.get(TYPE_OPTION)));
+    }
+
+    if (env != null && env.isSamplingEnabled()) {
+      SamplerConfiguration samplerConfig = env.getSamplerConfiguration();
+      String modulusOption = samplerConfig.getOptions().get("modulus");
+      if (modulusOption == null) {
+        throw new IllegalArgumentException("Sampler " + samplerConfig.getSamplerClassName()
+            + " does not have a modulus option, so the sampling ratio is unknown");
+      }
+      modulus = Integer.parseInt(modulusOption);
+    }
+  }
+
+  private static Encoder<Long> getEncoder(LongCombiner.Type type) {
+    switch (type) {
+      case VARLEN:
+        return LongCombiner.VAR_LEN_ENCODER;
+      case FIXEDLEN:
+        return LongCombiner.FIXED_LEN_ENCODER;
+      case STRING:
+        return LongCombiner.STRING_ENCODER;
+      default:
+        throw new IllegalArgumentException("Unsupported encoding type " + type);
+    }
+  }
+
+  @Override
+  public boolean hasTop() {
+    return topKey != null;
+  }
+
+  @Override
+  public void next() throws IOException {
+    topKey = null;
+    topValue = null;
+  }
+
+  @Override
+  public void seek(Range range, Collection<ByteSequence> columnFamilies, boolean inclusive)
+      throws IOException {
+    topKey = null;
+    topValue = null;
+    source.seek(range, columnFamilies, inclusive);
+
+    long count = 0;
+    HllSketch distinctRows = new HllSketch(lgK);
+    KllDoublesSketch quantiles =
+        encoder == null ? null : KllDoublesSketch.newHeapInstance(quantilesK);
+    ByteSequence lastRow = null;
+    Key lastKey = new Key();
+
+    while (source.hasTop()) {
+      Key key = source.getTopKey();
+      count++;
+      // rows are sorted, so each row only needs to be added to the sketch once
+      if (lastRow == null || !lastRow.equals(key.getRowData())) {
+        byte[] row = key.getRowData().toArray();
+        distinctRows.update(row);
+        lastRow = new ArrayByteSequence(row);
+      }
+      if (quantiles != null) {
+        try {
+          quantiles.update(encoder.decode(source.getTopValue().get()));
+        } catch (ValueFormatException e) {
+          // values that are not numbers do not count towards the quantiles
+        }
+      }
+      lastKey.set(key);
+      source.next();
+    }
+
+    if (count > 0) {
+      // the last key read is in the range and is not returned again when the scan continues
+      topKey = lastKey;
+      topValue = new Value(serialize(modulus, count, distinctRows, quantiles));
+    }
+  }
+
+  private static byte[] serialize(int modulus, long count, HllSketch distinctRows,
+      KllDoublesSketch quantiles) {
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos)) {
+      dos.writeByte(SERIALIZATION_VERSION);
+      dos.writeInt(modulus);
+      dos.writeLong(count);
+      byte[] hll = distinctRows.toCompactByteArray();
+      dos.writeInt(hll.length);
+      dos.write(hll);
+      if (quantiles == null || quantiles.isEmpty()) {
+        dos.writeDouble(0);
+        dos.writeInt(0);
+      } else {
+        dos.writeDouble(quantiles.getNormalizedRankError(false));
+        dos.writeInt(quantiles.getNumRetained());
+        QuantilesDoublesSketchIterator iter = quantiles.iterator();
+        while (iter.next()) {
+          dos.writeDouble(iter.getQuantile());
+          dos.writeLong(iter.getWeight());
+        }
+      }
+      dos.flush();
+      return baos.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public Key getTopKey() {
+    return topKey;
+  }
+
+  @Override
+  public Value getTopValue() {
+    return topValue;
+  }
+
+  @Override
+  public SortedKeyValueIterator<Key,Value> deepCopy(IteratorEnvironment env) {
+    SampleAggregatingIterator copy = new SampleAggregatingIterator();
+    try {
+      copy.init(source.deepCopy(env), options, env);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return copy;
+  }
+
+  @Override
+  public IteratorOptions describeOptions() {
+    IteratorOptions io = new IteratorOptions("sampleAggregator",
+        "Computes approximate counts, distinct rows and quantiles from sample data", null, null);
+    io.addNamedOption(TYPE_OPTION,
+        "<VARLEN|FIXEDLEN|STRING> encoding of the values to compute quantiles of, if any");
+    io.addNamedOption(LG_K_OPTION, "log2 of the number of buckets of the distinct rows sketch");
+    io.addNamedOption(QUANTILES_K_OPTION, "size parameter of the quantiles sketch");
+    return io;
+  }
+
+  @Override
+  public boolean validateOptions(Map<String,String> options) {
+    if (options.containsKey(TYPE_OPTION)) {
+      LongCombiner.Type.valueOf(options.get(TYPE_OPTION));
+    }
+    if (options.containsKey(LG_K_OPTION)) {
+      int lgK = Integer.parseInt(options.get(LG_K_OPTION));
+      if (lgK < 4 || lgK > 21) {
+        throw new IllegalArgumentException(LG_K_OPTION + " must be between 4 and 21 : " + lgK);
+      }
+    }
+    if (options.containsKey(QUANTILES_K_OPTION)) {
+      int k = Integer.parseInt(options.get(QUANTILES_K_OPTION));
+      if (k < 8 || k > 65535) {
+        throw new IllegalArgumentException(
+            QUANTILES_K_OPTION + " must be between 8 and 65535 : " + k);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes quantiles of the values, decoded with the given encoding. Values that can not be
+   * decoded are counted but are not included in the quantiles.
+   */
+  public static void setEncodingType(IteratorSetting is, LongCombiner.Type type) {
+    is.addOption(TYPE_OPTION, type.toString());
+  }
+
+  /**
+   * Sets log2 of the number of buckets of the sketch used to estimate distinct rows. Larger values
+   * are more accurate and use more memory. The default is 12.
+   */
+  public static void setDistinctLgK(IteratorSetting is, int lgK) {
+    is.addOption(LG_K_OPTION, Integer.toString(lgK));
+  }
+
+  /**
+   * Sets the size parameter of the sketch used to estimate quantiles. Larger values are more
+   * accurate and use more memory. The default is 200.
+   */
+  public static void setQuantilesK(IteratorSetting is, int k) {
+    is.addOption(QUANTILES_K_OPTION, Integer.toString(k));
+  }
+
+  /**
+   * The approximate aggregates of a range, merged from the entries returned by
+   * {@link SampleAggregatingIterator} for each tablet.
+   *
+   * @since 4.0.0
+   */
+  public static class Aggregate {
+
+    private int modulus = 1;
+    private long sampledCount = 0;
+    private final Union distinctRows = new Union(21);
+    private double quantilesRankError = 0;
+    private final TreeMap<Double,Long> quantileWeights = new TreeMap<>();
+    private long quantilesWeight = 0;
+
+    private Aggregate() {}
+
+    /**
+     * Merges the entries returned by scanning with a {@link SampleAggregatingIterator}.
+     */
+    public static Aggregate of(Iterable<Entry<Key,Value>> entries) {
+      Aggregate aggregate = new Aggregate();
+      for (Entry<Key,Value> entry : entries) {
+        aggregate.merge(entry.getValue().get());
+      }
+      return aggregate;
+    }
+
+    private void merge(byte[] serialized) {
+      try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(serialized))) {
+        int version = dis.readByte();
+        if (version != SERIALIZATION_VERSION) {
+          throw new IllegalArgumentException("Unknown serialization version " + version);
+        }
+        int entryModulus = dis.readInt();
+        if (sampledCount > 0 && entryModulus != modulus) {
+          throw new IllegalArgumentException(
+              "Entries were sampled at different ratios " + modulus + " " + entryModulus);
+        }
+        modulus = entryModulus;
+        sampledCount += dis.readLong();
+        byte[] hll = new byte[dis.readInt()];
+        dis.readFully(hll);
+        distinctRows.update(HllSketch.heapify(hll));
+        quantilesRankError = Math.max(quantilesRankError, dis.readDouble());
+        int numQuantiles = dis.readInt();
+        for (int i = 0; i < numQuantiles; i++) {
+          double quantile = dis.readDouble();
+          long weight = dis.readLong();
+          quantileWeights.merge(quantile, weight, Long::sum);
+          quantilesWeight += weight;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * @return true if the aggregates were computed from a sample, false if from all data
+     */
+    public boolean isSampled() {
+      return modulus > 1;
+    }
+
+    /**
+     * @return the number of entries that were read to compute the aggregates
+     */
+    public long getSampledCount() {
+      return sampledCount;
+    }
+
+    private double samplingStdDev(double sampled) {
+      // each item is in the sample with probability 1/modulus
+      return modulus * Math.sqrt(sampled * (1 - 1.0 / modulus));
+    }
+
+    /**
+     * @return the estimated number of entries in the range
+     */
+    public double getCount() {
+      return (double) sampledCount * modulus;
+    }
+
+    /**
+     * The bounds of the count assume entries are sampled independently. Samplers that select
+     * entire rows, sample the entries of a row together, so the bounds are narrower than they
+     * should be for rows with many entries.
+     *
+     * @param numStdDev the number of standard deviations of the bound, 1, 2 or 3 for about 68%,
+     *        95% or 99.7% confidence
+     * @return the lower bound of the number of entries in the range
+     */
+    public double getCountLowerBound(int numStdDev) {
+      return Math.max(sampledCount, getCount() - numStdDev * samplingStdDev(sampledCount));
+    }
+
+    /**
+     * @see #getCountLowerBound(int)
+     */
+    public double getCountUpperBound(int numStdDev) {
+      return getCount() + numStdDev * samplingStdDev(sampledCount);
+    }
+
+    /**
+     * @return the estimated number of distinct rows in the range
+     */
+    public double getDistinctRows() {
+      return distinctRows.getEstimate() * modulus;
+    }
+
+    /**
+     * @param numStdDev the number of standard deviations of the bound, 1, 2 or 3
+     * @return the lower bound of the number of distinct rows in the range, accounting for both the
+     *         error of the sketch and of the sampling
+     */
+    public double getDistinctRowsLowerBound(int numStdDev) {
+      double lower = distinctRows.getLowerBound(numStdDev);
+      return Math.max(lower, lower * modulus - numStdDev * samplingStdDev(lower));
+    }
+
+    /**
+     * @see #getDistinctRowsLowerBound(int)
+     */
+    public double getDistinctRowsUpperBound(int numStdDev) {
+      double upper = distinctRows.getUpperBound(numStdDev);
+      return upper * modulus + numStdDev * samplingStdDev(upper);
+    }
+
+    /**
+     * @param rank the normalized rank of the quantile, from 0 to 1
+     * @return the estimated value at the given rank, or NaN if no values were decoded
+     */
+    public double getQuantile(double rank) {
+      if (rank < 0 || rank > 1) {
+        throw new IllegalArgumentException("Rank must be between 0 and 1 : " + rank);
+      }
+      if (quantilesWeight == 0) {
+        return Double.NaN;
+      }
+      double targetWeight = rank * quantilesWeight;
+      long cumulativeWeight = 0;
+      double last = Double.NaN;
+      for (Entry<Double,Long> entry : quantileWeights.entrySet()) {
+        cumulativeWeight += entry.getValue();
+        last = entry.getKey();
+        if (cumulativeWeight >= targetWeight) {
+          break;
+        }
+      }
+      return last;
+    }
+
+    /**
+     * The error of the ranks of the values returned by {@link #getQuantile(double)}. The value
+     * returned for rank r has a rank between r minus and r plus this error.
+     *
+     * @param numStdDev the number of standard deviations of the sampling error, 1, 2 or 3
+     * @return the normalized rank error, the error bound of the quantiles sketch plus the error of
+     *         the sampling
+     */
+    public double getQuantileRankError(int numStdDev) {
+      if (quantilesWeight == 0) {
+        return 1;
+      }
+      double samplingError = isSampled() ? numStdDev * Math.sqrt(0.25 / quantilesWeight) : 0;
+      return Math.min(1, quantilesRankError + samplingError);
+    }
+  }
+}
@@ -33,7 +33,6 @@ public class IteratorBuilder {
   IteratorEnvironment iteratorEnvironment;
   boolean useAccumuloClassLoader;
   String context = null;
-  boolean useClassCache = false;
 
   IteratorBuilder() {}
 
@@ -52,11 +51,6 @@ public class IteratorBuilder {
   }
 
   public interface IteratorBuilderOptions extends IteratorBuilderEnv {
-    /**
-     * Option to iterator classes when loading, defaults to false.
-     */
-    IteratorBuilderOptions useClassCache(boolean useClassCache);
-
     /**
      * Call to use the class loader. The String context param is optional and can be null.
      */
@@ -32,7 +32,6 @@ public class IteratorBuilderImpl
   IteratorEnvironment iteratorEnvironment;
   boolean useAccumuloClassLoader = false;
   String context = null;
-  boolean useClassCache = false;
 
   public IteratorBuilderImpl(Collection<IterInfo> iters) {
     this.iters = iters;
@@ -56,12 +55,6 @@ public class IteratorBuilderImpl
     return this;
   }
 
-  @Override
-  public IteratorBuilder.IteratorBuilderOptions useClassCache(boolean useClassCache) {
-    this.useClassCache = useClassCache;
-    return this;
-  }
-
   @Override
   public IteratorBuilder build() {
     var ib = new IteratorBuilder();
@@ -70,7 +63,6 @@ public class IteratorBuilderImpl
     ib.iteratorEnvironment = this.iteratorEnvironment;
     ib.useAccumuloClassLoader = this.useAccumuloClassLoader;
     ib.context = this.context;
-    ib.useClassCache = this.useClassCache;
     return ib;
   }
 }
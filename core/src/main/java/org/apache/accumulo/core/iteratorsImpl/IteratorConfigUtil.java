@@ -196,26 +196,19 @@ public class IteratorConfigUtil {
       loadIterators(SortedKeyValueIterator<Key,Value> source, IteratorBuilder iteratorBuilder)
           throws IOException {
     SortedKeyValueIterator<Key,Value> prev = source;
-    final boolean useClassLoader = iteratorBuilder.useAccumuloClassLoader;
-    Map<String,Class<SortedKeyValueIterator<Key,Value>>> classCache = new HashMap<>();
+    final ClassLoader classLoader = iteratorBuilder.useAccumuloClassLoader
+        ? ClassLoaderUtil.getClassLoader(iteratorBuilder.context)
+        : IteratorConfigUtil.class.getClassLoader();
 
     try {
       for (IterInfo iterInfo : iteratorBuilder.iters) {
 
-        Class<SortedKeyValueIterator<Key,Value>> clazz = null;
         log.trace("Attempting to load iterator class {}", iterInfo.className);
-        if (iteratorBuilder.useClassCache) {
-          clazz = classCache.get(iterInfo.className);
+        var clazz = IteratorFactoryCache.loadClass(classLoader, iterInfo.className);
+        log.trace("Iterator class {} loaded from context {}, classloader: {}", iterInfo.className,
+            iteratorBuilder.context, clazz.getClassLoader());
 
-          if (clazz == null) {
-            clazz = loadClass(useClassLoader, iteratorBuilder.context, iterInfo);
-            classCache.put(iterInfo.className, clazz);
-          }
-        } else {
-          clazz = loadClass(useClassLoader, iteratorBuilder.context, iterInfo);
-        }
-
-        SortedKeyValueIterator<Key,Value> skvi = clazz.getDeclaredConstructor().newInstance();
+        SortedKeyValueIterator<Key,Value> skvi = IteratorFactoryCache.newInstance(clazz);
 
         Map<String,String> options = iteratorBuilder.iterOpts.get(iterInfo.iterName);
 
@@ -232,21 +225,4 @@ public class IteratorConfigUtil {
     }
     return prev;
   }
-
-  private static Class<SortedKeyValueIterator<Key,Value>> loadClass(boolean useAccumuloClassLoader,
-      String context, IterInfo iterInfo) throws ClassNotFoundException {
-    if (useAccumuloClassLoader) {
-      @SuppressWarnings("unchecked")
-      var clazz = (Class<SortedKeyValueIterator<Key,Value>>) ClassLoaderUtil.loadClass(context,
-          iterInfo.className, SortedKeyValueIterator.class);
-      log.trace("Iterator class {} loaded from context {}, classloader: {}", iterInfo.className,
-          context, clazz.getClassLoader());
-      return clazz;
-    }
-    @SuppressWarnings("unchecked")
-    var clazz = (Class<SortedKeyValueIterator<Key,Value>>) Class.forName(iterInfo.className)
-        .asSubclass(SortedKeyValueIterator.class);
-    log.trace("Iterator class {} loaded from classpath", iterInfo.className);
-    return clazz;
-  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.iteratorsImpl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.util.cache.Caches;
+import org.apache.accumulo.core.util.cache.Caches.CacheName;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Caches the iterator classes loaded by each class loader and a constructor for each iterator
+ * class, so that building an iterator stack for a scan or compaction does not load every class
+ * through its class loader and construct every iterator by reflection.
+ *
+ * <p>
+ * Classes are cached per class loader rather than per table, so when a context class loader is
+ * replaced, for example because its jars changed, the classes of the old class loader are no longer
+ * used. The cache does not keep class loaders or classes from being garbage collected.
+ */
+public class IteratorFactoryCache {
+
+  private static final MethodType CONSTRUCTOR_TYPE =
+      MethodType.methodType(SortedKeyValueIterator.class);
+
+  // holds the exception thrown when a class has no usable constructor, as a ClassValue can not
+  // throw checked exceptions
+  private static class Constructor {
+    private final MethodHandle handle;
+    private final ReflectiveOperationException exception;
+
+    private Constructor(MethodHandle handle, ReflectiveOperationException exception) {
+      this.handle = handle;
+      this.exception = exception;
+    }
+  }
+
+  private static final ClassValue<Constructor> constructors = new ClassValue<>() {
+    @Override
+    protected Constructor computeValue(Class<?> type) {
+      try {
+        return new Constructor(MethodHandles.lookup()
+            .findConstructor(type, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE),
+            null);
+      } catch (ReflectiveOperationException e) {
+        return new Constructor(null, e);
+      }
+    }
+  };
+
+  private static final Cache<ClassLoader,Map<String,WeakReference<Class<?>>>> classes =
+      Caches.getInstance().createNewBuilder(CacheName.ITERATOR_CLASSES, false).weakKeys().build();
+
+  private IteratorFactoryCache() {}
+
+  /**
+   * Loads an iterator class, using the class previously loaded by the class loader if there is
+   * one.
+   */
+  @SuppressWarnings("unchecked")
+  public static Class<? extends SortedKeyValueIterator<Key,Value>> loadClass(ClassLoader loader,
+      String className) throws ClassNotFoundException {
+    Map<String,WeakReference<Class<?>>> loaded =
+        classes.get(loader, cl -> new ConcurrentHashMap<>());
+    WeakReference<Class<?>> ref = loaded.get(className);
+    Class<?> clazz = ref == null ? null : ref.get();
+    if (clazz == null) {
+      clazz = loader.loadClass(className).asSubclass(SortedKeyValueIterator.class);
+      // a class refers to its class loader, so hold it weakly to let the class loader be collected
+      loaded.put(className, new WeakReference<>(clazz));
+    }
+    return (Class<? extends SortedKeyValueIterator<Key,Value>>) clazz;
+  }
+
+  /**
+   * Creates an iterator using its no argument constructor.
+   */
+  public static SortedKeyValueIterator<Key,Value>
+      newInstance(Class<? extends SortedKeyValueIterator<Key,Value>> clazz)
+          throws ReflectiveOperationException {
+    Constructor constructor = constructors.get(clazz);
+    if (constructor.handle == null) {
+      throw constructor.exception;
+    }
+    try {
+      @SuppressWarnings("unchecked")
+      var iterator = (SortedKeyValueIterator<Key,Value>) constructor.handle.invokeExact();
+      return iterator;
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable t) {
+      // wrapped the same way as when constructing by reflection
+      throw new InvocationTargetException(t);
+    }
+  }
+}
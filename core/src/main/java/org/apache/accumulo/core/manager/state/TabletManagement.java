@@ -105,8 +105,10 @@ public class TabletManagement {
           .forEach(a -> actions.add(ManagementAction.valueOf(a)));
     }
 
+    // the manager reads every tablet on each pass of the tablet group watcher, so use the compact
+    // representation that shares files between tablets and defers decoding rarely used columns
     TabletMetadata tm = TabletMetadata.convertRow(decodedRow.entrySet().iterator(),
-        CONFIGURED_COLUMNS, saveKV, true);
+        CONFIGURED_COLUMNS, saveKV, true, true);
     this.actions = actions;
     this.tabletMetadata = tm;
   }
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.metadata.schema;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.accumulo.core.metadata.StoredTabletFile;
+
+/**
+ * An immutable map of a tablets files to their {@link DataFileValue} that stores the file sizes,
+ * entry counts and times in primitive arrays instead of holding a {@link DataFileValue} and a map
+ * entry per file. The files are kept sorted by their metadata entry, which is what
+ * {@link StoredTabletFile#equals(Object)} uses, so lookups are a binary search. A
+ * {@link DataFileValue} is created each time a value is read from this map.
+ */
+class CompactTabletFiles extends AbstractMap<StoredTabletFile,DataFileValue> {
+
+  private static final Comparator<StoredTabletFile> ORDER =
+      Comparator.comparing(StoredTabletFile::getMetadata);
+
+  static final CompactTabletFiles EMPTY =
+      new CompactTabletFiles(new StoredTabletFile[0], new long[0], new long[0], new long[0]);
+
+  private final StoredTabletFile[] files;
+  private final long[] sizes;
+  private final long[] entries;
+  private final long[] times;
+
+  private CompactTabletFiles(StoredTabletFile[] files, long[] sizes, long[] entries,
+      long[] times) {
+    this.files = files;
+    this.sizes = sizes;
+    this.entries = entries;
+    this.times = times;
+  }
+
+  private int indexOf(Object key) {
+    if (key instanceof StoredTabletFile) {
+      int index = Arrays.binarySearch(files, (StoredTabletFile) key, ORDER);
+      return index < 0 ? -1 : index;
+    }
+    return -1;
+  }
+
+  private DataFileValue value(int index) {
+    return new DataFileValue(sizes[index], entries[index], times[index]);
+  }
+
+  /**
+   * @return the sum of the sizes of all files, computed without creating any objects
+   */
+  long getTotalSize() {
+    long sum = 0;
+    for (long size : sizes) {
+      sum += size;
+    }
+    return sum;
+  }
+
+  @Override
+  public int size() {
+    return files.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return files.length == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public DataFileValue get(Object key) {
+    int index = indexOf(key);
+    return index < 0 ? null : value(index);
+  }
+
+  @Override
+  public Set<StoredTabletFile> keySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<StoredTabletFile> iterator() {
+        return Arrays.asList(files).iterator();
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+      }
+
+      @Override
+      public int size() {
+        return files.length;
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<StoredTabletFile,DataFileValue>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<StoredTabletFile,DataFileValue>> iterator() {
+        return new Iterator<>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < files.length;
+          }
+
+          @Override
+          public Entry<StoredTabletFile,DataFileValue> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            var entry = Map.entry(files[next], value(next));
+            next++;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return files.length;
+      }
+    };
+  }
+
+  static class Builder {
+    private final List<StoredTabletFile> files = new ArrayList<>();
+    private final List<DataFileValue> values = new ArrayList<>();
+
+    void put(StoredTabletFile file, DataFileValue value) {
+      files.add(file);
+      values.add(value);
+    }
+
+    CompactTabletFiles build() {
+      if (files.isEmpty()) {
+        return EMPTY;
+      }
+
+      Integer[] order = new Integer[files.size()];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, Comparator.comparing(files::get, ORDER));
+
+      StoredTabletFile[] sortedFiles = new StoredTabletFile[order.length];
+      long[] sizes = new long[order.length];
+      long[] entries = new long[order.length];
+      long[] times = new long[order.length];
+      for (int i = 0; i < order.length; i++) {
+        StoredTabletFile file = files.get(order[i]);
+        if (i > 0 && sortedFiles[i - 1].equals(file)) {
+          throw new IllegalArgumentException("Multiple entries for file " + file);
+        }
+        DataFileValue dfv = values.get(order[i]);
+        sortedFiles[i] = file;
+        sizes[i] = dfv.getSize();
+        entries[i] = dfv.getNumEntries();
+        times[i] = dfv.getTime();
+      }
+      return new CompactTabletFiles(sortedFiles, sizes, entries, times);
+    }
+  }
+}
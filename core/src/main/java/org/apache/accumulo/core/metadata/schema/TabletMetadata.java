@@ -75,12 +75,15 @@ import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.Su
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.TabletColumnFamily;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.UserCompactionRequestedColumnFamily;
 import org.apache.accumulo.core.tabletserver.log.LogEntry;
+import org.apache.accumulo.core.util.cache.Caches;
+import org.apache.accumulo.core.util.cache.Caches.CacheName;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
@@ -94,6 +97,13 @@ public class TabletMetadata {
 
   private static final Logger log = LoggerFactory.getLogger(TabletMetadata.class);
 
+  // Files are commonly shared by many tablets, for example after a split. When reading compact
+  // tablet metadata this cache deduplicates the files so that each distinct metadata entry is only
+  // parsed and held in memory once. WeakReferences are used so that files are only kept while some
+  // tablet metadata references them.
+  private static final Cache<String,StoredTabletFile> compactFileCache = Caches.getInstance()
+      .createNewBuilder(CacheName.TABLET_METADATA_FILES, false).weakValues().build();
+
   private final TableId tableId;
   private final Text prevEndRow;
   private final boolean sawPrevEndRow;
@@ -102,7 +112,7 @@ public class TabletMetadata {
   private final Map<StoredTabletFile,DataFileValue> files;
   private final List<StoredTabletFile> scans;
   private final Map<StoredTabletFile,FateId> loadedFiles;
-  private final SelectedFiles selectedFiles;
+  private final Supplier<SelectedFiles> selectedFiles;
   private final EnumSet<ColumnType> fetchedCols;
   private final Supplier<KeyExtent> extent;
   private final Location last;
@@ -114,7 +124,7 @@ public class TabletMetadata {
   private final OptionalLong flush;
   private final OptionalLong flushNonce;
   private final List<LogEntry> logs;
-  private final Map<ExternalCompactionId,CompactionMetadata> extCompactions;
+  private final Supplier<Map<ExternalCompactionId,CompactionMetadata>> extCompactions;
   private final boolean merged;
   private final TabletAvailability availability;
   private final boolean onDemandHostingRequested;
@@ -122,7 +132,7 @@ public class TabletMetadata {
   private final boolean futureAndCurrentLocationSet;
   private final Set<FateId> compacted;
   private final Set<FateId> userCompactionsRequested;
-  private final UnSplittableMetadata unSplittableMetadata;
+  private final Supplier<UnSplittableMetadata> unSplittableMetadata;
   private final Supplier<Long> fileSize;
 
   private TabletMetadata(Builder tmBuilder) {
@@ -131,7 +141,23 @@ public class TabletMetadata {
     this.sawPrevEndRow = tmBuilder.sawPrevEndRow;
     this.endRow = tmBuilder.endRow;
     this.location = tmBuilder.location;
-    this.files = Objects.requireNonNull(tmBuilder.files.build());
+    if (tmBuilder.compactFiles != null) {
+      CompactTabletFiles compactFiles = tmBuilder.compactFiles.build();
+      this.files = compactFiles;
+      this.fileSize = compactFiles::getTotalSize;
+    } else {
+      this.files = Objects.requireNonNull(tmBuilder.files.build());
+      this.fileSize = Suppliers.memoize(() -> {
+        // This code was using a java stream. While profiling SplitMillionIT, the stream was
+        // showing up as hot when scanning 1 million tablets. Converted to a for loop to improve
+        // performance.
+        long sum = 0;
+        for (var dfv : files.values()) {
+          sum += dfv.getSize();
+        }
+        return sum;
+      });
+    }
     this.scans = Objects.requireNonNull(tmBuilder.scans.build());
     this.loadedFiles = tmBuilder.loadedFiles.build();
     this.selectedFiles = tmBuilder.selectedFiles;
@@ -146,7 +172,7 @@ public class TabletMetadata {
     this.flush = tmBuilder.flush;
     this.flushNonce = tmBuilder.flushNonce;
     this.logs = Objects.requireNonNull(tmBuilder.logs.build());
-    this.extCompactions = Objects.requireNonNull(tmBuilder.extCompactions.build());
+    this.extCompactions = Objects.requireNonNull(tmBuilder.extCompactions());
     this.merged = tmBuilder.merged;
     this.availability = Objects.requireNonNull(tmBuilder.availability);
     this.onDemandHostingRequested = tmBuilder.onDemandHostingRequested;
@@ -155,15 +181,6 @@ public class TabletMetadata {
     this.compacted = tmBuilder.compacted.build();
     this.userCompactionsRequested = tmBuilder.userCompactionsRequested.build();
     this.unSplittableMetadata = tmBuilder.unSplittableMetadata;
-    this.fileSize = Suppliers.memoize(() -> {
-      // This code was using a java stream. While profiling SplitMillionIT, the stream was showing
-      // up as hot when scanning 1 million tablets. Converted to a for loop to improve performance.
-      long sum = 0;
-      for (var dfv : files.values()) {
-        sum += dfv.getSize();
-      }
-      return sum;
-    });
     this.extent =
         Suppliers.memoize(() -> new KeyExtent(getTableId(), getEndRow(), getPrevEndRow()));
   }
@@ -371,7 +388,7 @@ public class TabletMetadata {
 
   public SelectedFiles getSelectedFiles() {
     ensureFetched(ColumnType.SELECTED);
-    return selectedFiles;
+    return selectedFiles.get();
   }
 
   public Collection<LogEntry> getLogs() {
@@ -436,7 +453,7 @@ public class TabletMetadata {
 
   public UnSplittableMetadata getUnSplittable() {
     ensureFetched(ColumnType.UNSPLITTABLE);
-    return unSplittableMetadata;
+    return unSplittableMetadata.get();
   }
 
   @Override
@@ -448,12 +465,12 @@ public class TabletMetadata {
         .append("fetchedCols", fetchedCols).append("extent", extent).append("last", last)
         .append("suspend", suspend).append("dirName", dirName).append("time", time)
         .append("cloned", cloned).append("flush", flush).append("logs", logs)
-        .append("extCompactions", extCompactions).append("availability", availability)
+        .append("extCompactions", extCompactions.get()).append("availability", availability)
         .append("onDemandHostingRequested", onDemandHostingRequested)
-        .append("operationId", operationId).append("selectedFiles", selectedFiles)
+        .append("operationId", operationId).append("selectedFiles", selectedFiles.get())
         .append("futureAndCurrentLocationSet", futureAndCurrentLocationSet)
         .append("userCompactionsRequested", userCompactionsRequested)
-        .append("unSplittableMetadata", unSplittableMetadata).toString();
+        .append("unSplittableMetadata", unSplittableMetadata.get()).toString();
   }
 
   public List<Entry<Key,Value>> getKeyValues() {
@@ -463,7 +480,7 @@ public class TabletMetadata {
 
   public Map<ExternalCompactionId,CompactionMetadata> getExternalCompactions() {
     ensureFetched(ColumnType.ECOMP);
-    return extCompactions;
+    return extCompactions.get();
   }
 
   public Set<FateId> getCompacted() {
@@ -487,9 +504,26 @@ public class TabletMetadata {
   @VisibleForTesting
   public static <E extends Entry<Key,Value>> TabletMetadata convertRow(Iterator<E> rowIter,
       EnumSet<ColumnType> fetchedColumns, boolean buildKeyValueMap, boolean suppressLocationError) {
+    return convertRow(rowIter, fetchedColumns, buildKeyValueMap, suppressLocationError, false);
+  }
+
+  /**
+   * @param compact when true the tablet metadata is built using a compact in memory
+   *        representation. Files are deduplicated across tablets, file sizes and entry counts are
+   *        stored in primitive arrays, and the external compaction, selected files and unsplittable
+   *        columns are only decoded when they are first accessed.
+   * @see TabletsMetadata.Options#compact()
+   */
+  @VisibleForTesting
+  public static <E extends Entry<Key,Value>> TabletMetadata convertRow(Iterator<E> rowIter,
+      EnumSet<ColumnType> fetchedColumns, boolean buildKeyValueMap, boolean suppressLocationError,
+      boolean compact) {
     Objects.requireNonNull(rowIter);
 
     final var tmBuilder = new Builder();
+    if (compact) {
+      tmBuilder.compact();
+    }
 
     ByteSequence row = null;
 
@@ -551,15 +585,15 @@ public class TabletMetadata {
               tmBuilder.operationId(val);
               break;
             case SELECTED_QUAL:
-              tmBuilder.selectedFiles(SelectedFiles.from(val));
+              tmBuilder.selectedFiles(val);
               break;
           }
           break;
         case DataFileColumnFamily.STR_NAME:
-          tmBuilder.file(new StoredTabletFile(qual), new DataFileValue(val));
+          tmBuilder.file(tmBuilder.storedFile(qual), new DataFileValue(val));
           break;
         case BulkFileColumnFamily.STR_NAME:
-          tmBuilder.loadedFile(new StoredTabletFile(qual),
+          tmBuilder.loadedFile(tmBuilder.storedFile(qual),
               BulkFileColumnFamily.getBulkLoadTid(val));
           break;
         case CurrentLocationColumnFamily.STR_NAME:
@@ -575,7 +609,7 @@ public class TabletMetadata {
           tmBuilder.suspend(SuspendingTServer.fromValue(kv.getValue()));
           break;
         case ScanFileColumnFamily.STR_NAME:
-          tmBuilder.scan(new StoredTabletFile(qual));
+          tmBuilder.scan(tmBuilder.storedFile(qual));
           break;
         case ClonedColumnFamily.STR_NAME:
           tmBuilder.cloned(val);
@@ -584,7 +618,7 @@ public class TabletMetadata {
           tmBuilder.log(LogEntry.fromMetaWalEntry(kv));
           break;
         case ExternalCompactionColumnFamily.STR_NAME:
-          tmBuilder.extCompaction(ExternalCompactionId.of(qual), CompactionMetadata.fromJson(val));
+          tmBuilder.extCompaction(qual, val);
           break;
         case MergedColumnFamily.STR_NAME:
           tmBuilder.merged(true);
@@ -597,7 +631,7 @@ public class TabletMetadata {
           break;
         case SplitColumnFamily.STR_NAME:
           if (qual.equals(SplitColumnFamily.UNSPLITTABLE_QUAL)) {
-            tmBuilder.unSplittableMetadata(UnSplittableMetadata.toUnSplittable(val));
+            tmBuilder.unSplittableMetadata(val);
           } else {
             throw new IllegalStateException("Unexpected SplitColumnFamily qualifier: " + qual);
           }
@@ -665,10 +699,11 @@ public class TabletMetadata {
     private Location location;
     private final ImmutableMap.Builder<StoredTabletFile,DataFileValue> files =
         ImmutableMap.builder();
+    private CompactTabletFiles.Builder compactFiles;
     private final ImmutableList.Builder<StoredTabletFile> scans = ImmutableList.builder();
     private final ImmutableMap.Builder<StoredTabletFile,FateId> loadedFiles =
         ImmutableMap.builder();
-    private SelectedFiles selectedFiles;
+    private Supplier<SelectedFiles> selectedFiles = () -> null;
     private EnumSet<ColumnType> fetchedCols;
     private Location last;
     private SuspendingTServer suspend;
@@ -679,8 +714,8 @@ public class TabletMetadata {
     private OptionalLong flush = OptionalLong.empty();
     private OptionalLong flushNonce = OptionalLong.empty();
     private final ImmutableList.Builder<LogEntry> logs = ImmutableList.builder();
-    private final ImmutableMap.Builder<ExternalCompactionId,CompactionMetadata> extCompactions =
-        ImmutableMap.builder();
+    private ImmutableMap.Builder<ExternalCompactionId,CompactionMetadata> extCompactions;
+    private ImmutableMap.Builder<String,String> encodedExtCompactions;
     private boolean merged;
     private TabletAvailability availability = TabletAvailability.ONDEMAND;
     private boolean onDemandHostingRequested;
@@ -688,8 +723,23 @@ public class TabletMetadata {
     private boolean futureAndCurrentLocationSet;
     private final ImmutableSet.Builder<FateId> compacted = ImmutableSet.builder();
     private final ImmutableSet.Builder<FateId> userCompactionsRequested = ImmutableSet.builder();
-    private UnSplittableMetadata unSplittableMetadata;
-    // private Supplier<Long> fileSize;
+    private Supplier<UnSplittableMetadata> unSplittableMetadata = () -> null;
+    private boolean compact;
+
+    /**
+     * Builds the tablet metadata using the compact in memory representation.
+     */
+    void compact() {
+      this.compact = true;
+      this.compactFiles = new CompactTabletFiles.Builder();
+    }
+
+    StoredTabletFile storedFile(String metadataEntry) {
+      if (compact) {
+        return compactFileCache.get(metadataEntry, StoredTabletFile::new);
+      }
+      return new StoredTabletFile(metadataEntry);
+    }
 
     void table(TableId tableId) {
       this.tableId = tableId;
@@ -724,15 +774,23 @@ public class TabletMetadata {
     }
 
     void file(StoredTabletFile stf, DataFileValue dfv) {
-      this.files.put(stf, dfv);
+      if (compactFiles != null) {
+        this.compactFiles.put(stf, dfv);
+      } else {
+        this.files.put(stf, dfv);
+      }
     }
 
     void loadedFile(StoredTabletFile stf, FateId fateId) {
       this.loadedFiles.put(stf, fateId);
     }
 
-    void selectedFiles(SelectedFiles selectedFiles) {
-      this.selectedFiles = selectedFiles;
+    void selectedFiles(String encoded) {
+      if (compact) {
+        this.selectedFiles = Suppliers.memoize(() -> SelectedFiles.from(encoded));
+      } else {
+        this.selectedFiles = Suppliers.ofInstance(SelectedFiles.from(encoded));
+      }
     }
 
     void location(String val, String qual, LocationType lt, boolean suppressError) {
@@ -767,7 +825,38 @@ public class TabletMetadata {
     }
 
     void extCompaction(ExternalCompactionId id, CompactionMetadata metadata) {
-      this.extCompactions.put(id, metadata);
+      if (extCompactions == null) {
+        extCompactions = ImmutableMap.builder();
+      }
+      extCompactions.put(id, metadata);
+    }
+
+    void extCompaction(String id, String json) {
+      if (compact) {
+        if (encodedExtCompactions == null) {
+          encodedExtCompactions = ImmutableMap.builder();
+        }
+        encodedExtCompactions.put(id, json);
+      } else {
+        extCompaction(ExternalCompactionId.of(id), CompactionMetadata.fromJson(json));
+      }
+    }
+
+    private Supplier<Map<ExternalCompactionId,CompactionMetadata>> extCompactions() {
+      if (encodedExtCompactions != null) {
+        var encoded = encodedExtCompactions.build();
+        return Suppliers.memoize(() -> {
+          ImmutableMap.Builder<ExternalCompactionId,CompactionMetadata> decoded =
+              ImmutableMap.builder();
+          encoded.forEach((id, json) -> decoded.put(ExternalCompactionId.of(id),
+              CompactionMetadata.fromJson(json)));
+          return decoded.build();
+        });
+      } else if (extCompactions != null) {
+        return Suppliers.ofInstance(extCompactions.build());
+      } else {
+        return ImmutableMap::of;
+      }
     }
 
     void merged(boolean merged) {
@@ -795,8 +884,14 @@ public class TabletMetadata {
       this.userCompactionsRequested.add(userCompactionRequested);
     }
 
-    void unSplittableMetadata(UnSplittableMetadata unSplittableMetadata) {
-      this.unSplittableMetadata = unSplittableMetadata;
+    void unSplittableMetadata(String encoded) {
+      if (compact) {
+        this.unSplittableMetadata =
+            Suppliers.memoize(() -> UnSplittableMetadata.toUnSplittable(encoded));
+      } else {
+        this.unSplittableMetadata =
+            Suppliers.ofInstance(UnSplittableMetadata.toUnSplittable(encoded));
+      }
     }
 
     void keyValue(Entry<Key,Value> kv) {
@@ -107,6 +107,7 @@ public class TabletsMetadata implements Iterable<TabletMetadata>, AutoCloseable
     private Text endRow;
     private boolean checkConsistency = false;
     private boolean saveKeyValues;
+    private boolean compact;
     private TableId tableId;
     private final AccumuloClient _client;
     private final List<TabletMetadataFilter> tabletMetadataFilters = new ArrayList<>();
@@ -198,7 +199,7 @@ public class TabletsMetadata implements Iterable<TabletMetadata>, AutoCloseable
               try {
                 return TabletMetadata.convertRow(WholeRowIterator
                     .decodeRow(entry.getKey(), entry.getValue()).entrySet().iterator(), fetchedCols,
-                    saveKeyValues, false);
+                    saveKeyValues, false, compact);
               } catch (IOException e) {
                 throw new UncheckedIOException(e);
               }
@@ -277,7 +278,7 @@ public class TabletsMetadata implements Iterable<TabletMetadata>, AutoCloseable
             scanner.setRange(r);
             RowIterator rowIter = new RowIterator(scanner);
             Iterator<TabletMetadata> iter = Iterators.transform(rowIter,
-                ri -> TabletMetadata.convertRow(ri, fetchedCols, saveKeyValues, false));
+                ri -> TabletMetadata.convertRow(ri, fetchedCols, saveKeyValues, false, compact));
             if (extentsPresent) {
               return Iterators.filter(iter,
                   tabletMetadata -> extentsToFetch.contains(tabletMetadata.getExtent()));
@@ -477,6 +478,12 @@ public class TabletsMetadata implements Iterable<TabletMetadata>, AutoCloseable
       return this;
     }
 
+    @Override
+    public Options compact() {
+      this.compact = true;
+      return this;
+    }
+
     @Override
     public RangeOptions scanTable(String tableName) {
       this.table = tableName;
@@ -509,6 +516,17 @@ public class TabletsMetadata implements Iterable<TabletMetadata>, AutoCloseable
      */
     Options saveKeyValues();
 
+    /**
+     * Builds the tablet metadata using a compact in memory representation. This is intended for
+     * code that reads and holds the metadata of a large number of tablets. Files shared by tablets
+     * are only parsed and held in memory once, file sizes and entry counts are stored in primitive
+     * arrays, and the rarely used {@link ColumnType#ECOMP}, {@link ColumnType#SELECTED} and
+     * {@link ColumnType#UNSPLITTABLE} columns are only decoded when first accessed. Since decoding
+     * of those columns is deferred, a malformed value for one of them is only reported when it is
+     * accessed.
+     */
+    Options compact();
+
     /**
      * Adds a filter to be applied while fetching the data. Filters are applied in the order they
      * are added. This method can be called multiple times to chain multiple filters together. The
@@ -110,6 +110,13 @@ public enum Metric {
   GC_RUN_CYCLE("accumulo.gc.run.cycle", MetricType.GAUGE,
       "Count of gc cycle runs. Value is reset on process start.",
       MetricCategory.GARBAGE_COLLECTION),
+  GC_DELETE_THROUGHPUT("accumulo.gc.delete.throughput", MetricType.GAUGE,
+      "Number of candidate files deleted per second during the last gc cycle.",
+      MetricCategory.GARBAGE_COLLECTION),
+  GC_NAMENODE_OPS_RATE("accumulo.gc.namenode.ops.rate", MetricType.GAUGE,
+      "Number of namenode operations issued per second while deleting files during the last gc"
+          + " cycle.",
+      MetricCategory.GARBAGE_COLLECTION),
 
   // Tablet Server Metrics
   TSERVER_ENTRIES("accumulo.tserver.entries", MetricType.GAUGE, "Number of entries.",
@@ -140,6 +147,10 @@ public enum Metric {
       "Ingest byte count. The rate can be derived from this metric.", MetricCategory.TABLET_SERVER),
   TSERVER_HOLD("accumulo.tserver.hold", MetricType.GAUGE,
       "Duration for which commits have been held in milliseconds.", MetricCategory.TABLET_SERVER),
+  TSERVER_HOT_ROW_COUNT("accumulo.tserver.rows.hot.count", MetricType.GAUGE,
+      "Upper bound on the number of updates and single row lookups of the most frequently used"
+          + " row in the last hot row interval. Zero unless tserver.hot.rows.tracked is set.",
+      MetricCategory.TABLET_SERVER),
   TSERVER_TABLETS_ONLINE_ONDEMAND("accumulo.tserver.tablets.ondemand.online", MetricType.GAUGE,
       "Number of online on-demand tablets", MetricCategory.TABLET_SERVER),
   TSERVER_TABLETS_ONDEMAND_UNLOADED_FOR_MEM("accumulo.tserver.tablets.ondemand.unloaded.lowmem",
@@ -158,6 +169,10 @@ public enum Metric {
       "Count of the scans where a busy timeout happened.", MetricCategory.SCAN_SERVER),
   SCAN_TABLET_METADATA_CACHE("accumulo.scan.tablet.metadata.cache", MetricType.CACHE,
       "Scan server tablet cache metrics.", MetricCategory.SCAN_SERVER),
+  SCAN_SERVER_LOAD("accumulo.scan.server.load", MetricType.GAUGE,
+      "Number of scans running or queued in the scan executors of a scan server. Scan servers"
+          + " also return this in scan responses so clients can prefer less loaded servers.",
+      MetricCategory.SCAN_SERVER),
   SCAN_TIMES("accumulo.scan.times", MetricType.TIMER, "Scan session lifetime (creation to close).",
       MetricCategory.SCAN_SERVER),
   SCAN_OPEN_FILES("accumulo.scan.files.open", MetricType.GAUGE, "Number of files open for scans.",
@@ -272,7 +287,54 @@ public enum Metric {
       MetricCategory.MANAGER),
   MANAGER_COMPACTION_SVC_ERRORS("accumulo.manager.compaction.svc.misconfigured", MetricType.GAUGE,
       "A value of 1 indicates a misconfiguration in the compaction service, while a value of 0 indicates that the configuration is valid.",
-      MetricCategory.MANAGER);
+      MetricCategory.MANAGER),
+  MANAGER_AMPLE_CONDITIONAL_MUTATIONS("accumulo.manager.ample.conditional.mutations",
+      MetricType.FUNCTION_COUNTER,
+      "Count of conditional mutations written to the metadata store by FATE operations.",
+      MetricCategory.MANAGER),
+  MANAGER_AMPLE_CONDITIONAL_UNKNOWN("accumulo.manager.ample.conditional.unknown",
+      MetricType.FUNCTION_COUNTER,
+      "Count of conditional metadata mutations that had an unknown status and were retried.",
+      MetricCategory.MANAGER),
+  MANAGER_AMPLE_CONDITIONAL_THROUGHPUT("accumulo.manager.ample.conditional.throughput",
+      MetricType.GAUGE,
+      "Conditional metadata mutations per second for the most recently written batch.",
+      MetricCategory.MANAGER),
+
+  // Client Metrics
+  CLIENT_SCAN_RPC_LATENCY("accumulo.client.scan.rpc.latency", MetricType.TIMER,
+      "Time taken by scan and batch scan RPCs, tagged by table id and server.",
+      MetricCategory.CLIENT),
+  CLIENT_SCAN_ENTRIES("accumulo.client.scan.entries", MetricType.COUNTER,
+      "Number of entries returned to scanners and batch scanners, tagged by table id.",
+      MetricCategory.CLIENT),
+  CLIENT_SCAN_BYTES("accumulo.client.scan.bytes", MetricType.COUNTER,
+      "Number of key and value bytes returned to scanners and batch scanners, tagged by table id.",
+      MetricCategory.CLIENT),
+  CLIENT_WRITE_RPC_LATENCY("accumulo.client.write.rpc.latency", MetricType.TIMER,
+      "Time taken by batch writers to send a batch of mutations to a server, tagged by server.",
+      MetricCategory.CLIENT),
+  CLIENT_WRITE_MUTATIONS("accumulo.client.write.mutations", MetricType.COUNTER,
+      "Number of mutations sent by batch writers, tagged by table id.", MetricCategory.CLIENT),
+  CLIENT_WRITE_BYTES("accumulo.client.write.bytes", MetricType.COUNTER,
+      "Number of mutation bytes sent by batch writers, tagged by table id.",
+      MetricCategory.CLIENT),
+  CLIENT_WRITE_BACKPRESSURE("accumulo.client.write.backpressure", MetricType.TIMER,
+      "Time threads spent blocked adding mutations because batch writer memory was full.",
+      MetricCategory.CLIENT),
+  CLIENT_WRITE_QUEUED("accumulo.client.write.queued.bytes", MetricType.GAUGE,
+      "Estimated memory used by mutations that were added to open batch writers and not yet sent.",
+      MetricCategory.CLIENT),
+  CLIENT_TABLET_CACHE_HITS("accumulo.client.tablet.cache.hits", MetricType.FUNCTION_COUNTER,
+      "Number of tablet lookups answered by the client tablet location cache, tagged by table id.",
+      MetricCategory.CLIENT),
+  CLIENT_TABLET_CACHE_MISSES("accumulo.client.tablet.cache.misses", MetricType.FUNCTION_COUNTER,
+      "Number of tablet lookups that had to read the metadata table, tagged by table id.",
+      MetricCategory.CLIENT),
+  CLIENT_TABLET_CACHE_INVALIDATIONS("accumulo.client.tablet.cache.invalidations",
+      MetricType.FUNCTION_COUNTER,
+      "Number of entries invalidated in the client tablet location cache, tagged by table id.",
+      MetricCategory.CLIENT);
 
   private final String name;
   private final MetricType type;
@@ -323,7 +385,8 @@ public enum Metric {
     SCAN_SERVER("Scan Server Metrics"),
     THRIFT("Thrift Metrics"),
     BLOCK_CACHE("Block Cache Metrics"),
-    MANAGER("Manager Metrics");
+    MANAGER("Manager Metrics"),
+    CLIENT("Client Metrics");
 
     private final String sectionTitle;
 
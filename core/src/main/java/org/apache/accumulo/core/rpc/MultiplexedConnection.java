@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.rpc;
+
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * A connection to a server that is shared by many concurrent RPCs. Each request is written as a
+ * single frame that starts with a header holding {@link #FRAME_MARKER}, a stream id and the length
+ * of the request. The server answers with a frame that has the same header, which is used to hand
+ * the response to the thread that sent the request. Requests from many threads can be sent without
+ * waiting for earlier responses, so a few connections per server can carry many RPCs.
+ *
+ * <p>
+ * Responses are read by whichever waiting thread gets to the connection first, so this does not
+ * need a thread of its own. Responses to requests that were abandoned are discarded when they
+ * arrive. When reading or writing fails, the connection is closed and all waiting threads see the
+ * error. A read that times out only fails the call of the thread that was reading, because the
+ * connection is still usable, and the other threads keep waiting.
+ */
+public class MultiplexedConnection {
+
+  /**
+   * The first byte of a multiplexed frame. Messages written by the compact protocol start with
+   * 0x82 and messages written by the binary protocol start with 0x80 or 0x00, so a server can tell
+   * a multiplexed frame from a plain one by its first byte.
+   */
+  public static final byte FRAME_MARKER = 0x4D;
+
+  /**
+   * The length of the header at the start of each multiplexed frame: the marker, the stream id and
+   * the length of the message.
+   */
+  public static final int HEADER_LENGTH = 1 + 4 + 4;
+
+  private final TTransport transport;
+
+  private final Object writeLock = new Object();
+  private int nextStreamId = 0;
+
+  private final Map<Integer,byte[]> responses = new HashMap<>();
+  private final Set<Integer> abandoned = new HashSet<>();
+  private boolean reading = false;
+  private TTransportException failure = null;
+
+  public MultiplexedConnection(TTransport transport) {
+    this.transport = transport;
+  }
+
+  public static byte[] createHeader(int streamId, int length) {
+    return ByteBuffer.allocate(HEADER_LENGTH).put(FRAME_MARKER).putInt(streamId).putInt(length)
+        .array();
+  }
+
+  /**
+   * Sends a request, without waiting for the response.
+   *
+   * @return the stream id to pass to {@link #receive(int)} or {@link #abandon(int)}
+   */
+  public int send(byte[] request, int offset, int length) throws TTransportException {
+    synchronized (writeLock) {
+      synchronized (this) {
+        if (failure != null) {
+          throw new TTransportException(failure.getType(), "Connection failed earlier", failure);
+        }
+      }
+      int streamId = nextStreamId++;
+      try {
+        transport.write(createHeader(streamId, length));
+        transport.write(request, offset, length);
+        transport.flush();
+      } catch (TTransportException e) {
+        fail(e);
+        throw e;
+      }
+      return streamId;
+    }
+  }
+
+  /**
+   * Waits for the response to a request sent by {@link #send(byte[], int, int)}.
+   */
+  public byte[] receive(int streamId) throws TTransportException {
+    while (true) {
+      synchronized (this) {
+        while (true) {
+          byte[] response = responses.remove(streamId);
+          if (response != null) {
+            return response;
+          }
+          if (failure != null) {
+            throw new TTransportException(failure.getType(), "Connection failed", failure);
+          }
+          if (!reading) {
+            // no other thread is reading, so this thread reads the next response
+            reading = true;
+            break;
+          }
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTransportException(TTransportException.UNKNOWN, e);
+          }
+        }
+      }
+      readResponse(streamId);
+    }
+  }
+
+  /**
+   * Reads the next response from the connection for whichever thread is waiting for it.
+   *
+   * @param streamId the stream id of the call of the reading thread
+   */
+  private void readResponse(int streamId) throws TTransportException {
+    int responseStreamId;
+    byte[] response;
+    try {
+      byte[] header = new byte[HEADER_LENGTH];
+      transport.readAll(header, 0, HEADER_LENGTH);
+      ByteBuffer buffer = ByteBuffer.wrap(header);
+      if (buffer.get() != FRAME_MARKER) {
+        throw new TTransportException(TTransportException.CORRUPTED_DATA,
+            "Response is not a multiplexed frame");
+      }
+      responseStreamId = buffer.getInt();
+      response = new byte[buffer.getInt()];
+      transport.readAll(response, 0, response.length);
+    } catch (TTransportException e) {
+      if (isTimeout(e)) {
+        // No response arrived within the timeout. Fail only this call and discard its response if
+        // it arrives later. A timeout in the middle of a frame leaves the rest of the frame on the
+        // connection, and the next read fails on it as corrupted data and closes the connection.
+        synchronized (this) {
+          reading = false;
+          abandoned.add(streamId);
+          notifyAll();
+        }
+        throw e;
+      }
+      fail(e);
+      throw e;
+    }
+
+    synchronized (this) {
+      reading = false;
+      if (!abandoned.remove(responseStreamId)) {
+        responses.put(responseStreamId, response);
+      }
+      notifyAll();
+    }
+  }
+
+  private static boolean isTimeout(TTransportException e) {
+    return e.getType() == TTransportException.TIMED_OUT
+        || e.getCause() instanceof SocketTimeoutException;
+  }
+
+  /**
+   * Discards the response to a request, when it arrives or if it already arrived.
+   */
+  public synchronized void abandon(int streamId) {
+    if (responses.remove(streamId) == null && failure == null) {
+      abandoned.add(streamId);
+    }
+  }
+
+  private void fail(TTransportException e) {
+    synchronized (this) {
+      reading = false;
+      if (failure == null) {
+        failure = e;
+      }
+      responses.clear();
+      abandoned.clear();
+      notifyAll();
+    }
+    transport.close();
+  }
+
+  public synchronized boolean isOpen() {
+    return failure == null && transport.isOpen();
+  }
+
+  public TConfiguration getConfiguration() {
+    return transport.getConfiguration();
+  }
+
+  public void close() {
+    fail(new TTransportException(TTransportException.NOT_OPEN, "Connection closed"));
+  }
+}
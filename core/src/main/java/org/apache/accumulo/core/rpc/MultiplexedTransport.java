@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.rpc;
+
+import org.apache.thrift.TByteArrayOutputStream;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * A transport for one client at a time that sends its requests over a shared
+ * {@link MultiplexedConnection}. A request is buffered until it is flushed and the response is read
+ * from memory once it arrives, so many of these can use the same connection concurrently.
+ *
+ * <p>
+ * The server runs the requests of a shared connection concurrently, but the RPCs of a session, like
+ * the one way applyUpdates followed by closeUpdate, must run in the order they were sent. So before
+ * sending a request, or when it is closed, this waits for the server to answer the previous request
+ * if its response was not read. The server answers one way RPCs once they ran.
+ */
+public class MultiplexedTransport extends TTransport {
+
+  private final MultiplexedConnection connection;
+  private final TByteArrayOutputStream writeBuffer = new TByteArrayOutputStream(1024);
+  private final TMemoryInputTransport readBuffer;
+
+  private boolean pending = false;
+  private int pendingStreamId;
+  private boolean sawError = false;
+
+  public MultiplexedTransport(MultiplexedConnection connection) throws TTransportException {
+    this.connection = connection;
+    this.readBuffer = new TMemoryInputTransport(connection.getConfiguration(), new byte[0]);
+  }
+
+  public MultiplexedConnection getConnection() {
+    return connection;
+  }
+
+  public boolean sawError() {
+    return sawError;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return connection.isOpen();
+  }
+
+  @Override
+  public void open() throws TTransportException {
+    if (!connection.isOpen()) {
+      throw new TTransportException(TTransportException.NOT_OPEN, "Connection is closed");
+    }
+  }
+
+  /**
+   * Waits for the response to the last request if it was not read, and discards it. The shared
+   * connection stays open.
+   */
+  @Override
+  public void close() {
+    try {
+      awaitPending();
+    } catch (TTransportException e) {
+      // the failure was recorded, the caller checks sawError() when returning the transport
+    }
+    writeBuffer.reset();
+  }
+
+  /**
+   * Waits until the server finished the last request, when its response was not read because the
+   * RPC was one way or the client gave up on it.
+   */
+  private void awaitPending() throws TTransportException {
+    if (!pending) {
+      return;
+    }
+    pending = false;
+    try {
+      connection.receive(pendingStreamId);
+    } catch (TTransportException e) {
+      sawError = true;
+      // a response that arrives after this gave up on it is discarded
+      connection.abandon(pendingStreamId);
+      throw e;
+    }
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws TTransportException {
+    if (readBuffer.getBytesRemainingInBuffer() <= 0) {
+      if (!pending) {
+        throw new TTransportException(TTransportException.END_OF_FILE,
+            "No request was sent to read a response for");
+      }
+      pending = false;
+      try {
+        readBuffer.reset(connection.receive(pendingStreamId));
+      } catch (TTransportException e) {
+        sawError = true;
+        throw e;
+      }
+    }
+    return readBuffer.read(buf, off, len);
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) {
+    writeBuffer.write(buf, off, len);
+  }
+
+  @Override
+  public void flush() throws TTransportException {
+    if (writeBuffer.len() == 0) {
+      return;
+    }
+    try {
+      awaitPending();
+    } catch (TTransportException e) {
+      writeBuffer.reset();
+      throw e;
+    }
+    try {
+      pendingStreamId = connection.send(writeBuffer.get(), 0, writeBuffer.len());
+      pending = true;
+    } catch (TTransportException e) {
+      sawError = true;
+      throw e;
+    } finally {
+      writeBuffer.reset();
+    }
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return readBuffer.getBuffer();
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return readBuffer.getBufferPosition();
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return readBuffer.getBytesRemainingInBuffer();
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readBuffer.consumeBuffer(len);
+  }
+
+  @Override
+  public TConfiguration getConfiguration() {
+    return connection.getConfiguration();
+  }
+
+  @Override
+  public void updateKnownMessageSize(long size) throws TTransportException {
+    readBuffer.updateKnownMessageSize(size);
+  }
+
+  @Override
+  public void checkReadBytesAvailable(long numBytes) throws TTransportException {
+    readBuffer.checkReadBytesAvailable(numBytes);
+  }
+}
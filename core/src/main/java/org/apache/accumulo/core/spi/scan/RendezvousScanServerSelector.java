@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.scan;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.accumulo.core.data.TabletId;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Extension of the {@code ConfigurableScanServerSelector} that keeps sending the scans of a tablet
+ * to the same few scan servers, so the blocks of the tablet's files stay in the caches of those
+ * servers, and that prefers the least loaded of those servers.
+ *
+ * <p>
+ * Each tablet is mapped to its replica set using rendezvous hashing. Every scan server gets a
+ * score computed from a hash of the tablet and a hash of the server, and the replica set is the
+ * servers with the highest scores. The number of servers in the replica set is the number of
+ * servers of the current attempt plan, and the salt of the attempt plan is included in the hash of
+ * the tablet, so profiles are configured the same way as for the
+ * {@code ConfigurableScanServerSelector}.
+ * Unlike choosing a range of servers from a sorted list, when a scan server is added or removed
+ * only the tablets that had that server in their replica set change replicas.
+ *
+ * <p>
+ * Within the replica set the server with the highest score is used unless another replica is less
+ * loaded, using the load that scan servers return with their scan responses (see
+ * {@link ScanServerSelector.InitParameters#getScanServerLoad(String)}). Each step down in score
+ * costs one unit of load, so a replica is only chosen over a higher scoring one when it has fewer
+ * running and queued scans. Servers without a known load are assumed to be idle. Servers that
+ * were busy for a previous attempt to scan the tablet are skipped when the replica set has other
+ * servers.
+ *
+ * @since 4.0.0
+ */
+public class RendezvousScanServerSelector extends ConfigurableScanServerSelector {
+
+  private Function<String,OptionalDouble> loads;
+
+  // the hashes of the scan servers in each group, the servers only change every few seconds
+  private final Map<String,ServerHashes> serverHashes = new ConcurrentHashMap<>();
+
+  private static class ServerHashes {
+    private final List<String> servers;
+    private final long[] hashes;
+
+    private ServerHashes(List<String> servers) {
+      this.servers = servers;
+      this.hashes = new long[servers.size()];
+      for (int i = 0; i < hashes.length; i++) {
+        hashes[i] = Hashing.murmur3_128().hashString(servers.get(i), UTF_8).asLong();
+      }
+    }
+  }
+
+  @Override
+  public void init(ScanServerSelector.InitParameters params) {
+    super.init(params);
+    loads = params::getScanServerLoad;
+  }
+
+  /**
+   * Mixes the hash of a tablet and the hash of a server into the score of the server for the
+   * tablet, using the finalizer of murmur3 so that every bit of the inputs affects the score.
+   */
+  static long score(long tabletHash, long serverHash) {
+    long h = tabletHash ^ serverHash;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * @return the indexes of the {@code numServers} servers with the highest scores for the tablet,
+   *         ordered from highest to lowest score
+   */
+  static int[] replicas(long tabletHash, long[] serverHashes, int numServers) {
+    if (numServers > 16) {
+      // sort when many servers are wanted, like for an attempt plan that uses all servers
+      long[] scores = new long[serverHashes.length];
+      Integer[] order = new Integer[serverHashes.length];
+      for (int i = 0; i < serverHashes.length; i++) {
+        scores[i] = score(tabletHash, serverHashes[i]);
+        order[i] = i;
+      }
+      Arrays.sort(order, (i1, i2) -> Long.compare(scores[i2], scores[i1]));
+      return Arrays.stream(order, 0, Math.min(numServers, order.length)).mapToInt(i -> i)
+          .toArray();
+    }
+
+    int[] top = new int[numServers];
+    long[] topScores = new long[numServers];
+    int size = 0;
+    for (int i = 0; i < serverHashes.length; i++) {
+      long score = score(tabletHash, serverHashes[i]);
+      if (size == numServers && score <= topScores[size - 1]) {
+        continue;
+      }
+      // insertion into the small sorted array of the best servers seen so far
+      int pos = size < numServers ? size++ : size - 1;
+      while (pos > 0 && topScores[pos - 1] < score) {
+        top[pos] = top[pos - 1];
+        topScores[pos] = topScores[pos - 1];
+        pos--;
+      }
+      top[pos] = i;
+      topScores[pos] = score;
+    }
+    return size == numServers ? top : Arrays.copyOf(top, size);
+  }
+
+  private ServerHashes getServerHashes(String group, List<String> orderedScanServers) {
+    ServerHashes current = serverHashes.get(group);
+    if (current == null || current.servers != orderedScanServers) {
+      current = new ServerHashes(orderedScanServers);
+      serverHashes.put(group, current);
+    }
+    return current;
+  }
+
+  @Override
+  protected int selectServers(ScanServerSelector.SelectorParameters params, Profile profile,
+      List<String> orderedScanServers, Map<TabletId,String> serversToUse) {
+
+    int attempts = params.getTablets().stream()
+        .mapToInt(tablet -> params.getAttempts(tablet).size()).max().orElse(0);
+
+    int numServers = profile.getNumServers(attempts, orderedScanServers.size());
+    String salt = profile.getSalt(attempts);
+    ServerHashes hashes = getServerHashes(profile.group, orderedScanServers);
+
+    // look up the load of each server once, so all tablets are placed using the same loads
+    Map<String,Double> serverLoads = new HashMap<>();
+
+    for (TabletId tablet : params.getTablets()) {
+      int[] replicas = replicas(hashTablet(tablet, salt).asLong(), hashes.hashes, numServers);
+
+      Set<String> busy = new HashSet<>();
+      for (ScanServerAttempt attempt : params.getAttempts(tablet)) {
+        if (attempt.getResult() == ScanServerAttempt.Result.BUSY) {
+          busy.add(attempt.getServer());
+        }
+      }
+
+      String serverToUse = null;
+      double lowestCost = Double.MAX_VALUE;
+      boolean chosenIsBusy = false;
+      for (int rank = 0; rank < replicas.length; rank++) {
+        String server = hashes.servers.get(replicas[rank]);
+        boolean isBusy = busy.contains(server);
+        if (isBusy && serverToUse != null && !chosenIsBusy) {
+          continue;
+        }
+        double cost = serverLoads
+            .computeIfAbsent(server, s -> loads == null ? 0 : loads.apply(s).orElse(0)) + rank;
+        if (serverToUse == null || (chosenIsBusy && !isBusy) || cost < lowestCost) {
+          serverToUse = server;
+          lowestCost = cost;
+          chosenIsBusy = isBusy;
+        }
+      }
+
+      serversToUse.put(tablet, serverToUse);
+    }
+    return attempts;
+  }
+}
@@ -22,6 +22,7 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -81,6 +82,20 @@ public interface ScanServerSelector {
      *         made using a consistent set of scan servers.
      */
     Supplier<Collection<ScanServerInfo>> getScanServers();
+
+    /**
+     * Scan servers return their load with each scan response, so a selector can prefer less
+     * loaded servers without making any extra RPCs. The load is the number of scans running or
+     * queued on the server, smoothed over recent responses. It is only known for servers this
+     * client received a response from in the last few seconds.
+     *
+     * @param address the address of a scan server in the form of {@code <host>:<port>}
+     * @return the recent load of the scan server, or empty if it is not known
+     * @since 4.0.0
+     */
+    default OptionalDouble getScanServerLoad(String address) {
+      return OptionalDouble.empty();
+    }
   }
 
   /**
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.summary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.dataImpl.thrift.TRowRange;
+import org.apache.accumulo.core.dataImpl.thrift.TSummaries;
+import org.apache.accumulo.core.dataImpl.thrift.TSummary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches the summaries read from files, so that gathering the summaries of a table again does not
+ * read the summary data of every file again. This cache holds the summaries that were selected and
+ * merged for each file, which are much smaller than the summary blocks cached in the block cache
+ * and are not evicted by scans.
+ *
+ * <p>
+ * Files are never modified, so entries do not have to be invalidated. The entries of files that
+ * were compacted away or deleted are no longer requested and are evicted as the cache fills.
+ */
+public class FileSummaryCache {
+
+  private static class FileSummaryKey {
+    private final String file;
+    private final List<TRowRange> ranges;
+    private final Set<SummarizerConfiguration> summarizers;
+    private final String summarizerPattern;
+
+    private FileSummaryKey(String file, List<TRowRange> ranges,
+        Set<SummarizerConfiguration> summarizers, String summarizerPattern) {
+      this.file = file;
+      this.ranges = ranges;
+      this.summarizers = summarizers;
+      this.summarizerPattern = summarizerPattern;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o instanceof FileSummaryKey) {
+        FileSummaryKey other = (FileSummaryKey) o;
+        return file.equals(other.file) && ranges.equals(other.ranges)
+            && summarizers.equals(other.summarizers)
+            && Objects.equals(summarizerPattern, other.summarizerPattern);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(file, ranges, summarizers, summarizerPattern);
+    }
+
+    private int estimateSize() {
+      int size = 64 + file.length() * 2 + ranges.size() * 64;
+      if (summarizerPattern != null) {
+        size += summarizerPattern.length() * 2;
+      }
+      return size;
+    }
+  }
+
+  // the collections are stored in their thrift form because merging a SummaryCollection may
+  // modify the collections merged into it
+  private final Cache<FileSummaryKey,TSummaries> cache;
+
+  /**
+   * @param builder a builder used to create the cache, which will be limited to the given size
+   * @param maxSize the approximate maximum number of bytes of summaries to keep
+   */
+  public FileSummaryCache(Caffeine<Object,Object> builder, long maxSize) {
+    this.cache = builder.maximumWeight(maxSize)
+        .weigher((FileSummaryKey key, TSummaries value) -> key.estimateSize() + estimateSize(value))
+        .build();
+  }
+
+  private static int estimateSize(TSummaries summaries) {
+    long size = 64;
+    for (TSummary summary : summaries.getSummaries()) {
+      size += 128;
+      for (Map.Entry<String,Long> entry : summary.getSummary().entrySet()) {
+        size += 64 + entry.getKey().length() * 2L;
+      }
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  SummaryCollection get(String file, List<TRowRange> ranges,
+      Set<SummarizerConfiguration> summarizers, String summarizerPattern) {
+    TSummaries summaries =
+        cache.getIfPresent(new FileSummaryKey(file, ranges, summarizers, summarizerPattern));
+    return summaries == null ? null : new SummaryCollection(summaries);
+  }
+
+  void put(String file, List<TRowRange> ranges, Set<SummarizerConfiguration> summarizers,
+      String summarizerPattern, SummaryCollection summaries) {
+    // copy, as the thrift form shares the maps of the collection that will be merged
+    TSummaries tsummaries = new TSummaries(summaries.toThrift());
+    if (tsummaries.getDeletedFiles() > 0) {
+      // missing files are cheap to detect, so do not keep entries for them
+      return;
+    }
+    cache.put(new FileSummaryKey(file, List.copyOf(ranges), summarizers, summarizerPattern),
+        tsummaries);
+  }
+}
@@ -101,7 +101,7 @@ import com.google.common.net.HostAndPort;
  * execute {@link #processPartition(ExecutorService, int, int)}
  * <li>{@link #processPartition(ExecutorService, int, int)} will make RPC calls to multiple tserver
  * to remotely execute
- * <li>{@link #processFiles(FileSystemResolver, Map, BlockCache, BlockCache, Cache, ExecutorService)}
+ * <li>{@link #processFiles}
  * </ol>
  */
 public class Gatherer {
@@ -429,17 +429,32 @@ public class Gatherer {
   }
 
   /**
-   * This method will read summaries from a set of files.
+   * This method will read summaries from a set of files. The summaries of files found in the file
+   * summary cache are not read again, and the summaries read are added to it.
+   *
+   * @param fileSummaryCache may be null, in which case the summaries of all files are read
    */
   public Future<SummaryCollection> processFiles(FileSystemResolver volMgr,
       Map<String,List<TRowRange>> files, BlockCache summaryCache, BlockCache indexCache,
-      Cache<String,Long> fileLenCache, ExecutorService srp) {
+      Cache<String,Long> fileLenCache, FileSummaryCache fileSummaryCache, ExecutorService srp) {
     List<CompletableFuture<SummaryCollection>> futures = new ArrayList<>();
     for (Entry<String,List<TRowRange>> entry : files.entrySet()) {
+      SummaryCollection cached = fileSummaryCache == null ? null
+          : fileSummaryCache.get(entry.getKey(), entry.getValue(), summaries, summarizerPattern);
+      if (cached != null) {
+        futures.add(CompletableFuture.completedFuture(cached));
+        continue;
+      }
       futures.add(CompletableFuture.supplyAsync(() -> {
         List<RowRange> rrl =
             entry.getValue().stream().map(RowRange::new).collect(Collectors.toList());
-        return getSummaries(volMgr, entry.getKey(), rrl, summaryCache, indexCache, fileLenCache);
+        SummaryCollection read =
+            getSummaries(volMgr, entry.getKey(), rrl, summaryCache, indexCache, fileLenCache);
+        if (fileSummaryCache != null) {
+          fileSummaryCache.put(entry.getKey(), entry.getValue(), summaries, summarizerPattern,
+              read);
+        }
+        return read;
       }, srp));
     }
 
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.summary;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.accumulo.core.client.summary.Summarizer.StatisticConsumer;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.TgtHllType;
+import org.apache.datasketches.hll.Union;
+
+/**
+ * Stores HLL sketches in summary statistics, which can only hold longs. The compact form of a
+ * sketch is split into longs, stored in statistics named with a common prefix followed by their
+ * position. The length of the sketch is stored in the statistic named with the prefix followed by
+ * {@code len}.
+ */
+public class HllStatistics {
+
+  private static final String LENGTH_SUFFIX = "len";
+
+  private HllStatistics() {}
+
+  private static int numLongs(int length) {
+    return (length + Long.BYTES - 1) / Long.BYTES;
+  }
+
+  public static void write(HllSketch sketch, String prefix, StatisticConsumer consumer) {
+    byte[] bytes = sketch.toCompactByteArray();
+    ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, numLongs(bytes.length) * Long.BYTES));
+    consumer.accept(prefix + LENGTH_SUFFIX, bytes.length);
+    for (int i = 0; i < numLongs(bytes.length); i++) {
+      consumer.accept(prefix + i, buffer.getLong(i * Long.BYTES));
+    }
+  }
+
+  /**
+   * @return the sketch stored with the given prefix, or null if there is none
+   */
+  public static HllSketch read(Map<String,Long> statistics, String prefix) {
+    Long length = statistics.get(prefix + LENGTH_SUFFIX);
+    if (length == null) {
+      return null;
+    }
+    int numLongs = numLongs(length.intValue());
+    ByteBuffer buffer = ByteBuffer.allocate(numLongs * Long.BYTES);
+    for (int i = 0; i < numLongs; i++) {
+      Long value = statistics.get(prefix + i);
+      if (value == null) {
+        throw new IllegalArgumentException("Statistics are missing part " + i + " of " + prefix);
+      }
+      buffer.putLong(i * Long.BYTES, value);
+    }
+    return HllSketch.heapify(Arrays.copyOf(buffer.array(), length.intValue()));
+  }
+
+  private static void remove(Map<String,Long> statistics, String prefix) {
+    Long length = statistics.remove(prefix + LENGTH_SUFFIX);
+    if (length != null) {
+      for (int i = 0; i < numLongs(length.intValue()); i++) {
+        statistics.remove(prefix + i);
+      }
+    }
+  }
+
+  /**
+   * Replaces the sketch stored with the given prefix in the first statistics with the union of it
+   * and the sketch stored with the same prefix in the second statistics.
+   *
+   * @return the union of the sketches
+   */
+  public static HllSketch merge(Map<String,Long> statistics1, Map<String,Long> statistics2,
+      String prefix, int lgMaxK) {
+    Union union = new Union(lgMaxK);
+    HllSketch sketch1 = read(statistics1, prefix);
+    if (sketch1 != null) {
+      union.update(sketch1);
+    }
+    HllSketch sketch2 = read(statistics2, prefix);
+    if (sketch2 != null) {
+      union.update(sketch2);
+    }
+    HllSketch merged = union.getResult(TgtHllType.HLL_4);
+    remove(statistics1, prefix);
+    write(merged, prefix, statistics1::put);
+    return merged;
+  }
+}
@@ -48,6 +48,7 @@ public class Caches implements MetricsProducer {
     CRYPT_PASSWORDS,
     HOST_REGEX_BALANCER_TABLE_REGEX,
     INSTANCE_ID,
+    ITERATOR_CLASSES,
     NAMESPACE_ID,
     NAMESPACE_CONFIGS,
     PROP_CACHE,
@@ -56,13 +57,17 @@ public class Caches implements MetricsProducer {
     SERVICE_ENVIRONMENT_TABLE_CONFIGS,
     SPACE_AWARE_VOLUME_CHOICE,
     SPLITTER_FILES,
+    SPLITTER_INDEXES,
     SPLITTER_STARTING,
     SPLITTER_UNSPLITTABLE,
     TABLE_CONFIGS,
     TABLE_ID,
     TABLE_PARENT_CONFIGS,
     TABLE_ZOO_HELPER_CACHE,
+    TABLET_METADATA_FILES,
     TSRM_FILE_LENGTHS,
+    TSRM_FILE_SUMMARIES,
+    TSRM_SCAN_RESULTS,
     TINYLFU_BLOCK_CACHE,
     VOLUME_HDFS_CONFIGS,
     MINC_AGE
@@ -21,6 +21,8 @@ package org.apache.accumulo.core.util.threads;
 public enum ThreadPoolNames {
 
   ACCUMULO_POOL_PREFIX("accumulo.pool"),
+  ASYNC_BATCH_WRITER_POOL("accumulo.pool.client.async.batch.writer"),
+  ASYNC_SCANNER_POOL("accumulo.pool.client.async.scanner"),
   BATCH_WRITER_SEND_POOL("accumulo.pool.batch.writer.send"),
   BATCH_WRITER_BIN_MUTATIONS_POOL("accumulo.pool.batch.writer.bin.mutations"),
   BLOOM_LOADER_POOL("accumulo.pool.bloom.loader"),
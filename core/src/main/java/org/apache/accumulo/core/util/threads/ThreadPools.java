@@ -49,6 +49,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.IntSupplier;
@@ -383,6 +384,7 @@ public class ThreadPools {
     BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
     OptionalInt priority = OptionalInt.empty();
     boolean emitThreadPoolMetrics = false;
+    boolean virtualThreads = false;
 
     /**
      * A fluent-style build to create a ThreadPoolExecutor. The name is used when creating
@@ -406,7 +408,7 @@ public class ThreadPools {
           "invalid thread priority, range must be Thread.MIN_PRIORITY <= priority <= Thread.MAX_PRIORITY");
 
       return createThreadPool(coreThreads, maxThreads, timeOut, units, name, queue, priority,
-          emitThreadPoolMetrics);
+          emitThreadPoolMetrics, virtualThreads);
     }
 
     /**
@@ -493,6 +495,20 @@ public class ThreadPools {
       this.emitThreadPoolMetrics = enable;
       return this;
     }
+
+    /**
+     * When set to true the pool will run tasks on virtual threads instead of platform threads, if
+     * the JVM supports virtual threads. The number of threads still bounds how many tasks run at
+     * once and queued tasks are still taken from the queue in order, but a task that blocks on I/O
+     * does not hold a platform thread. The thread priority is ignored for virtual threads. If the
+     * JVM does not support virtual threads, a warning is logged and platform threads are used.
+     *
+     * @return a fluent-style builder instance
+     */
+    public ThreadPoolExecutorBuilder useVirtualThreads(final boolean virtual) {
+      this.virtualThreads = virtual;
+      return this;
+    }
   }
 
   /**
@@ -511,17 +527,29 @@ public class ThreadPools {
    *        therefore its recommended that this option only be set true for long-lived thread pools.
    *        Creating lots of short-lived thread pools and registering them can lead to out of memory
    *        errors over long time periods.
+   * @param virtualThreads When set to true, tasks are run on virtual threads if the JVM supports
+   *        them.
    * @return ThreadPoolExecutor
    */
   private ThreadPoolExecutor createThreadPool(final int coreThreads, final int maxThreads,
       final long timeOut, final TimeUnit units, final String name,
       final BlockingQueue<Runnable> queue, final OptionalInt priority,
-      final boolean emitThreadPoolMetrics) {
+      final boolean emitThreadPoolMetrics, final boolean virtualThreads) {
     LOG.trace(
         "Creating ThreadPoolExecutor for {} with {} core threads and {} max threads {} {} timeout",
         name, coreThreads, maxThreads, timeOut, units);
+    ThreadFactory threadFactory;
+    if (virtualThreads && VirtualThreadFactory.isSupported()) {
+      threadFactory = new VirtualThreadFactory(name, handler);
+    } else {
+      if (virtualThreads) {
+        LOG.warn("Virtual threads are not supported by this JVM, using platform threads for {}",
+            name);
+      }
+      threadFactory = new NamedThreadFactory(name, priority, handler);
+    }
     var result = new ThreadPoolExecutor(coreThreads, maxThreads, timeOut, units, queue,
-        new NamedThreadFactory(name, priority, handler)) {
+        threadFactory) {
 
       @Override
       public void execute(@NonNull Runnable arg0) {
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.util.threads;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.accumulo.core.trace.TraceUtil;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * ThreadFactory that creates named virtual threads. Virtual threads were added in Java 21 and
+ * Accumulo is built for an earlier version, so they are created through reflection and are only
+ * available when running on a JVM that supports them.
+ */
+class VirtualThreadFactory implements ThreadFactory {
+
+  private static final Method OF_VIRTUAL;
+  private static final Method NAME;
+  private static final Method UNCAUGHT_EXCEPTION_HANDLER;
+  private static final Method FACTORY;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method ueh = null;
+    Method factory = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builderClass.getMethod("name", String.class, long.class);
+      ueh = builderClass.getMethod("uncaughtExceptionHandler", UncaughtExceptionHandler.class);
+      factory = builderClass.getMethod("factory");
+    } catch (ReflectiveOperationException e) {
+      // running on a JVM without virtual threads
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    UNCAUGHT_EXCEPTION_HANDLER = ueh;
+    FACTORY = factory;
+  }
+
+  static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  private final ThreadFactory factory;
+
+  VirtualThreadFactory(String name, UncaughtExceptionHandler ueh) {
+    Preconditions.checkState(isSupported(), "Virtual threads are not supported by this JVM");
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = NAME.invoke(builder, name + "-virtual-", 1L);
+      builder = UNCAUGHT_EXCEPTION_HANDLER.invoke(builder, ueh);
+      this.factory = (ThreadFactory) FACTORY.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to create virtual thread factory for " + name, e);
+    }
+  }
+
+  @Override
+  public Thread newThread(Runnable r) {
+    return factory.newThread(TraceUtil.wrap(r));
+  }
+}
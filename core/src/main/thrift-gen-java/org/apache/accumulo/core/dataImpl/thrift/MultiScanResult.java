@@ -35,6 +35,8 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
   private static final org.apache.thrift.protocol.TField PART_NEXT_KEY_FIELD_DESC = new org.apache.thrift.protocol.TField("partNextKey", org.apache.thrift.protocol.TType.STRUCT, (short)5);
   private static final org.apache.thrift.protocol.TField PART_NEXT_KEY_INCLUSIVE_FIELD_DESC = new org.apache.thrift.protocol.TField("partNextKeyInclusive", org.apache.thrift.protocol.TType.BOOL, (short)6);
   private static final org.apache.thrift.protocol.TField MORE_FIELD_DESC = new org.apache.thrift.protocol.TField("more", org.apache.thrift.protocol.TType.BOOL, (short)7);
+  private static final org.apache.thrift.protocol.TField ENCODED_RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("encodedResults", org.apache.thrift.protocol.TType.STRING, (short)8);
+  private static final org.apache.thrift.protocol.TField SERVER_LOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("serverLoad", org.apache.thrift.protocol.TType.I32, (short)9);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new MultiScanResultStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new MultiScanResultTupleSchemeFactory();
@@ -46,6 +48,8 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
   public @org.apache.thrift.annotation.Nullable TKey partNextKey; // required
   public boolean partNextKeyInclusive; // required
   public boolean more; // required
+  public @org.apache.thrift.annotation.Nullable java.nio.ByteBuffer encodedResults; // optional
+  public int serverLoad; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -55,7 +59,9 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
     PART_SCAN((short)4, "partScan"),
     PART_NEXT_KEY((short)5, "partNextKey"),
     PART_NEXT_KEY_INCLUSIVE((short)6, "partNextKeyInclusive"),
-    MORE((short)7, "more");
+    MORE((short)7, "more"),
+    ENCODED_RESULTS((short)8, "encodedResults"),
+    SERVER_LOAD((short)9, "serverLoad");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -85,6 +91,10 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
           return PART_NEXT_KEY_INCLUSIVE;
         case 7: // MORE
           return MORE;
+        case 8: // ENCODED_RESULTS
+          return ENCODED_RESULTS;
+        case 9: // SERVER_LOAD
+          return SERVER_LOAD;
         default:
           return null;
       }
@@ -130,7 +140,9 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
   // isset id assignments
   private static final int __PARTNEXTKEYINCLUSIVE_ISSET_ID = 0;
   private static final int __MORE_ISSET_ID = 1;
+  private static final int __SERVERLOAD_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.ENCODED_RESULTS,_Fields.SERVER_LOAD};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -150,6 +162,10 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     tmpMap.put(_Fields.MORE, new org.apache.thrift.meta_data.FieldMetaData("more", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+    tmpMap.put(_Fields.ENCODED_RESULTS, new org.apache.thrift.meta_data.FieldMetaData("encodedResults", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING        , true)));
+    tmpMap.put(_Fields.SERVER_LOAD, new org.apache.thrift.meta_data.FieldMetaData("serverLoad", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(MultiScanResult.class, metaDataMap);
   }
@@ -223,6 +239,10 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
     }
     this.partNextKeyInclusive = other.partNextKeyInclusive;
     this.more = other.more;
+    if (other.isSetEncodedResults()) {
+      this.encodedResults = org.apache.thrift.TBaseHelper.copyBinary(other.encodedResults);
+    }
+    this.serverLoad = other.serverLoad;
   }
 
   @Override
@@ -241,6 +261,9 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
     this.partNextKeyInclusive = false;
     setMoreIsSet(false);
     this.more = false;
+    this.encodedResults = null;
+    setServerLoadIsSet(false);
+    this.serverLoad = 0;
   }
 
   public int getResultsSize() {
@@ -457,6 +480,63 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
     __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MORE_ISSET_ID, value);
   }
 
+  public byte[] getEncodedResults() {
+    setEncodedResults(org.apache.thrift.TBaseHelper.rightSize(encodedResults));
+    return encodedResults == null ? null : encodedResults.array();
+  }
+
+  public java.nio.ByteBuffer bufferForEncodedResults() {
+    return org.apache.thrift.TBaseHelper.copyBinary(encodedResults);
+  }
+
+  public MultiScanResult setEncodedResults(byte[] encodedResults) {
+    this.encodedResults = encodedResults == null ? (java.nio.ByteBuffer)null   : java.nio.ByteBuffer.wrap(encodedResults.clone());
+    return this;
+  }
+
+  public MultiScanResult setEncodedResults(@org.apache.thrift.annotation.Nullable java.nio.ByteBuffer encodedResults) {
+    this.encodedResults = org.apache.thrift.TBaseHelper.copyBinary(encodedResults);
+    return this;
+  }
+
+  public void unsetEncodedResults() {
+    this.encodedResults = null;
+  }
+
+  /** Returns true if field encodedResults is set (has been assigned a value) and false otherwise */
+  public boolean isSetEncodedResults() {
+    return this.encodedResults != null;
+  }
+
+  public void setEncodedResultsIsSet(boolean value) {
+    if (!value) {
+      this.encodedResults = null;
+    }
+  }
+
+  public int getServerLoad() {
+    return this.serverLoad;
+  }
+
+  public MultiScanResult setServerLoad(int serverLoad) {
+    this.serverLoad = serverLoad;
+    setServerLoadIsSet(true);
+    return this;
+  }
+
+  public void unsetServerLoad() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SERVERLOAD_ISSET_ID);
+  }
+
+  /** Returns true if field serverLoad is set (has been assigned a value) and false otherwise */
+  public boolean isSetServerLoad() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SERVERLOAD_ISSET_ID);
+  }
+
+  public void setServerLoadIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SERVERLOAD_ISSET_ID, value);
+  }
+
   @Override
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
@@ -516,6 +596,26 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
       }
       break;
 
+    case ENCODED_RESULTS:
+      if (value == null) {
+        unsetEncodedResults();
+      } else {
+        if (value instanceof byte[]) {
+          setEncodedResults((byte[])value);
+        } else {
+          setEncodedResults((java.nio.ByteBuffer)value);
+        }
+      }
+      break;
+
+    case SERVER_LOAD:
+      if (value == null) {
+        unsetServerLoad();
+      } else {
+        setServerLoad((java.lang.Integer)value);
+      }
+      break;
+
     }
   }
 
@@ -544,6 +644,12 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
     case MORE:
       return isMore();
 
+    case ENCODED_RESULTS:
+      return getEncodedResults();
+
+    case SERVER_LOAD:
+      return getServerLoad();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -570,6 +676,10 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
       return isSetPartNextKeyInclusive();
     case MORE:
       return isSetMore();
+    case ENCODED_RESULTS:
+      return isSetEncodedResults();
+    case SERVER_LOAD:
+      return isSetServerLoad();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -650,6 +760,24 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
         return false;
     }
 
+    boolean this_present_encodedResults = true && this.isSetEncodedResults();
+    boolean that_present_encodedResults = true && that.isSetEncodedResults();
+    if (this_present_encodedResults || that_present_encodedResults) {
+      if (!(this_present_encodedResults && that_present_encodedResults))
+        return false;
+      if (!this.encodedResults.equals(that.encodedResults))
+        return false;
+    }
+
+    boolean this_present_serverLoad = true && this.isSetServerLoad();
+    boolean that_present_serverLoad = true && that.isSetServerLoad();
+    if (this_present_serverLoad || that_present_serverLoad) {
+      if (!(this_present_serverLoad && that_present_serverLoad))
+        return false;
+      if (this.serverLoad != that.serverLoad)
+        return false;
+    }
+
     return true;
   }
 
@@ -681,6 +809,14 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
 
     hashCode = hashCode * 8191 + ((more) ? 131071 : 524287);
 
+    hashCode = hashCode * 8191 + ((isSetEncodedResults()) ? 131071 : 524287);
+    if (isSetEncodedResults())
+      hashCode = hashCode * 8191 + encodedResults.hashCode();
+
+    hashCode = hashCode * 8191 + ((isSetServerLoad()) ? 131071 : 524287);
+    if (isSetServerLoad())
+      hashCode = hashCode * 8191 + serverLoad;
+
     return hashCode;
   }
 
@@ -762,6 +898,26 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetEncodedResults(), other.isSetEncodedResults());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetEncodedResults()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.encodedResults, other.encodedResults);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.compare(isSetServerLoad(), other.isSetServerLoad());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetServerLoad()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.serverLoad, other.serverLoad);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -833,6 +989,22 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
     sb.append("more:");
     sb.append(this.more);
     first = false;
+    if (isSetEncodedResults()) {
+      if (!first) sb.append(", ");
+      sb.append("encodedResults:");
+      if (this.encodedResults == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.encodedResults, sb);
+      }
+      first = false;
+    }
+    if (isSetServerLoad()) {
+      if (!first) sb.append(", ");
+      sb.append("serverLoad:");
+      sb.append(this.serverLoad);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -990,6 +1162,22 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 8: // ENCODED_RESULTS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.encodedResults = iprot.readBinary();
+              struct.setEncodedResultsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 9: // SERVER_LOAD
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.serverLoad = iprot.readI32();
+              struct.setServerLoadIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1066,6 +1254,18 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
       oprot.writeFieldBegin(MORE_FIELD_DESC);
       oprot.writeBool(struct.more);
       oprot.writeFieldEnd();
+      if (struct.encodedResults != null) {
+        if (struct.isSetEncodedResults()) {
+          oprot.writeFieldBegin(ENCODED_RESULTS_FIELD_DESC);
+          oprot.writeBinary(struct.encodedResults);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.isSetServerLoad()) {
+        oprot.writeFieldBegin(SERVER_LOAD_FIELD_DESC);
+        oprot.writeI32(struct.serverLoad);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1106,7 +1306,13 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
       if (struct.isSetMore()) {
         optionals.set(6);
       }
-      oprot.writeBitSet(optionals, 7);
+      if (struct.isSetEncodedResults()) {
+        optionals.set(7);
+      }
+      if (struct.isSetServerLoad()) {
+        optionals.set(8);
+      }
+      oprot.writeBitSet(optionals, 9);
       if (struct.isSetResults()) {
         {
           oprot.writeI32(struct.results.size());
@@ -1153,12 +1359,18 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
       if (struct.isSetMore()) {
         oprot.writeBool(struct.more);
       }
+      if (struct.isSetEncodedResults()) {
+        oprot.writeBinary(struct.encodedResults);
+      }
+      if (struct.isSetServerLoad()) {
+        oprot.writeI32(struct.serverLoad);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, MultiScanResult struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(7);
+      java.util.BitSet incoming = iprot.readBitSet(9);
       if (incoming.get(0)) {
         {
           org.apache.thrift.protocol.TList _list45 = iprot.readListBegin(org.apache.thrift.protocol.TType.STRUCT);
@@ -1231,6 +1443,14 @@ public class MultiScanResult implements org.apache.thrift.TBase<MultiScanResult,
         struct.more = iprot.readBool();
         struct.setMoreIsSet(true);
       }
+      if (incoming.get(7)) {
+        struct.encodedResults = iprot.readBinary();
+        struct.setEncodedResultsIsSet(true);
+      }
+      if (incoming.get(8)) {
+        struct.serverLoad = iprot.readI32();
+        struct.setServerLoadIsSet(true);
+      }
     }
   }
 
@@ -30,17 +30,23 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
 
   private static final org.apache.thrift.protocol.TField RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("results", org.apache.thrift.protocol.TType.LIST, (short)1);
   private static final org.apache.thrift.protocol.TField MORE_FIELD_DESC = new org.apache.thrift.protocol.TField("more", org.apache.thrift.protocol.TType.BOOL, (short)2);
+  private static final org.apache.thrift.protocol.TField ENCODED_RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("encodedResults", org.apache.thrift.protocol.TType.STRING, (short)3);
+  private static final org.apache.thrift.protocol.TField SERVER_LOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("serverLoad", org.apache.thrift.protocol.TType.I32, (short)4);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ScanResultStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ScanResultTupleSchemeFactory();
 
   public @org.apache.thrift.annotation.Nullable java.util.List<TKeyValue> results; // required
   public boolean more; // required
+  public @org.apache.thrift.annotation.Nullable java.nio.ByteBuffer encodedResults; // optional
+  public int serverLoad; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     RESULTS((short)1, "results"),
-    MORE((short)2, "more");
+    MORE((short)2, "more"),
+    ENCODED_RESULTS((short)3, "encodedResults"),
+    SERVER_LOAD((short)4, "serverLoad");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -60,6 +66,10 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
           return RESULTS;
         case 2: // MORE
           return MORE;
+        case 3: // ENCODED_RESULTS
+          return ENCODED_RESULTS;
+        case 4: // SERVER_LOAD
+          return SERVER_LOAD;
         default:
           return null;
       }
@@ -104,7 +114,9 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
 
   // isset id assignments
   private static final int __MORE_ISSET_ID = 0;
+  private static final int __SERVERLOAD_ISSET_ID = 1;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.ENCODED_RESULTS,_Fields.SERVER_LOAD};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -113,6 +125,10 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
             new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TKeyValue.class))));
     tmpMap.put(_Fields.MORE, new org.apache.thrift.meta_data.FieldMetaData("more", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+    tmpMap.put(_Fields.ENCODED_RESULTS, new org.apache.thrift.meta_data.FieldMetaData("encodedResults", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING        , true)));
+    tmpMap.put(_Fields.SERVER_LOAD, new org.apache.thrift.meta_data.FieldMetaData("serverLoad", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ScanResult.class, metaDataMap);
   }
@@ -143,6 +159,10 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
       this.results = __this__results;
     }
     this.more = other.more;
+    if (other.isSetEncodedResults()) {
+      this.encodedResults = org.apache.thrift.TBaseHelper.copyBinary(other.encodedResults);
+    }
+    this.serverLoad = other.serverLoad;
   }
 
   @Override
@@ -155,6 +175,9 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
     this.results = null;
     setMoreIsSet(false);
     this.more = false;
+    this.encodedResults = null;
+    setServerLoadIsSet(false);
+    this.serverLoad = 0;
   }
 
   public int getResultsSize() {
@@ -221,6 +244,63 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
     __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MORE_ISSET_ID, value);
   }
 
+  public byte[] getEncodedResults() {
+    setEncodedResults(org.apache.thrift.TBaseHelper.rightSize(encodedResults));
+    return encodedResults == null ? null : encodedResults.array();
+  }
+
+  public java.nio.ByteBuffer bufferForEncodedResults() {
+    return org.apache.thrift.TBaseHelper.copyBinary(encodedResults);
+  }
+
+  public ScanResult setEncodedResults(byte[] encodedResults) {
+    this.encodedResults = encodedResults == null ? (java.nio.ByteBuffer)null   : java.nio.ByteBuffer.wrap(encodedResults.clone());
+    return this;
+  }
+
+  public ScanResult setEncodedResults(@org.apache.thrift.annotation.Nullable java.nio.ByteBuffer encodedResults) {
+    this.encodedResults = org.apache.thrift.TBaseHelper.copyBinary(encodedResults);
+    return this;
+  }
+
+  public void unsetEncodedResults() {
+    this.encodedResults = null;
+  }
+
+  /** Returns true if field encodedResults is set (has been assigned a value) and false otherwise */
+  public boolean isSetEncodedResults() {
+    return this.encodedResults != null;
+  }
+
+  public void setEncodedResultsIsSet(boolean value) {
+    if (!value) {
+      this.encodedResults = null;
+    }
+  }
+
+  public int getServerLoad() {
+    return this.serverLoad;
+  }
+
+  public ScanResult setServerLoad(int serverLoad) {
+    this.serverLoad = serverLoad;
+    setServerLoadIsSet(true);
+    return this;
+  }
+
+  public void unsetServerLoad() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SERVERLOAD_ISSET_ID);
+  }
+
+  /** Returns true if field serverLoad is set (has been assigned a value) and false otherwise */
+  public boolean isSetServerLoad() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SERVERLOAD_ISSET_ID);
+  }
+
+  public void setServerLoadIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SERVERLOAD_ISSET_ID, value);
+  }
+
   @Override
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
@@ -240,6 +320,26 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
       }
       break;
 
+    case ENCODED_RESULTS:
+      if (value == null) {
+        unsetEncodedResults();
+      } else {
+        if (value instanceof byte[]) {
+          setEncodedResults((byte[])value);
+        } else {
+          setEncodedResults((java.nio.ByteBuffer)value);
+        }
+      }
+      break;
+
+    case SERVER_LOAD:
+      if (value == null) {
+        unsetServerLoad();
+      } else {
+        setServerLoad((java.lang.Integer)value);
+      }
+      break;
+
     }
   }
 
@@ -253,6 +353,12 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
     case MORE:
       return isMore();
 
+    case ENCODED_RESULTS:
+      return getEncodedResults();
+
+    case SERVER_LOAD:
+      return getServerLoad();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -269,6 +375,10 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
       return isSetResults();
     case MORE:
       return isSetMore();
+    case ENCODED_RESULTS:
+      return isSetEncodedResults();
+    case SERVER_LOAD:
+      return isSetServerLoad();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -304,6 +414,24 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
         return false;
     }
 
+    boolean this_present_encodedResults = true && this.isSetEncodedResults();
+    boolean that_present_encodedResults = true && that.isSetEncodedResults();
+    if (this_present_encodedResults || that_present_encodedResults) {
+      if (!(this_present_encodedResults && that_present_encodedResults))
+        return false;
+      if (!this.encodedResults.equals(that.encodedResults))
+        return false;
+    }
+
+    boolean this_present_serverLoad = true && this.isSetServerLoad();
+    boolean that_present_serverLoad = true && that.isSetServerLoad();
+    if (this_present_serverLoad || that_present_serverLoad) {
+      if (!(this_present_serverLoad && that_present_serverLoad))
+        return false;
+      if (this.serverLoad != that.serverLoad)
+        return false;
+    }
+
     return true;
   }
 
@@ -317,6 +445,14 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
 
     hashCode = hashCode * 8191 + ((more) ? 131071 : 524287);
 
+    hashCode = hashCode * 8191 + ((isSetEncodedResults()) ? 131071 : 524287);
+    if (isSetEncodedResults())
+      hashCode = hashCode * 8191 + encodedResults.hashCode();
+
+    hashCode = hashCode * 8191 + ((isSetServerLoad()) ? 131071 : 524287);
+    if (isSetServerLoad())
+      hashCode = hashCode * 8191 + serverLoad;
+
     return hashCode;
   }
 
@@ -348,6 +484,26 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetEncodedResults(), other.isSetEncodedResults());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetEncodedResults()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.encodedResults, other.encodedResults);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.compare(isSetServerLoad(), other.isSetServerLoad());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetServerLoad()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.serverLoad, other.serverLoad);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -383,6 +539,22 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
     sb.append("more:");
     sb.append(this.more);
     first = false;
+    if (isSetEncodedResults()) {
+      if (!first) sb.append(", ");
+      sb.append("encodedResults:");
+      if (this.encodedResults == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.encodedResults, sb);
+      }
+      first = false;
+    }
+    if (isSetServerLoad()) {
+      if (!first) sb.append(", ");
+      sb.append("serverLoad:");
+      sb.append(this.serverLoad);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -457,6 +629,22 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 3: // ENCODED_RESULTS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.encodedResults = iprot.readBinary();
+              struct.setEncodedResultsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // SERVER_LOAD
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.serverLoad = iprot.readI32();
+              struct.setServerLoadIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -488,6 +676,18 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
       oprot.writeFieldBegin(MORE_FIELD_DESC);
       oprot.writeBool(struct.more);
       oprot.writeFieldEnd();
+      if (struct.encodedResults != null) {
+        if (struct.isSetEncodedResults()) {
+          oprot.writeFieldBegin(ENCODED_RESULTS_FIELD_DESC);
+          oprot.writeBinary(struct.encodedResults);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.isSetServerLoad()) {
+        oprot.writeFieldBegin(SERVER_LOAD_FIELD_DESC);
+        oprot.writeI32(struct.serverLoad);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -513,7 +713,13 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
       if (struct.isSetMore()) {
         optionals.set(1);
       }
-      oprot.writeBitSet(optionals, 2);
+      if (struct.isSetEncodedResults()) {
+        optionals.set(2);
+      }
+      if (struct.isSetServerLoad()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
       if (struct.isSetResults()) {
         {
           oprot.writeI32(struct.results.size());
@@ -526,12 +732,18 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
       if (struct.isSetMore()) {
         oprot.writeBool(struct.more);
       }
+      if (struct.isSetEncodedResults()) {
+        oprot.writeBinary(struct.encodedResults);
+      }
+      if (struct.isSetServerLoad()) {
+        oprot.writeI32(struct.serverLoad);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, ScanResult struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(2);
+      java.util.BitSet incoming = iprot.readBitSet(4);
       if (incoming.get(0)) {
         {
           org.apache.thrift.protocol.TList _list21 = iprot.readListBegin(org.apache.thrift.protocol.TType.STRUCT);
@@ -550,6 +762,14 @@ public class ScanResult implements org.apache.thrift.TBase<ScanResult, ScanResul
         struct.more = iprot.readBool();
         struct.setMoreIsSet(true);
       }
+      if (incoming.get(2)) {
+        struct.encodedResults = iprot.readBinary();
+        struct.setEncodedResultsIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.serverLoad = iprot.readI32();
+        struct.setServerLoadIsSet(true);
+      }
     }
   }
 
@@ -29,13 +29,13 @@ public class TabletScanClientService {
 
   public interface Iface {
 
-    public org.apache.accumulo.core.dataImpl.thrift.InitialScan startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException, TooManyFilesException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException;
+    public org.apache.accumulo.core.dataImpl.thrift.InitialScan startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException, TooManyFilesException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException;
 
     public org.apache.accumulo.core.dataImpl.thrift.ScanResult continueScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, long scanID, long busyTimeout) throws org.apache.accumulo.core.tabletserver.thrift.NoSuchScanIDException, org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException, TooManyFilesException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException;
 
     public void closeScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, long scanID) throws org.apache.thrift.TException;
 
-    public org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException;
+    public org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException;
 
     public org.apache.accumulo.core.dataImpl.thrift.MultiScanResult continueMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, long scanID, long busyTimeout) throws org.apache.accumulo.core.tabletserver.thrift.NoSuchScanIDException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException;
 
@@ -47,13 +47,13 @@ public class TabletScanClientService {
 
   public interface AsyncIface {
 
-    public void startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler) throws org.apache.thrift.TException;
+    public void startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler) throws org.apache.thrift.TException;
 
     public void continueScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, long scanID, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.ScanResult> resultHandler) throws org.apache.thrift.TException;
 
     public void closeScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, long scanID, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
 
-    public void startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler) throws org.apache.thrift.TException;
+    public void startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler) throws org.apache.thrift.TException;
 
     public void continueMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, long scanID, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.MultiScanResult> resultHandler) throws org.apache.thrift.TException;
 
@@ -86,13 +86,13 @@ public class TabletScanClientService {
     }
 
     @Override
-    public org.apache.accumulo.core.dataImpl.thrift.InitialScan startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException, TooManyFilesException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException
+    public org.apache.accumulo.core.dataImpl.thrift.InitialScan startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException, TooManyFilesException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException
     {
-      send_startScan(tinfo, credentials, extent, range, columns, batchSize, ssiList, ssio, authorizations, waitForWrites, isolated, readaheadThreshold, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout);
+      send_startScan(tinfo, credentials, extent, range, columns, batchSize, ssiList, ssio, authorizations, waitForWrites, isolated, readaheadThreshold, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout, encodeResults, adaptiveBatchSize);
       return recv_startScan();
     }
 
-    public void send_startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout) throws org.apache.thrift.TException
+    public void send_startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize) throws org.apache.thrift.TException
     {
       startScan_args args = new startScan_args();
       args.setTinfo(tinfo);
@@ -112,6 +112,8 @@ public class TabletScanClientService {
       args.setClassLoaderContext(classLoaderContext);
       args.setExecutionHints(executionHints);
       args.setBusyTimeout(busyTimeout);
+      args.setEncodeResults(encodeResults);
+      args.setAdaptiveBatchSize(adaptiveBatchSize);
       sendBase("startScan", args);
     }
 
@@ -196,13 +198,13 @@ public class TabletScanClientService {
     }
 
     @Override
-    public org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException
+    public org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults) throws org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException, TSampleNotPresentException, ScanServerBusyException, org.apache.thrift.TException
     {
-      send_startMultiScan(tinfo, credentials, batch, columns, ssiList, ssio, authorizations, waitForWrites, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout);
+      send_startMultiScan(tinfo, credentials, batch, columns, ssiList, ssio, authorizations, waitForWrites, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout, encodeResults);
       return recv_startMultiScan();
     }
 
-    public void send_startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout) throws org.apache.thrift.TException
+    public void send_startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults) throws org.apache.thrift.TException
     {
       startMultiScan_args args = new startMultiScan_args();
       args.setTinfo(tinfo);
@@ -218,6 +220,7 @@ public class TabletScanClientService {
       args.setClassLoaderContext(classLoaderContext);
       args.setExecutionHints(executionHints);
       args.setBusyTimeout(busyTimeout);
+      args.setEncodeResults(encodeResults);
       sendBase("startMultiScan", args);
     }
 
@@ -348,9 +351,9 @@ public class TabletScanClientService {
     }
 
     @Override
-    public void startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler) throws org.apache.thrift.TException {
+    public void startScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler) throws org.apache.thrift.TException {
       checkReady();
-      startScan_call method_call = new startScan_call(tinfo, credentials, extent, range, columns, batchSize, ssiList, ssio, authorizations, waitForWrites, isolated, readaheadThreshold, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout, resultHandler, this, ___protocolFactory, ___transport);
+      startScan_call method_call = new startScan_call(tinfo, credentials, extent, range, columns, batchSize, ssiList, ssio, authorizations, waitForWrites, isolated, readaheadThreshold, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout, encodeResults, adaptiveBatchSize, resultHandler, this, ___protocolFactory, ___transport);
       this.___currentMethod = method_call;
       ___manager.call(method_call);
     }
@@ -373,7 +376,9 @@ public class TabletScanClientService {
       private java.lang.String classLoaderContext;
       private java.util.Map<java.lang.String,java.lang.String> executionHints;
       private long busyTimeout;
-      public startScan_call(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+      private boolean encodeResults;
+      private boolean adaptiveBatchSize;
+      public startScan_call(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, org.apache.accumulo.core.dataImpl.thrift.TKeyExtent extent, org.apache.accumulo.core.dataImpl.thrift.TRange range, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, int batchSize, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
         super(client, protocolFactory, transport, resultHandler, false);
         this.tinfo = tinfo;
         this.credentials = credentials;
@@ -392,6 +397,8 @@ public class TabletScanClientService {
         this.classLoaderContext = classLoaderContext;
         this.executionHints = executionHints;
         this.busyTimeout = busyTimeout;
+        this.encodeResults = encodeResults;
+        this.adaptiveBatchSize = adaptiveBatchSize;
       }
 
       @Override
@@ -415,6 +422,8 @@ public class TabletScanClientService {
         args.setClassLoaderContext(classLoaderContext);
         args.setExecutionHints(executionHints);
         args.setBusyTimeout(busyTimeout);
+        args.setEncodeResults(encodeResults);
+        args.setAdaptiveBatchSize(adaptiveBatchSize);
         args.write(prot);
         prot.writeMessageEnd();
       }
@@ -510,9 +519,9 @@ public class TabletScanClientService {
     }
 
     @Override
-    public void startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler) throws org.apache.thrift.TException {
+    public void startMultiScan(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler) throws org.apache.thrift.TException {
       checkReady();
-      startMultiScan_call method_call = new startMultiScan_call(tinfo, credentials, batch, columns, ssiList, ssio, authorizations, waitForWrites, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout, resultHandler, this, ___protocolFactory, ___transport);
+      startMultiScan_call method_call = new startMultiScan_call(tinfo, credentials, batch, columns, ssiList, ssio, authorizations, waitForWrites, samplerConfig, batchTimeOut, classLoaderContext, executionHints, busyTimeout, encodeResults, resultHandler, this, ___protocolFactory, ___transport);
       this.___currentMethod = method_call;
       ___manager.call(method_call);
     }
@@ -531,7 +540,8 @@ public class TabletScanClientService {
       private java.lang.String classLoaderContext;
       private java.util.Map<java.lang.String,java.lang.String> executionHints;
       private long busyTimeout;
-      public startMultiScan_call(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+      private boolean encodeResults;
+      public startMultiScan_call(org.apache.accumulo.core.clientImpl.thrift.TInfo tinfo, org.apache.accumulo.core.securityImpl.thrift.TCredentials credentials, java.util.Map<org.apache.accumulo.core.dataImpl.thrift.TKeyExtent,java.util.List<org.apache.accumulo.core.dataImpl.thrift.TRange>> batch, java.util.List<org.apache.accumulo.core.dataImpl.thrift.TColumn> columns, java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList, java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio, java.util.List<java.nio.ByteBuffer> authorizations, boolean waitForWrites, TSamplerConfiguration samplerConfig, long batchTimeOut, java.lang.String classLoaderContext, java.util.Map<java.lang.String,java.lang.String> executionHints, long busyTimeout, boolean encodeResults, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
         super(client, protocolFactory, transport, resultHandler, false);
         this.tinfo = tinfo;
         this.credentials = credentials;
@@ -546,6 +556,7 @@ public class TabletScanClientService {
         this.classLoaderContext = classLoaderContext;
         this.executionHints = executionHints;
         this.busyTimeout = busyTimeout;
+        this.encodeResults = encodeResults;
       }
 
       @Override
@@ -565,6 +576,7 @@ public class TabletScanClientService {
         args.setClassLoaderContext(classLoaderContext);
         args.setExecutionHints(executionHints);
         args.setBusyTimeout(busyTimeout);
+        args.setEncodeResults(encodeResults);
         args.write(prot);
         prot.writeMessageEnd();
       }
@@ -745,7 +757,7 @@ public class TabletScanClientService {
       public startScan_result getResult(I iface, startScan_args args) throws org.apache.thrift.TException {
         startScan_result result = new startScan_result();
         try {
-          result.success = iface.startScan(args.tinfo, args.credentials, args.extent, args.range, args.columns, args.batchSize, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.isolated, args.readaheadThreshold, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout);
+          result.success = iface.startScan(args.tinfo, args.credentials, args.extent, args.range, args.columns, args.batchSize, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.isolated, args.readaheadThreshold, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout, args.encodeResults, args.adaptiveBatchSize);
         } catch (org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException sec) {
           result.sec = sec;
         } catch (org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException nste) {
@@ -852,7 +864,7 @@ public class TabletScanClientService {
       public startMultiScan_result getResult(I iface, startMultiScan_args args) throws org.apache.thrift.TException {
         startMultiScan_result result = new startMultiScan_result();
         try {
-          result.success = iface.startMultiScan(args.tinfo, args.credentials, args.batch, args.columns, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout);
+          result.success = iface.startMultiScan(args.tinfo, args.credentials, args.batch, args.columns, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout, args.encodeResults);
         } catch (org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException sec) {
           result.sec = sec;
         } catch (TSampleNotPresentException tsnpe) {
@@ -1070,7 +1082,7 @@ public class TabletScanClientService {
 
       @Override
       public void start(I iface, startScan_args args, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialScan> resultHandler) throws org.apache.thrift.TException {
-        iface.startScan(args.tinfo, args.credentials, args.extent, args.range, args.columns, args.batchSize, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.isolated, args.readaheadThreshold, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout,resultHandler);
+        iface.startScan(args.tinfo, args.credentials, args.extent, args.range, args.columns, args.batchSize, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.isolated, args.readaheadThreshold, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout, args.encodeResults, args.adaptiveBatchSize,resultHandler);
       }
     }
 
@@ -1276,7 +1288,7 @@ public class TabletScanClientService {
 
       @Override
       public void start(I iface, startMultiScan_args args, org.apache.thrift.async.AsyncMethodCallback<org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan> resultHandler) throws org.apache.thrift.TException {
-        iface.startMultiScan(args.tinfo, args.credentials, args.batch, args.columns, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout,resultHandler);
+        iface.startMultiScan(args.tinfo, args.credentials, args.batch, args.columns, args.ssiList, args.ssio, args.authorizations, args.waitForWrites, args.samplerConfig, args.batchTimeOut, args.classLoaderContext, args.executionHints, args.busyTimeout, args.encodeResults,resultHandler);
       }
     }
 
@@ -1523,6 +1535,8 @@ public class TabletScanClientService {
     private static final org.apache.thrift.protocol.TField CLASS_LOADER_CONTEXT_FIELD_DESC = new org.apache.thrift.protocol.TField("classLoaderContext", org.apache.thrift.protocol.TType.STRING, (short)15);
     private static final org.apache.thrift.protocol.TField EXECUTION_HINTS_FIELD_DESC = new org.apache.thrift.protocol.TField("executionHints", org.apache.thrift.protocol.TType.MAP, (short)16);
     private static final org.apache.thrift.protocol.TField BUSY_TIMEOUT_FIELD_DESC = new org.apache.thrift.protocol.TField("busyTimeout", org.apache.thrift.protocol.TType.I64, (short)17);
+    private static final org.apache.thrift.protocol.TField ENCODE_RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("encodeResults", org.apache.thrift.protocol.TType.BOOL, (short)18);
+    private static final org.apache.thrift.protocol.TField ADAPTIVE_BATCH_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("adaptiveBatchSize", org.apache.thrift.protocol.TType.BOOL, (short)19);
 
     private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new startScan_argsStandardSchemeFactory();
     private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new startScan_argsTupleSchemeFactory();
@@ -1544,6 +1558,8 @@ public class TabletScanClientService {
     public @org.apache.thrift.annotation.Nullable java.lang.String classLoaderContext; // required
     public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.String> executionHints; // required
     public long busyTimeout; // required
+    public boolean encodeResults; // required
+    public boolean adaptiveBatchSize; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -1563,7 +1579,9 @@ public class TabletScanClientService {
       BATCH_TIME_OUT((short)14, "batchTimeOut"),
       CLASS_LOADER_CONTEXT((short)15, "classLoaderContext"),
       EXECUTION_HINTS((short)16, "executionHints"),
-      BUSY_TIMEOUT((short)17, "busyTimeout");
+      BUSY_TIMEOUT((short)17, "busyTimeout"),
+      ENCODE_RESULTS((short)18, "encodeResults"),
+      ADAPTIVE_BATCH_SIZE((short)19, "adaptiveBatchSize");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -1613,6 +1631,10 @@ public class TabletScanClientService {
             return EXECUTION_HINTS;
           case 17: // BUSY_TIMEOUT
             return BUSY_TIMEOUT;
+          case 18: // ENCODE_RESULTS
+            return ENCODE_RESULTS;
+          case 19: // ADAPTIVE_BATCH_SIZE
+            return ADAPTIVE_BATCH_SIZE;
           default:
             return null;
         }
@@ -1662,6 +1684,8 @@ public class TabletScanClientService {
     private static final int __READAHEADTHRESHOLD_ISSET_ID = 3;
     private static final int __BATCHTIMEOUT_ISSET_ID = 4;
     private static final int __BUSYTIMEOUT_ISSET_ID = 5;
+    private static final int __ENCODERESULTS_ISSET_ID = 6;
+    private static final int __ADAPTIVEBATCHSIZE_ISSET_ID = 7;
     private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
@@ -1709,6 +1733,10 @@ public class TabletScanClientService {
               new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
       tmpMap.put(_Fields.BUSY_TIMEOUT, new org.apache.thrift.meta_data.FieldMetaData("busyTimeout", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.ENCODE_RESULTS, new org.apache.thrift.meta_data.FieldMetaData("encodeResults", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+      tmpMap.put(_Fields.ADAPTIVE_BATCH_SIZE, new org.apache.thrift.meta_data.FieldMetaData("adaptiveBatchSize", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
       org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startScan_args.class, metaDataMap);
     }
@@ -1733,7 +1761,9 @@ public class TabletScanClientService {
       long batchTimeOut,
       java.lang.String classLoaderContext,
       java.util.Map<java.lang.String,java.lang.String> executionHints,
-      long busyTimeout)
+      long busyTimeout,
+      boolean encodeResults,
+      boolean adaptiveBatchSize)
     {
       this();
       this.tinfo = tinfo;
@@ -1759,6 +1789,10 @@ public class TabletScanClientService {
       this.executionHints = executionHints;
       this.busyTimeout = busyTimeout;
       setBusyTimeoutIsSet(true);
+      this.encodeResults = encodeResults;
+      setEncodeResultsIsSet(true);
+      this.adaptiveBatchSize = adaptiveBatchSize;
+      setAdaptiveBatchSizeIsSet(true);
     }
 
     /**
@@ -1827,6 +1861,8 @@ public class TabletScanClientService {
         this.executionHints = __this__executionHints;
       }
       this.busyTimeout = other.busyTimeout;
+      this.encodeResults = other.encodeResults;
+      this.adaptiveBatchSize = other.adaptiveBatchSize;
     }
 
     @Override
@@ -1859,6 +1895,10 @@ public class TabletScanClientService {
       this.executionHints = null;
       setBusyTimeoutIsSet(false);
       this.busyTimeout = 0;
+      setEncodeResultsIsSet(false);
+      this.encodeResults = false;
+      setAdaptiveBatchSizeIsSet(false);
+      this.adaptiveBatchSize = false;
     }
 
     @org.apache.thrift.annotation.Nullable
@@ -2344,6 +2384,52 @@ public class TabletScanClientService {
       __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __BUSYTIMEOUT_ISSET_ID, value);
     }
 
+    public boolean isEncodeResults() {
+      return this.encodeResults;
+    }
+
+    public startScan_args setEncodeResults(boolean encodeResults) {
+      this.encodeResults = encodeResults;
+      setEncodeResultsIsSet(true);
+      return this;
+    }
+
+    public void unsetEncodeResults() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __ENCODERESULTS_ISSET_ID);
+    }
+
+    /** Returns true if field encodeResults is set (has been assigned a value) and false otherwise */
+    public boolean isSetEncodeResults() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __ENCODERESULTS_ISSET_ID);
+    }
+
+    public void setEncodeResultsIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __ENCODERESULTS_ISSET_ID, value);
+    }
+
+    public boolean isAdaptiveBatchSize() {
+      return this.adaptiveBatchSize;
+    }
+
+    public startScan_args setAdaptiveBatchSize(boolean adaptiveBatchSize) {
+      this.adaptiveBatchSize = adaptiveBatchSize;
+      setAdaptiveBatchSizeIsSet(true);
+      return this;
+    }
+
+    public void unsetAdaptiveBatchSize() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __ADAPTIVEBATCHSIZE_ISSET_ID);
+    }
+
+    /** Returns true if field adaptiveBatchSize is set (has been assigned a value) and false otherwise */
+    public boolean isSetAdaptiveBatchSize() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __ADAPTIVEBATCHSIZE_ISSET_ID);
+    }
+
+    public void setAdaptiveBatchSizeIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __ADAPTIVEBATCHSIZE_ISSET_ID, value);
+    }
+
     @Override
     public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
       switch (field) {
@@ -2483,6 +2569,22 @@ public class TabletScanClientService {
         }
         break;
 
+      case ENCODE_RESULTS:
+        if (value == null) {
+          unsetEncodeResults();
+        } else {
+          setEncodeResults((java.lang.Boolean)value);
+        }
+        break;
+
+      case ADAPTIVE_BATCH_SIZE:
+        if (value == null) {
+          unsetAdaptiveBatchSize();
+        } else {
+          setAdaptiveBatchSize((java.lang.Boolean)value);
+        }
+        break;
+
       }
     }
 
@@ -2541,6 +2643,12 @@ public class TabletScanClientService {
       case BUSY_TIMEOUT:
         return getBusyTimeout();
 
+      case ENCODE_RESULTS:
+        return isEncodeResults();
+
+      case ADAPTIVE_BATCH_SIZE:
+        return isAdaptiveBatchSize();
+
       }
       throw new java.lang.IllegalStateException();
     }
@@ -2587,6 +2695,10 @@ public class TabletScanClientService {
         return isSetExecutionHints();
       case BUSY_TIMEOUT:
         return isSetBusyTimeout();
+      case ENCODE_RESULTS:
+        return isSetEncodeResults();
+      case ADAPTIVE_BATCH_SIZE:
+        return isSetAdaptiveBatchSize();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -2757,6 +2869,24 @@ public class TabletScanClientService {
           return false;
       }
 
+      boolean this_present_encodeResults = true;
+      boolean that_present_encodeResults = true;
+      if (this_present_encodeResults || that_present_encodeResults) {
+        if (!(this_present_encodeResults && that_present_encodeResults))
+          return false;
+        if (this.encodeResults != that.encodeResults)
+          return false;
+      }
+
+      boolean this_present_adaptiveBatchSize = true;
+      boolean that_present_adaptiveBatchSize = true;
+      if (this_present_adaptiveBatchSize || that_present_adaptiveBatchSize) {
+        if (!(this_present_adaptiveBatchSize && that_present_adaptiveBatchSize))
+          return false;
+        if (this.adaptiveBatchSize != that.adaptiveBatchSize)
+          return false;
+      }
+
       return true;
     }
 
@@ -2820,6 +2950,10 @@ public class TabletScanClientService {
 
       hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(busyTimeout);
 
+      hashCode = hashCode * 8191 + ((encodeResults) ? 131071 : 524287);
+
+      hashCode = hashCode * 8191 + ((adaptiveBatchSize) ? 131071 : 524287);
+
       return hashCode;
     }
 
@@ -3001,6 +3135,26 @@ public class TabletScanClientService {
           return lastComparison;
         }
       }
+      lastComparison = java.lang.Boolean.compare(isSetEncodeResults(), other.isSetEncodeResults());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetEncodeResults()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.encodeResults, other.encodeResults);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.compare(isSetAdaptiveBatchSize(), other.isSetAdaptiveBatchSize());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetAdaptiveBatchSize()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.adaptiveBatchSize, other.adaptiveBatchSize);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -3136,6 +3290,14 @@ public class TabletScanClientService {
       sb.append("busyTimeout:");
       sb.append(this.busyTimeout);
       first = false;
+      if (!first) sb.append(", ");
+      sb.append("encodeResults:");
+      sb.append(this.encodeResults);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("adaptiveBatchSize:");
+      sb.append(this.adaptiveBatchSize);
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -3407,6 +3569,22 @@ public class TabletScanClientService {
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 18: // ENCODE_RESULTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+                struct.encodeResults = iprot.readBool();
+                struct.setEncodeResultsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 19: // ADAPTIVE_BATCH_SIZE
+              if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+                struct.adaptiveBatchSize = iprot.readBool();
+                struct.setAdaptiveBatchSizeIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -3541,6 +3719,12 @@ public class TabletScanClientService {
         oprot.writeFieldBegin(BUSY_TIMEOUT_FIELD_DESC);
         oprot.writeI64(struct.busyTimeout);
         oprot.writeFieldEnd();
+        oprot.writeFieldBegin(ENCODE_RESULTS_FIELD_DESC);
+        oprot.writeBool(struct.encodeResults);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(ADAPTIVE_BATCH_SIZE_FIELD_DESC);
+        oprot.writeBool(struct.adaptiveBatchSize);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
@@ -3611,7 +3795,13 @@ public class TabletScanClientService {
         if (struct.isSetBusyTimeout()) {
           optionals.set(16);
         }
-        oprot.writeBitSet(optionals, 17);
+        if (struct.isSetEncodeResults()) {
+          optionals.set(17);
+        }
+        if (struct.isSetAdaptiveBatchSize()) {
+          optionals.set(18);
+        }
+        oprot.writeBitSet(optionals, 19);
         if (struct.isSetTinfo()) {
           struct.tinfo.write(oprot);
         }
@@ -3702,12 +3892,18 @@ public class TabletScanClientService {
         if (struct.isSetBusyTimeout()) {
           oprot.writeI64(struct.busyTimeout);
         }
+        if (struct.isSetEncodeResults()) {
+          oprot.writeBool(struct.encodeResults);
+        }
+        if (struct.isSetAdaptiveBatchSize()) {
+          oprot.writeBool(struct.adaptiveBatchSize);
+        }
       }
 
       @Override
       public void read(org.apache.thrift.protocol.TProtocol prot, startScan_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(17);
+        java.util.BitSet incoming = iprot.readBitSet(19);
         if (incoming.get(0)) {
           struct.tinfo = new org.apache.accumulo.core.clientImpl.thrift.TInfo();
           struct.tinfo.read(iprot);
@@ -3843,6 +4039,14 @@ public class TabletScanClientService {
           struct.busyTimeout = iprot.readI64();
           struct.setBusyTimeoutIsSet(true);
         }
+        if (incoming.get(17)) {
+          struct.encodeResults = iprot.readBool();
+          struct.setEncodeResultsIsSet(true);
+        }
+        if (incoming.get(18)) {
+          struct.adaptiveBatchSize = iprot.readBool();
+          struct.setAdaptiveBatchSizeIsSet(true);
+        }
       }
     }
 
@@ -6768,6 +6972,7 @@ public class TabletScanClientService {
     private static final org.apache.thrift.protocol.TField CLASS_LOADER_CONTEXT_FIELD_DESC = new org.apache.thrift.protocol.TField("classLoaderContext", org.apache.thrift.protocol.TType.STRING, (short)11);
     private static final org.apache.thrift.protocol.TField EXECUTION_HINTS_FIELD_DESC = new org.apache.thrift.protocol.TField("executionHints", org.apache.thrift.protocol.TType.MAP, (short)12);
     private static final org.apache.thrift.protocol.TField BUSY_TIMEOUT_FIELD_DESC = new org.apache.thrift.protocol.TField("busyTimeout", org.apache.thrift.protocol.TType.I64, (short)13);
+    private static final org.apache.thrift.protocol.TField ENCODE_RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("encodeResults", org.apache.thrift.protocol.TType.BOOL, (short)14);
 
     private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new startMultiScan_argsStandardSchemeFactory();
     private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new startMultiScan_argsTupleSchemeFactory();
@@ -6785,6 +6990,7 @@ public class TabletScanClientService {
     public @org.apache.thrift.annotation.Nullable java.lang.String classLoaderContext; // required
     public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.String> executionHints; // required
     public long busyTimeout; // required
+    public boolean encodeResults; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -6800,7 +7006,8 @@ public class TabletScanClientService {
       BATCH_TIME_OUT((short)10, "batchTimeOut"),
       CLASS_LOADER_CONTEXT((short)11, "classLoaderContext"),
       EXECUTION_HINTS((short)12, "executionHints"),
-      BUSY_TIMEOUT((short)13, "busyTimeout");
+      BUSY_TIMEOUT((short)13, "busyTimeout"),
+      ENCODE_RESULTS((short)14, "encodeResults");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -6842,6 +7049,8 @@ public class TabletScanClientService {
             return EXECUTION_HINTS;
           case 13: // BUSY_TIMEOUT
             return BUSY_TIMEOUT;
+          case 14: // ENCODE_RESULTS
+            return ENCODE_RESULTS;
           default:
             return null;
         }
@@ -6888,6 +7097,7 @@ public class TabletScanClientService {
     private static final int __WAITFORWRITES_ISSET_ID = 0;
     private static final int __BATCHTIMEOUT_ISSET_ID = 1;
     private static final int __BUSYTIMEOUT_ISSET_ID = 2;
+    private static final int __ENCODERESULTS_ISSET_ID = 3;
     private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
@@ -6927,6 +7137,8 @@ public class TabletScanClientService {
               new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
       tmpMap.put(_Fields.BUSY_TIMEOUT, new org.apache.thrift.meta_data.FieldMetaData("busyTimeout", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.ENCODE_RESULTS, new org.apache.thrift.meta_data.FieldMetaData("encodeResults", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
       org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startMultiScan_args.class, metaDataMap);
     }
@@ -6947,7 +7159,8 @@ public class TabletScanClientService {
       long batchTimeOut,
       java.lang.String classLoaderContext,
       java.util.Map<java.lang.String,java.lang.String> executionHints,
-      long busyTimeout)
+      long busyTimeout,
+      boolean encodeResults)
     {
       this();
       this.tinfo = tinfo;
@@ -6966,6 +7179,8 @@ public class TabletScanClientService {
       this.executionHints = executionHints;
       this.busyTimeout = busyTimeout;
       setBusyTimeoutIsSet(true);
+      this.encodeResults = encodeResults;
+      setEncodeResultsIsSet(true);
     }
 
     /**
@@ -7043,6 +7258,7 @@ public class TabletScanClientService {
         this.executionHints = __this__executionHints;
       }
       this.busyTimeout = other.busyTimeout;
+      this.encodeResults = other.encodeResults;
     }
 
     @Override
@@ -7068,6 +7284,8 @@ public class TabletScanClientService {
       this.executionHints = null;
       setBusyTimeoutIsSet(false);
       this.busyTimeout = 0;
+      setEncodeResultsIsSet(false);
+      this.encodeResults = false;
     }
 
     @org.apache.thrift.annotation.Nullable
@@ -7470,6 +7688,29 @@ public class TabletScanClientService {
       __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __BUSYTIMEOUT_ISSET_ID, value);
     }
 
+    public boolean isEncodeResults() {
+      return this.encodeResults;
+    }
+
+    public startMultiScan_args setEncodeResults(boolean encodeResults) {
+      this.encodeResults = encodeResults;
+      setEncodeResultsIsSet(true);
+      return this;
+    }
+
+    public void unsetEncodeResults() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __ENCODERESULTS_ISSET_ID);
+    }
+
+    /** Returns true if field encodeResults is set (has been assigned a value) and false otherwise */
+    public boolean isSetEncodeResults() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __ENCODERESULTS_ISSET_ID);
+    }
+
+    public void setEncodeResultsIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __ENCODERESULTS_ISSET_ID, value);
+    }
+
     @Override
     public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
       switch (field) {
@@ -7577,6 +7818,14 @@ public class TabletScanClientService {
         }
         break;
 
+      case ENCODE_RESULTS:
+        if (value == null) {
+          unsetEncodeResults();
+        } else {
+          setEncodeResults((java.lang.Boolean)value);
+        }
+        break;
+
       }
     }
 
@@ -7623,6 +7872,9 @@ public class TabletScanClientService {
       case BUSY_TIMEOUT:
         return getBusyTimeout();
 
+      case ENCODE_RESULTS:
+        return isEncodeResults();
+
       }
       throw new java.lang.IllegalStateException();
     }
@@ -7661,6 +7913,8 @@ public class TabletScanClientService {
         return isSetExecutionHints();
       case BUSY_TIMEOUT:
         return isSetBusyTimeout();
+      case ENCODE_RESULTS:
+        return isSetEncodeResults();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -7795,6 +8049,15 @@ public class TabletScanClientService {
           return false;
       }
 
+      boolean this_present_encodeResults = true;
+      boolean that_present_encodeResults = true;
+      if (this_present_encodeResults || that_present_encodeResults) {
+        if (!(this_present_encodeResults && that_present_encodeResults))
+          return false;
+        if (this.encodeResults != that.encodeResults)
+          return false;
+      }
+
       return true;
     }
 
@@ -7848,6 +8111,8 @@ public class TabletScanClientService {
 
       hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(busyTimeout);
 
+      hashCode = hashCode * 8191 + ((encodeResults) ? 131071 : 524287);
+
       return hashCode;
     }
 
@@ -7989,6 +8254,16 @@ public class TabletScanClientService {
           return lastComparison;
         }
       }
+      lastComparison = java.lang.Boolean.compare(isSetEncodeResults(), other.isSetEncodeResults());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetEncodeResults()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.encodeResults, other.encodeResults);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -8104,6 +8379,10 @@ public class TabletScanClientService {
       sb.append("busyTimeout:");
       sb.append(this.busyTimeout);
       first = false;
+      if (!first) sb.append(", ");
+      sb.append("encodeResults:");
+      sb.append(this.encodeResults);
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -8359,6 +8638,14 @@ public class TabletScanClientService {
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 14: // ENCODE_RESULTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+                struct.encodeResults = iprot.readBool();
+                struct.setEncodeResultsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -8494,6 +8781,9 @@ public class TabletScanClientService {
         oprot.writeFieldBegin(BUSY_TIMEOUT_FIELD_DESC);
         oprot.writeI64(struct.busyTimeout);
         oprot.writeFieldEnd();
+        oprot.writeFieldBegin(ENCODE_RESULTS_FIELD_DESC);
+        oprot.writeBool(struct.encodeResults);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
@@ -8552,7 +8842,10 @@ public class TabletScanClientService {
         if (struct.isSetBusyTimeout()) {
           optionals.set(12);
         }
-        oprot.writeBitSet(optionals, 13);
+        if (struct.isSetEncodeResults()) {
+          optionals.set(13);
+        }
+        oprot.writeBitSet(optionals, 14);
         if (struct.isSetTinfo()) {
           struct.tinfo.write(oprot);
         }
@@ -8644,12 +8937,15 @@ public class TabletScanClientService {
         if (struct.isSetBusyTimeout()) {
           oprot.writeI64(struct.busyTimeout);
         }
+        if (struct.isSetEncodeResults()) {
+          oprot.writeBool(struct.encodeResults);
+        }
       }
 
       @Override
       public void read(org.apache.thrift.protocol.TProtocol prot, startMultiScan_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(13);
+        java.util.BitSet incoming = iprot.readBitSet(14);
         if (incoming.get(0)) {
           struct.tinfo = new org.apache.accumulo.core.clientImpl.thrift.TInfo();
           struct.tinfo.read(iprot);
@@ -8789,6 +9085,10 @@ public class TabletScanClientService {
           struct.busyTimeout = iprot.readI64();
           struct.setBusyTimeoutIsSet(true);
         }
+        if (incoming.get(13)) {
+          struct.encodeResults = iprot.readBool();
+          struct.setEncodeResultsIsSet(true);
+        }
       }
     }
 
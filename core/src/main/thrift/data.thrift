@@ -61,6 +61,8 @@ struct TKeyValue {
 struct ScanResult {
   1:list<TKeyValue> results
   2:bool more
+  3:optional binary encodedResults
+  4:optional i32 serverLoad
 }
 
 struct TRange {
@@ -82,6 +84,8 @@ struct MultiScanResult {
   5:TKey partNextKey
   6:bool partNextKeyInclusive
   7:bool more
+  8:optional binary encodedResults
+  9:optional i32 serverLoad
 }
 
 struct InitialScan {
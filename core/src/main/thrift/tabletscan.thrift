@@ -93,6 +93,10 @@ service TabletScanClientService {
     15:string classLoaderContext
     16:map<string, string> executionHints
     17:i64 busyTimeout
+    // return the results in the encodedResults field of the scan results
+    18:bool encodeResults
+    // let the server choose the size of each batch, up to batchSize
+    19:bool adaptiveBatchSize
   ) throws (
     1:client.ThriftSecurityException sec
     2:tabletserver.NotServingTabletException nste
@@ -134,6 +138,8 @@ service TabletScanClientService {
     11:string classLoaderContext
     12:map<string, string> executionHints
     13:i64 busyTimeout
+    // return the results in the encodedResults field of the scan results
+    14:bool encodeResults
   ) throws (
     1:client.ThriftSecurityException sec
     2:TSampleNotPresentException tsnpe
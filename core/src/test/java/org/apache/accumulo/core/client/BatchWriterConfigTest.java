@@ -26,8 +26,10 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -55,6 +57,7 @@ public class BatchWriterConfigTest {
     assertEquals(expectedTimeout, defaults.getTimeout(MILLISECONDS));
     assertEquals(expectedMaxWriteThreads, defaults.getMaxWriteThreads());
     assertEquals(expectedDurability, defaults.getDurability());
+    assertTrue(defaults.isCopyMutations());
   }
 
   @Test
@@ -176,6 +179,13 @@ public class BatchWriterConfigTest {
     bwConfig.setDurability(Durability.LOG);
     bytes = createBytes(bwConfig);
     assertEquals("     e#durability=LOG", new String(bytes, UTF_8));
+
+    // test human-readable copy mutations
+    bwConfig = new BatchWriterConfig();
+    bwConfig.setCopyMutations(false);
+    bytes = createBytes(bwConfig);
+    assertEquals("     j#copyMutations=false", new String(bytes, UTF_8));
+    checkBytes(bwConfig, bytes);
   }
 
   @Test
@@ -189,6 +199,11 @@ public class BatchWriterConfigTest {
     cfg2.setDurability(Durability.FLUSH);
     assertNotEquals(cfg1, cfg2);
     assertNotEquals(cfg1.hashCode(), cfg2.hashCode());
+    cfg2 = new BatchWriterConfig();
+    cfg2.setCopyMutations(false);
+    assertNotEquals(cfg1, cfg2);
+    cfg2.setCopyMutations(true);
+    assertEquals(cfg1, cfg2);
   }
 
   @Test
@@ -215,6 +230,7 @@ public class BatchWriterConfigTest {
     cfg2.setMaxMemory(5858);
     cfg2.setDurability(Durability.LOG);
     cfg2.setMaxLatency(456, MILLISECONDS);
+    cfg2.setCopyMutations(false);
 
     assertEquals(Durability.DEFAULT, cfg1.getDurability());
 
@@ -224,6 +240,7 @@ public class BatchWriterConfigTest {
     assertEquals(Durability.LOG, merged.getDurability());
     assertEquals(456, merged.getMaxLatency(MILLISECONDS));
     assertEquals(3, merged.getMaxWriteThreads());
+    assertFalse(merged.isCopyMutations());
   }
 
   private byte[] createBytes(BatchWriterConfig bwConfig) throws IOException {
@@ -241,6 +258,7 @@ public class BatchWriterConfigTest {
     assertEquals(bwConfig.getMaxLatency(MILLISECONDS), createdConfig.getMaxLatency(MILLISECONDS));
     assertEquals(bwConfig.getTimeout(MILLISECONDS), createdConfig.getTimeout(MILLISECONDS));
     assertEquals(bwConfig.getMaxWriteThreads(), createdConfig.getMaxWriteThreads());
+    assertEquals(bwConfig.isCopyMutations(), createdConfig.isCopyMutations());
   }
 
   @Test
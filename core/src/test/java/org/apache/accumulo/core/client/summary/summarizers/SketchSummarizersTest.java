@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.client.summary.summarizers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.apache.accumulo.core.client.summary.Summarizer;
+import org.apache.accumulo.core.client.summary.Summarizer.Collector;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.junit.jupiter.api.Test;
+
+public class SketchSummarizersTest {
+
+  private static String row(int i) {
+    return String.format("r%06d", i);
+  }
+
+  private static Map<String,Long> summarize(Summarizer summarizer, SummarizerConfiguration sc,
+      int startRow, int endRow, IntFunction<Integer> entriesPerRow) {
+    Collector collector = summarizer.collector(sc);
+    for (int r = startRow; r < endRow; r++) {
+      for (int c = 0; c < entriesPerRow.apply(r); c++) {
+        collector.accept(new Key(row(r), "f" + (c % 3), String.format("q%04d", c)),
+            new Value(new byte[r % 100]));
+      }
+    }
+    HashMap<String,Long> stats = new HashMap<>();
+    collector.summarize(stats::put);
+    return stats;
+  }
+
+  @Test
+  public void testDistinctRows() {
+    var sc = SummarizerConfiguration.builder(DistinctRowsSummarizer.class).build();
+    var summarizer = new DistinctRowsSummarizer();
+
+    // two files that share half of their rows
+    Map<String,Long> stats1 = summarize(summarizer, sc, 0, 20_000, r -> 2);
+    Map<String,Long> stats2 = summarize(summarizer, sc, 10_000, 30_000, r -> 1);
+    assertEquals(20_000, stats1.get(DistinctRowsSummarizer.DISTINCT_ROWS_STAT), 20_000 * 0.05);
+
+    summarizer.combiner(sc).merge(stats1, stats2);
+    assertEquals(30_000, stats1.get(DistinctRowsSummarizer.DISTINCT_ROWS_STAT), 30_000 * 0.05);
+
+    // merging is repeatable, the merged sketch is stored in the statistics
+    Map<String,Long> stats3 = summarize(summarizer, sc, 25_000, 40_000, r -> 1);
+    summarizer.combiner(sc).merge(stats1, stats3);
+    assertEquals(40_000, stats1.get(DistinctRowsSummarizer.DISTINCT_ROWS_STAT), 40_000 * 0.05);
+  }
+
+  @Test
+  public void testDistinctQualifiers() {
+    var sc = SummarizerConfiguration.builder(DistinctQualifiersSummarizer.class)
+        .addOption(DistinctQualifiersSummarizer.MAX_FAMILIES_OPT, "2").build();
+    var summarizer = new DistinctQualifiersSummarizer();
+
+    Map<String,Long> stats1 = summarize(summarizer, sc, 0, 100, r -> 300);
+    Map<String,Long> stats2 = summarize(summarizer, sc, 0, 100, r -> 600);
+    String p = DistinctQualifiersSummarizer.DISTINCT_STAT_PREFIX;
+    assertEquals(100, stats1.get(p + "f0"), 100 * 0.15);
+    assertEquals(100, stats1.get(p + "f1"), 100 * 0.15);
+    // the third family is past the limit
+    assertFalse(stats1.containsKey(p + "f2"));
+    assertEquals(100 * 100, stats1.get(DistinctQualifiersSummarizer.TOO_MANY_STAT));
+
+    summarizer.combiner(sc).merge(stats1, stats2);
+    assertEquals(200, stats1.get(p + "f0"), 200 * 0.15);
+    assertEquals(200, stats1.get(p + "f1"), 200 * 0.15);
+    assertEquals(100 * 300, stats1.get(DistinctQualifiersSummarizer.TOO_MANY_STAT));
+  }
+
+  @Test
+  public void testValueSizeQuantiles() {
+    var sc = SummarizerConfiguration.builder(ValueSizeQuantilesSummarizer.class).build();
+    var summarizer = new ValueSizeQuantilesSummarizer();
+
+    // value sizes are the row number modulo 100, so are uniform from 0 to 99
+    Map<String,Long> stats1 = summarize(summarizer, sc, 0, 50_000, r -> 1);
+    Map<String,Long> stats2 = summarize(summarizer, sc, 50_000, 100_000, r -> 1);
+    assertEquals(50, ValueSizeQuantilesSummarizer.getQuantile(stats1, 0.5), 3);
+
+    summarizer.combiner(sc).merge(stats1, stats2);
+    assertEquals(100_000, stats1.get(ValueSizeQuantilesSummarizer.COUNT_STAT));
+    assertTrue(stats1.keySet().stream()
+        .filter(s -> s.startsWith(ValueSizeQuantilesSummarizer.SIZE_STAT_PREFIX)).count() <= 128);
+    assertEquals(10, ValueSizeQuantilesSummarizer.getQuantile(stats1, 0.1), 3);
+    assertEquals(50, ValueSizeQuantilesSummarizer.getQuantile(stats1, 0.5), 3);
+    assertEquals(90, ValueSizeQuantilesSummarizer.getQuantile(stats1, 0.9), 3);
+    assertEquals(-1, ValueSizeQuantilesSummarizer.getQuantile(Map.of(), 0.5));
+  }
+
+  @Test
+  public void testFrequentRows() {
+    var sc = SummarizerConfiguration.builder(FrequentRowsSummarizer.class)
+        .addOption(FrequentRowsSummarizer.MAX_ROWS_OPT, "4").build();
+    var summarizer = new FrequentRowsSummarizer();
+
+    // every 1000th row is hot
+    IntFunction<Integer> entriesPerRow = r -> r % 1000 == 0 ? 500 : 1;
+    Map<String,Long> stats1 = summarize(summarizer, sc, 0, 3000, entriesPerRow);
+    Map<String,Long> stats2 = summarize(summarizer, sc, 2000, 5000, entriesPerRow);
+
+    String p = FrequentRowsSummarizer.ROW_STAT_PREFIX;
+    long maxError1 = stats1.get(FrequentRowsSummarizer.MAX_ERROR_STAT);
+    for (String hot : new String[] {row(0), row(1000), row(2000)}) {
+      assertTrue(stats1.get(rowStat(hot.getBytes(UTF_8))) >= 500 - maxError1);
+    }
+
+    summarizer.combiner(sc).merge(stats1, stats2);
+    long maxError = stats1.get(FrequentRowsSummarizer.MAX_ERROR_STAT);
+    assertEquals(4, stats1.keySet().stream().filter(s -> s.startsWith(p)).count());
+    // row 2000 is in both files
+    assertTrue(stats1.get(rowStat(row(2000).getBytes(UTF_8))) >= 1000 - maxError);
+    assertEquals(2 * (3000 + 3 * 499), stats1.get(FrequentRowsSummarizer.TOTAL_STAT));
+  }
+
+  private static String rowStat(byte[] row) {
+    return FrequentRowsSummarizer.ROW_STAT_PREFIX + Base64.getEncoder().encodeToString(row);
+  }
+
+  @Test
+  public void testFrequentBinaryRows() {
+    var sc = SummarizerConfiguration.builder(FrequentRowsSummarizer.class).build();
+    var summarizer = new FrequentRowsSummarizer();
+
+    // both rows are not valid UTF-8 and would decode to the same string
+    byte[] row1 = {(byte) 0xff, 0};
+    byte[] row2 = {(byte) 0xfe, 0};
+    Collector collector = summarizer.collector(sc);
+    for (byte[] row : new byte[][] {row1, row2}) {
+      for (int c = 0; c < (row == row1 ? 3 : 5); c++) {
+        collector.accept(new Key(row, "f".getBytes(UTF_8), ("q" + c).getBytes(UTF_8)),
+            new Value());
+      }
+    }
+    HashMap<String,Long> stats = new HashMap<>();
+    collector.summarize(stats::put);
+
+    assertEquals(3, stats.get(rowStat(row1)));
+    assertEquals(5, stats.get(rowStat(row2)));
+    assertArrayEquals(row1, FrequentRowsSummarizer.getRow(rowStat(row1)));
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.accumulo.core.clientImpl.AsyncBatchProcessor.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AsyncBatchProcessorTest {
+
+  private ExecutorService executor;
+  private final List<List<Integer>> batches = new ArrayList<>();
+  private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+  private final CountDownLatch firstBatchRelease = new CountDownLatch(1);
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  // doubles each request, blocking in the first batch until released
+  private void consume(List<Request<Integer,Integer>> batch) {
+    List<Integer> requests = new ArrayList<>();
+    batch.forEach(r -> requests.add(r.request));
+    synchronized (batches) {
+      batches.add(requests);
+    }
+    if (firstBatchStarted.getCount() > 0) {
+      firstBatchStarted.countDown();
+      try {
+        firstBatchRelease.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    batch.forEach(r -> r.future.complete(r.request * 2));
+  }
+
+  private AsyncBatchProcessor<Integer,Integer> createProcessor(int maxQueued) {
+    return new AsyncBatchProcessor<>(executor, maxQueued, 10, 1, this::consume);
+  }
+
+  @Test
+  public void testBatching() throws Exception {
+    var processor = createProcessor(100);
+
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    futures.add(processor.submit(0));
+    firstBatchStarted.await();
+
+    // these should be queued while the first batch runs and then processed in two batches
+    for (int i = 1; i <= 15; i++) {
+      futures.add(processor.submit(i));
+    }
+    firstBatchRelease.countDown();
+
+    for (int i = 0; i < futures.size(); i++) {
+      assertEquals(i * 2, futures.get(i).get());
+    }
+    assertEquals(List.of(List.of(0), List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10),
+        List.of(11, 12, 13, 14, 15)), batches);
+  }
+
+  @Test
+  public void testMaxQueued() throws Exception {
+    var processor = createProcessor(3);
+
+    var first = processor.submit(0);
+    firstBatchStarted.await();
+
+    var queued = List.of(processor.submit(1), processor.submit(2), processor.submit(3));
+    var rejected = processor.submit(4);
+    var e = assertThrows(ExecutionException.class, rejected::get);
+    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+
+    firstBatchRelease.countDown();
+    assertEquals(0, first.get());
+    for (int i = 0; i < queued.size(); i++) {
+      assertEquals((i + 1) * 2, queued.get(i).get());
+    }
+
+    // once the queue drains new requests are accepted again
+    assertEquals(8, processor.submit(4).get());
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+    var processor = createProcessor(100);
+
+    var first = processor.submit(0);
+    firstBatchStarted.await();
+
+    var cancelled = processor.submit(1);
+    var second = processor.submit(2);
+    assertTrue(cancelled.cancel(true));
+    firstBatchRelease.countDown();
+
+    assertEquals(0, first.get());
+    assertEquals(4, second.get());
+    // the cancelled request should never have been passed to the consumer
+    assertEquals(List.of(List.of(0), List.of(2)), batches);
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    var processor = createProcessor(100);
+
+    var first = processor.submit(0);
+    firstBatchStarted.await();
+
+    var queued = processor.submit(1);
+    processor.closeNow();
+    var afterClose = processor.submit(2);
+    firstBatchRelease.countDown();
+
+    assertEquals(0, first.get());
+    for (var future : List.of(queued, afterClose)) {
+      var e = assertThrows(ExecutionException.class, future::get);
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+  }
+
+  @Test
+  public void testConsumerFailure() {
+    var processor = new AsyncBatchProcessor<Integer,Integer>(executor, 100, 10, 1, batch -> {
+      throw new IllegalArgumentException("bad batch");
+    });
+
+    var e = assertThrows(ExecutionException.class, () -> processor.submit(1).get());
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+}
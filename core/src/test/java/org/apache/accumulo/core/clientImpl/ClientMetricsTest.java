@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_SCAN_BYTES;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_SCAN_ENTRIES;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_SCAN_RPC_LATENCY;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_TABLET_CACHE_INVALIDATIONS;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_MUTATIONS;
+import static org.apache.accumulo.core.metrics.Metric.CLIENT_WRITE_RPC_LATENCY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.KeyValue;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ClientMetricsTest {
+
+  private static final TableId TABLE = TableId.of("1");
+
+  @Test
+  public void testScanRpc() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ClientMetrics metrics = new ClientMetrics(registry);
+    assertTrue(metrics.isEnabled());
+
+    List<KeyValue> results = List.of(new KeyValue(new Key("r1", "f", "q"), new byte[4]),
+        new KeyValue(new Key("r2"), new byte[0]));
+    metrics.scanRpc(TABLE, "host1:9997", MILLISECONDS.toNanos(5), results);
+    metrics.scanRpc(TABLE, "host1:9997", MILLISECONDS.toNanos(7), results);
+    metrics.scanRpc(TABLE, "host2:9997", MILLISECONDS.toNanos(3), List.of());
+
+    var host1 = registry.get(CLIENT_SCAN_RPC_LATENCY.getName())
+        .tags(ClientMetrics.TABLE_TAG, "1", ClientMetrics.SERVER_TAG, "host1:9997").timer();
+    assertEquals(2, host1.count());
+    assertEquals(12, host1.totalTime(MILLISECONDS), 0.001);
+    assertEquals(1, registry.get(CLIENT_SCAN_RPC_LATENCY.getName())
+        .tags(ClientMetrics.SERVER_TAG, "host2:9997").timer().count());
+
+    assertEquals(4, registry.get(CLIENT_SCAN_ENTRIES.getName()).counter().count(), 0.001);
+    long bytes = 0;
+    for (KeyValue kv : results) {
+      bytes += kv.getKey().getSize() + kv.getValue().getSize();
+    }
+    assertEquals(2 * bytes, registry.get(CLIENT_SCAN_BYTES.getName()).counter().count(), 0.001);
+  }
+
+  @Test
+  public void testWrites() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ClientMetrics metrics = new ClientMetrics(registry);
+
+    metrics.writeRpc("host1:9997", MILLISECONDS.toNanos(5));
+    metrics.mutationsWritten(TABLE, 10, 1000);
+    metrics.mutationsWritten(TableId.of("2"), 5, 100);
+
+    assertEquals(1, registry.get(CLIENT_WRITE_RPC_LATENCY.getName()).timer().count());
+    assertEquals(10, registry.get(CLIENT_WRITE_MUTATIONS.getName())
+        .tags(ClientMetrics.TABLE_TAG, "1").counter().count(), 0.001);
+    assertEquals(5, registry.get(CLIENT_WRITE_MUTATIONS.getName())
+        .tags(ClientMetrics.TABLE_TAG, "2").counter().count(), 0.001);
+  }
+
+  @Test
+  public void testTabletCache() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ClientMetrics metrics = new ClientMetrics(registry);
+
+    var cache1 = new ClientTabletCacheImpl(TABLE, null, null, null);
+    metrics.tabletCacheObtained(TABLE, cache1);
+    metrics.tabletCacheObtained(TABLE, cache1);
+    cache1.invalidateCache(new KeyExtent(TABLE, null, null));
+    assertEquals(1, registry.get(CLIENT_TABLET_CACHE_INVALIDATIONS.getName())
+        .functionCounter().count(), 0.001);
+
+    // a cache that replaced the first one should be reported instead of it
+    var cache2 = new ClientTabletCacheImpl(TABLE, null, null, null);
+    metrics.tabletCacheObtained(TABLE, cache2);
+    assertEquals(0, registry.get(CLIENT_TABLET_CACHE_INVALIDATIONS.getName())
+        .functionCounter().count(), 0.001);
+    assertEquals(1, registry.get(CLIENT_TABLET_CACHE_INVALIDATIONS.getName()).functionCounters()
+        .size());
+  }
+
+  @Test
+  public void testClose() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ClientMetrics metrics1 = new ClientMetrics(registry);
+    ClientMetrics metrics2 = new ClientMetrics(registry);
+
+    metrics1.scanRpc(TABLE, "host1:9997", 1, List.of());
+    metrics2.scanRpc(TABLE, "host1:9997", 1, List.of());
+    metrics2.writeRpc("host2:9997", 1);
+    metrics1.tabletCacheObtained(TABLE, new ClientTabletCacheImpl(TABLE, null, null, null));
+
+    // meters still used by the other client are kept
+    metrics1.close();
+    assertEquals(2, registry.get(CLIENT_SCAN_RPC_LATENCY.getName()).timer().count());
+    assertEquals(1, registry.get(CLIENT_WRITE_RPC_LATENCY.getName()).timer().count());
+    assertTrue(registry.find(CLIENT_TABLET_CACHE_INVALIDATIONS.getName()).functionCounters()
+        .isEmpty());
+
+    metrics2.close();
+    assertTrue(registry.getMeters().isEmpty());
+
+    // recording after close does not leave meters behind
+    metrics1.scanRpc(TableId.of("2"), "host1:9997", 1, List.of());
+    assertTrue(registry.getMeters().isEmpty());
+  }
+
+  @Test
+  public void testHistograms() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new ClientMetrics(registry).writeRpc("host1:9997", 1);
+    assertEquals(0, registry.get(CLIENT_WRITE_RPC_LATENCY.getName()).timer().takeSnapshot()
+        .histogramCounts().length);
+
+    registry = new SimpleMeterRegistry();
+    new ClientMetrics(registry, true).writeRpc("host1:9997", 1);
+    assertTrue(registry.get(CLIENT_WRITE_RPC_LATENCY.getName()).timer().takeSnapshot()
+        .histogramCounts().length > 0);
+  }
+
+  @Test
+  public void testDisabled() {
+    ClientMetrics metrics = ClientMetrics.DISABLED;
+    assertFalse(metrics.isEnabled());
+    // none of these should fail when there is no registry
+    metrics.scanRpc(TABLE, "host1:9997", 1, List.of());
+    metrics.writeRpc("host1:9997", 1);
+    metrics.mutationsWritten(TABLE, 1, 1);
+    metrics.backpressure(1);
+    metrics.tabletCacheObtained(TABLE, new ClientTabletCacheImpl(TABLE, null, null, null));
+  }
+}
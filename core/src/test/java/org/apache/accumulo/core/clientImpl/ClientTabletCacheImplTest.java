@@ -38,6 +38,11 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 import org.apache.accumulo.core.client.AccumuloException;
@@ -64,6 +69,7 @@ import org.apache.accumulo.core.metadata.RootTable;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.CurrentLocationColumnFamily;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.TabletColumnFamily;
 import org.apache.accumulo.core.util.Pair;
+import org.apache.accumulo.core.util.UtilWaitThread;
 import org.apache.hadoop.io.Text;
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.BeforeEach;
@@ -1975,4 +1981,96 @@ public class ClientTabletCacheImplTest {
         List.of(range3)), seen);
     assertEquals(0, failures.size());
   }
+
+  /**
+   * Threads that miss on the same row at the same time should wait for the first thread to read the
+   * metadata table instead of each reading it.
+   */
+  @Test
+  public void testConcurrentLookupsCoalesce() throws Exception {
+
+    List<KeyExtent> lookups = Collections.synchronizedList(new ArrayList<>());
+    TServers tservers = new TServers();
+    tservers.lookupConsumer = (src, row) -> {
+      lookups.add(src.getExtent());
+      // make the metadata read slow so the other threads pile up behind it
+      UtilWaitThread.sleep(100);
+    };
+
+    ClientTabletCacheImpl metaCache = createLocators(tservers, "tserver1", "tserver2", "foo");
+
+    var ke1 = createNewKeyExtent("foo", "m", null);
+    var ke2 = createNewKeyExtent("foo", null, "m");
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "T1", "I1");
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke2, "T2", "I2");
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<CachedTablet>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> metaCache.findTablet(context, new Text("c"), false,
+            LocationNeed.REQUIRED)));
+      }
+      for (Future<CachedTablet> future : futures) {
+        assertEquals(ke1, future.get().getExtent());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, lookups.stream().filter(METADATA_TABLE_EXTENT::equals).count());
+
+    // invalidating a server only marks its extents as bad, the next use of the cache reads them
+    clearLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "I1");
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "T3", "I3");
+    locateTabletTest(metaCache, "c", ke1, "T1");
+    metaCache.invalidateCache(context, "T1");
+    locateTabletTest(metaCache, "c", ke1, "T3");
+    locateTabletTest(metaCache, "x", ke2, "T2");
+  }
+
+  /**
+   * An extent invalidated while the metadata table is being read may have been read before it
+   * changed, so the lookup must not clear that invalidation.
+   */
+  @Test
+  public void testInvalidateDuringLookup() throws Exception {
+
+    AtomicReference<ClientTabletCacheImpl> cacheRef = new AtomicReference<>();
+    AtomicBoolean invalidateDuringLookup = new AtomicBoolean(false);
+    var ke1 = createNewKeyExtent("foo", "m", null);
+    var ke2 = createNewKeyExtent("foo", null, "m");
+
+    TServers tservers = new TServers();
+    tservers.lookupConsumer = (src, row) -> {
+      if (src.getExtent().equals(METADATA_TABLE_EXTENT)
+          && invalidateDuringLookup.compareAndSet(true, false)) {
+        // another thread fails to write to ke1 while this thread reads the metadata table
+        cacheRef.get().invalidateCache(ke1);
+      }
+    };
+
+    ClientTabletCacheImpl metaCache = createLocators(tservers, "tserver1", "tserver2", "foo");
+    cacheRef.set(metaCache);
+
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "T1", "I1");
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke2, "T2", "I2");
+
+    invalidateDuringLookup.set(true);
+    locateTabletTest(metaCache, "c", ke1, "T1");
+    assertFalse(invalidateDuringLookup.get());
+
+    // the tablet moves after the lookup read its old location
+    clearLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "I1");
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "T3", "I3");
+    locateTabletTest(metaCache, "c", ke1, "T3");
+    locateTabletTest(metaCache, "x", ke2, "T2");
+
+    // invalidations made before a lookup started are cleared by it
+    metaCache.invalidateCache(ke1);
+    locateTabletTest(metaCache, "c", ke1, "T3");
+    clearLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "I3");
+    setLocation(tservers, "tserver2", METADATA_TABLE_EXTENT, ke1, "T4", "I4");
+    locateTabletTest(metaCache, "c", ke1, "T3");
+  }
 }
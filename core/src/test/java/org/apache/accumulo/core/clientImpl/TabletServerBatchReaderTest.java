@@ -21,6 +21,8 @@ package org.apache.accumulo.core.clientImpl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Properties;
+
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.security.Authorizations;
@@ -37,6 +39,7 @@ public class TabletServerBatchReaderTest {
   public void setup() {
     context = EasyMock.createMock(ClientContext.class);
     EasyMock.expect(context.threadPools()).andReturn(ThreadPools.getServerThreadPools());
+    EasyMock.expect(context.getProperties()).andReturn(new Properties());
     EasyMock.replay(context);
   }
 
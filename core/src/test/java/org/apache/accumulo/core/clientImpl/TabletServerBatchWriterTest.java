@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TabletServerBatchWriterTest {
+
+  private static final TableId TABLE = TableId.of("1");
+
+  private ClientContext context;
+
+  /**
+   * Counts the mutations queued to be sent and treats them as written once queued.
+   */
+  private static class CountingWriter extends TabletServerBatchWriter {
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong queuedAfterClose = new AtomicLong();
+    private volatile boolean closeReturned = false;
+
+    CountingWriter(ClientContext context, BatchWriterConfig config) {
+      super(context, config);
+    }
+
+    @Override
+    void queueMutations(MutationSet mutationsToSend) {
+      if (closeReturned) {
+        queuedAfterClose.addAndGet(mutationsToSend.size());
+      }
+      queued.addAndGet(mutationsToSend.size());
+      decrementMemUsed(mutationsToSend.getMemoryUsed());
+    }
+  }
+
+  @BeforeEach
+  public void setup() {
+    context = EasyMock.createMock(ClientContext.class);
+    EasyMock.expect(context.threadPools()).andReturn(ThreadPools.getServerThreadPools())
+        .anyTimes();
+    EasyMock.expect(context.getConfiguration()).andReturn(DefaultConfiguration.getInstance())
+        .anyTimes();
+    EasyMock.expect(context.getClientMetrics()).andReturn(new ClientMetrics(null)).anyTimes();
+    EasyMock.replay(context);
+  }
+
+  private static Mutation mutation(long i) {
+    Mutation m = new Mutation(String.format("row%09d", i));
+    m.put("f", "q", "v");
+    return m;
+  }
+
+  @Test
+  public void testAddAfterClose() throws Exception {
+    CountingWriter writer = new CountingWriter(context, new BatchWriterConfig());
+    writer.addMutation(TABLE, mutation(1));
+    writer.close();
+    assertEquals(1, writer.queued.get());
+    assertThrows(IllegalStateException.class, () -> writer.addMutation(TABLE, mutation(2)));
+    assertThrows(IllegalStateException.class, writer::flush);
+    // closing again does nothing
+    writer.close();
+  }
+
+  @Test
+  public void testConcurrentAddFlushClose() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      for (int round = 0; round < 20; round++) {
+        // a small memory limit so that adds queue mutations and wait for memory
+        CountingWriter writer =
+            new CountingWriter(context, new BatchWriterConfig().setMaxMemory(10_000));
+        AtomicLong added = new AtomicLong();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+          futures.add(executor.submit(() -> {
+            try {
+              while (true) {
+                writer.addMutation(TABLE, mutation(added.get()));
+                added.incrementAndGet();
+              }
+            } catch (IllegalStateException e) {
+              // the writer was closed, every mutation added before this must have been written
+              assertEquals("Closed", e.getMessage());
+            }
+            return null;
+          }));
+        }
+        futures.add(executor.submit(() -> {
+          try {
+            while (true) {
+              writer.flush();
+            }
+          } catch (IllegalStateException e) {
+            assertEquals("Closed", e.getMessage());
+          }
+          return null;
+        }));
+
+        while (added.get() < 1000) {
+          Thread.sleep(1);
+        }
+        writer.close();
+        writer.closeReturned = true;
+
+        for (Future<?> future : futures) {
+          future.get();
+        }
+        assertTrue(added.get() >= 1000);
+        assertEquals(added.get(), writer.queued.get());
+        assertEquals(0, writer.queuedAfterClose.get());
+        assertEquals(0, writer.getQueuedBytes());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -20,19 +20,42 @@ package org.apache.accumulo.core.clientImpl.bulk;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 import org.apache.accumulo.core.clientImpl.bulk.Bulk.FileInfo;
 import org.apache.accumulo.core.clientImpl.bulk.Bulk.Files;
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.file.FileOperations;
+import org.apache.accumulo.core.file.FileSKVIterator;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.metadata.UnreferencedTabletFile;
+import org.apache.accumulo.core.spi.crypto.NoCryptoServiceFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class BulkImportTest {
 
+  @TempDir
+  private static File tempDir;
+
   @Test
   public void testMergeOverlappingSingleSplit() {
     SortedMap<KeyExtent,Files> mappings = new TreeMap<>();
@@ -93,6 +116,72 @@ public class BulkImportTest {
     assertThrows(RuntimeException.class, () -> BulkImport.mergeOverlapping(mappings));
   }
 
+  @Test
+  public void testMapFileToTablets() throws Exception {
+    var acuconf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    // use small blocks so the file has many index entries
+    acuconf.set(Property.TABLE_FILE_COMPRESSED_BLOCK_SIZE, "1K");
+    Configuration conf = new Configuration();
+    FileSystem fs = FileSystem.getLocal(conf);
+    var file = UnreferencedTabletFile.of(fs, new Path(new File(tempDir, "map.rf").getAbsolutePath()));
+
+    // write rows 0000-0999 and 5000-9999, leaving a gap
+    try (FileSKVWriter writer = FileOperations.getInstance().newWriterBuilder()
+        .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+        .build()) {
+      writer.startDefaultLocalityGroup();
+      for (int i = 0; i < 10000; i++) {
+        if (i < 1000 || i >= 5000) {
+          writer.append(new Key(String.format("r%04d", i), "cf", "cq"), new Value("v" + i));
+        }
+      }
+    }
+
+    // tablets with boundaries both coarser and finer than the files blocks, (r1500,r2500] and
+    // (r2500,r3000] have no data
+    List<KeyExtent> tablets = new ArrayList<>();
+    String prev = null;
+    for (String split : List.of("r0500", "r0501", "r0502", "r1500", "r2500", "r3000", "r6000",
+        "r6001")) {
+      tablets.add(extent(prev, split));
+      prev = split;
+    }
+    tablets.add(extent(prev, null));
+    BulkImport.KeyExtentCache extentCache =
+        row -> tablets.stream().filter(ke -> ke.contains(row)).findFirst().orElseThrow();
+
+    Map<KeyExtent,Long> sizes;
+    try (
+        FileSKVIterator index = FileOperations.getInstance().newIndexReaderBuilder()
+            .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+            .build();
+        FileSKVIterator reader = FileOperations.getInstance().newReaderBuilder()
+            .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+            .build()) {
+      sizes = BulkImport.mapFileToTablets(extentCache, index, reader, 100_000);
+    }
+
+    assertEquals(Set.of(extent(null, "r0500"), extent("r0500", "r0501"), extent("r0501", "r0502"),
+        extent("r0502", "r1500"), extent("r3000", "r6000"), extent("r6000", "r6001"),
+        extent("r6001", null)), sizes.keySet());
+    sizes.values().forEach(size -> assertTrue(size > 0));
+    // most of the data is in the last tablet
+    assertTrue(sizes.get(extent("r6001", null)) > 50_000);
+
+    // should agree with the tablets found by seeking the file
+    try (FileSKVIterator reader = FileOperations.getInstance().newReaderBuilder()
+        .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+        .seekToBeginning().build()) {
+      assertEquals(sizes.keySet(),
+          Set.copyOf(BulkImport.findOverlappingTablets(extentCache, reader)));
+    }
+  }
+
+  private static KeyExtent extent(String prevRow, String endRow) {
+    return new KeyExtent(TableId.of("42"), endRow == null ? null : new Text(endRow),
+        prevRow == null ? null : new Text(prevRow));
+  }
+
   private void addMapping(SortedMap<KeyExtent,Files> mappings, String prevRow, String endRow,
       String... fileNames) {
     KeyExtent ke = new KeyExtent(TableId.of("42"), endRow == null ? null : new Text(endRow),
@@ -312,6 +312,7 @@ public class AccumuloConfigurationTest {
     assertFalse(sec.priority.isPresent());
     assertTrue(sec.prioritizerClass.orElseThrow().isEmpty());
     assertTrue(sec.prioritizerOpts.isEmpty());
+    assertFalse(sec.virtualThreads);
 
     // ensure new props override default props
     tc.set(Property.TSERV_SCAN_EXECUTORS_DEFAULT_THREADS.getKey(), "9");
@@ -348,6 +349,7 @@ public class AccumuloConfigurationTest {
     tc.set(prefix + "hulksmash.prioritizer", "com.foo.ScanPrioritizer");
     tc.set(prefix + "hulksmash.prioritizer.opts.k1", "v1");
     tc.set(prefix + "hulksmash.prioritizer.opts.k2", "v3");
+    tc.set(prefix + "hulksmash.virtual", "true");
 
     executors = tc.getScanExecutors(false);
     assertEquals(3, executors.size());
@@ -357,6 +359,7 @@ public class AccumuloConfigurationTest {
     assertEquals(3, sec7.priority.getAsInt());
     assertEquals("com.foo.ScanPrioritizer", sec7.prioritizerClass.orElseThrow());
     assertEquals(Map.of("k1", "v1", "k2", "v3"), sec7.prioritizerOpts);
+    assertTrue(sec7.virtualThreads);
 
     tc.set(prefix + "hulksmash.threads", "44");
     assertEquals(66, sec7.maxThreads);
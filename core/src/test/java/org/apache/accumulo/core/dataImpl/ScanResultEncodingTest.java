@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.dataImpl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.KeyValue;
+import org.apache.accumulo.core.dataImpl.thrift.ScanResult;
+import org.junit.jupiter.api.Test;
+
+public class ScanResultEncodingTest {
+
+  private static List<KeyValue> createResults() {
+    List<KeyValue> results = new ArrayList<>();
+    for (int r = 0; r < 10; r++) {
+      for (int q = 0; q < 10; q++) {
+        Key key = new Key(String.format("row_%012d", r), "family" + (q % 2),
+            String.format("qualifier_%04d", q), q % 3 == 0 ? "A&B" : "", 1000L + q);
+        key.setDeleted(r == 5 && q == 5);
+        results.add(new KeyValue(key, ("v" + r + q).getBytes(UTF_8)));
+      }
+    }
+    return results;
+  }
+
+  private static void assertResultsEqual(List<KeyValue> expected, List<KeyValue> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getKey(), actual.get(i).getKey());
+      assertEquals(expected.get(i).getKey().isDeleted(), actual.get(i).getKey().isDeleted());
+      assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+    }
+  }
+
+  @Test
+  public void testRoundTrip() {
+    List<KeyValue> expected = createResults();
+    ByteBuffer encoded = ScanResultEncoding.encode(expected);
+
+    List<KeyValue> decoded = ScanResultEncoding.decode(encoded);
+    assertResultsEqual(expected, decoded);
+
+    // keys in the same row should share the bytes of the row
+    assertSame(decoded.get(0).getKey().getRowData().getBackingArray(),
+        decoded.get(1).getKey().getRowData().getBackingArray());
+
+    // the encoding should be much smaller than the key and value bytes
+    long rawSize = expected.stream()
+        .mapToLong(kv -> kv.getKey().getSize() + kv.getValue().getSize() + 8).sum();
+    assertTrue(encoded.remaining() < rawSize / 2, encoded.remaining() + " " + rawSize);
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEquals(List.of(), ScanResultEncoding.decode(ScanResultEncoding.encode(List.of())));
+  }
+
+  @Test
+  public void testGetResults() {
+    List<KeyValue> expected = createResults();
+
+    // results sent as a list by a server that does not encode
+    ScanResult listResult = new ScanResult(Key.compress(expected), true);
+    assertResultsEqual(expected, ScanResultEncoding.getResults(listResult));
+
+    ScanResult encodedResult = new ScanResult(List.of(), true);
+    encodedResult.encodedResults = ScanResultEncoding.encode(expected);
+    assertResultsEqual(expected, ScanResultEncoding.getResults(encodedResult));
+  }
+}
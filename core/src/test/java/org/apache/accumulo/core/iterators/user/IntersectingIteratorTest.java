@@ -292,4 +292,82 @@ public class IntersectingIteratorTest {
     assertEquals(hitCount, docs.size());
     cleanup();
   }
+
+  private static HashSet<Text> scan(SortedKeyValueIterator<Key,Value> source,
+      IteratorSetting is, Range range) throws IOException {
+    IntersectingIterator iter = new IntersectingIterator();
+    iter.init(source, is.getOptions(), env);
+    iter.seek(range, EMPTY_COL_FAMS, false);
+    HashSet<Text> found = new HashSet<>();
+    while (iter.hasTop()) {
+      assertTrue(found.add(iter.getTopKey().getColumnQualifier()));
+      iter.next();
+    }
+    return found;
+  }
+
+  @Test
+  public void testPostingBatches() throws IOException {
+    columnFamilies = new Text[4];
+    notFlags = new boolean[4];
+    columnFamilies[0] = new Text("A");
+    notFlags[0] = true;
+    columnFamilies[1] = new Text("C");
+    columnFamilies[2] = new Text("E");
+    columnFamilies[3] = new Text("G");
+    negatedColumns = new Text[1];
+    negatedColumns[0] = new Text("A");
+    otherColumnFamilies = new Text[2];
+    otherColumnFamilies[0] = new Text("B");
+    otherColumnFamilies[1] = new Text("D");
+
+    float hitRatio = 0.7f;
+    SortedKeyValueIterator<Key,Value> source = createIteratorStack(hitRatio, NUM_ROWS, NUM_DOCIDS,
+        columnFamilies, otherColumnFamilies, docs, negatedColumns);
+    Range rowRange = new Range(new Text(String.format("%06d", 3)), true,
+        new Text(String.format("%06d", 6)), false);
+    HashSet<Text> docsInRows = new HashSet<>();
+    for (Text doc : docs) {
+      int docID = Integer.parseInt(doc.toString());
+      if (docID >= 3 * NUM_DOCIDS && docID < 6 * NUM_DOCIDS) {
+        docsInRows.add(doc);
+      }
+    }
+
+    for (int batchSize : new int[] {0, 1, 7, 64, 5000}) {
+      IteratorSetting is = new IteratorSetting(1, IntersectingIterator.class);
+      IntersectingIterator.setColumnFamilies(is, columnFamilies, notFlags);
+      IntersectingIterator.setPostingBatchSize(is, batchSize);
+      assertEquals(docs, scan(source.deepCopy(env), is, new Range()), "batch size " + batchSize);
+      assertEquals(docsInRows, scan(source.deepCopy(env), is, rowRange),
+          "batch size " + batchSize);
+    }
+    cleanup();
+  }
+
+  @Test
+  public void testPostingBatchesReadPastPartition() throws IOException {
+    // every term is read to the end of its partition by the first batch, the docIDs left in the
+    // batches must still be returned
+    TreeMap<Key,Value> map = new TreeMap<>();
+    for (String row : new String[] {"1", "2"}) {
+      for (String term : new String[] {"C", "E"}) {
+        for (String doc : new String[] {"a", "b", "c"}) {
+          map.put(new Key(row, term, row + doc), new Value());
+        }
+      }
+    }
+    HashSet<Text> expected = new HashSet<>();
+    for (String doc : new String[] {"1a", "1b", "1c", "2a", "2b", "2c"}) {
+      expected.add(new Text(doc));
+    }
+
+    for (int batchSize : new int[] {1, 2, 3, 64}) {
+      IteratorSetting is = new IteratorSetting(1, IntersectingIterator.class);
+      IntersectingIterator.setColumnFamilies(is, new Text[] {new Text("C"), new Text("E")});
+      IntersectingIterator.setPostingBatchSize(is, batchSize);
+      assertEquals(expected, scan(new SortedMapIterator(map), is, new Range()),
+          "batch size " + batchSize);
+    }
+  }
 }
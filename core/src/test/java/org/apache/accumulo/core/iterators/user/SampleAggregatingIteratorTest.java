@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.iterators.user;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.sample.RowSampler;
+import org.apache.accumulo.core.client.sample.SamplerConfiguration;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.DefaultIteratorEnvironment;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.LongCombiner;
+import org.apache.accumulo.core.iteratorsImpl.system.SortedMapIterator;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class SampleAggregatingIteratorTest {
+
+  private static final int NUM_ROWS = 10_000;
+  private static final int COLS_PER_ROW = 3;
+
+  private static final SamplerConfiguration SAMPLER_CONFIG = new SamplerConfiguration(
+      RowSampler.class).setOptions(Map.of("hasher", "murmur3_32", "modulus", "10"));
+
+  private static final IteratorEnvironment SAMPLE_ENV = new DefaultIteratorEnvironment() {
+    @Override
+    public boolean isSamplingEnabled() {
+      return true;
+    }
+
+    @Override
+    public SamplerConfiguration getSamplerConfiguration() {
+      return SAMPLER_CONFIG;
+    }
+  };
+
+  private static String row(int i) {
+    return String.format("r%06d", i);
+  }
+
+  private static TreeMap<Key,Value> createData(boolean sampleOnly) {
+    RowSampler sampler = new RowSampler();
+    sampler.init(SAMPLER_CONFIG);
+    TreeMap<Key,Value> data = new TreeMap<>();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      for (int c = 0; c < COLS_PER_ROW; c++) {
+        Key key = new Key(row(i), "f", "q" + c);
+        if (!sampleOnly || sampler.accept(key)) {
+          data.put(key, new Value(Integer.toString(i).getBytes(UTF_8)));
+        }
+      }
+    }
+    return data;
+  }
+
+  private static List<Entry<Key,Value>> scan(TreeMap<Key,Value> data, IteratorEnvironment env,
+      Range... ranges) throws IOException {
+    IteratorSetting is = new IteratorSetting(10, SampleAggregatingIterator.class);
+    SampleAggregatingIterator.setEncodingType(is, LongCombiner.Type.STRING);
+    List<Entry<Key,Value>> entries = new ArrayList<>();
+    for (Range range : ranges) {
+      int before = entries.size();
+      SampleAggregatingIterator iter = new SampleAggregatingIterator();
+      iter.init(new SortedMapIterator(data), is.getOptions(), env);
+      iter.seek(range, Set.of(), false);
+      while (iter.hasTop()) {
+        assertTrue(range.contains(iter.getTopKey()));
+        entries.add(new AbstractMap.SimpleImmutableEntry<>(new Key(iter.getTopKey()),
+            new Value(iter.getTopValue())));
+        iter.next();
+      }
+      // continuing the scan after the returned entry finds nothing more
+      if (entries.size() > before) {
+        Key last = entries.get(entries.size() - 1).getKey();
+        iter.seek(new Range(last, false, range.getEndKey(), range.isEndKeyInclusive()), Set.of(),
+            false);
+        assertFalse(iter.hasTop());
+      }
+    }
+    return entries;
+  }
+
+  @Test
+  public void testSampled() throws IOException {
+    TreeMap<Key,Value> sample = createData(true);
+    var aggregate = SampleAggregatingIterator.Aggregate.of(scan(sample, SAMPLE_ENV, new Range()));
+
+    assertTrue(aggregate.isSampled());
+    assertEquals(sample.size(), aggregate.getSampledCount());
+    double count = NUM_ROWS * COLS_PER_ROW;
+    assertEquals(count, aggregate.getCount(), count * 0.1);
+    assertTrue(aggregate.getCountLowerBound(2) < aggregate.getCount());
+    assertTrue(aggregate.getCountUpperBound(2) > aggregate.getCount());
+
+    assertEquals(NUM_ROWS, aggregate.getDistinctRows(), NUM_ROWS * 0.1);
+    assertTrue(aggregate.getDistinctRowsLowerBound(3) <= NUM_ROWS);
+    assertTrue(aggregate.getDistinctRowsUpperBound(3) >= NUM_ROWS);
+
+    assertEquals(NUM_ROWS / 2.0, aggregate.getQuantile(0.5), NUM_ROWS * 0.1);
+    assertEquals(NUM_ROWS * 0.9, aggregate.getQuantile(0.9), NUM_ROWS * 0.1);
+    double rankError = aggregate.getQuantileRankError(3);
+    assertTrue(rankError > 0 && rankError < 0.1);
+
+    // aggregating each tablet separately and merging gives the same result
+    Range r1 = new Range(null, true, row(4000), false);
+    Range r2 = new Range(row(4000), true, null, false);
+    var merged = SampleAggregatingIterator.Aggregate.of(scan(sample, SAMPLE_ENV, r1, r2));
+    assertEquals(aggregate.getSampledCount(), merged.getSampledCount());
+    assertEquals(aggregate.getDistinctRows(), merged.getDistinctRows(), NUM_ROWS * 0.02);
+    assertEquals(aggregate.getQuantile(0.5), merged.getQuantile(0.5), NUM_ROWS * 0.05);
+  }
+
+  @Test
+  public void testNotSampled() throws IOException {
+    TreeMap<Key,Value> data = createData(false);
+    Range range = new Range(new Text(row(1000)), new Text(row(1999)));
+    var aggregate = SampleAggregatingIterator.Aggregate
+        .of(scan(data, new DefaultIteratorEnvironment(), range));
+
+    assertFalse(aggregate.isSampled());
+    assertEquals(1000 * COLS_PER_ROW, aggregate.getCount());
+    assertEquals(aggregate.getCount(), aggregate.getCountLowerBound(3));
+    assertEquals(aggregate.getCount(), aggregate.getCountUpperBound(3));
+    assertEquals(1000, aggregate.getDistinctRows(), 1000 * 0.05);
+    assertEquals(1500, aggregate.getQuantile(0.5), 1000 * 0.05);
+    assertEquals(1000, aggregate.getQuantile(0), 1000 * 0.05);
+    assertEquals(1999, aggregate.getQuantile(1), 1000 * 0.05);
+
+    // no data in the range
+    var empty = SampleAggregatingIterator.Aggregate.of(scan(data, new DefaultIteratorEnvironment(),
+        new Range(new Text("s"), new Text("t"))));
+    assertEquals(0, empty.getCount());
+    assertEquals(0, empty.getDistinctRows());
+    assertTrue(Double.isNaN(empty.getQuantile(0.5)));
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.iteratorsImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.user.VersioningIterator;
+import org.junit.jupiter.api.Test;
+
+public class IteratorFactoryCacheTest {
+
+  static class FailingIter extends IteratorConfigUtilTest.WrappedIter {
+    FailingIter() {
+      throw new UnsupportedOperationException("can not create");
+    }
+  }
+
+  static class NoDefaultConstructorIter extends IteratorConfigUtilTest.WrappedIter {
+    NoDefaultConstructorIter(int unused) {}
+  }
+
+  @Test
+  public void testLoadAndCreate() throws Exception {
+    ClassLoader loader = getClass().getClassLoader();
+    var clazz = IteratorFactoryCache.loadClass(loader, VersioningIterator.class.getName());
+    assertSame(VersioningIterator.class, clazz);
+    assertSame(clazz, IteratorFactoryCache.loadClass(loader, VersioningIterator.class.getName()));
+
+    SortedKeyValueIterator<Key,Value> iter1 = IteratorFactoryCache.newInstance(clazz);
+    SortedKeyValueIterator<Key,Value> iter2 = IteratorFactoryCache.newInstance(clazz);
+    assertEquals(VersioningIterator.class, iter1.getClass());
+    assertNotSame(iter1, iter2);
+
+    // package private iterators in the same package can be created, as they could by reflection
+    var wrapped =
+        IteratorFactoryCache.loadClass(loader, IteratorConfigUtilTest.AddingIter.class.getName());
+    assertEquals(IteratorConfigUtilTest.AddingIter.class,
+        IteratorFactoryCache.newInstance(wrapped).getClass());
+  }
+
+  @Test
+  public void testErrors() throws Exception {
+    ClassLoader loader = getClass().getClassLoader();
+    assertThrows(ClassNotFoundException.class,
+        () -> IteratorFactoryCache.loadClass(loader, "org.apache.accumulo.NoSuchIterator"));
+    assertThrows(ClassCastException.class,
+        () -> IteratorFactoryCache.loadClass(loader, String.class.getName()));
+
+    var failing = IteratorFactoryCache.loadClass(loader, FailingIter.class.getName());
+    var e = assertThrows(InvocationTargetException.class,
+        () -> IteratorFactoryCache.newInstance(failing));
+    assertEquals(UnsupportedOperationException.class, e.getCause().getClass());
+
+    var noDefault =
+        IteratorFactoryCache.loadClass(loader, NoDefaultConstructorIter.class.getName());
+    // the failure to find a constructor is remembered and thrown each time
+    for (int i = 0; i < 2; i++) {
+      assertThrows(NoSuchMethodException.class, () -> IteratorFactoryCache.newInstance(noDefault));
+    }
+  }
+}
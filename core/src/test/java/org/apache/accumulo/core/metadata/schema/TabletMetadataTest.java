@@ -25,6 +25,7 @@ import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSec
 import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.DIRECTORY_COLUMN;
 import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.FLUSH_COLUMN;
 import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.FLUSH_NONCE_COLUMN;
+import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.SELECTED_COLUMN;
 import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.TIME_COLUMN;
 import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.SuspendLocationColumn.SUSPEND_COLUMN;
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.AVAILABILITY;
@@ -40,6 +41,7 @@ import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -596,6 +598,83 @@ public class TabletMetadataTest {
     assertTrue(msg.contains("PREV_ROW was not fetched"));
   }
 
+  @Test
+  public void testCompact() {
+    KeyExtent extent1 = new KeyExtent(TableId.of("5"), new Text("da"), null);
+    KeyExtent extent2 = new KeyExtent(TableId.of("5"), new Text("df"), new Text("da"));
+
+    // files shared by both tablets, as would be seen after a split
+    StoredTabletFile tf1 = StoredTabletFile.of(new Path("hdfs://nn1/acc/tables/5/t-0001/df1.rf"));
+    StoredTabletFile tf2 = StoredTabletFile.of(new Path("hdfs://nn1/acc/tables/5/t-0001/df2.rf"));
+    StoredTabletFile tf3 = StoredTabletFile.of(new Path("hdfs://nn1/acc/tables/5/t-0001/df3.rf"));
+    DataFileValue dfv1 = new DataFileValue(555, 23);
+    DataFileValue dfv2 = new DataFileValue(234, 13, 42);
+    DataFileValue dfv3 = new DataFileValue(7, 1);
+
+    FateId fateId = FateId.from(FateInstanceType.USER, UUID.randomUUID());
+    SelectedFiles selectedFiles = new SelectedFiles(Set.of(tf1, tf2), true, fateId,
+        SteadyTime.from(100_000, TimeUnit.NANOSECONDS));
+    ExternalCompactionId ecid = ExternalCompactionId.generate(UUID.randomUUID());
+    CompactionMetadata ecMeta = new CompactionMetadata(Set.of(tf1),
+        ReferencedTabletFile.of(new Path("file:///accumulo/tables/t-0/b-0/c1.rf")), "cid1",
+        CompactionKind.USER, (short) 3, CompactorGroupId.of("Q1"), true, fateId);
+    var unsplittableMeta =
+        UnSplittableMetadata.toUnSplittable(extent2, 100, 110, 120, Set.of(tf1, tf2, tf3));
+
+    Mutation mutation1 = TabletColumnFamily.createPrevRowMutation(extent1);
+    mutation1.at().family(DataFileColumnFamily.NAME).qualifier(tf1.getMetadata())
+        .put(dfv1.encode());
+    mutation1.at().family(DataFileColumnFamily.NAME).qualifier(tf2.getMetadata())
+        .put(dfv2.encode());
+
+    Mutation mutation2 = TabletColumnFamily.createPrevRowMutation(extent2);
+    mutation2.at().family(DataFileColumnFamily.NAME).qualifier(tf3.getMetadata())
+        .put(dfv3.encode());
+    mutation2.at().family(DataFileColumnFamily.NAME).qualifier(tf2.getMetadata())
+        .put(dfv2.encode());
+    mutation2.at().family(DataFileColumnFamily.NAME).qualifier(tf1.getMetadata())
+        .put(dfv1.encode());
+    SELECTED_COLUMN.put(mutation2, new Value(selectedFiles.getMetadataValue()));
+    mutation2.put(ExternalCompactionColumnFamily.STR_NAME, ecid.canonical(), ecMeta.toJson());
+    SplitColumnFamily.UNSPLITTABLE_COLUMN.put(mutation2, new Value(unsplittableMeta.toBase64()));
+
+    TabletMetadata tm1 = TabletMetadata.convertRow(toRowMap(mutation1).entrySet().iterator(),
+        EnumSet.allOf(ColumnType.class), false, false, true);
+    TabletMetadata tm2 = TabletMetadata.convertRow(toRowMap(mutation2).entrySet().iterator(),
+        EnumSet.allOf(ColumnType.class), false, false, true);
+    TabletMetadata expected = TabletMetadata.convertRow(toRowMap(mutation2).entrySet().iterator(),
+        EnumSet.allOf(ColumnType.class), false, false, false);
+
+    assertEquals(extent1, tm1.getExtent());
+    assertEquals(extent2, tm2.getExtent());
+    assertEquals(Map.of(tf1, dfv1, tf2, dfv2), tm1.getFilesMap());
+    assertEquals(expected.getFilesMap(), tm2.getFilesMap());
+    assertEquals(tm2.getFilesMap(), expected.getFilesMap());
+    assertEquals(expected.getFilesMap().hashCode(), tm2.getFilesMap().hashCode());
+    assertEquals(Set.of(tf1, tf2, tf3), tm2.getFiles());
+    assertEquals(dfv2, tm2.getFilesMap().get(tf2));
+    assertNull(tm1.getFilesMap().get(tf3));
+    assertFalse(tm1.getFiles().contains(tf3));
+    assertEquals(expected.getFileSize(), tm2.getFileSize());
+    assertEquals(555 + 234, tm1.getFileSize());
+    assertThrows(UnsupportedOperationException.class,
+        () -> tm2.getFilesMap().put(tf1, new DataFileValue(0, 0)));
+    assertThrows(UnsupportedOperationException.class, () -> tm2.getFiles().remove(tf1));
+
+    // the files shared by the tablets should be deduplicated
+    assertSame(tm1.getFiles().stream().filter(tf1::equals).findFirst().orElseThrow(),
+        tm2.getFiles().stream().filter(tf1::equals).findFirst().orElseThrow());
+
+    // the lazily decoded columns
+    assertEquals(expected.getSelectedFiles().getMetadataValue(),
+        tm2.getSelectedFiles().getMetadataValue());
+    assertEquals(ecMeta.toJson(), tm2.getExternalCompactions().get(ecid).toJson());
+    assertEquals(unsplittableMeta, tm2.getUnSplittable());
+    assertNull(tm1.getSelectedFiles());
+    assertTrue(tm1.getExternalCompactions().isEmpty());
+    assertNull(tm1.getUnSplittable());
+  }
+
   private SortedMap<Key,Value> toRowMap(Mutation mutation) {
     SortedMap<Key,Value> rowMap = new TreeMap<>();
     mutation.getUpdates().forEach(cu -> {
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.rpc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+import org.apache.thrift.transport.TIOStreamTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MultiplexedConnection} and {@link MultiplexedTransport}.
+ */
+public class MultiplexedConnectionTest {
+
+  private static void writeFrame(ByteArrayOutputStream out, int streamId, String message) {
+    byte[] bytes = message.getBytes(UTF_8);
+    out.writeBytes(MultiplexedConnection.createHeader(streamId, bytes.length));
+    out.writeBytes(bytes);
+  }
+
+  private static int send(MultiplexedConnection connection, String message)
+      throws TTransportException {
+    byte[] bytes = message.getBytes(UTF_8);
+    return connection.send(bytes, 0, bytes.length);
+  }
+
+  private static String receive(MultiplexedConnection connection, int streamId)
+      throws TTransportException {
+    return new String(connection.receive(streamId), UTF_8);
+  }
+
+  @Test
+  public void testResponsesOutOfOrder() throws Exception {
+    // responses arrive in a different order than the requests were sent
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    writeFrame(responses, 2, "r2");
+    writeFrame(responses, 0, "r0");
+    writeFrame(responses, 3, "r3");
+    writeFrame(responses, 1, "r1");
+
+    ByteArrayOutputStream requests = new ByteArrayOutputStream();
+    var connection = new MultiplexedConnection(
+        new TIOStreamTransport(new ByteArrayInputStream(responses.toByteArray()), requests));
+
+    assertEquals(0, send(connection, "q0"));
+    assertEquals(1, send(connection, "q1"));
+    assertEquals(2, send(connection, "q2"));
+    assertEquals(3, send(connection, "q3"));
+
+    // the response to the last request is discarded when it arrives
+    connection.abandon(3);
+
+    assertEquals("r1", receive(connection, 1));
+    assertEquals("r0", receive(connection, 0));
+    assertEquals("r2", receive(connection, 2));
+
+    ByteBuffer sent = ByteBuffer.wrap(requests.toByteArray());
+    for (int i = 0; i < 4; i++) {
+      assertEquals(MultiplexedConnection.FRAME_MARKER, sent.get());
+      assertEquals(i, sent.getInt());
+      byte[] message = new byte[sent.getInt()];
+      sent.get(message);
+      assertEquals("q" + i, new String(message, UTF_8));
+    }
+    assertFalse(sent.hasRemaining());
+
+    // there are no more responses, so reading fails and closes the connection
+    int streamId = send(connection, "q4");
+    assertThrows(TTransportException.class, () -> connection.receive(streamId));
+    assertFalse(connection.isOpen());
+    assertThrows(TTransportException.class, () -> send(connection, "q5"));
+  }
+
+  @Test
+  public void testTransport() throws Exception {
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    writeFrame(responses, 0, "oneway response");
+    writeFrame(responses, 1, "response");
+    writeFrame(responses, 2, "");
+    int lastFrameLength = MultiplexedConnection.HEADER_LENGTH;
+    int responseFrameLength = MultiplexedConnection.HEADER_LENGTH + 8;
+
+    ByteArrayOutputStream requests = new ByteArrayOutputStream();
+    var in = new ByteArrayInputStream(responses.toByteArray());
+    var connection = new MultiplexedConnection(new TIOStreamTransport(in, requests));
+
+    var transport = new MultiplexedTransport(connection);
+    assertTrue(transport.isOpen());
+
+    // nothing is sent until the transport is flushed
+    transport.write("one".getBytes(UTF_8), 0, 3);
+    transport.write("way".getBytes(UTF_8), 0, 3);
+    assertEquals(0, requests.size());
+    transport.flush();
+    assertEquals(MultiplexedConnection.HEADER_LENGTH + 6, requests.size());
+
+    // sending another request waits for the server to answer the one way request first
+    transport.write("request".getBytes(UTF_8), 0, 7);
+    transport.flush();
+    assertEquals(responseFrameLength + lastFrameLength, in.available());
+
+    byte[] response = new byte[8];
+    transport.readAll(response, 0, 8);
+    assertArrayEquals("response".getBytes(UTF_8), response);
+    assertEquals(0, transport.getBytesRemainingInBuffer());
+    assertFalse(transport.sawError());
+
+    // reading without a request fails
+    assertThrows(TTransportException.class, () -> transport.read(response, 0, 1));
+
+    // closing waits for the answer to a one way request that was sent last
+    transport.write("last".getBytes(UTF_8), 0, 4);
+    transport.flush();
+    assertEquals(lastFrameLength, in.available());
+    transport.close();
+    assertEquals(0, in.available());
+    assertFalse(transport.sawError());
+    assertTrue(connection.isOpen());
+  }
+
+  @Test
+  public void testReadTimeout() throws Exception {
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    writeFrame(responses, 0, "r0");
+    writeFrame(responses, 1, "r1");
+
+    // the first read times out before the responses arrive
+    var transport = new TIOStreamTransport(new ByteArrayInputStream(responses.toByteArray()),
+        new ByteArrayOutputStream()) {
+      private boolean timedOut = false;
+
+      @Override
+      public int read(byte[] buf, int off, int len) throws TTransportException {
+        if (!timedOut) {
+          timedOut = true;
+          throw new TTransportException(TTransportException.TIMED_OUT,
+              new SocketTimeoutException("Read timed out"));
+        }
+        return super.read(buf, off, len);
+      }
+    };
+    var connection = new MultiplexedConnection(transport);
+
+    assertEquals(0, send(connection, "q0"));
+    assertEquals(1, send(connection, "q1"));
+
+    // only the call of the thread that was reading fails, the connection stays open
+    var e = assertThrows(TTransportException.class, () -> connection.receive(0));
+    assertEquals(TTransportException.TIMED_OUT, e.getType());
+    assertTrue(connection.isOpen());
+
+    // the late response to the call that timed out is discarded
+    assertEquals("r1", receive(connection, 1));
+    assertTrue(connection.isOpen());
+  }
+}
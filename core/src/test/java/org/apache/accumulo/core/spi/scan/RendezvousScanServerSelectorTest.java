@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.scan;
+
+import static org.apache.accumulo.core.spi.scan.ConfigurableScanServerSelectorTest.nti;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.accumulo.core.data.TabletId;
+import org.apache.accumulo.core.spi.scan.ConfigurableScanServerSelectorTest.InitParams;
+import org.apache.accumulo.core.spi.scan.ConfigurableScanServerSelectorTest.SelectorParams;
+import org.apache.accumulo.core.spi.scan.ConfigurableScanServerSelectorTest.TestScanServerAttempt;
+import org.junit.jupiter.api.Test;
+
+public class RendezvousScanServerSelectorTest {
+
+  private static final String ONE_SERVER_PROFILE = "[{'isDefault':true,'maxBusyTimeout':'5m',"
+      + "'busyTimeoutMultiplier':8,'attemptPlans':[{'servers':'1','busyTimeout':'33ms'}]}]";
+  private static final String THREE_SERVER_PROFILE = "[{'isDefault':true,'maxBusyTimeout':'5m',"
+      + "'busyTimeoutMultiplier':8,'attemptPlans':[{'servers':'3','busyTimeout':'33ms'}]}]";
+
+  private static class LoadInitParams extends InitParams {
+    private final Map<String,Double> loads;
+
+    LoadInitParams(Set<String> scanServers, String profiles, Map<String,Double> loads) {
+      super(scanServers, Map.of("profiles", profiles));
+      this.loads = loads;
+    }
+
+    @Override
+    public OptionalDouble getScanServerLoad(String address) {
+      Double load = loads.get(address);
+      return load == null ? OptionalDouble.empty() : OptionalDouble.of(load);
+    }
+  }
+
+  private static Set<String> servers(int count) {
+    return IntStream.range(0, count).mapToObj(i -> "ss" + i + ":" + (2000 + i))
+        .collect(Collectors.toSet());
+  }
+
+  private static String select(RendezvousScanServerSelector selector, TabletId tablet) {
+    return selector.selectServers(new SelectorParams(tablet)).getScanServer(tablet);
+  }
+
+  @Test
+  public void testReplicas() {
+    long[] serverHashes = new long[100];
+    for (int i = 0; i < serverHashes.length; i++) {
+      serverHashes[i] = i * 0x9E3779B97F4A7C15L;
+    }
+
+    for (int numServers : new int[] {1, 3, 13, 100}) {
+      long tabletHash = 42L * numServers;
+      int[] expected = IntStream.range(0, serverHashes.length).boxed()
+          .sorted(Comparator.comparingLong(
+              i -> -RendezvousScanServerSelector.score(tabletHash, serverHashes[i])))
+          .limit(numServers).mapToInt(i -> i).toArray();
+      // the scores of these hashes are never equal, so the order is the same
+      assertArrayEquals(expected,
+          RendezvousScanServerSelector.replicas(tabletHash, serverHashes, numServers));
+    }
+  }
+
+  @Test
+  public void testStableAndSpread() {
+    var selector = new RendezvousScanServerSelector();
+    selector.init(new LoadInitParams(servers(20), ONE_SERVER_PROFILE, Map.of()));
+
+    Map<TabletId,String> chosen = new HashMap<>();
+    for (int t = 0; t < 1000; t++) {
+      TabletId tablet = nti("1", String.format("%05d", t));
+      String server = select(selector, tablet);
+      chosen.put(tablet, server);
+      // without load or busy servers, a tablet always goes to the same server
+      assertEquals(server, select(selector, tablet));
+    }
+
+    Map<String,Long> counts = chosen.values().stream()
+        .collect(Collectors.groupingBy(s -> s, Collectors.counting()));
+    assertEquals(20, counts.size());
+    counts.values().forEach(count -> assertTrue(count > 20 && count < 100, counts::toString));
+
+    // removing a server should only move the tablets that used that server
+    String removed = chosen.get(nti("1", "00000"));
+    Set<String> remaining = new HashSet<>(servers(20));
+    remaining.remove(removed);
+    var selector2 = new RendezvousScanServerSelector();
+    selector2.init(new LoadInitParams(remaining, ONE_SERVER_PROFILE, Map.of()));
+    chosen.forEach((tablet, server) -> {
+      String server2 = select(selector2, tablet);
+      if (server.equals(removed)) {
+        assertNotEquals(removed, server2);
+      } else {
+        assertEquals(server, server2);
+      }
+    });
+  }
+
+  @Test
+  public void testLoadAndBusy() {
+    TabletId tablet = nti("1", "m");
+
+    var selector = new RendezvousScanServerSelector();
+    Map<String,Double> loads = new HashMap<>();
+    selector.init(new LoadInitParams(servers(20), THREE_SERVER_PROFILE, loads));
+    String preferred = select(selector, tablet);
+
+    // find the replica set of the tablet by loading servers until all three were used
+    Set<String> replicas = new HashSet<>();
+    replicas.add(preferred);
+    loads.put(preferred, 10.0);
+    String second = select(selector, tablet);
+    replicas.add(second);
+    loads.put(second, 10.0);
+    String third = select(selector, tablet);
+    replicas.add(third);
+    assertEquals(3, replicas.size());
+
+    // a small load difference should not move the tablet off its preferred server
+    loads.clear();
+    loads.put(preferred, 1.0);
+    assertEquals(preferred, select(selector, tablet));
+
+    // a large one should, to another server in the replica set
+    loads.put(preferred, 50.0);
+    String other = select(selector, tablet);
+    assertNotEquals(preferred, other);
+    assertTrue(replicas.contains(other));
+
+    // a server that was busy for a previous attempt should be skipped
+    loads.clear();
+    Map<TabletId,Collection<? extends ScanServerAttempt>> busy = Map.of(tablet,
+        List.of(new TestScanServerAttempt(preferred, ScanServerAttempt.Result.BUSY)));
+    String afterBusy = selector.selectServers(new SelectorParams(tablet, busy, Map.of()))
+        .getScanServer(tablet);
+    assertNotEquals(preferred, afterBusy);
+    assertTrue(replicas.contains(afterBusy));
+  }
+}
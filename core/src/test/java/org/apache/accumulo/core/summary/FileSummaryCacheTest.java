@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.summary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.summarizers.FamilySummarizer;
+import org.apache.accumulo.core.dataImpl.thrift.TRowRange;
+import org.apache.accumulo.core.summary.SummaryCollection.FileSummary;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+public class FileSummaryCacheTest {
+
+  private static final String FILE = "hdfs://nn1/accumulo/tables/1/t-0001/F0001.rf";
+  private static final List<TRowRange> RANGES =
+      List.of(new TRowRange(ByteBuffer.wrap(new byte[] {'a'}), ByteBuffer.wrap(new byte[] {'m'})));
+
+  private static Map<String,Long> stats(SummaryCollection sc) {
+    return sc.getSummaries().get(0).getStatistics();
+  }
+
+  @Test
+  public void testCachedCopiesAreIndependent() {
+    SummarizerConfiguration conf = SummarizerConfiguration.builder(FamilySummarizer.class).build();
+    Set<SummarizerConfiguration> summarizers = Set.of(conf);
+    FileSummaryCache cache = new FileSummaryCache(Caffeine.newBuilder(), 1_000_000);
+
+    HashMap<String,Long> stats = new HashMap<>();
+    stats.put("c:foo", 9L);
+    SummaryCollection read =
+        new SummaryCollection(Collections.singleton(new FileSummary(conf, stats, false)));
+    cache.put(FILE, RANGES, summarizers, null, read);
+
+    // merging the collection that was read must not change what was cached
+    SummaryCollection other = new SummaryCollection(
+        Collections.singleton(new FileSummary(conf, new HashMap<>(Map.of("c:foo", 5L)), false)));
+    SummaryCollection merged = new SummaryCollection();
+    merged.merge(read, new SummarizerFactory());
+    merged.merge(other, new SummarizerFactory());
+    assertEquals(Map.of("c:foo", 14L), stats(merged));
+
+    SummaryCollection cached = cache.get(FILE, RANGES, summarizers, null);
+    assertEquals(Map.of("c:foo", 9L), stats(cached));
+    assertEquals(1, cached.getTotalFiles());
+    cached.merge(other, new SummarizerFactory());
+    assertEquals(Map.of("c:foo", 9L), stats(cache.get(FILE, RANGES, summarizers, null)));
+
+    // entries are specific to the ranges and summarizers requested
+    assertNull(cache.get(FILE, List.of(), summarizers, null));
+    assertNull(cache.get(FILE, RANGES, Set.of(), null));
+    assertNull(cache.get(FILE, RANGES, summarizers, ".*"));
+  }
+
+  @Test
+  public void testMissingFilesNotCached() {
+    FileSummaryCache cache = new FileSummaryCache(Caffeine.newBuilder(), 1_000_000);
+    cache.put(FILE, RANGES, Set.of(), null, new SummaryCollection(Collections.emptyList(), true));
+    assertNull(cache.get(FILE, RANGES, Set.of(), null));
+  }
+}
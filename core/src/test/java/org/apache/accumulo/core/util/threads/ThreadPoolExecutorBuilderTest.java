@@ -22,6 +22,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -76,4 +77,19 @@ public class ThreadPoolExecutorBuilderTest {
     assertEquals(1, p2.getMaximumPoolSize());
     assertEquals(123L, p2.getKeepAliveTime(MILLISECONDS));
   }
+
+  @Test
+  public void builderVirtualThreadsTest() throws Exception {
+    var p = serverPool.getPoolBuilder("virtual.pool").numCoreThreads(2).useVirtualThreads(true)
+        .build();
+    try {
+      String threadName = p.submit(() -> Thread.currentThread().getName()).get();
+      assertTrue(threadName.startsWith(ThreadPoolNames.ACCUMULO_POOL_PREFIX.poolName), threadName);
+      // falls back to platform threads when the JVM does not support virtual threads
+      assertEquals(VirtualThreadFactory.isSupported(), threadName.contains("-virtual-"),
+          threadName);
+    } finally {
+      p.shutdownNow();
+    }
+  }
 }
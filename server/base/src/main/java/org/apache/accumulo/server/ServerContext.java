@@ -69,6 +69,7 @@ import org.apache.accumulo.server.conf.store.PropStore;
 import org.apache.accumulo.server.conf.store.impl.ZooPropStore;
 import org.apache.accumulo.server.fs.VolumeManager;
 import org.apache.accumulo.server.mem.LowMemoryDetector;
+import org.apache.accumulo.server.metadata.ConditionalMutationMetrics;
 import org.apache.accumulo.server.metadata.ServerAmpleImpl;
 import org.apache.accumulo.server.metrics.MetricsInfoImpl;
 import org.apache.accumulo.server.rpc.SaslServerConnectionParams;
@@ -108,6 +109,7 @@ public class ServerContext extends ClientContext {
   private final Supplier<CryptoServiceFactory> cryptoFactorySupplier;
   private final Supplier<LowMemoryDetector> lowMemoryDetector;
   private final AtomicReference<ServiceLock> serverLock = new AtomicReference<>();
+  private volatile ConditionalMutationMetrics conditionalMutationMetrics = null;
   private final Supplier<MetricsInfo> metricsInfoSupplier;
 
   public ServerContext(SiteConfiguration siteConfig) {
@@ -454,6 +456,12 @@ public class ServerContext extends ClientContext {
     return getClientTimeoutInMillis();
   }
 
+  @Override
+  protected int getTransportPoolMultiplexedConnections() {
+    // servers give each RPC to another server its own connection
+    return 0;
+  }
+
   public AuditedSecurityOperation getSecurityOperation() {
     return securityOperation.get();
   }
@@ -481,6 +489,21 @@ public class ServerContext extends ClientContext {
     serverLock.set(null);
   }
 
+  /**
+   * Sets the metrics that the conditional tablet mutators created from this context record to.
+   * Called by the server that reports them.
+   */
+  public void setConditionalMutationMetrics(ConditionalMutationMetrics metrics) {
+    this.conditionalMutationMetrics = metrics;
+  }
+
+  /**
+   * @return the metrics conditional tablet mutators record to, or null when no server reports them
+   */
+  public ConditionalMutationMetrics getConditionalMutationMetrics() {
+    return conditionalMutationMetrics;
+  }
+
   public MetricsInfo getMetricsInfo() {
     return metricsInfoSupplier.get();
   }
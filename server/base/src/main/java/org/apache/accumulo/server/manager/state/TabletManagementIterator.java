@@ -226,8 +226,10 @@ public class TabletManagementIterator extends WholeRowIterator {
     };
 
     final Set<ManagementAction> actions = new HashSet<>();
+    // every tablet is evaluated on each pass of the tablet group watcher, so avoid parsing files
+    // shared with other tablets again and decoding columns that most tablets do not need
     final TabletMetadata tm =
-        TabletMetadata.convertRow(kvIter, TabletManagement.CONFIGURED_COLUMNS, false, true);
+        TabletMetadata.convertRow(kvIter, TabletManagement.CONFIGURED_COLUMNS, false, true, true);
 
     Exception error = null;
     try {
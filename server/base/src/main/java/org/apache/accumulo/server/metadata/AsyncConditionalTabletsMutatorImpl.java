@@ -18,8 +18,15 @@
  */
 package org.apache.accumulo.server.metadata;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -32,70 +39,139 @@ import org.apache.accumulo.core.metadata.schema.Ample;
 import org.apache.accumulo.core.util.threads.Threads;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
 
+/**
+ * Buffers conditional mutations into batches and processes each batch in a background thread while
+ * the caller continues to add mutations. Up to {@link #DEFAULT_MAX_IN_FLIGHT} batches may be
+ * processed concurrently, once that many batches are in flight adding another mutation waits for
+ * the oldest batch to complete. A batch that mutates a tablet also mutated by an earlier batch
+ * still in flight is not processed until that earlier batch completes, so the mutations of a tablet
+ * are always written in the order they were made. Results are always passed to the consumer in the
+ * thread that calls {@link #mutateTablet(KeyExtent)} or {@link #close()} and in the order the
+ * batches were submitted.
+ */
 public class AsyncConditionalTabletsMutatorImpl implements Ample.AsyncConditionalTabletsMutator {
   private final Consumer<Ample.ConditionalResult> resultsConsumer;
   private final ExecutorService executor;
   private final Supplier<Ample.ConditionalTabletsMutator> mutatorFactory;
-  private Future<Map<KeyExtent,Ample.ConditionalResult>> backgroundProcessing = null;
+  private final Deque<InFlightBatch> backgroundProcessing = new ArrayDeque<>();
+  private final int maxInFlight;
   private Ample.ConditionalTabletsMutator bufferingMutator;
+  private Set<KeyExtent> bufferedExtents = new HashSet<>();
   private long mutatedTablets = 0;
   public static final int BATCH_SIZE = 1000;
+  public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+  private static class InFlightBatch {
+    private final Set<KeyExtent> extents;
+    private final Future<Map<KeyExtent,Ample.ConditionalResult>> future;
+
+    private InFlightBatch(Set<KeyExtent> extents,
+        Future<Map<KeyExtent,Ample.ConditionalResult>> future) {
+      this.extents = extents;
+      this.future = future;
+    }
+  }
 
   @VisibleForTesting
   public AsyncConditionalTabletsMutatorImpl(Consumer<Ample.ConditionalResult> resultsConsumer,
       Supplier<Ample.ConditionalTabletsMutator> mutatorFactory) {
+    this(resultsConsumer, mutatorFactory, DEFAULT_MAX_IN_FLIGHT);
+  }
+
+  public AsyncConditionalTabletsMutatorImpl(Consumer<Ample.ConditionalResult> resultsConsumer,
+      Supplier<Ample.ConditionalTabletsMutator> mutatorFactory, int maxInFlight) {
+    Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be positive : %s",
+        maxInFlight);
     this.resultsConsumer = Objects.requireNonNull(resultsConsumer);
     this.mutatorFactory = mutatorFactory;
+    this.maxInFlight = maxInFlight;
     this.bufferingMutator = mutatorFactory.get();
     var creatorId = Thread.currentThread().getId();
-    this.executor = Executors.newSingleThreadExecutor(runnable -> Threads.createThread(
+    this.executor = Executors.newFixedThreadPool(maxInFlight, runnable -> Threads.createThread(
         "Async conditional tablets mutator background thread, created by : #" + creatorId,
         runnable));
   }
 
+  private void consumeOldest() {
+    try {
+      backgroundProcessing.removeFirst().future.get().values().forEach(resultsConsumer);
+    } catch (InterruptedException | ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void submitBuffered() {
+    // Must copy the references for the background thread because new ones are about to be created.
+    var bufferingMutatorRef = bufferingMutator;
+    var extents = bufferedExtents;
+
+    // Batches in flight that mutate any of the same tablets must complete first, otherwise a later
+    // mutation of a tablet could be written before an earlier one. Those batches were submitted
+    // before this one, so the executor has already started or will start them first.
+    List<Future<Map<KeyExtent,Ample.ConditionalResult>>> predecessors = new ArrayList<>();
+    for (InFlightBatch batch : backgroundProcessing) {
+      if (!Collections.disjoint(batch.extents, extents)) {
+        predecessors.add(batch.future);
+      }
+    }
+
+    backgroundProcessing.addLast(new InFlightBatch(extents, executor.submit(() -> {
+      try {
+        for (var predecessor : predecessors) {
+          // if an earlier batch failed this batch is not processed, the failure of the earlier
+          // batch is reported first
+          predecessor.get();
+        }
+        return bufferingMutatorRef.process();
+      } finally {
+        bufferingMutatorRef.close();
+      }
+    })));
+  }
+
   @Override
   public Ample.OperationRequirements mutateTablet(KeyExtent extent) {
     if (mutatedTablets > BATCH_SIZE) {
-      if (backgroundProcessing != null) {
-        // a previous batch of mutations was submitted for processing so wait on it.
-        try {
-          backgroundProcessing.get().values().forEach(resultsConsumer);
-        } catch (InterruptedException | ExecutionException e) {
-          throw new IllegalStateException(e);
-        }
+      // pass along the results of any batches that are already done and wait on the oldest batch
+      // if the max number of batches are in flight
+      while (!backgroundProcessing.isEmpty() && (backgroundProcessing.size() >= maxInFlight
+          || backgroundProcessing.peekFirst().isDone())) {
+        consumeOldest();
       }
 
-      // Spin up processing of the mutations submitted so far in a background thread. Must copy the
-      // reference for the background thread because a new one is about to be created.
-      var bufferingMutatorRef = bufferingMutator;
-      backgroundProcessing = executor.submit(() -> {
-        var result = bufferingMutatorRef.process();
-        bufferingMutatorRef.close();
-        return result;
-      });
+      // Spin up processing of the mutations submitted so far in a background thread.
+      submitBuffered();
 
       bufferingMutator = mutatorFactory.get();
+      bufferedExtents = new HashSet<>();
       mutatedTablets = 0;
     }
     mutatedTablets++;
+    bufferedExtents.add(extent);
     return bufferingMutator.mutateTablet(extent);
   }
 
   @Override
   public void close() {
-    if (backgroundProcessing != null) {
-      // a previous batch of mutations was submitted for processing so wait on it.
-      try {
-        backgroundProcessing.get().values().forEach(resultsConsumer);
-      } catch (InterruptedException | ExecutionException e) {
-        throw new IllegalStateException(e);
+    try {
+      if (mutatedTablets > 0) {
+        // process the last batch in the background too so it overlaps with any in flight batches
+        submitBuffered();
+      } else {
+        bufferingMutator.close();
+      }
+      while (!backgroundProcessing.isEmpty()) {
+        consumeOldest();
       }
+    } finally {
+      // When a batch failed other batches may still be in flight. Wait for them so that nothing is
+      // written after close returns, batches that depend on the failed batch fail without writing.
+      executor.shutdown();
+      Uninterruptibles.awaitTerminationUninterruptibly(executor);
     }
-    // process anything not processed so far
-    bufferingMutator.process().values().forEach(resultsConsumer);
-    bufferingMutator.close();
-    executor.shutdownNow();
   }
 
 }
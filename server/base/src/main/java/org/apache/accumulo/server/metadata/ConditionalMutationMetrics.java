@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.metadata;
+
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_AMPLE_CONDITIONAL_MUTATIONS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_AMPLE_CONDITIONAL_THROUGHPUT;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_AMPLE_CONDITIONAL_UNKNOWN;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.accumulo.core.metrics.MetricsProducer;
+import org.apache.accumulo.server.ServerContext;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks the conditional mutations written to the metadata store by
+ * {@link ConditionalTabletsMutatorImpl}. The manager creates an instance, reports it and sets it on
+ * its {@link ServerContext}, which the mutators created from that context record to. Mutators of
+ * other servers do not record anything.
+ */
+public class ConditionalMutationMetrics implements MetricsProducer {
+
+  private final AtomicLong mutations = new AtomicLong(0);
+  private final AtomicLong unknown = new AtomicLong(0);
+  private final AtomicLong throughput = new AtomicLong(0);
+
+  /**
+   * Records a batch of conditional mutations that was written, including any retries of mutations
+   * with an unknown status.
+   */
+  void batchWritten(int count, long unknownRetries, long durationNanos) {
+    mutations.addAndGet(count);
+    unknown.addAndGet(unknownRetries);
+    if (durationNanos > 0) {
+      throughput.set(count * TimeUnit.SECONDS.toNanos(1) / durationNanos);
+    }
+  }
+
+  public long getMutations() {
+    return mutations.get();
+  }
+
+  public long getUnknown() {
+    return unknown.get();
+  }
+
+  public long getThroughput() {
+    return throughput.get();
+  }
+
+  @Override
+  public void registerMetrics(MeterRegistry registry) {
+    FunctionCounter
+        .builder(MANAGER_AMPLE_CONDITIONAL_MUTATIONS.getName(), mutations, AtomicLong::get)
+        .description(MANAGER_AMPLE_CONDITIONAL_MUTATIONS.getDescription()).register(registry);
+    FunctionCounter.builder(MANAGER_AMPLE_CONDITIONAL_UNKNOWN.getName(), unknown, AtomicLong::get)
+        .description(MANAGER_AMPLE_CONDITIONAL_UNKNOWN.getDescription()).register(registry);
+    Gauge.builder(MANAGER_AMPLE_CONDITIONAL_THROUGHPUT.getName(), throughput, AtomicLong::get)
+        .description(MANAGER_AMPLE_CONDITIONAL_THROUGHPUT.getDescription()).register(registry);
+  }
+}
@@ -169,6 +169,8 @@ public class ConditionalTabletsMutatorImpl implements Ample.ConditionalTabletsMu
   }
 
   private Iterator<ConditionalWriter.Result> writeMutations(ConditionalWriter conditionalWriter) {
+    long startTime = System.nanoTime();
+    long unknownRetries = 0;
     var results = conditionalWriter.write(mutations.iterator());
 
     List<ConditionalWriter.Result> resultsList = new ArrayList<>();
@@ -187,6 +189,7 @@ public class ConditionalTabletsMutatorImpl implements Ample.ConditionalTabletsMu
         throw new RuntimeException(e);
       }
 
+      unknownRetries += unknownResults.size();
       results = conditionalWriter
           .write(unknownResults.stream().map(ConditionalWriter.Result::getMutation).iterator());
 
@@ -196,6 +199,11 @@ public class ConditionalTabletsMutatorImpl implements Ample.ConditionalTabletsMu
       partitionResults(results, resultsList, unknownResults);
     }
 
+    ConditionalMutationMetrics metrics = context.getConditionalMutationMetrics();
+    if (metrics != null) {
+      metrics.batchWritten(mutations.size(), unknownRetries, System.nanoTime() - startTime);
+    }
+
     return resultsList.iterator();
   }
 
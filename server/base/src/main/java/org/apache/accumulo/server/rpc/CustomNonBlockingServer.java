@@ -126,7 +126,13 @@ public class CustomNonBlockingServer extends THsHaServer {
       // On invoke() set the clientAddress on the ThreadLocal so that it can be accessed elsewhere
       // in the same thread that called invoke() on the buffer
       TServerUtils.clientAddress.set(clientAddress);
-      super.invoke();
+      // lets MultiplexedConnectionProcessor write responses directly to the connection
+      MultiplexedConnectionProcessor.nonblockingTransport.set(trans_);
+      try {
+        super.invoke();
+      } finally {
+        MultiplexedConnectionProcessor.nonblockingTransport.remove();
+      }
     }
 
     @Override
@@ -53,8 +53,9 @@ public class CustomThreadedSelectorServer extends TThreadedSelectorServer {
   protected Runnable getRunnable(FrameBuffer frameBuffer) {
     return () -> {
 
+      TNonblockingTransport transport = null;
       try {
-        TNonblockingTransport transport = getTransport(frameBuffer);
+        transport = getTransport(frameBuffer);
 
         if (transport instanceof TNonblockingSocket) {
           // This block of code makes the client address available to the server side code that
@@ -68,7 +69,13 @@ public class CustomThreadedSelectorServer extends TThreadedSelectorServer {
         LoggerFactory.getLogger(CustomThreadedSelectorServer.class)
             .warn("Failed to get client address ", e);
       }
-      frameBuffer.invoke();
+      // lets MultiplexedConnectionProcessor write responses directly to the connection
+      MultiplexedConnectionProcessor.nonblockingTransport.set(transport);
+      try {
+        frameBuffer.invoke();
+      } finally {
+        MultiplexedConnectionProcessor.nonblockingTransport.remove();
+      }
     };
   }
 
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.rpc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import org.apache.accumulo.core.rpc.MultiplexedConnection;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TNonblockingTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TProcessor} that also serves requests sent over a {@link MultiplexedConnection}. A frame
+ * that starts with {@link MultiplexedConnection#FRAME_MARKER} has its header removed and the
+ * request is run on the executor of the server, so the next frame of the connection can be read
+ * while it runs. The response is written with the same header as soon as it is ready, so the client
+ * can match it to the request, and a slow request does not hold up the requests sent after it. A
+ * response is always written for a multiplexed request, even for one way RPCs, so the client can
+ * tell when it is done. Other frames are passed to the wrapped processor unchanged.
+ *
+ * <p>
+ * This reads the first byte of each frame and then replays the frame from the buffer of the input
+ * transport, so the input transport must be framed. Responses to multiplexed requests are written
+ * directly to the connection, through a {@link NonblockingResponseQueue} to the socket of a
+ * non-blocking server that set {@link #nonblockingTransport} or else to the output transport of the
+ * blocking server. Clients never send multiplexed and other frames on the same connection, so
+ * these writes do not interleave with responses written by the server.
+ */
+public class MultiplexedConnectionProcessor implements TProcessor {
+
+  private static final Logger log = LoggerFactory.getLogger(MultiplexedConnectionProcessor.class);
+
+  /**
+   * The connection that non-blocking servers are processing a frame for on the current thread.
+   */
+  static final ThreadLocal<TNonblockingTransport> nonblockingTransport = new ThreadLocal<>();
+
+  private final TProcessor processor;
+  private final TProtocolFactory protocolFactory;
+  private final Executor executor;
+
+  public MultiplexedConnectionProcessor(TProcessor processor, TProtocolFactory protocolFactory,
+      Executor executor) {
+    this.processor = processor;
+    this.protocolFactory = protocolFactory;
+    this.executor = executor;
+  }
+
+  @Override
+  public void process(TProtocol in, TProtocol out) throws TException {
+    TTransport inTransport = in.getTransport();
+
+    byte[] first = new byte[1];
+    inTransport.readAll(first, 0, 1);
+
+    byte[] frame = inTransport.getBuffer();
+    if (frame == null) {
+      throw new TTransportException("Multiplexed connections require a framed transport");
+    }
+    int position = inTransport.getBufferPosition();
+    int remaining = inTransport.getBytesRemainingInBuffer();
+    inTransport.consumeBuffer(remaining);
+
+    if (first[0] != MultiplexedConnection.FRAME_MARKER) {
+      var request = new TMemoryInputTransport(inTransport.getConfiguration(), frame, position - 1,
+          remaining + 1);
+      processor.process(protocolFactory.getProtocol(request), out);
+      return;
+    }
+
+    int headerRemaining = MultiplexedConnection.HEADER_LENGTH - 1;
+    if (remaining < headerRemaining) {
+      throw new TTransportException(TTransportException.CORRUPTED_DATA,
+          "Multiplexed frame is shorter than its header");
+    }
+    ByteBuffer header = ByteBuffer.wrap(frame, position, headerRemaining);
+    int streamId = header.getInt();
+    int length = header.getInt();
+    if (length != remaining - headerRemaining) {
+      throw new TTransportException(TTransportException.CORRUPTED_DATA,
+          "Multiplexed frame length " + length + " does not match the frame");
+    }
+
+    // the server reuses the frame buffer for the next frame
+    int start = position + headerRemaining;
+    byte[] request = Arrays.copyOfRange(frame, start, start + length);
+    TConfiguration config = inTransport.getConfiguration();
+    TNonblockingTransport connection = nonblockingTransport.get();
+    ResponseWriter writer = connection == null ? new BlockingResponseWriter(out.getTransport())
+        : new NonblockingResponseWriter(connection);
+    String client = TServerUtils.clientAddress.get();
+
+    executor.execute(() -> {
+      TServerUtils.clientAddress.set(client);
+      var response = new TMemoryBuffer(config, 1024);
+      try {
+        processor.process(protocolFactory.getProtocol(new TMemoryInputTransport(config, request)),
+            protocolFactory.getProtocol(response));
+        writer.write(streamId, response.getArray(), response.length());
+      } catch (TException | RuntimeException e) {
+        // the client would wait for the response forever, so fail all of its requests instead
+        log.warn("Failed to process multiplexed request from {}, closing the connection", client,
+            e);
+        writer.close();
+      } finally {
+        TServerUtils.clientAddress.remove();
+      }
+    });
+  }
+
+  private interface ResponseWriter {
+    void write(int streamId, byte[] response, int length) throws TTransportException;
+
+    void close();
+  }
+
+  /**
+   * Writes responses to the framed output transport of a blocking server.
+   */
+  private static class BlockingResponseWriter implements ResponseWriter {
+    private final TTransport transport;
+
+    BlockingResponseWriter(TTransport transport) {
+      this.transport = transport;
+    }
+
+    @Override
+    public void write(int streamId, byte[] response, int length) throws TTransportException {
+      synchronized (transport) {
+        transport.write(MultiplexedConnection.createHeader(streamId, length));
+        transport.write(response, 0, length);
+        transport.flush();
+      }
+    }
+
+    @Override
+    public void close() {
+      transport.close();
+    }
+  }
+
+  /**
+   * Writes responses, with the frame size that the framed transport of the client expects, to the
+   * socket of a non-blocking server. The server reads from the socket while this writes to it.
+   */
+  private static class NonblockingResponseWriter implements ResponseWriter {
+    private final TNonblockingTransport transport;
+
+    NonblockingResponseWriter(TNonblockingTransport transport) {
+      this.transport = transport;
+    }
+
+    @Override
+    public void write(int streamId, byte[] response, int length) throws TTransportException {
+      ByteBuffer buffer = ByteBuffer.allocate(4 + MultiplexedConnection.HEADER_LENGTH + length);
+      buffer.putInt(MultiplexedConnection.HEADER_LENGTH + length);
+      buffer.put(MultiplexedConnection.createHeader(streamId, length));
+      buffer.put(response, 0, length);
+      buffer.flip();
+      try {
+        NonblockingResponseQueue.getInstance().write(transport, buffer);
+      } catch (IOException e) {
+        throw new TTransportException(e);
+      }
+    }
+
+    @Override
+    public void close() {
+      transport.close();
+    }
+  }
+}
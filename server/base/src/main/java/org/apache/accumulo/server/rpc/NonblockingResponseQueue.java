@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.rpc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.accumulo.core.util.threads.Threads;
+import org.apache.thrift.transport.TNonblockingSocket;
+import org.apache.thrift.transport.TNonblockingTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * Writes the responses to multiplexed requests to the connections of the non-blocking servers. A
+ * response is written right away by the thread that ran the request if the socket takes all of it.
+ * Otherwise the rest is queued, and a thread that waits on a selector of its own for the socket to
+ * become writable writes it, so handler threads never wait on a slow client. The selector of the
+ * server keeps reading requests from the same socket.
+ */
+class NonblockingResponseQueue {
+
+  private static final Logger log = LoggerFactory.getLogger(NonblockingResponseQueue.class);
+
+  private static NonblockingResponseQueue instance = null;
+
+  static synchronized NonblockingResponseQueue getInstance() {
+    if (instance == null) {
+      try {
+        instance = new NonblockingResponseQueue();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to open a selector", e);
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * The responses waiting to be written to one connection, guarded by the connection.
+   */
+  private static class Connection {
+    private final TNonblockingTransport transport;
+    private final SocketChannel channel;
+    private final Deque<ByteBuffer> queued = new ArrayDeque<>();
+    // only used by the writer thread
+    private SelectionKey key = null;
+    // true while the writer thread waits for the socket to become writable
+    private boolean waiting = false;
+
+    Connection(TNonblockingTransport transport) {
+      this.transport = transport;
+      this.channel = ((TNonblockingSocket) transport).getSocketChannel();
+    }
+  }
+
+  // the entries of connections are dropped once the server no longer references them
+  private final Map<TNonblockingTransport,Connection> connections =
+      new MapMaker().weakKeys().makeMap();
+  private final Queue<Connection> toWatch = new ConcurrentLinkedQueue<>();
+  private final Selector selector;
+
+  private NonblockingResponseQueue() throws IOException {
+    selector = Selector.open();
+    Threads.createThread("Multiplexed response writer", this::run).start();
+  }
+
+  /**
+   * Writes a frame to the connection after the frames written before it, without waiting for the
+   * socket.
+   */
+  void write(TNonblockingTransport transport, ByteBuffer frame) throws IOException {
+    Connection connection = connections.computeIfAbsent(transport, Connection::new);
+    synchronized (connection) {
+      if (connection.queued.isEmpty()) {
+        connection.channel.write(frame);
+        if (!frame.hasRemaining()) {
+          return;
+        }
+      }
+      connection.queued.add(frame);
+      if (!connection.waiting) {
+        connection.waiting = true;
+        toWatch.add(connection);
+        selector.wakeup();
+      }
+    }
+  }
+
+  private void run() {
+    while (true) {
+      try {
+        selector.select();
+      } catch (IOException e) {
+        log.error("Failed to wait for connections to write responses to", e);
+        continue;
+      }
+      Connection connection;
+      while ((connection = toWatch.poll()) != null) {
+        watch(connection);
+      }
+      for (SelectionKey key : selector.selectedKeys()) {
+        writeQueued((Connection) key.attachment());
+      }
+      selector.selectedKeys().clear();
+    }
+  }
+
+  private void watch(Connection connection) {
+    try {
+      if (connection.key == null) {
+        connection.key = connection.channel.register(selector, SelectionKey.OP_WRITE, connection);
+      } else {
+        connection.key.interestOps(SelectionKey.OP_WRITE);
+      }
+    } catch (IOException | CancelledKeyException e) {
+      fail(connection, e);
+    }
+  }
+
+  private void writeQueued(Connection connection) {
+    synchronized (connection) {
+      try {
+        while (!connection.queued.isEmpty()) {
+          ByteBuffer frame = connection.queued.peek();
+          connection.channel.write(frame);
+          if (frame.hasRemaining()) {
+            // the socket is full again, wait until it is writable
+            return;
+          }
+          connection.queued.poll();
+        }
+        connection.key.interestOps(0);
+        connection.waiting = false;
+      } catch (IOException | CancelledKeyException e) {
+        fail(connection, e);
+      }
+    }
+  }
+
+  private void fail(Connection connection, Exception e) {
+    log.debug("Failed to write responses to multiplexed requests, closing the connection", e);
+    synchronized (connection) {
+      connection.queued.clear();
+      connection.waiting = false;
+    }
+    connections.remove(connection.transport);
+    connection.transport.close();
+  }
+}
@@ -245,7 +245,8 @@ public class TServerUtils {
         conf, timeBetweenThreadChecks);
 
     options.executorService(pool);
-    options.processorFactory(new TProcessorFactory(processor));
+    options.processorFactory(new TProcessorFactory(
+        new MultiplexedConnectionProcessor(processor, protocolFactory, pool)));
 
     if (address.getPort() == 0) {
       address = HostAndPort.fromParts(address.getHost(), transport.getPort());
@@ -280,7 +281,8 @@ public class TServerUtils {
         conf, timeBetweenThreadChecks);
 
     options.executorService(pool);
-    options.processorFactory(new TProcessorFactory(processor));
+    options.processorFactory(new TProcessorFactory(
+        new MultiplexedConnectionProcessor(processor, protocolFactory, pool)));
 
     if (address.getPort() == 0) {
       address = HostAndPort.fromParts(address.getHost(), transport.getPort());
@@ -309,7 +311,9 @@ public class TServerUtils {
     String poolName = ACCUMULO_POOL_PREFIX.poolName + serverName.toLowerCase() + ".client";
     final ThreadPoolExecutor pool =
         ThreadPools.getServerThreadPools().getPoolBuilder(poolName).numCoreThreads(executorThreads)
-            .withTimeOut(threadTimeOut, MILLISECONDS).enableThreadPoolMetrics().build();
+            .withTimeOut(threadTimeOut, MILLISECONDS)
+            .useVirtualThreads(conf.getBoolean(Property.RPC_SERVER_VIRTUAL_THREADS))
+            .enableThreadPoolMetrics().build();
     // periodically adjust the number of threads we need by checking how busy our threads are
     ThreadPools.watchCriticalFixedDelay(conf, timeBetweenThreadChecks, () -> {
       // there is a minor race condition between sampling the current state of the thread pool
@@ -349,7 +353,9 @@ public class TServerUtils {
     TServerSocket transport = new TServerSocket(args);
     ThreadPoolExecutor pool = createSelfResizingThreadPool(serverName, numThreads, threadTimeOut,
         conf, timeBetweenThreadChecks);
-    TThreadPoolServer server = createTThreadPoolServer(transport, processor,
+    TThreadPoolServer server = createTThreadPoolServer(transport,
+        createBlockingMultiplexedProcessor(processor, protocolFactory, serverName, numThreads,
+            threadTimeOut, conf, timeBetweenThreadChecks),
         ThriftUtil.transportFactory(maxMessageSize), protocolFactory, pool);
 
     if (address.getPort() == 0) {
@@ -362,6 +368,19 @@ public class TServerUtils {
 
   }
 
+  /**
+   * A {@link TThreadPoolServer} keeps a thread of its pool for each open connection, so the
+   * requests of multiplexed connections run on a pool of their own. Otherwise they would wait
+   * behind the connections for threads of the server's pool.
+   */
+  private static MultiplexedConnectionProcessor createBlockingMultiplexedProcessor(
+      TProcessor processor, TProtocolFactory protocolFactory, String serverName, int numThreads,
+      long threadTimeOut, AccumuloConfiguration conf, long timeBetweenThreadChecks) {
+    ThreadPoolExecutor pool = createSelfResizingThreadPool(serverName + "-multiplexed",
+        numThreads, threadTimeOut, conf, timeBetweenThreadChecks);
+    return new MultiplexedConnectionProcessor(processor, protocolFactory, pool);
+  }
+
   /**
    * Create a {@link TThreadPoolServer} with the provided server transport, processor and transport
    * factory.
@@ -460,7 +479,9 @@ public class TServerUtils {
     ThreadPoolExecutor pool = createSelfResizingThreadPool(serverName, numThreads, threadTimeOut,
         conf, timeBetweenThreadChecks);
 
-    return new ServerAddress(createTThreadPoolServer(transport, processor,
+    return new ServerAddress(createTThreadPoolServer(transport,
+        createBlockingMultiplexedProcessor(processor, protocolFactory, serverName, numThreads,
+            threadTimeOut, conf, timeBetweenThreadChecks),
         ThriftUtil.transportFactory(), protocolFactory, pool), address);
   }
 
@@ -469,6 +490,9 @@ public class TServerUtils {
       final String serverName, final int numThreads, final long threadTimeOut,
       final AccumuloConfiguration conf, long timeBetweenThreadChecks, int backlog)
       throws TTransportException {
+    // SASL transports do their own framing, so clients do not multiplex connections when using it
+    // and the processor is not wrapped in a MultiplexedConnectionProcessor.
+
     // We'd really prefer to use THsHaServer (or similar) to avoid 1 RPC == 1 Thread that the
     // TThreadPoolServer does,
     // but sadly this isn't the case. Because TSaslTransport needs to issue a handshake when it
@@ -191,6 +191,20 @@ public class SplitUtils {
 
   public static SortedSet<Text> findSplits(ServerContext context, TabletMetadata tabletMetadata) {
     var tableConf = context.getTableConfiguration(tabletMetadata.getTableId());
+    try (var indexIterable = new IndexIterable(context, tableConf, tabletMetadata.getFiles(),
+        tabletMetadata.getEndRow(), tabletMetadata.getPrevEndRow())) {
+      return findSplits(context, tabletMetadata, indexIterable);
+    }
+  }
+
+  /**
+   * Finds split points for a tablet using the supplied index keys. The index keys are only iterated
+   * if the tablet needs to split, and must be sorted and fall within the tablet. When the index
+   * keys are a {@link Collection} they are only iterated once.
+   */
+  public static SortedSet<Text> findSplits(ServerContext context, TabletMetadata tabletMetadata,
+      Iterable<Key> tabletIndex) {
+    var tableConf = context.getTableConfiguration(tabletMetadata.getTableId());
     var threshold = tableConf.getAsBytes(Property.TABLE_SPLIT_THRESHOLD);
     var maxEndRowSize = tableConf.getAsBytes(Property.TABLE_MAX_END_ROW_SIZE);
 
@@ -207,22 +221,18 @@ public class SplitUtils {
       return new TreeSet<>();
     }
 
-    try (var indexIterable = new IndexIterable(context, tableConf, tabletMetadata.getFiles(),
-        tabletMetadata.getEndRow(), tabletMetadata.getPrevEndRow())) {
-
-      Predicate<ByteSequence> splitPredicate = splitCandidate -> {
-        if (splitCandidate.length() >= maxEndRowSize) {
-          log.warn("Ignoring split point for {} of length {}", tabletMetadata.getExtent(),
-              splitCandidate.length());
-          return false;
-        }
+    Predicate<ByteSequence> splitPredicate = splitCandidate -> {
+      if (splitCandidate.length() >= maxEndRowSize) {
+        log.warn("Ignoring split point for {} of length {}", tabletMetadata.getExtent(),
+            splitCandidate.length());
+        return false;
+      }
 
-        return true;
-      };
+      return true;
+    };
 
-      return findSplits(indexIterable, calculateDesiredSplits(estimatedSize, threshold),
-          splitPredicate);
-    }
+    return findSplits(tabletIndex, calculateDesiredSplits(estimatedSize, threshold),
+        splitPredicate);
   }
 
   private static int longestCommonLength(ByteSequence bs1, ByteSequence bs2) {
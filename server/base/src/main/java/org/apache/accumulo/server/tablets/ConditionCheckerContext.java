@@ -105,41 +105,66 @@ public class ConditionCheckerContext {
     }
 
     var iteratorBuilder = IteratorBuilder.builder(mic.mergedIters).opts(mic.mergedItersOpts)
-        .env(tie).useClassLoader(context).useClassCache(true).build();
+        .env(tie).useClassLoader(context).build();
     return IteratorConfigUtil.loadIterators(systemIter, iteratorBuilder);
   }
 
-  boolean checkConditions(SortedKeyValueIterator<Key,Value> systemIter,
-      ServerConditionalMutation scm) throws IOException {
-    boolean add = true;
+  /**
+   * A condition of a mutation. Sorting these puts conditions that use the same iterators next to
+   * each other in key order.
+   */
+  private static class PendingCondition implements Comparable<PendingCondition> {
+    final int mutation;
+    final byte[] row;
+    final TCondition tc;
 
-    for (TCondition tc : scm.getConditions()) {
+    PendingCondition(int mutation, byte[] row, TCondition tc) {
+      this.mutation = mutation;
+      this.row = row;
+      this.tc = tc;
+    }
+
+    @Override
+    public int compareTo(PendingCondition o) {
+      int cmp = Arrays.compareUnsigned(tc.getIterators(), o.tc.getIterators());
+      if (cmp == 0) {
+        cmp = Arrays.compareUnsigned(row, o.row);
+      }
+      if (cmp == 0) {
+        cmp = Arrays.compareUnsigned(tc.getCf(), o.tc.getCf());
+      }
+      if (cmp == 0) {
+        cmp = Arrays.compareUnsigned(tc.getCq(), o.tc.getCq());
+      }
+      if (cmp == 0) {
+        cmp = Arrays.compareUnsigned(tc.getCv(), o.tc.getCv());
+      }
+      if (cmp == 0) {
+        cmp = Boolean.compare(tc.hasTimestamp, o.tc.hasTimestamp);
+      }
+      if (cmp == 0 && tc.hasTimestamp) {
+        // newer timestamps sort first in a key
+        cmp = Long.compare(o.tc.getTs(), tc.getTs());
+      }
+      return cmp;
+    }
 
-      Range range;
+    Range getRange() {
       if (tc.hasTimestamp) {
-        range = Range.exact(new Text(scm.getRow()), new Text(tc.getCf()), new Text(tc.getCq()),
+        return Range.exact(new Text(row), new Text(tc.getCf()), new Text(tc.getCq()),
             new Text(tc.getCv()), tc.getTs());
       } else {
-        range = Range.exact(new Text(scm.getRow()), new Text(tc.getCf()), new Text(tc.getCq()),
+        return Range.exact(new Text(row), new Text(tc.getCf()), new Text(tc.getCq()),
             new Text(tc.getCv()));
       }
+    }
 
-      SortedKeyValueIterator<Key,Value> iter = buildIterator(systemIter, tc);
-
-      ByteSequence cf = new ArrayByteSequence(tc.getCf());
-      iter.seek(range, Collections.singleton(cf), true);
-      Value val = null;
-      if (iter.hasTop()) {
-        val = iter.getTopValue();
-      }
-
-      if ((val == null ^ tc.getVal() == null)
-          || (val != null && !Arrays.equals(tc.getVal(), val.get()))) {
-        add = false;
-        break;
+    boolean matches(Value val) {
+      if (val == null || tc.getVal() == null) {
+        return val == null && tc.getVal() == null;
       }
+      return Arrays.equals(tc.getVal(), val.get());
     }
-    return add;
   }
 
   public class ConditionChecker {
@@ -156,15 +181,70 @@ public class ConditionCheckerContext {
       this.results = results;
     }
 
+    /**
+     * Checks the conditions of all mutations in a single pass. The conditions of all mutations are
+     * sorted by iterator configuration and then by key, so the iterator stack for each distinct
+     * configuration is built once and only ever seeks forward, which lets the underlying files
+     * avoid going back to their index. Consecutive conditions that read the same key (like many
+     * mutations comparing against the same column) are answered from the previous read without
+     * seeking again, and the remaining conditions of a mutation are skipped once one fails.
+     */
     public void check(SortedKeyValueIterator<Key,Value> systemIter) throws IOException {
       checkArgument(!checked, "check() method should only be called once");
       checked = true;
 
-      for (ServerConditionalMutation scm : conditionsToCheck) {
-        if (checkConditions(systemIter, scm)) {
-          okMutations.add(scm);
+      List<PendingCondition> pending = new ArrayList<>();
+      for (int i = 0; i < conditionsToCheck.size(); i++) {
+        ServerConditionalMutation scm = conditionsToCheck.get(i);
+        for (TCondition tc : scm.getConditions()) {
+          pending.add(new PendingCondition(i, scm.getRow(), tc));
+        }
+      }
+      Collections.sort(pending);
+
+      boolean[] rejected = new boolean[conditionsToCheck.size()];
+      Map<ByteSequence,SortedKeyValueIterator<Key,Value>> iterators = new HashMap<>();
+      PendingCondition prev = null;
+      Value prevVal = null;
+
+      for (PendingCondition pc : pending) {
+        if (rejected[pc.mutation]) {
+          continue;
+        }
+
+        Value val;
+        if (prev != null && prev.compareTo(pc) == 0) {
+          val = prevVal;
         } else {
+          ByteSequence iterKey = new ArrayByteSequence(pc.tc.getIterators());
+          SortedKeyValueIterator<Key,Value> iter = iterators.get(iterKey);
+          if (iter == null) {
+            iter = buildIterator(systemIter, pc.tc);
+            iterators.put(iterKey, iter);
+          }
+
+          ByteSequence cf = new ArrayByteSequence(pc.tc.getCf());
+          iter.seek(pc.getRange(), Collections.singleton(cf), true);
+          val = null;
+          if (iter.hasTop()) {
+            // copy the value because the iterator may reuse it when seeked again
+            val = new Value(iter.getTopValue());
+          }
+          prev = pc;
+          prevVal = val;
+        }
+
+        if (!pc.matches(val)) {
+          rejected[pc.mutation] = true;
+        }
+      }
+
+      for (int i = 0; i < conditionsToCheck.size(); i++) {
+        ServerConditionalMutation scm = conditionsToCheck.get(i);
+        if (rejected[i]) {
           results.add(new TCMResult(scm.getID(), TCMStatus.REJECTED));
+        } else {
+          okMutations.add(scm);
         }
       }
     }
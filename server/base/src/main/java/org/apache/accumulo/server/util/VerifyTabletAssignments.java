@@ -190,7 +190,7 @@ public class VerifyTabletAssignments {
     List<TColumn> emptyListColumn = Collections.emptyList();
     InitialMultiScan is = client.startMultiScan(tinfo, context.rpcCreds(), batch, emptyListColumn,
         emptyListIterInfo, emptyMapSMapSS, Authorizations.EMPTY.getAuthorizationsBB(), false, null,
-        0L, null, null, 0L);
+        0L, null, null, 0L, false);
     if (is.result.more) {
       MultiScanResult result = client.continueMultiScan(tinfo, is.scanID, 0L);
       checkFailures(entry.getKey(), failures, result);
@@ -146,6 +146,13 @@ public class TabletManagementTest {
     assertEquals(entries, tabletMetadata.getKeyValues().stream().collect(
         Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> b, TreeMap::new)));
     assertEquals(actions, tmi.getActions());
+
+    // the tablet metadata uses the compact representation, which must return the same files
+    var tf1 = new ReferencedTabletFile(new Path("hdfs://nn1/acc/tables/1/t-0001/df1.rf")).insert();
+    var tf2 = new ReferencedTabletFile(new Path("hdfs://nn1/acc/tables/1/t-0001/df2.rf")).insert();
+    assertEquals(Map.of(tf1, new DataFileValue(555, 23), tf2, new DataFileValue(234, 13)),
+        tabletMetadata.getFilesMap());
+    assertEquals(Set.of(tf1, tf2), tabletMetadata.getFiles());
   }
 
   @Test
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.schema.Ample;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class AsyncConditionalTabletsMutatorImplTest {
+
+  // a mutator that accepts every tablet and tracks how many batches are processed concurrently
+  private static class TestMutator implements Ample.ConditionalTabletsMutator {
+    private final List<KeyExtent> extents = new ArrayList<>();
+    private final AtomicInteger concurrent;
+    private final AtomicInteger maxConcurrent;
+    private final int id;
+    private final long sleepMillis;
+    private final boolean fail;
+    private final List<String> written;
+    private final AtomicInteger closed;
+
+    TestMutator(AtomicInteger concurrent, AtomicInteger maxConcurrent) {
+      this(concurrent, maxConcurrent, 0, 10, false, Collections.synchronizedList(new ArrayList<>()),
+          new AtomicInteger());
+    }
+
+    TestMutator(AtomicInteger concurrent, AtomicInteger maxConcurrent, int id, long sleepMillis,
+        boolean fail, List<String> written, AtomicInteger closed) {
+      this.concurrent = concurrent;
+      this.maxConcurrent = maxConcurrent;
+      this.id = id;
+      this.sleepMillis = sleepMillis;
+      this.fail = fail;
+      this.written = written;
+      this.closed = closed;
+    }
+
+    @Override
+    public Ample.OperationRequirements mutateTablet(KeyExtent extent) {
+      extents.add(extent);
+      return null;
+    }
+
+    @Override
+    public Map<KeyExtent,Ample.ConditionalResult> process() {
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(sleepMillis);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      } finally {
+        concurrent.decrementAndGet();
+      }
+      if (fail) {
+        throw new IllegalStateException("batch " + id + " failed");
+      }
+      Map<KeyExtent,Ample.ConditionalResult> results = new LinkedHashMap<>();
+      for (KeyExtent extent : extents) {
+        written.add(id + ":" + extent.endRow());
+        results.put(extent, new Ample.ConditionalResult() {
+          @Override
+          public Status getStatus() {
+            return Status.ACCEPTED;
+          }
+
+          @Override
+          public KeyExtent getExtent() {
+            return extent;
+          }
+
+          @Override
+          public TabletMetadata readMetadata() {
+            return null;
+          }
+        });
+      }
+      return results;
+    }
+
+    @Override
+    public void close() {
+      closed.incrementAndGet();
+    }
+  }
+
+  private static KeyExtent extent(int i) {
+    return new KeyExtent(TableId.of("1"), new Text(String.format("%08d", i + 1)),
+        new Text(String.format("%08d", i)));
+  }
+
+  @Test
+  public void testResultsInOrder() {
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    List<KeyExtent> seen = new ArrayList<>();
+    Thread caller = Thread.currentThread();
+
+    List<KeyExtent> expected = new ArrayList<>();
+    try (var mutator = new AsyncConditionalTabletsMutatorImpl(result -> {
+      // results should always be passed to the consumer in the callers thread
+      assertEquals(caller, Thread.currentThread());
+      seen.add(result.getExtent());
+    }, () -> new TestMutator(concurrent, maxConcurrent), 3)) {
+      for (int i = 0; i < AsyncConditionalTabletsMutatorImpl.BATCH_SIZE * 10; i++) {
+        var extent = new KeyExtent(TableId.of("1"), new Text(String.format("%08d", i + 1)),
+            new Text(String.format("%08d", i)));
+        expected.add(extent);
+        mutator.mutateTablet(extent);
+      }
+    }
+
+    assertEquals(expected, seen);
+    assertTrue(maxConcurrent.get() <= 3, "max concurrent " + maxConcurrent.get());
+  }
+
+  @Test
+  public void testSameTabletOrdered() {
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    List<String> written = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger closed = new AtomicInteger();
+    List<KeyExtent> seen = new ArrayList<>();
+
+    try (var mutator = new AsyncConditionalTabletsMutatorImpl(result -> {
+      seen.add(result.getExtent());
+    }, () -> {
+      int id = created.getAndIncrement();
+      // the first batch is slow, so without ordering the second batch would be written first
+      return new TestMutator(concurrent, maxConcurrent, id, id == 0 ? 200 : 1, false, written,
+          closed);
+    }, 4)) {
+      // the first batch is full and the tablet 0 is mutated again in the second batch
+      for (int i = 0; i <= AsyncConditionalTabletsMutatorImpl.BATCH_SIZE; i++) {
+        mutator.mutateTablet(extent(i));
+      }
+      mutator.mutateTablet(extent(0));
+      mutator.mutateTablet(extent(AsyncConditionalTabletsMutatorImpl.BATCH_SIZE + 1));
+    }
+
+    String tablet0 = ":" + extent(0).endRow();
+    List<String> tablet0Writes = new ArrayList<>();
+    synchronized (written) {
+      written.stream().filter(w -> w.endsWith(tablet0)).forEach(tablet0Writes::add);
+    }
+    assertEquals(List.of("0" + tablet0, "1" + tablet0), tablet0Writes);
+    assertEquals(AsyncConditionalTabletsMutatorImpl.BATCH_SIZE + 3, seen.size());
+    assertEquals(extent(0), seen.get(AsyncConditionalTabletsMutatorImpl.BATCH_SIZE + 1));
+    assertEquals(2, closed.get());
+  }
+
+  @Test
+  public void testFailure() {
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    List<String> written = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger closed = new AtomicInteger();
+    List<KeyExtent> seen = new ArrayList<>();
+
+    var mutator = new AsyncConditionalTabletsMutatorImpl(result -> seen.add(result.getExtent()),
+        () -> {
+          int id = created.getAndIncrement();
+          return new TestMutator(concurrent, maxConcurrent, id, 50, id == 0, written, closed);
+        }, 4);
+    for (int i = 0; i <= AsyncConditionalTabletsMutatorImpl.BATCH_SIZE; i++) {
+      mutator.mutateTablet(extent(i));
+    }
+    // the second batch mutates a tablet of the failed batch, so it must not be written
+    mutator.mutateTablet(extent(0));
+
+    var e = assertThrows(IllegalStateException.class, mutator::close);
+    assertTrue(e.getCause() instanceof ExecutionException, e::toString);
+    assertTrue(e.getCause().getCause().getMessage().contains("batch 0 failed"), e::toString);
+    assertEquals(List.of(), seen);
+    assertEquals(List.of(), written);
+    // the mutators of both batches were closed even though they were not processed successfully
+    assertEquals(2, closed.get());
+  }
+}
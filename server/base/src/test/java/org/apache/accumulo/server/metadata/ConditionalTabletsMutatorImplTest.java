@@ -99,6 +99,8 @@ public class ConditionalTabletsMutatorImplTest {
     EasyMock.expect(lock.getLockID()).andReturn(lid).anyTimes();
     EasyMock.expect(lid.serialize("/some/path/")).andReturn("/some/path/1234").anyTimes();
     EasyMock.expect(context.getServiceLock()).andReturn(lock).anyTimes();
+    var metrics = new ConditionalMutationMetrics();
+    EasyMock.expect(context.getConditionalMutationMetrics()).andReturn(metrics).anyTimes();
     EasyMock.replay(context, lock, lid);
 
     // this test checks the handling of conditional mutations that return a status of unknown and
@@ -163,6 +165,10 @@ public class ConditionalTabletsMutatorImplTest {
       assertEquals(Ample.ConditionalResult.Status.ACCEPTED, results.get(ke3).getStatus());
       assertEquals(Ample.ConditionalResult.Status.ACCEPTED, results.get(ke4).getStatus());
 
+      // the batch is recorded in the metrics set on the context
+      assertEquals(4, metrics.getMutations());
+      assertEquals(2, metrics.getUnknown());
+
       EasyMock.verify(context, lock, tm1, tm2, tm3, tm4, lid);
 
     }
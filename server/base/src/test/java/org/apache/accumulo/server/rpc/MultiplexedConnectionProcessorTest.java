@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.rpc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.rpc.MultiplexedConnection;
+import org.apache.accumulo.core.rpc.ThriftUtil;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.layered.TFramedTransport;
+import org.junit.jupiter.api.Test;
+
+public class MultiplexedConnectionProcessorTest {
+
+  private static void writeFrame(ByteArrayOutputStream out, byte[] frame) {
+    out.writeBytes(ByteBuffer.allocate(4).putInt(frame.length).array());
+    out.writeBytes(frame);
+  }
+
+  private static void writeMultiplexedFrame(ByteArrayOutputStream out, int streamId,
+      String message) {
+    byte[] bytes = message.getBytes(UTF_8);
+    ByteArrayOutputStream frame = new ByteArrayOutputStream();
+    frame.writeBytes(MultiplexedConnection.createHeader(streamId, bytes.length));
+    frame.writeBytes(bytes);
+    writeFrame(out, frame.toByteArray());
+  }
+
+  /**
+   * @return the messages of the frames that were written, with the stream id of multiplexed frames
+   */
+  private static List<String> readFrames(TTransport out, TMemoryBuffer written) {
+    List<String> messages = new ArrayList<>();
+    ByteBuffer buffer;
+    // responses to multiplexed requests are written while holding the lock of the transport
+    synchronized (out) {
+      buffer = ByteBuffer.wrap(Arrays.copyOf(written.getArray(), written.length()));
+    }
+    while (buffer.hasRemaining()) {
+      byte[] frame = new byte[buffer.getInt()];
+      buffer.get(frame);
+      ByteBuffer header = ByteBuffer.wrap(frame);
+      if (header.get() == MultiplexedConnection.FRAME_MARKER) {
+        int streamId = header.getInt();
+        byte[] message = new byte[header.getInt()];
+        header.get(message);
+        messages.add(streamId + ":" + new String(message, UTF_8));
+      } else {
+        messages.add(new String(frame, UTF_8));
+      }
+    }
+    return messages;
+  }
+
+  @Test
+  public void testSlowRequestDoesNotBlock() throws Exception {
+    CountDownLatch slowRequestStarted = new CountDownLatch(1);
+    CountDownLatch finishSlowRequest = new CountDownLatch(1);
+
+    // answers each request with its own message, and waits for the latch on the slow request
+    TProcessor echo = (in, out) -> {
+      TTransport request = in.getTransport();
+      byte[] message = new byte[request.getBytesRemainingInBuffer()];
+      request.readAll(message, 0, message.length);
+      if (new String(message, UTF_8).equals("slow")) {
+        slowRequestStarted.countDown();
+        try {
+          finishSlowRequest.await();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+      out.getTransport().write(message);
+      out.getTransport().flush();
+    };
+
+    ByteArrayOutputStream frames = new ByteArrayOutputStream();
+    writeMultiplexedFrame(frames, 0, "slow");
+    writeMultiplexedFrame(frames, 1, "fast");
+    writeFrame(frames, "plain".getBytes(UTF_8));
+
+    TMemoryBuffer written = new TMemoryBuffer(1024);
+    var in = ThriftUtil.protocolFactory().getProtocol(
+        new TFramedTransport(new TMemoryInputTransport(frames.toByteArray())));
+    var out = ThriftUtil.protocolFactory().getProtocol(new TFramedTransport(written));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      var processor =
+          new MultiplexedConnectionProcessor(echo, ThriftUtil.protocolFactory(), executor);
+
+      // each multiplexed frame is handed to the executor, so the next frame is read right away
+      processor.process(in, out);
+      assertTrue(slowRequestStarted.await(30, TimeUnit.SECONDS));
+      processor.process(in, out);
+      while (readFrames(out.getTransport(), written).isEmpty()) {
+        Thread.sleep(1);
+      }
+      assertEquals(List.of("1:fast"), readFrames(out.getTransport(), written));
+
+      // other frames are processed by the calling thread
+      processor.process(in, out);
+      assertEquals(List.of("1:fast", "plain"), readFrames(out.getTransport(), written));
+
+      finishSlowRequest.countDown();
+      while (readFrames(out.getTransport(), written).size() < 3) {
+        Thread.sleep(1);
+      }
+      assertEquals(List.of("1:fast", "plain", "0:slow"), readFrames(out.getTransport(), written));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
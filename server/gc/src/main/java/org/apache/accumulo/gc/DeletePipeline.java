@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.gc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.gc.GcCandidate;
+import org.apache.accumulo.server.fs.VolumeManager;
+import org.apache.hadoop.fs.Path;
+import org.slf4j.Logger;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Tracks the state shared by the file delete tasks of a single call to
+ * {@link GCRun#deleteConfirmedCandidates(java.util.SortedMap)}. Limits the number of concurrent
+ * deletes per volume and the rate of namenode operations, and removes the candidate entries of
+ * processed deletes from the metadata in batches while other deletes are still running.
+ *
+ * <p>
+ * A batch of candidate entries that fails to be removed is kept and retried by {@link #flush()},
+ * which throws if the entries still can not be removed so that the failure fails the cycle instead
+ * of the delete of an unrelated file.
+ */
+class DeletePipeline {
+
+  private final Logger log;
+  private final VolumeManager fs;
+  private final GCTrash trash;
+  private final Consumer<List<GcCandidate>> candidateRemover;
+  private final int batchSize;
+  private final int permitsPerVolume;
+  private final Map<Path,Semaphore> volumePermits = new ConcurrentHashMap<>();
+  private final RateLimiter namenodeRateLimiter;
+  private final AtomicLong namenodeOps = new AtomicLong(0);
+  private final AtomicLong removalFailures = new AtomicLong(0);
+  private List<GcCandidate> batch;
+  private final List<GcCandidate> failed = new ArrayList<>();
+
+  /**
+   * @param initialBatch candidates that were processed before any files were deleted
+   * @param candidateRemover removes candidate entries from the metadata, throwing a runtime
+   *        exception on failure
+   */
+  DeletePipeline(Logger log, AccumuloConfiguration config, VolumeManager fs, GCTrash trash,
+      List<GcCandidate> initialBatch, Consumer<List<GcCandidate>> candidateRemover) {
+    this.log = log;
+    this.fs = fs;
+    this.trash = trash;
+    this.candidateRemover = candidateRemover;
+    this.batchSize = config.getCount(Property.GC_DELETE_BATCH_SIZE);
+    this.permitsPerVolume = config.getCount(Property.GC_DELETE_THREADS_PER_VOLUME);
+    int rate = config.getCount(Property.GC_DELETE_RATE);
+    this.namenodeRateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+    this.batch = new ArrayList<>(initialBatch);
+  }
+
+  private Semaphore getVolumePermits(Path path) {
+    Path volume = VolumeManager.FileType.TABLE.getVolume(path);
+    if (volume == null || permitsPerVolume == 0) {
+      // no per volume limit applies, only the size of the delete pool limits concurrency
+      return null;
+    }
+    return volumePermits.computeIfAbsent(volume, v -> new Semaphore(permitsPerVolume));
+  }
+
+  /**
+   * Waits until a namenode operation is allowed by {@link Property#GC_DELETE_RATE} and counts it.
+   */
+  private void acquireNamenodeOp() {
+    if (namenodeRateLimiter != null) {
+      namenodeRateLimiter.acquire();
+    }
+    namenodeOps.incrementAndGet();
+  }
+
+  private boolean moveToTrash(Path path) throws IOException {
+    // moving a file to trash when it is disabled does nothing, so it is not counted as a namenode
+    // operation in that case
+    if (!trash.isEnabled(path)) {
+      return false;
+    }
+    acquireNamenodeOp();
+    return trash.moveToTrash(path);
+  }
+
+  /**
+   * Moves the path to trash or deletes it, holding a permit for the volume of the path.
+   */
+  boolean delete(Path path) throws IOException, InterruptedException {
+    Semaphore permits = getVolumePermits(path);
+    if (permits != null) {
+      permits.acquire();
+    }
+    try {
+      if (moveToTrash(path)) {
+        return true;
+      }
+      acquireNamenodeOp();
+      return fs.deleteRecursively(path);
+    } finally {
+      if (permits != null) {
+        permits.release();
+      }
+    }
+  }
+
+  boolean exists(Path path) throws IOException {
+    acquireNamenodeOp();
+    return fs.exists(path);
+  }
+
+  /**
+   * Queues the candidate entry of a processed delete for removal, removing a batch of entries once
+   * enough are queued.
+   */
+  void processed(GcCandidate candidate) {
+    List<GcCandidate> toRemove = null;
+    synchronized (this) {
+      batch.add(candidate);
+      if (batch.size() >= batchSize) {
+        toRemove = batch;
+        batch = new ArrayList<>();
+      }
+    }
+    if (toRemove != null) {
+      try {
+        candidateRemover.accept(toRemove);
+      } catch (RuntimeException e) {
+        removalFailures.incrementAndGet();
+        log.warn("Failed to remove {} processed candidates from the metadata, will retry once all"
+            + " files are deleted", toRemove.size(), e);
+        synchronized (this) {
+          failed.addAll(toRemove);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes the remaining queued candidate entries, including those of batches that previously
+   * failed to be removed.
+   *
+   * @throws IllegalStateException if the entries could not be removed
+   */
+  void flush() {
+    List<GcCandidate> toRemove;
+    synchronized (this) {
+      toRemove = new ArrayList<>(failed);
+      toRemove.addAll(batch);
+      failed.clear();
+      batch = new ArrayList<>();
+    }
+    if (toRemove.isEmpty()) {
+      return;
+    }
+    try {
+      candidateRemover.accept(toRemove);
+    } catch (RuntimeException e) {
+      removalFailures.incrementAndGet();
+      throw new IllegalStateException(
+          "Failed to remove " + toRemove.size() + " processed candidates from the metadata", e);
+    }
+  }
+
+  long getNamenodeOps() {
+    return namenodeOps.get();
+  }
+
+  /**
+   * @return the number of times removing a batch of candidate entries failed
+   */
+  long getRemovalFailures() {
+    return removalFailures.get();
+  }
+}
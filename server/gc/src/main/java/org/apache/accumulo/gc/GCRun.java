@@ -28,7 +28,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -39,6 +38,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.apache.accumulo.core.Constants;
@@ -88,16 +88,20 @@ public class GCRun implements GarbageCollectionEnvironment {
   private final Ample.DataLevel level;
   private final ServerContext context;
   private final AccumuloConfiguration config;
+  private final GCTrash trash;
   private long candidates = 0;
   private long inUse = 0;
-  private long deleted = 0;
-  private long errors = 0;
+  private final AtomicLong deleted = new AtomicLong(0);
+  private final AtomicLong errors = new AtomicLong(0);
+  private final AtomicLong namenodeOps = new AtomicLong(0);
+  private final AtomicLong deleteDurationNanos = new AtomicLong(0);
 
   public GCRun(Ample.DataLevel level, ServerContext context) {
     this.log = LoggerFactory.getLogger(GCRun.class.getName() + "." + level.name());
     this.level = level;
     this.context = context;
     this.config = context.getConfiguration();
+    this.trash = new GCTrash(log, context.getVolumeManager());
   }
 
   @Override
@@ -277,14 +281,18 @@ public class GCRun implements GarbageCollectionEnvironment {
       return;
     }
 
-    List<GcCandidate> processedDeletes = Collections.synchronizedList(new ArrayList<>());
+    List<GcCandidate> processedDeletes = new ArrayList<>();
 
     minimizeDeletes(confirmedDeletes, processedDeletes, fs, log);
 
+    final long deleteStart = System.nanoTime();
+
     ExecutorService deleteThreadPool = ThreadPools.getServerThreadPools()
         .createExecutorService(config, Property.GC_DELETE_THREADS);
 
     final Map<Path,Path> replacements = context.getVolumeReplacements();
+    final DeletePipeline pipeline = new DeletePipeline(log, config, fs, trash, processedDeletes,
+        toRemove -> deleteGcCandidates(toRemove, GcCandidateType.VALID));
 
     for (final GcCandidate delete : confirmedDeletes.values()) {
 
@@ -313,21 +321,21 @@ public class GCRun implements GarbageCollectionEnvironment {
           for (Path pathToDel : GcVolumeUtil.expandAllVolumesUri(fs, fullPath)) {
             log.debug("{} Deleting {}", fileActionPrefix, pathToDel);
 
-            if (moveToTrash(pathToDel) || fs.deleteRecursively(pathToDel)) {
+            if (pipeline.delete(pathToDel)) {
               // delete succeeded, still want to delete
               removeFlag = true;
-              deleted++;
-            } else if (fs.exists(pathToDel)) {
+              deleted.incrementAndGet();
+            } else if (pipeline.exists(pathToDel)) {
               // leave the entry in the metadata; we'll try again later
               removeFlag = false;
-              errors++;
+              errors.incrementAndGet();
               log.warn("{} File exists, but was not deleted for an unknown reason: {}",
                   fileActionPrefix, pathToDel);
               break;
             } else {
               // this failure, we still want to remove the metadata entry
               removeFlag = true;
-              errors++;
+              errors.incrementAndGet();
               String[] parts = pathToDel.toString().split(Constants.ZTABLES)[1].split("/");
               if (parts.length > 2) {
                 TableId tableId = TableId.of(parts[1]);
@@ -350,7 +358,7 @@ public class GCRun implements GarbageCollectionEnvironment {
           // proceed to clearing out the flags for successful deletes and
           // non-existent files
           if (removeFlag) {
-            processedDeletes.add(delete);
+            pipeline.processed(delete);
           }
         } catch (Exception e) {
           log.error("{} Exception while deleting files ", fileActionPrefix, e);
@@ -370,7 +378,13 @@ public class GCRun implements GarbageCollectionEnvironment {
       log.error("{}", e1.getMessage(), e1);
     }
 
-    deleteGcCandidates(processedDeletes, GcCandidateType.VALID);
+    try {
+      pipeline.flush();
+    } finally {
+      namenodeOps.addAndGet(pipeline.getNamenodeOps());
+      errors.addAndGet(pipeline.getRemovalFailures());
+      deleteDurationNanos.addAndGet(System.nanoTime() - deleteStart);
+    }
   }
 
   @Override
@@ -389,7 +403,7 @@ public class GCRun implements GarbageCollectionEnvironment {
       if (tabletDirs.length == 0) {
         Path p = new Path(dir + "/" + tableID);
         log.debug("{} Removing table dir {}", fileActionPrefix, p);
-        if (!moveToTrash(p)) {
+        if (!trash.moveToTrash(p)) {
           fs.delete(p);
         }
       }
@@ -470,26 +484,6 @@ public class GCRun implements GarbageCollectionEnvironment {
     return context.getConfiguration().getBoolean(Property.GC_SAFEMODE);
   }
 
-  /**
-   * Moves a file to trash. If this garbage collector is not using trash, this method returns false
-   * and leaves the file alone. If the file is missing, this method returns false as opposed to
-   * throwing an exception.
-   *
-   * @return true if the file was moved to trash
-   * @throws IOException if the volume manager encountered a problem
-   */
-  boolean moveToTrash(Path path) throws IOException {
-    final VolumeManager fs = context.getVolumeManager();
-    try {
-      boolean success = fs.moveToTrash(path);
-      log.trace("Accumulo Trash enabled, moving to trash succeeded?: {}", success);
-      return success;
-    } catch (FileNotFoundException ex) {
-      log.error("Error moving {} to trash", path, ex);
-      return false;
-    }
-  }
-
   /**
    * Gets the batch size for garbage collecting.
    *
@@ -504,11 +498,19 @@ public class GCRun implements GarbageCollectionEnvironment {
   }
 
   public long getDeletedStat() {
-    return deleted;
+    return deleted.get();
   }
 
   public long getErrorsStat() {
-    return errors;
+    return errors.get();
+  }
+
+  public long getNamenodeOpsStat() {
+    return namenodeOps.get();
+  }
+
+  public long getDeleteDurationNanos() {
+    return deleteDurationNanos.get();
   }
 
   public long getCandidatesStat() {
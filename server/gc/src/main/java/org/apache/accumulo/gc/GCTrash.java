@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.gc;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.accumulo.server.fs.VolumeManager;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.Trash;
+import org.slf4j.Logger;
+
+/**
+ * Moves the files and directories removed by a garbage collection run to Hadoop trash, when trash
+ * is enabled for their file system.
+ */
+class GCTrash {
+
+  private final Logger log;
+  private final VolumeManager fs;
+  private final Map<FileSystem,Boolean> trashEnabled = new ConcurrentHashMap<>();
+
+  GCTrash(Logger log, VolumeManager fs) {
+    this.log = log;
+    this.fs = fs;
+  }
+
+  /**
+   * Determines if Hadoop trash is enabled for the file system of a path. Moving a file to trash
+   * when it is disabled does nothing.
+   */
+  boolean isEnabled(Path path) throws IOException {
+    FileSystem fileSystem = fs.getFileSystemByPath(path);
+    Boolean enabled = trashEnabled.get(fileSystem);
+    if (enabled == null) {
+      enabled = new Trash(fileSystem, fileSystem.getConf()).isEnabled();
+      trashEnabled.put(fileSystem, enabled);
+    }
+    return enabled;
+  }
+
+  /**
+   * Moves a file to trash. If trash is not enabled for its file system, this method returns false
+   * and leaves the file alone. If the file is missing, this method returns false as opposed to
+   * throwing an exception.
+   *
+   * @return true if the file was moved to trash
+   * @throws IOException if the volume manager encountered a problem
+   */
+  boolean moveToTrash(Path path) throws IOException {
+    if (!isEnabled(path)) {
+      return false;
+    }
+    try {
+      boolean success = fs.moveToTrash(path);
+      log.trace("Accumulo Trash enabled, moving to trash succeeded?: {}", success);
+      return success;
+    } catch (FileNotFoundException ex) {
+      log.error("Error moving {} to trash", path, ex);
+      return false;
+    }
+  }
+}
@@ -89,6 +89,8 @@ public class SimpleGarbageCollector extends AbstractServer implements Iface {
       new GCStatus(new GcCycleStats(), new GcCycleStats(), new GcCycleStats(), new GcCycleStats());
 
   private final GcCycleMetrics gcCycleMetrics = new GcCycleMetrics();
+  private long cycleNamenodeOps = 0;
+  private long cycleDeleteNanos = 0;
 
   private ServiceLock gcLock;
   private final Timer lastCompactorCheck = Timer.startNew();
@@ -206,6 +208,8 @@ public class SimpleGarbageCollector extends AbstractServer implements Iface {
             System.gc(); // make room
 
             status.current.started = System.currentTimeMillis();
+            cycleNamenodeOps = 0;
+            cycleDeleteNanos = 0;
             var rootGC = new GCRun(DataLevel.ROOT, getContext());
             var mdGC = new GCRun(DataLevel.METADATA, getContext());
             var userGC = new GCRun(DataLevel.USER, getContext());
@@ -232,6 +236,8 @@ public class SimpleGarbageCollector extends AbstractServer implements Iface {
             status.current.finished = System.currentTimeMillis();
             status.last = status.current;
             gcCycleMetrics.setLastCollect(status.current);
+            gcCycleMetrics.setDeleteRates(status.current.deleted, cycleNamenodeOps,
+                cycleDeleteNanos);
             status.current = new GcCycleStats();
           }
 
@@ -340,6 +346,8 @@ public class SimpleGarbageCollector extends AbstractServer implements Iface {
     status.current.inUse += gcRun.getInUseStat();
     status.current.deleted += gcRun.getDeletedStat();
     status.current.errors += gcRun.getErrorsStat();
+    cycleNamenodeOps += gcRun.getNamenodeOpsStat();
+    cycleDeleteNanos += gcRun.getDeleteDurationNanos();
   }
 
   private void logStats() {
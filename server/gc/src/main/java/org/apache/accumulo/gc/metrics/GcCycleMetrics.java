@@ -36,6 +36,8 @@ public class GcCycleMetrics {
 
   private final AtomicLong postOpDurationNanos = new AtomicLong(0);
   private final AtomicLong runCycleCount = new AtomicLong(0);
+  private final AtomicLong deleteThroughput = new AtomicLong(0);
+  private final AtomicLong namenodeOpsRate = new AtomicLong(0);
 
   public GcCycleMetrics() {}
 
@@ -110,12 +112,50 @@ public class GcCycleMetrics {
     this.runCycleCount.incrementAndGet();
   }
 
+  /**
+   * Number of candidate files deleted per second during the last gc run.
+   *
+   * @return files deleted per second.
+   */
+  long getDeleteThroughput() {
+    return deleteThroughput.get();
+  }
+
+  /**
+   * Number of namenode operations issued per second while deleting files during the last gc run.
+   *
+   * @return namenode operations per second.
+   */
+  long getNamenodeOpsRate() {
+    return namenodeOpsRate.get();
+  }
+
+  /**
+   * Set the file deletion rates of the last gc run from the totals observed while deleting.
+   *
+   * @param deleted number of files deleted.
+   * @param namenodeOps number of namenode operations issued while deleting.
+   * @param durationNanos time spent deleting files, in nanoseconds.
+   */
+  public void setDeleteRates(long deleted, long namenodeOps, long durationNanos) {
+    if (durationNanos <= 0) {
+      this.deleteThroughput.set(0);
+      this.namenodeOpsRate.set(0);
+    } else {
+      double seconds = durationNanos / 1_000_000_000.0;
+      this.deleteThroughput.set(Math.round(deleted / seconds));
+      this.namenodeOpsRate.set(Math.round(namenodeOps / seconds));
+    }
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("GcMetricsValues{");
     sb.append("lastCollect=").append(lastCollect.get());
     sb.append(", lastWalCollect=").append(lastWalCollect.get());
     sb.append(", postOpDuration=").append(postOpDurationNanos.get());
+    sb.append(", deleteThroughput=").append(deleteThroughput.get());
+    sb.append(", namenodeOpsRate=").append(namenodeOpsRate.get());
     sb.append('}');
     return sb.toString();
   }
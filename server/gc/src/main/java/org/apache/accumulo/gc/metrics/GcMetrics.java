@@ -20,9 +20,11 @@ package org.apache.accumulo.gc.metrics;
 
 import static org.apache.accumulo.core.metrics.Metric.GC_CANDIDATES;
 import static org.apache.accumulo.core.metrics.Metric.GC_DELETED;
+import static org.apache.accumulo.core.metrics.Metric.GC_DELETE_THROUGHPUT;
 import static org.apache.accumulo.core.metrics.Metric.GC_ERRORS;
 import static org.apache.accumulo.core.metrics.Metric.GC_FINISHED;
 import static org.apache.accumulo.core.metrics.Metric.GC_IN_USE;
+import static org.apache.accumulo.core.metrics.Metric.GC_NAMENODE_OPS_RATE;
 import static org.apache.accumulo.core.metrics.Metric.GC_POST_OP_DURATION;
 import static org.apache.accumulo.core.metrics.Metric.GC_RUN_CYCLE;
 import static org.apache.accumulo.core.metrics.Metric.GC_STARTED;
@@ -86,6 +88,10 @@ public class GcMetrics implements MetricsProducer {
         .description(GC_POST_OP_DURATION.getDescription()).register(registry);
     Gauge.builder(GC_RUN_CYCLE.getName(), metricValues, GcCycleMetrics::getRunCycleCount)
         .description(GC_RUN_CYCLE.getDescription()).register(registry);
+    Gauge.builder(GC_DELETE_THROUGHPUT.getName(), metricValues, GcCycleMetrics::getDeleteThroughput)
+        .description(GC_DELETE_THROUGHPUT.getDescription()).register(registry);
+    Gauge.builder(GC_NAMENODE_OPS_RATE.getName(), metricValues, GcCycleMetrics::getNamenodeOpsRate)
+        .description(GC_NAMENODE_OPS_RATE.getDescription()).register(registry);
 
   }
 
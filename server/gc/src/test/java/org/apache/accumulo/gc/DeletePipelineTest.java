@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.gc;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.gc.GcCandidate;
+import org.apache.accumulo.server.fs.VolumeManager;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DeletePipelineTest {
+  private static final Logger log = LoggerFactory.getLogger(DeletePipelineTest.class);
+
+  private static ConfigurationCopy config(int batchSize, int permitsPerVolume, int rate) {
+    ConfigurationCopy config = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    config.set(Property.GC_DELETE_BATCH_SIZE, Integer.toString(batchSize));
+    config.set(Property.GC_DELETE_THREADS_PER_VOLUME, Integer.toString(permitsPerVolume));
+    config.set(Property.GC_DELETE_RATE, Integer.toString(rate));
+    return config;
+  }
+
+  private static DeletePipeline pipeline(ConfigurationCopy config, VolumeManager fs,
+      boolean trashEnabled, Consumer<List<GcCandidate>> remover) {
+    GCTrash trash = new GCTrash(log, fs) {
+      @Override
+      boolean isEnabled(Path path) {
+        return trashEnabled;
+      }
+    };
+    return new DeletePipeline(log, config, fs, trash, List.of(new GcCandidate("/dir", 0)),
+        remover);
+  }
+
+  private static Path file(String volume, int i) {
+    return new Path("hdfs://" + volume + "/accumulo/tables/1/t-0001/F" + i + ".rf");
+  }
+
+  private static List<Long> uids(List<List<GcCandidate>> batches) {
+    return batches.stream().flatMap(List::stream).map(GcCandidate::getUid)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testBatching() {
+    List<List<GcCandidate>> removed = new ArrayList<>();
+    DeletePipeline pipeline =
+        pipeline(config(3, 0, 0), createMock(VolumeManager.class), false, removed::add);
+
+    for (int i = 1; i <= 6; i++) {
+      pipeline.processed(new GcCandidate("/f" + i, i));
+    }
+    // the candidates processed before any deletes are part of the first batch
+    assertEquals(List.of(3, 3), removed.stream().map(List::size).collect(Collectors.toList()));
+    pipeline.flush();
+    assertEquals(List.of(3, 3, 1), removed.stream().map(List::size).collect(Collectors.toList()));
+    assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L), uids(removed));
+    assertEquals(0, pipeline.getRemovalFailures());
+
+    // nothing is left to remove
+    pipeline.flush();
+    assertEquals(3, removed.size());
+  }
+
+  @Test
+  public void testFailedBatchRetried() {
+    List<List<GcCandidate>> removed = new ArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    DeletePipeline pipeline =
+        pipeline(config(2, 0, 0), createMock(VolumeManager.class), false, batch -> {
+          if (calls.incrementAndGet() == 1) {
+            throw new IllegalStateException("metadata write failed");
+          }
+          removed.add(batch);
+        });
+
+    for (int i = 1; i <= 4; i++) {
+      // a failure to remove a batch is not thrown to the file delete that filled the batch
+      pipeline.processed(new GcCandidate("/f" + i, i));
+    }
+    assertEquals(1, pipeline.getRemovalFailures());
+    assertEquals(List.of(2L, 3L), uids(removed));
+
+    // the failed batch is retried with the remaining candidates
+    pipeline.flush();
+    assertEquals(List.of(2L, 3L, 0L, 1L, 4L), uids(removed));
+    assertEquals(1, pipeline.getRemovalFailures());
+  }
+
+  @Test
+  public void testFlushFailureThrown() {
+    DeletePipeline pipeline =
+        pipeline(config(2, 0, 0), createMock(VolumeManager.class), false, batch -> {
+          throw new IllegalStateException("metadata write failed");
+        });
+    pipeline.processed(new GcCandidate("/f1", 1));
+    assertEquals(1, pipeline.getRemovalFailures());
+    assertThrows(IllegalStateException.class, pipeline::flush);
+    assertEquals(2, pipeline.getRemovalFailures());
+  }
+
+  @Test
+  public void testNamenodeOps() throws Exception {
+    VolumeManager fs = createMock(VolumeManager.class);
+    // trash is disabled, so no move to trash is attempted
+    expect(fs.deleteRecursively(file("nn1", 1))).andReturn(false);
+    expect(fs.exists(file("nn1", 1))).andReturn(false);
+    expect(fs.deleteRecursively(file("nn1", 2))).andReturn(true);
+    replay(fs);
+
+    DeletePipeline pipeline = pipeline(config(10, 0, 0), fs, false, batch -> {});
+    assertFalse(pipeline.delete(file("nn1", 1)));
+    assertFalse(pipeline.exists(file("nn1", 1)));
+    assertTrue(pipeline.delete(file("nn1", 2)));
+    assertEquals(3, pipeline.getNamenodeOps());
+    verify(fs);
+
+    fs = createMock(VolumeManager.class);
+    expect(fs.moveToTrash(file("nn1", 1))).andReturn(true);
+    expect(fs.moveToTrash(file("nn1", 2))).andReturn(false);
+    expect(fs.deleteRecursively(file("nn1", 2))).andReturn(true);
+    replay(fs);
+
+    pipeline = pipeline(config(10, 0, 0), fs, true, batch -> {});
+    assertTrue(pipeline.delete(file("nn1", 1)));
+    assertTrue(pipeline.delete(file("nn1", 2)));
+    assertEquals(3, pipeline.getNamenodeOps());
+    verify(fs);
+  }
+
+  @Test
+  public void testRateLimit() throws Exception {
+    VolumeManager fs = createMock(VolumeManager.class);
+    expect(fs.deleteRecursively(anyObject())).andReturn(true).anyTimes();
+    replay(fs);
+
+    DeletePipeline pipeline = pipeline(config(10, 0, 20), fs, false, batch -> {});
+    long start = System.nanoTime();
+    for (int i = 0; i < 30; i++) {
+      assertTrue(pipeline.delete(file("nn1", i)));
+    }
+    // 30 operations at 20 per second take at least a second after the first is allowed
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1000);
+    assertEquals(30, pipeline.getNamenodeOps());
+  }
+
+  @Test
+  public void testVolumePermits() throws Exception {
+    Map<String,AtomicInteger> running = new ConcurrentHashMap<>();
+    Map<String,AtomicInteger> maxRunning = new ConcurrentHashMap<>();
+    VolumeManager fs = createMock(VolumeManager.class);
+    expect(fs.deleteRecursively(anyObject())).andAnswer(() -> {
+      String volume = ((Path) getCurrentArguments()[0]).toUri().getHost();
+      int count = running.computeIfAbsent(volume, v -> new AtomicInteger()).incrementAndGet();
+      maxRunning.computeIfAbsent(volume, v -> new AtomicInteger()).accumulateAndGet(count,
+          Math::max);
+      Thread.sleep(5);
+      running.get(volume).decrementAndGet();
+      return true;
+    }).anyTimes();
+    replay(fs);
+
+    DeletePipeline pipeline = pipeline(config(10, 2, 0), fs, false, batch -> {});
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        Path path = file(i % 2 == 0 ? "nn1" : "nn2", i);
+        futures.add(executor.submit(() -> pipeline.delete(path)));
+      }
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertTrue(maxRunning.get("nn1").get() <= 2);
+    assertTrue(maxRunning.get("nn2").get() <= 2);
+  }
+}
@@ -37,6 +37,7 @@ import org.apache.accumulo.manager.Manager;
 import org.apache.accumulo.manager.metrics.fate.FateMetrics;
 import org.apache.accumulo.manager.metrics.fate.meta.MetaFateMetrics;
 import org.apache.accumulo.manager.metrics.fate.user.UserFateMetrics;
+import org.apache.accumulo.server.metadata.ConditionalMutationMetrics;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -49,6 +50,8 @@ public class ManagerMetrics implements MetricsProducer {
   private final AtomicLong metadataTGWErrorsGauge = new AtomicLong(0);
   private final AtomicLong userTGWErrorsGauge = new AtomicLong(0);
   private final AtomicInteger compactionConfigurationError = new AtomicInteger(0);
+  private final ConditionalMutationMetrics conditionalMutationMetrics =
+      new ConditionalMutationMetrics();
 
   public ManagerMetrics(final AccumuloConfiguration conf, final Manager manager) {
     requireNonNull(conf, "AccumuloConfiguration must not be null");
@@ -58,6 +61,7 @@ public class ManagerMetrics implements MetricsProducer {
             conf.getTimeInMillis(Property.MANAGER_FATE_METRICS_MIN_UPDATE_INTERVAL)),
         new UserFateMetrics(manager.getContext(),
             conf.getTimeInMillis(Property.MANAGER_FATE_METRICS_MIN_UPDATE_INTERVAL)));
+    manager.getContext().setConditionalMutationMetrics(conditionalMutationMetrics);
   }
 
   public void incrementTabletGroupWatcherError(DataLevel level) {
@@ -104,6 +108,7 @@ public class ManagerMetrics implements MetricsProducer {
     producers.add(this);
     producers.addAll(fateMetrics);
     producers.add(manager.getCompactionCoordinator());
+    producers.add(conditionalMutationMetrics);
     return producers;
   }
 }
@@ -19,37 +19,53 @@
 package org.apache.accumulo.manager.split;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.file.FileOperations;
 import org.apache.accumulo.core.file.FileSKVIterator;
 import org.apache.accumulo.core.metadata.TabletFile;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata;
 import org.apache.accumulo.core.util.cache.Caches.CacheName;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.server.conf.TableConfiguration;
+import org.apache.accumulo.server.split.SplitUtils;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.Weigher;
+import com.google.common.collect.Iterables;
 
 public class Splitter {
 
   private static final Logger LOG = LoggerFactory.getLogger(Splitter.class);
 
+  private final ServerContext context;
   private final ThreadPoolExecutor splitExecutor;
+  private final ThreadPoolExecutor indexExecutor;
   // tracks which tablets are queued in splitExecutor
   private final Set<Text> queuedTablets = ConcurrentHashMap.newKeySet();
 
@@ -149,15 +165,133 @@ public class Splitter {
 
   }
 
+  /**
+   * Reads the rows of all keys in a files index. Only the row is used to find split points, so the
+   * rest of the key is dropped to reduce the memory used to cache the index.
+   */
+  static List<Key> readIndexRows(ServerContext context, TableConfiguration tableConf,
+      TabletFile file) throws IOException {
+    FileSystem ns = context.getVolumeManager().getFileSystemByPath(file.getPath());
+    try (FileSKVIterator reader = FileOperations.getInstance().newIndexReaderBuilder()
+        .forFile(file, ns, ns.getConf(), tableConf.getCryptoService())
+        .withTableConfiguration(tableConf).build()) {
+      List<Key> rows = new ArrayList<>();
+      Key prev = null;
+      while (reader.hasTop()) {
+        Key top = reader.getTopKey();
+        // consecutive index entries with the same row share a key
+        if (prev == null || !prev.getRowData().equals(top.getRowData())) {
+          prev = new Key(top.getRowData().toArray());
+        }
+        rows.add(prev);
+        reader.next();
+      }
+      return rows;
+    }
+  }
+
+  // returns the position of the first key in the sorted index with a row greater than the given row
+  static int firstRowAfter(List<Key> index, Text row) {
+    int low = 0;
+    int high = index.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (index.get(mid).compareRow(row) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Clips each sorted index to the rows in the range (prevEndRow, endRow] and merges them into a
+   * single sorted list.
+   *
+   * @param prevEndRow the exclusive start row, or null for no start
+   * @param endRow the inclusive end row, or null for no end
+   */
+  static List<Key> mergeIndexes(Collection<List<Key>> indexes, Text prevEndRow, Text endRow) {
+    List<List<Key>> clipped = new ArrayList<>(indexes.size());
+    int size = 0;
+    for (List<Key> index : indexes) {
+      int start = prevEndRow == null ? 0 : firstRowAfter(index, prevEndRow);
+      int end = endRow == null ? index.size() : firstRowAfter(index, endRow);
+      if (start < end) {
+        clipped.add(index.subList(start, end));
+        size += end - start;
+      }
+    }
+
+    List<Key> merged = new ArrayList<>(size);
+    Iterables.mergeSorted(clipped, Comparator.<Key>naturalOrder()).forEach(merged::add);
+    return merged;
+  }
+
+  /**
+   * The sorted index rows of all of a tablets files that fall within the tablet. The indexes are
+   * not read until the collection is first used, at which point any indexes not already cached are
+   * read in parallel and then merged.
+   */
+  private class TabletIndex extends AbstractCollection<Key> {
+
+    private final TabletMetadata tabletMetadata;
+    private List<Key> merged = null;
+
+    TabletIndex(TabletMetadata tabletMetadata) {
+      this.tabletMetadata = tabletMetadata;
+    }
+
+    private List<Key> merged() {
+      if (merged == null) {
+        List<CacheKey> keys = new ArrayList<>();
+        tabletMetadata.getFiles()
+            .forEach(file -> keys.add(new CacheKey(tabletMetadata.getTableId(), file)));
+
+        Map<CacheKey,List<Key>> indexes;
+        try {
+          indexes = splitIndexCache.getAll(keys).join();
+        } catch (CompletionException e) {
+          if (e.getCause() instanceof UncheckedIOException) {
+            throw (UncheckedIOException) e.getCause();
+          }
+          throw e;
+        }
+
+        merged = mergeIndexes(indexes.values(), tabletMetadata.getPrevEndRow(),
+            tabletMetadata.getEndRow());
+      }
+      return merged;
+    }
+
+    @Override
+    public Iterator<Key> iterator() {
+      return merged().iterator();
+    }
+
+    @Override
+    public int size() {
+      return merged().size();
+    }
+  }
+
   final LoadingCache<CacheKey,FileInfo> splitFileCache;
+  final AsyncLoadingCache<CacheKey,List<Key>> splitIndexCache;
 
   public Splitter(ServerContext context) {
+    this.context = context;
     int numThreads = context.getConfiguration().getCount(Property.MANAGER_SPLIT_WORKER_THREADS);
 
     this.splitExecutor = context.threadPools().getPoolBuilder("split_seeder")
         .numCoreThreads(numThreads).numMaxThreads(numThreads).withTimeOut(0L, TimeUnit.MILLISECONDS)
         .enableThreadPoolMetrics().build();
 
+    int indexThreads = context.getConfiguration().getCount(Property.MANAGER_SPLIT_INDEX_THREADS);
+    this.indexExecutor = context.threadPools().getPoolBuilder("split_index_reader")
+        .numCoreThreads(indexThreads).numMaxThreads(indexThreads)
+        .withTimeOut(0L, TimeUnit.MILLISECONDS).enableThreadPoolMetrics().build();
+
     Weigher<CacheKey,
         FileInfo> weigher = (key, info) -> key.tableId.canonical().length()
             + key.tabletFile.getPath().toString().length() + info.getFirstRow().getLength()
@@ -173,18 +307,53 @@ public class Splitter {
         .expireAfterAccess(10, TimeUnit.MINUTES).maximumWeight(10_000_000L).weigher(weigher)
         .build(loader);
 
+    // each key in the list is a row, which is estimated to need 64 bytes of object overhead
+    Weigher<CacheKey,List<Key>> indexWeigher = (key, index) -> {
+      long weight = key.tableId.canonical().length() + key.tabletFile.getPath().toString().length();
+      Key prev = null;
+      for (Key row : index) {
+        weight += row == prev ? 8 : 64 + row.getRowData().length();
+        prev = row;
+      }
+      return (int) Math.min(weight, Integer.MAX_VALUE);
+    };
+
+    CacheLoader<CacheKey,List<Key>> indexLoader = key -> {
+      TableConfiguration tableConf = context.getTableConfiguration(key.tableId);
+      try {
+        return readIndexRows(context, tableConf, key.tabletFile);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+
+    long indexCacheSize =
+        context.getConfiguration().getAsBytes(Property.MANAGER_SPLIT_INDEX_CACHE_SIZE);
+    splitIndexCache = context.getCaches().createNewBuilder(CacheName.SPLITTER_INDEXES, true)
+        .executor(indexExecutor).expireAfterAccess(10, TimeUnit.MINUTES)
+        .maximumWeight(indexCacheSize).weigher(indexWeigher).buildAsync(indexLoader);
   }
 
   public synchronized void start() {}
 
   public synchronized void stop() {
     splitExecutor.shutdownNow();
+    indexExecutor.shutdownNow();
   }
 
   public FileInfo getCachedFileInfo(TableId tableId, TabletFile tabletFile) {
     return splitFileCache.get(new CacheKey(tableId, tabletFile));
   }
 
+  /**
+   * Finds split points for a tablet in the same way as
+   * {@link SplitUtils#findSplits(ServerContext, TabletMetadata)}, except that the indexes of the
+   * tablets files are read in parallel and cached for other tablets that share the files.
+   */
+  public SortedSet<Text> findSplits(TabletMetadata tabletMetadata) {
+    return SplitUtils.findSplits(context, tabletMetadata, new TabletIndex(tabletMetadata));
+  }
+
   public void initiateSplit(SeedSplitTask seedSplitTask) {
     // Want to avoid queuing the same tablet multiple times, it would not cause bugs but would waste
     // work. Use the metadata row to identify a tablet because the KeyExtent also includes the prev
@@ -32,7 +32,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.clientImpl.bulk.Bulk;
@@ -110,23 +109,28 @@ class LoadFiles extends ManagerRepo {
     return new RefreshTablets(bulkInfo);
   }
 
-  private static class Loader {
+  private static class Loader implements AutoCloseable {
     protected Path bulkDir;
     protected Manager manager;
     protected FateId fateId;
     protected boolean setTime;
-    Ample.ConditionalTabletsMutator conditionalMutator;
+    Ample.AsyncConditionalTabletsMutator conditionalMutator;
     private Map<KeyExtent,List<TabletFile>> loadingFiles;
 
     private long skipped = 0;
+    private boolean seenFailure = false;
 
     void start(Path bulkDir, Manager manager, FateId fateId, boolean setTime) throws Exception {
       this.bulkDir = bulkDir;
       this.manager = manager;
       this.fateId = fateId;
       this.setTime = setTime;
-      conditionalMutator = manager.getContext().getAmple().conditionallyMutateTablets();
+      // Stream the conditional mutations to the metadata table in batches as tablets are processed
+      // instead of buffering the mutations for every tablet and writing them at the end.
+      conditionalMutator =
+          manager.getContext().getAmple().conditionallyMutateTablets(this::processResult);
       this.skipped = 0;
+      this.seenFailure = false;
       this.loadingFiles = new HashMap<>();
     }
 
@@ -287,35 +291,46 @@ class LoadFiles extends ManagerRepo {
 
     }
 
-    long finish() {
-      var results = conditionalMutator.process();
-
-      AtomicBoolean seenFailure = new AtomicBoolean(false);
-      results.forEach((extent, condResult) -> {
-        if (condResult.getStatus() == Status.ACCEPTED) {
-          loadingFiles.get(extent).forEach(file -> TabletLogger.bulkImported(extent, file));
-          // Trigger a check for compaction now that new files were added via bulk load
-          manager.getEventCoordinator().event(extent, "Bulk load completed on tablet %s", extent);
+    private void processResult(Ample.ConditionalResult condResult) {
+      var extent = condResult.getExtent();
+      if (condResult.getStatus() == Status.ACCEPTED) {
+        loadingFiles.remove(extent).forEach(file -> TabletLogger.bulkImported(extent, file));
+        // Trigger a check for compaction now that new files were added via bulk load
+        manager.getEventCoordinator().event(extent, "Bulk load completed on tablet %s", extent);
+      } else {
+        seenFailure = true;
+        var metadata = condResult.readMetadata();
+        if (metadata == null) {
+          log.debug("Tablet update failed, tablet is gone {} {} {}", fateId, extent,
+              condResult.getStatus());
         } else {
-          seenFailure.set(true);
-          var metadata = condResult.readMetadata();
-          if (metadata == null) {
-            log.debug("Tablet update failed, tablet is gone {} {} {}", fateId, extent,
-                condResult.getStatus());
-          } else {
-            log.debug("Tablet update failed {} {} {} {} {} {}", fateId, extent,
-                condResult.getStatus(), metadata.getOperationId(), metadata.getLocation(),
-                metadata.getLoaded());
-          }
+          log.debug("Tablet update failed {} {} {} {} {} {}", fateId, extent,
+              condResult.getStatus(), metadata.getOperationId(), metadata.getLocation(),
+              metadata.getLoaded());
         }
-      });
+      }
+    }
+
+    long finish() {
+      // waits for all batches of conditional mutations to be processed
+      close();
 
-      if (seenFailure.get() || skipped != 0) {
+      if (seenFailure || skipped != 0) {
         return 1000;
       } else {
         return 0;
       }
     }
+
+    @Override
+    public void close() {
+      if (conditionalMutator != null) {
+        // clear the reference first so a failed close is not attempted again
+        var mutator = conditionalMutator;
+        conditionalMutator = null;
+        mutator.close();
+      }
+    }
   }
 
   /**
@@ -331,27 +346,29 @@ class LoadFiles extends ManagerRepo {
 
     Text startRow = loadMapEntry.getKey().prevEndRow();
 
-    Loader loader = new Loader();
     long t1;
-    loader.start(bulkDir, manager, fateId, bulkInfo.setTime);
-    try (TabletsMetadata tabletsMetadata =
-        TabletsMetadata.builder(manager.getContext()).forTable(tableId).overlapping(startRow, null)
-            .checkConsistency().fetch(PREV_ROW, LOCATION, LOADED, TIME).build()) {
-
-      // The tablet iterator and load mapping iterator are both iterating over data that is sorted
-      // in the same way. The two iterators are each independently advanced to find common points in
-      // the sorted data.
-      var tabletIter = tabletsMetadata.iterator();
-
-      t1 = System.currentTimeMillis();
-      while (lmi.hasNext()) {
-        loadMapEntry = lmi.next();
-        List<TabletMetadata> tablets = findOverlappingTablets(loadMapEntry.getKey(), tabletIter);
-        loader.load(tablets, loadMapEntry.getValue());
+    long sleepTime;
+    try (Loader loader = new Loader()) {
+      loader.start(bulkDir, manager, fateId, bulkInfo.setTime);
+      try (TabletsMetadata tabletsMetadata = TabletsMetadata.builder(manager.getContext())
+          .forTable(tableId).overlapping(startRow, null).checkConsistency()
+          .fetch(PREV_ROW, LOCATION, LOADED, TIME).build()) {
+
+        // The tablet iterator and load mapping iterator are both iterating over data that is
+        // sorted in the same way. The two iterators are each independently advanced to find common
+        // points in the sorted data.
+        var tabletIter = tabletsMetadata.iterator();
+
+        t1 = System.currentTimeMillis();
+        while (lmi.hasNext()) {
+          loadMapEntry = lmi.next();
+          List<TabletMetadata> tablets = findOverlappingTablets(loadMapEntry.getKey(), tabletIter);
+          loader.load(tablets, loadMapEntry.getValue());
+        }
       }
-    }
 
-    long sleepTime = loader.finish();
+      sleepTime = loader.finish();
+    }
     if (sleepTime > 0) {
       long scanTime = Math.min(System.currentTimeMillis() - t1, 30000);
       sleepTime = Math.max(sleepTime, scanTime * 2);
@@ -96,7 +96,7 @@ public class FindSplits extends ManagerRepo {
       return null;
     }
 
-    SortedSet<Text> splits = SplitUtils.findSplits(manager.getContext(), tabletMetadata);
+    SortedSet<Text> splits = manager.getSplitter().findSplits(tabletMetadata);
 
     if (extent.endRow() != null) {
       splits.remove(extent.endRow());
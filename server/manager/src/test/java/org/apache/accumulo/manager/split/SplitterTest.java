@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager.split;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class SplitterTest {
+
+  private static List<Key> index(String... rows) {
+    return Stream.of(rows).map(Key::new).collect(Collectors.toList());
+  }
+
+  private static List<String> rows(List<Key> keys) {
+    return keys.stream().map(k -> k.getRow().toString()).collect(Collectors.toList());
+  }
+
+  private static Text text(String row) {
+    return row == null ? null : new Text(row);
+  }
+
+  @Test
+  public void testFirstRowAfter() {
+    assertEquals(0, Splitter.firstRowAfter(index(), new Text("m")));
+
+    List<Key> single = index("m");
+    assertEquals(0, Splitter.firstRowAfter(single, new Text("a")));
+    assertEquals(1, Splitter.firstRowAfter(single, new Text("m")));
+    assertEquals(1, Splitter.firstRowAfter(single, new Text("z")));
+
+    // all keys with the same row are skipped
+    List<Key> duplicates = index("b", "d", "d", "d", "f");
+    assertEquals(0, Splitter.firstRowAfter(duplicates, new Text("a")));
+    assertEquals(1, Splitter.firstRowAfter(duplicates, new Text("b")));
+    assertEquals(1, Splitter.firstRowAfter(duplicates, new Text("c")));
+    assertEquals(4, Splitter.firstRowAfter(duplicates, new Text("d")));
+    assertEquals(5, Splitter.firstRowAfter(duplicates, new Text("f")));
+  }
+
+  @Test
+  public void testMergeIndexes() {
+    List<List<Key>> indexes =
+        List.of(index("a", "c", "e", "g"), index(), index("b", "c", "c", "h"), index("d"));
+
+    assertEquals(List.of("a", "b", "c", "c", "c", "d", "e", "g", "h"),
+        rows(Splitter.mergeIndexes(indexes, null, null)));
+    // the prev end row is exclusive and the end row is inclusive
+    assertEquals(List.of("d", "e", "g"),
+        rows(Splitter.mergeIndexes(indexes, text("c"), text("g"))));
+    assertEquals(List.of("a", "b", "c", "c", "c"),
+        rows(Splitter.mergeIndexes(indexes, null, text("c"))));
+    assertEquals(List.of("h"), rows(Splitter.mergeIndexes(indexes, text("g"), null)));
+    assertEquals(List.of(), rows(Splitter.mergeIndexes(indexes, text("h"), null)));
+    assertEquals(List.of(), rows(Splitter.mergeIndexes(indexes, text("e"), text("f"))));
+
+    assertEquals(List.of(), Splitter.mergeIndexes(List.of(), null, null));
+    assertEquals(List.of(), Splitter.mergeIndexes(List.of(index()), text("a"), text("b")));
+    assertEquals(List.of("m"),
+        rows(Splitter.mergeIndexes(List.of(index("m")), text("l"), text("m"))));
+  }
+}
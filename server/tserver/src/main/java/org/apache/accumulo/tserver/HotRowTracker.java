@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.hadoop.io.Text;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Finds the rows that are most frequently updated or looked up on a tablet server using the space
+ * saving algorithm. At most a fixed number of rows are counted. When a row that is not counted is
+ * seen and all counters are in use, the counter with the lowest count is taken over by the new
+ * row, which inherits that count as its error. So the count of a row over estimates how often it
+ * was seen by at most its error, and every row seen more than {@code total / capacity} times is
+ * counted.
+ *
+ * <p>
+ * Counting is done over windows of time. {@link #rotate()} ends the current window, returning the
+ * hot rows found in it.
+ *
+ * <p>
+ * Rows are split by hash into stripes that are counted separately, each under its own lock, so
+ * that concurrent updates and lookups do not all wait on a single lock. Each stripe counts up to
+ * the capacity of the tracker. A stripe sees only part of the total, so rows seen more than
+ * {@code total / capacity} times are still always counted, but the tracker uses the memory of
+ * counting the capacity times the number of stripes.
+ */
+public class HotRowTracker {
+
+  /**
+   * A row that was frequently used in a window.
+   */
+  public static class HotRow {
+    private final TableId tableId;
+    private final byte[] row;
+    private final long count;
+    private final long error;
+
+    private HotRow(TableId tableId, byte[] row, long count, long error) {
+      this.tableId = tableId;
+      this.row = row;
+      this.count = count;
+      this.error = error;
+    }
+
+    public TableId getTableId() {
+      return tableId;
+    }
+
+    public byte[] getRow() {
+      return row;
+    }
+
+    /**
+     * @return an upper bound on the number of times the row was used
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * @return a lower bound on the number of times the row was used
+     */
+    public long getGuaranteedCount() {
+      return count - error;
+    }
+
+    /**
+     * A tablet's end row is inclusive, so splitting at a hot row leaves it as the last row of its
+     * tablet and moves all of the rows after it to another tablet. When a table has several hot
+     * rows, splitting at each of them puts each in a different tablet.
+     *
+     * @return the split point that separates this row from the rows that follow it
+     */
+    public Text getSplitPoint() {
+      return new Text(row);
+    }
+
+    @Override
+    public String toString() {
+      return tableId + ";" + Key.toPrintableString(row, 0, row.length, 128) + " count:" + count
+          + " error:" + error;
+    }
+  }
+
+  private static class RowKey {
+    private final TableId tableId;
+    private final byte[] row;
+    private final int hash;
+
+    RowKey(TableId tableId, byte[] row) {
+      this.tableId = tableId;
+      this.row = row;
+      this.hash = 31 * tableId.hashCode() + Arrays.hashCode(row);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o instanceof RowKey) {
+        RowKey other = (RowKey) o;
+        return hash == other.hash && tableId.equals(other.tableId)
+            && Arrays.equals(row, other.row);
+      }
+      return false;
+    }
+  }
+
+  private static class Counter {
+    private RowKey key;
+    private long count;
+    private long error;
+    private int index;
+  }
+
+  /**
+   * Counts the rows that hash to it with its own lock, so that threads recording different rows
+   * rarely wait on each other.
+   */
+  private static class Stripe {
+    private final HashMap<RowKey,Counter> counters = new HashMap<>();
+    // min heap on count, so the counter to take over for an uncounted row is always at the top
+    private final Counter[] heap;
+    private int size = 0;
+    private long total = 0;
+
+    private Stripe(int capacity) {
+      this.heap = new Counter[capacity];
+    }
+
+    private void siftUp(int i) {
+      Counter counter = heap[i];
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (heap[parent].count <= counter.count) {
+          break;
+        }
+        heap[i] = heap[parent];
+        heap[i].index = i;
+        i = parent;
+      }
+      heap[i] = counter;
+      counter.index = i;
+    }
+
+    private void siftDown(int i) {
+      Counter counter = heap[i];
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+          child++;
+        }
+        if (heap[child].count >= counter.count) {
+          break;
+        }
+        heap[i] = heap[child];
+        heap[i].index = i;
+        i = child;
+      }
+      heap[i] = counter;
+      counter.index = i;
+    }
+
+    private void record(RowKey lookupKey, long count) {
+      total += count;
+      Counter counter = counters.get(lookupKey);
+      if (counter == null) {
+        // the row array belongs to the caller, so copy it before keeping it
+        RowKey key = new RowKey(lookupKey.tableId, lookupKey.row.clone());
+        if (size < heap.length) {
+          counter = new Counter();
+          counter.key = key;
+          counter.count = count;
+          counters.put(key, counter);
+          heap[size] = counter;
+          siftUp(size++);
+          return;
+        }
+        counter = heap[0];
+        counters.remove(counter.key);
+        counter.key = key;
+        counter.error = counter.count;
+        counters.put(key, counter);
+      }
+      counter.count += count;
+      siftDown(counter.index);
+    }
+
+    private void addCountedRows(List<HotRow> rows) {
+      for (int i = 0; i < size; i++) {
+        Counter c = heap[i];
+        rows.add(new HotRow(c.key.tableId, c.key.row, c.count, c.error));
+      }
+    }
+
+    private void clear() {
+      counters.clear();
+      Arrays.fill(heap, 0, size, null);
+      size = 0;
+      total = 0;
+    }
+  }
+
+  // the number of stripes is a power of 2, so a stripe is chosen with the top bits of a hash
+  private static final int STRIPE_BITS = 3;
+
+  private final int capacity;
+  private final Stripe[] stripes;
+  private volatile long lastHottestCount = 0;
+
+  public HotRowTracker(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive : %s", capacity);
+    this.capacity = capacity;
+    this.stripes = new Stripe[1 << STRIPE_BITS];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(capacity);
+    }
+  }
+
+  private static int getStripe(RowKey key) {
+    // mix the hash first, the counters of a stripe are hashed on its low bits
+    return (key.hash * 0x9E3779B9) >>> (Integer.SIZE - STRIPE_BITS);
+  }
+
+  // locks each stripe once for all of its rows
+  private void record(List<RowKey> keys, List<Integer> counts) {
+    List<List<Integer>> byStripe = new ArrayList<>(stripes.length);
+    for (int i = 0; i < stripes.length; i++) {
+      byStripe.add(null);
+    }
+    for (int i = 0; i < keys.size(); i++) {
+      int stripe = getStripe(keys.get(i));
+      if (byStripe.get(stripe) == null) {
+        byStripe.set(stripe, new ArrayList<>());
+      }
+      byStripe.get(stripe).add(i);
+    }
+    for (int i = 0; i < stripes.length; i++) {
+      List<Integer> indexes = byStripe.get(i);
+      if (indexes != null) {
+        synchronized (stripes[i]) {
+          for (int index : indexes) {
+            stripes[i].record(keys.get(index), counts.get(index));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the row of a range that covers part or all of a single row, or null if it does not
+   */
+  static byte[] getSingleRow(Range range) {
+    Key start = range.getStartKey();
+    Key end = range.getEndKey();
+    if (start == null || end == null) {
+      return null;
+    }
+    ByteSequence row = start.getRowData();
+    if (row.equals(end.getRowData())
+        || (!range.isEndKeyInclusive() && end.equals(start.followingKey(PartialKey.ROW),
+            PartialKey.ROW_COLFAM_COLQUAL_COLVIS_TIME_DEL))) {
+      return row.toArray();
+    }
+    return null;
+  }
+
+  /**
+   * Records the rows looked up by the ranges of a scan of a table. Only ranges within a single row
+   * are counted, as scans over many rows do not point to any one row being hot.
+   */
+  public void recordLookups(TableId tableId, Collection<Range> ranges) {
+    List<RowKey> keys = new ArrayList<>();
+    List<Integer> counts = new ArrayList<>();
+    for (Range range : ranges) {
+      byte[] row = getSingleRow(range);
+      if (row != null) {
+        keys.add(new RowKey(tableId, row));
+        counts.add(1);
+      }
+    }
+    if (!keys.isEmpty()) {
+      record(keys, counts);
+    }
+  }
+
+  /**
+   * Records the rows updated by a batch of mutations to a table.
+   */
+  public void recordUpdates(TableId tableId, List<? extends Mutation> mutations) {
+    // count consecutive mutations to the same row locally to shorten the time the lock is held
+    List<RowKey> keys = new ArrayList<>();
+    List<Integer> counts = new ArrayList<>();
+    RowKey last = null;
+    for (Mutation m : mutations) {
+      if (last != null && Arrays.equals(last.row, m.getRow())) {
+        counts.set(counts.size() - 1, counts.get(counts.size() - 1) + 1);
+      } else {
+        last = new RowKey(tableId, m.getRow());
+        keys.add(last);
+        counts.add(1);
+      }
+    }
+    record(keys, counts);
+  }
+
+  private static void sortHottestFirst(List<HotRow> rows) {
+    rows.sort(Comparator.comparingLong(HotRow::getCount).reversed());
+  }
+
+  /**
+   * @return the most used of the rows counted in the current window, at most the capacity of the
+   *         tracker, hottest first
+   */
+  public List<HotRow> getCountedRows() {
+    List<HotRow> rows = new ArrayList<>();
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.addCountedRows(rows);
+      }
+    }
+    sortHottestFirst(rows);
+    return rows.size() > capacity ? new ArrayList<>(rows.subList(0, capacity)) : rows;
+  }
+
+  /**
+   * @return the number of updates and lookups recorded in the current window
+   */
+  public long getTotal() {
+    long total = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        total += stripe.total;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Ends the current window and starts a new one. The stripes are ended one after the other, so
+   * rows recorded while this runs may be counted in either window.
+   *
+   * @return the rows that are known to have been used more than {@code total / capacity} times in
+   *         the window that ended, hottest first
+   */
+  public synchronized List<HotRow> rotate() {
+    List<HotRow> counted = new ArrayList<>();
+    long total = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        total += stripe.total;
+        stripe.addCountedRows(counted);
+        stripe.clear();
+      }
+    }
+    sortHottestFirst(counted);
+    lastHottestCount = counted.isEmpty() ? 0 : counted.get(0).getCount();
+
+    long minGuaranteedCount = total / capacity + 1;
+    List<HotRow> hotRows = new ArrayList<>();
+    for (HotRow row : counted) {
+      if (row.getGuaranteedCount() >= minGuaranteedCount) {
+        hotRows.add(row);
+      }
+    }
+    return hotRows;
+  }
+
+  /**
+   * @return an upper bound on how often the hottest row was used in the last window that ended
+   */
+  public long getLastHottestCount() {
+    return lastHottestCount;
+  }
+}
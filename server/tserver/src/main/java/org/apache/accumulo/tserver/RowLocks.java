@@ -22,9 +22,10 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.accumulo.core.data.ArrayByteSequence;
 import org.apache.accumulo.core.data.ByteSequence;
@@ -36,50 +37,118 @@ import com.google.common.base.Preconditions;
 
 class RowLocks {
 
+  static final int DEFAULT_STRIPES = 4096;
+
+  static final int DEFAULT_MAX_STRIPED_ROWS = DEFAULT_STRIPES / 16;
+
+  // Rows are mapped to a fixed pool of locks instead of creating a lock per row and reference
+  // counting it in a shared map, so locking a row usually does not allocate or contend on a map
+  // entry. Two rows that map to the same stripe can not be updated at the same time. When more
+  // than one row is locked, locks are acquired with tryLock and rows that are not locked are
+  // deferred, so a collision only delays a mutation and can not deadlock. The locks are reentrant,
+  // so a session that has multiple rows in the same stripe acquires that stripe more than once.
+  //
+  // A session with many rows would hold most of the stripes and defer every other session, even
+  // ones that do not share a row with it. So a session with more than maxStripedRows rows only
+  // takes the read lock of each stripe, and excludes other sessions from its rows with a lock per
+  // row. Sessions with many rows then only conflict when they share a row, while sessions with few
+  // rows still exclude both kinds of session through the write lock of the stripe.
+  private final ReentrantReadWriteLock[] stripes;
+  private final int maxStripedRows;
+
   // The compute function in Concurrent Hash Map supports atomic execution of the remapping function
   // and will only execute it once. Properly computing the reference counts relies on this specific
-  // behavior. Not all concurrent map implementations have the desired behavior. For example
-  // ConcurrentSkipListMap.compute is not atomic and may execute the function multiple times.
-  private final Map<ByteSequence,RowLock> rowLocks = new ConcurrentHashMap<>();
+  // behavior.
+  private final Map<ByteSequence,SharedRow> sharedRows = new ConcurrentHashMap<>();
+
+  RowLocks() {
+    this(DEFAULT_STRIPES, DEFAULT_MAX_STRIPED_ROWS);
+  }
+
+  RowLocks(int numStripes, int maxStripedRows) {
+    Preconditions.checkArgument(numStripes > 0 && Integer.bitCount(numStripes) == 1,
+        "number of stripes must be a power of two : %s", numStripes);
+    Preconditions.checkArgument(maxStripedRows > 0, "max striped rows must be positive : %s",
+        maxStripedRows);
+    stripes = new ReentrantReadWriteLock[numStripes];
+    for (int i = 0; i < numStripes; i++) {
+      stripes[i] = new ReentrantReadWriteLock();
+    }
+    this.maxStripedRows = maxStripedRows;
+  }
+
+  private static class SharedRow {
+    final ReentrantLock rlock = new ReentrantLock();
+    int count = 1;
+  }
 
   static class RowLock {
-    final ReentrantLock rlock;
-    int count;
+    final Lock stripeLock;
+    // only set when the stripe is shared with other sessions that lock many rows
+    final SharedRow sharedRow;
     final ByteSequence rowSeq;
 
-    RowLock(ReentrantLock rlock, ByteSequence rowSeq) {
-      this.rlock = rlock;
-      this.count = 1;
+    RowLock(Lock stripeLock, SharedRow sharedRow, ByteSequence rowSeq) {
+      this.stripeLock = stripeLock;
+      this.sharedRow = sharedRow;
       this.rowSeq = rowSeq;
     }
 
     public boolean tryLock() {
-      return rlock.tryLock();
+      if (!stripeLock.tryLock()) {
+        return false;
+      }
+      if (sharedRow != null && !sharedRow.rlock.tryLock()) {
+        stripeLock.unlock();
+        return false;
+      }
+      return true;
     }
 
     public void lock() {
-      rlock.lock();
+      stripeLock.lock();
+      if (sharedRow != null) {
+        sharedRow.rlock.lock();
+      }
     }
 
     public void unlock() {
-      rlock.unlock();
+      if (sharedRow != null) {
+        sharedRow.rlock.unlock();
+      }
+      stripeLock.unlock();
     }
   }
 
-  private RowLock getRowLock(ArrayByteSequence rowSeq) {
-    return rowLocks.compute(rowSeq, (key, value) -> {
+  int getStripe(ByteSequence rowSeq) {
+    int hash = rowSeq.hashCode();
+    // spread the high bits of the hash so rows that differ only in their last bytes do not map
+    // to the same stripe
+    hash ^= (hash >>> 16);
+    return hash & (stripes.length - 1);
+  }
+
+  private RowLock getRowLock(ArrayByteSequence rowSeq, boolean shared) {
+    ReentrantReadWriteLock stripe = stripes[getStripe(rowSeq)];
+    if (!shared) {
+      return new RowLock(stripe.writeLock(), null, rowSeq);
+    }
+    SharedRow sharedRow = sharedRows.compute(rowSeq, (key, value) -> {
       if (value == null) {
-        return new RowLock(new ReentrantLock(), rowSeq);
+        return new SharedRow();
       }
       value.count++;
       return value;
     });
+    return new RowLock(stripe.readLock(), sharedRow, rowSeq);
   }
 
   private void returnRowLock(RowLock lock) {
-    Objects.requireNonNull(lock);
-    rowLocks.compute(lock.rowSeq, (key, value) -> {
-      Preconditions.checkState(value == lock);
+    if (lock.sharedRow == null) {
+      return;
+    }
+    sharedRows.compute(lock.rowSeq, (key, value) -> {
+      Preconditions.checkState(value == lock.sharedRow);
       Preconditions.checkState(value.count > 0);
       return (--value.count > 0) ? value : null;
     });
@@ -89,25 +158,36 @@ class RowLocks {
       Map<KeyExtent,List<ServerConditionalMutation>> deferred) {
     ArrayList<RowLock> locks = new ArrayList<>();
 
+    int numRows = 0;
+    for (List<ServerConditionalMutation> scml : updates.values()) {
+      numRows += scml.size();
+    }
+    boolean shared = numRows > maxStripedRows;
+
     for (List<ServerConditionalMutation> scml : updates.values()) {
       for (ServerConditionalMutation scm : scml) {
-        locks.add(getRowLock(new ArrayByteSequence(scm.getRow())));
+        locks.add(getRowLock(new ArrayByteSequence(scm.getRow()), shared));
       }
     }
 
     HashSet<ByteSequence> rowsNotLocked = null;
 
     if (locks.size() > 1) {
-      // Assuming mutations are in sorted order which avoids deadlock. Acquire as many locks as
-      // possible, not blocking on rows that are already locked.
+      // Acquire as many locks as possible, not blocking on rows that are already locked. Never
+      // blocking while holding locks avoids deadlock.
+      ArrayList<RowLock> acquired = new ArrayList<>(locks.size());
       for (RowLock rowLock : locks) {
-        if (!rowLock.tryLock()) {
+        if (rowLock.tryLock()) {
+          acquired.add(rowLock);
+        } else {
+          returnRowLock(rowLock);
           if (rowsNotLocked == null) {
             rowsNotLocked = new HashSet<>();
           }
           rowsNotLocked.add(rowLock.rowSeq);
         }
       }
+      locks = acquired;
     } else {
       // if there is only one lock, then wait for it
       locks.get(0).lock();
@@ -132,19 +212,18 @@ class RowLocks {
         }
       });
 
+      // a row that is in the session more than once may have been locked on a later attempt
       ArrayList<RowLock> filteredLocks = new ArrayList<>();
-      ArrayList<RowLock> locksToReturn = new ArrayList<>();
+      ArrayList<RowLock> locksToRelease = new ArrayList<>();
       for (RowLock rowLock : locks) {
         if (rowsNotLocked.contains(rowLock.rowSeq)) {
-          locksToReturn.add(rowLock);
+          locksToRelease.add(rowLock);
         } else {
           filteredLocks.add(rowLock);
         }
       }
 
-      for (RowLock rowLock : locksToReturn) {
-        returnRowLock(rowLock);
-      }
+      releaseRowLocks(locksToRelease);
 
       locks = filteredLocks;
     }
@@ -39,11 +39,14 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -141,9 +144,13 @@ public class ScanServer extends AbstractServer
   private static class TabletMetadataLoader implements CacheLoader<KeyExtent,TabletMetadata> {
 
     private final Ample ample;
+    // called with the previous and the new metadata when cached metadata is refreshed
+    private final BiConsumer<TabletMetadata,TabletMetadata> reloadListener;
 
-    private TabletMetadataLoader(Ample ample) {
+    private TabletMetadataLoader(Ample ample,
+        BiConsumer<TabletMetadata,TabletMetadata> reloadListener) {
       this.ample = ample;
+      this.reloadListener = reloadListener;
     }
 
     @Override
@@ -155,6 +162,15 @@ public class ScanServer extends AbstractServer
       return tm;
     }
 
+    @Override
+    public @Nullable TabletMetadata reload(KeyExtent keyExtent, TabletMetadata oldValue) {
+      var tm = load(keyExtent);
+      if (tm != null && reloadListener != null) {
+        reloadListener.accept(oldValue, tm);
+      }
+      return tm;
+    }
+
     @Override
     public Map<? extends KeyExtent,? extends TabletMetadata>
         loadAll(Set<? extends KeyExtent> keys) {
@@ -178,6 +194,8 @@ public class ScanServer extends AbstractServer
   private final TabletMetadataLoader tabletMetadataLoader;
   private final LoadingCache<KeyExtent,TabletMetadata> tabletMetadataCache;
   private final ThreadPoolExecutor tmCacheExecutor;
+  // shares snapshot tablets between scans, only used when tablet metadata is cached
+  private final SnapshotTabletCache snapshotTabletCache;
   // tracks file reservations that are in the process of being added or removed from the metadata
   // table
   private final Set<StoredTabletFile> influxFiles = new HashSet<>();
@@ -192,6 +210,8 @@ public class ScanServer extends AbstractServer
   // information about which scans are currently using the file
   private final Map<StoredTabletFile,ReservedFile> reservedFiles = new ConcurrentHashMap<>();
   private final AtomicLong nextScanReservationId = new AtomicLong();
+  // combines the scan server refs written by concurrent scans into fewer metadata writes
+  private final ScanServerRefBatcher scanServerRefBatcher;
 
   private final ServerContext context;
   private final SessionManager sessionManager;
@@ -201,7 +221,7 @@ public class ScanServer extends AbstractServer
   protected volatile boolean serverStopRequested = false;
   private ServiceLock scanServerLock;
   protected TabletServerScanMetrics scanMetrics;
-  private ScanServerMetrics scanServerMetrics;
+  private volatile ScanServerMetrics scanServerMetrics;
   private BlockCacheMetrics blockCacheMetrics;
 
   private final ZooCache managerLockCache;
@@ -233,12 +253,18 @@ public class ScanServer extends AbstractServer
     long scanServerReservationExpiration =
         getConfiguration().getTimeInMillis(Property.SSERV_SCAN_REFERENCE_EXPIRATION_TIME);
 
-    tabletMetadataLoader = new TabletMetadataLoader(getContext().getAmple());
+    scanServerRefBatcher =
+        new ScanServerRefBatcher(refs -> getContext().getAmple().scanServerRefs().put(refs));
+
+    tabletMetadataLoader = new TabletMetadataLoader(getContext().getAmple(),
+        getConfiguration().getBoolean(Property.SSERV_SCAN_REFERENCE_PRERESERVE)
+            ? this::tabletMetadataReloaded : null);
 
     if (cacheExpiration == 0L) {
       LOG.warn("Tablet metadata caching disabled, may cause excessive scans on metadata table.");
       tabletMetadataCache = null;
       tmCacheExecutor = null;
+      snapshotTabletCache = null;
     } else {
       if (cacheExpiration < 60000) {
         LOG.warn(
@@ -272,6 +298,16 @@ public class ScanServer extends AbstractServer
         LOG.warn("Tablet metadata cache refresh disabled, may cause blocking on cache expiration.");
       }
       tabletMetadataCache = builder.build(tabletMetadataLoader);
+
+      snapshotTabletCache = new SnapshotTabletCache(
+          extent -> resourceManager.createTabletResourceManager(extent,
+              context.getTableConfiguration(extent.tableId())),
+          (tabletMetadata, trm) -> new SnapshotTablet(this, tabletMetadata, trm));
+      // a cached tablet is only used while the cached metadata of the tablet has the same files,
+      // so do not keep tablets that were not used for longer than the metadata is cached
+      ThreadPools.watchNonCriticalScheduledTask(getContext().getScheduledExecutor()
+          .scheduleWithFixedDelay(() -> snapshotTabletCache.removeIdle(cacheExpiration),
+              cacheExpiration, cacheExpiration, TimeUnit.MILLISECONDS));
     }
 
     delegate = newThriftScanClientHandler(new WriteTracker());
@@ -411,7 +447,7 @@ public class ScanServer extends AbstractServer
 
     scanMetrics = new TabletServerScanMetrics(resourceManager::getOpenFiles);
     sessionManager.setZombieCountConsumer(scanMetrics::setZombieScanThreads);
-    scanServerMetrics = new ScanServerMetrics(tabletMetadataCache);
+    scanServerMetrics = new ScanServerMetrics(tabletMetadataCache, resourceManager::getScanLoad);
     blockCacheMetrics = new BlockCacheMetrics(resourceManager.getIndexCache(),
         resourceManager.getDataCache(), resourceManager.getSummaryCache());
 
@@ -540,6 +576,9 @@ public class ScanServer extends AbstractServer
 
     SnapshotTablet newTablet(ScanServer server, KeyExtent extent) throws IOException {
       var tabletMetadata = getTabletMetadata(extent);
+      if (snapshotTabletCache != null) {
+        return snapshotTabletCache.acquire(tabletMetadata);
+      }
       TabletResourceManager trm =
           resourceManager.createTabletResourceManager(tabletMetadata.getExtent(),
               context.getTableConfiguration(tabletMetadata.getExtent().tableId()));
@@ -580,6 +619,16 @@ public class ScanServer extends AbstractServer
       tabletsMetadata = new HashMap<>(tabletsMetadata);
     }
 
+    return reserveFilesInner(extents, tabletsMetadata, myReservationId, failures);
+  }
+
+  /*
+   * Reserves the files of the given tablet metadata, which must be a mutable map. Returns null
+   * when the files of a tablet changed while reserving them.
+   */
+  private Map<KeyExtent,TabletMetadata> reserveFilesInner(Collection<KeyExtent> extents,
+      Map<KeyExtent,TabletMetadata> tabletsMetadata, long myReservationId,
+      Set<KeyExtent> failures) {
     for (KeyExtent extent : extents) {
       var tabletMetadata = tabletsMetadata.get(extent);
       if (tabletMetadata == null) {
@@ -659,7 +708,7 @@ public class ScanServer extends AbstractServer
 
       if (!filesToReserve.isEmpty()) {
         scanServerMetrics.recordWriteOutReservationTime(
-            () -> getContext().getAmple().scanServerRefs().put(refs));
+            () -> scanServerRefBatcher.put(refs));
 
         // After we insert the scan server refs we need to check and see if the tablet is still
         // using the file. As long as the tablet is still using the files then the Accumulo GC
@@ -721,6 +770,45 @@ public class ScanServer extends AbstractServer
     }
   }
 
+  /*
+   * Called when the cached metadata of a tablet was refreshed. When the tablet has new files and
+   * its previous files are still reserved, which means it was scanned within the reference
+   * expiration time, the new files are reserved in the background. Then the next scan of the
+   * tablet finds all its files reserved and does not have to write to the metadata table.
+   */
+  private void tabletMetadataReloaded(TabletMetadata oldMetadata, TabletMetadata newMetadata) {
+    if (oldMetadata == null || oldMetadata.getFiles().isEmpty()
+        || !reservedFiles.keySet().containsAll(oldMetadata.getFiles())
+        || reservedFiles.keySet().containsAll(newMetadata.getFiles())) {
+      return;
+    }
+
+    try {
+      tmCacheExecutor.execute(() -> preReserveFiles(newMetadata));
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Unable to pre-reserve files for {}", newMetadata.getExtent(), e);
+    }
+  }
+
+  private void preReserveFiles(TabletMetadata tabletMetadata) {
+    long myReservationId = nextScanReservationId.incrementAndGet();
+    KeyExtent extent = tabletMetadata.getExtent();
+    Map<KeyExtent,TabletMetadata> tabletsMetadata = new HashMap<>();
+    tabletsMetadata.put(extent, tabletMetadata);
+    try {
+      var reserved = reserveFilesInner(Set.of(extent), tabletsMetadata, myReservationId,
+          new HashSet<>());
+      if (reserved != null) {
+        // Releasing the reservation right away leaves the files reserved until they expire, the
+        // same as when a scan finishes.
+        new ScanReservation(reserved, myReservationId, Map.of()).close();
+        LOG.trace("RFFS {} pre-reserved files for {}", myReservationId, extent);
+      }
+    } catch (RuntimeException e) {
+      LOG.debug("RFFS {} failed to pre-reserve files for {}", myReservationId, extent, e);
+    }
+  }
+
   @VisibleForTesting
   ScanReservation reserveFilesInstrumented(Map<KeyExtent,List<TRange>> extents)
       throws AccumuloException {
@@ -907,6 +995,7 @@ public class ScanServer extends AbstractServer
   protected TabletResolver getScanTabletResolver(final TabletBase tablet) {
     return new TabletResolver() {
       final TabletBase t = tablet;
+      final AtomicBoolean closed = new AtomicBoolean(false);
 
       @Override
       public TabletBase getTablet(KeyExtent extent) {
@@ -921,8 +1010,11 @@ public class ScanServer extends AbstractServer
 
       @Override
       public void close() {
+        if (!closed.compareAndSet(false, true)) {
+          return;
+        }
         try {
-          t.close(false);
+          releaseTablet(t);
         } catch (IOException e) {
           throw new UncheckedIOException("Error closing tablet", e);
         }
@@ -932,6 +1024,8 @@ public class ScanServer extends AbstractServer
 
   protected TabletResolver getBatchScanTabletResolver(final HashMap<KeyExtent,TabletBase> tablets) {
     return new TabletResolver() {
+      final AtomicBoolean closed = new AtomicBoolean(false);
+
       @Override
       public TabletBase getTablet(KeyExtent extent) {
         return tablets.get(extent);
@@ -939,9 +1033,12 @@ public class ScanServer extends AbstractServer
 
       @Override
       public void close() {
+        if (!closed.compareAndSet(false, true)) {
+          return;
+        }
         tablets.forEach((e, t) -> {
           try {
-            t.close(false);
+            releaseTablet(t);
           } catch (IOException ex) {
             throw new UncheckedIOException("Error closing tablet: " + e.toString(), ex);
           }
@@ -950,6 +1047,38 @@ public class ScanServer extends AbstractServer
     };
   }
 
+  /*
+   * Called when a scan session no longer uses a tablet. Tablets shared through the snapshot tablet
+   * cache are only closed by the cache, once no session uses them.
+   */
+  private void releaseTablet(TabletBase tablet) throws IOException {
+    if (snapshotTabletCache == null || !(tablet instanceof SnapshotTablet)
+        || !snapshotTabletCache.release((SnapshotTablet) tablet)) {
+      tablet.close(false);
+    }
+  }
+
+  /*
+   * Scan servers return their load with scan responses so clients can prefer less loaded servers.
+   * The metrics that compute the load are created after the client service starts, so the load is
+   * left unset for scans that arrive before that.
+   */
+  private ScanResult addServerLoad(ScanResult result) {
+    var metrics = scanServerMetrics;
+    if (result != null && metrics != null) {
+      result.setServerLoad(metrics.getScanLoad());
+    }
+    return result;
+  }
+
+  private MultiScanResult addServerLoad(MultiScanResult result) {
+    var metrics = scanServerMetrics;
+    if (result != null && metrics != null) {
+      result.setServerLoad(metrics.getScanLoad());
+    }
+    return result;
+  }
+
   /* Exposed for testing */
   protected boolean isSystemUser(TCredentials creds) {
     return context.getSecurityOperation().isSystemUser(creds);
@@ -961,8 +1090,9 @@ public class ScanServer extends AbstractServer
       Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
       boolean isolated, long readaheadThreshold, TSamplerConfiguration samplerConfig,
       long batchTimeOut, String classLoaderContext, Map<String,String> executionHints,
-      long busyTimeout) throws ThriftSecurityException, NotServingTabletException,
-      TooManyFilesException, TSampleNotPresentException, TException {
+      long busyTimeout, boolean encodeResults, boolean adaptiveBatchSize)
+      throws ThriftSecurityException, NotServingTabletException, TooManyFilesException,
+      TSampleNotPresentException, TException {
 
     KeyExtent extent = getKeyExtent(textent);
 
@@ -979,13 +1109,26 @@ public class ScanServer extends AbstractServer
       }
 
       TabletBase tablet = reservation.newTablet(this, extent);
+      TabletResolver resolver = getScanTabletResolver(tablet);
 
-      InitialScan is = delegate.startScan(tinfo, credentials, extent, range, columns, batchSize,
-          ssiList, ssio, authorizations, waitForWrites, isolated, readaheadThreshold, samplerConfig,
-          batchTimeOut, classLoaderContext, executionHints, getScanTabletResolver(tablet),
-          busyTimeout);
+      InitialScan is;
+      boolean started = false;
+      try {
+        is = delegate.startScan(tinfo, credentials, extent, range, columns, batchSize, ssiList,
+            ssio, authorizations, waitForWrites, isolated, readaheadThreshold, samplerConfig,
+            batchTimeOut, classLoaderContext, executionHints, resolver, busyTimeout,
+            encodeResults, adaptiveBatchSize);
+        started = true;
+      } finally {
+        if (!started) {
+          // the client will not continue a scan that failed to start, so release the tablet now
+          // rather than when the scan session expires
+          resolver.close();
+        }
+      }
 
       LOG.trace("started scan: {}", is.getScanID());
+      addServerLoad(is.result);
       return is;
     } catch (ScanServerBusyException be) {
       scanServerMetrics.incrementBusy();
@@ -1004,7 +1147,7 @@ public class ScanServer extends AbstractServer
 
     try (ScanReservation reservation = reserveFilesInstrumented(scanID)) {
       Preconditions.checkState(reservation.getFailures().isEmpty());
-      return delegate.continueScan(tinfo, scanID, busyTimeout);
+      return addServerLoad(delegate.continueScan(tinfo, scanID, busyTimeout));
     } catch (ScanServerBusyException be) {
       scanServerMetrics.incrementBusy();
       throw be;
@@ -1022,7 +1165,7 @@ public class ScanServer extends AbstractServer
       Map<TKeyExtent,List<TRange>> tbatch, List<TColumn> tcolumns, List<IterInfo> ssiList,
       Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
       TSamplerConfiguration tSamplerConfig, long batchTimeOut, String contextArg,
-      Map<String,String> executionHints, long busyTimeout)
+      Map<String,String> executionHints, long busyTimeout, boolean encodeResults)
       throws ThriftSecurityException, TSampleNotPresentException, TException {
 
     if (tbatch.size() == 0) {
@@ -1045,19 +1188,32 @@ public class ScanServer extends AbstractServer
     try (ScanReservation reservation = reserveFilesInstrumented(batch)) {
 
       HashMap<KeyExtent,TabletBase> tablets = new HashMap<>();
-      reservation.getTabletMetadataExtents().forEach(extent -> {
-        try {
-          tablets.put(extent, reservation.newTablet(this, extent));
-        } catch (IOException e) {
-          throw new UncheckedIOException(e);
-        }
-      });
+      TabletResolver resolver = getBatchScanTabletResolver(tablets);
+
+      InitialMultiScan ims;
+      boolean started = false;
+      try {
+        reservation.getTabletMetadataExtents().forEach(extent -> {
+          try {
+            tablets.put(extent, reservation.newTablet(this, extent));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
 
-      InitialMultiScan ims = delegate.startMultiScan(tinfo, credentials, tcolumns, ssiList, batch,
-          ssio, authorizations, waitForWrites, tSamplerConfig, batchTimeOut, contextArg,
-          executionHints, getBatchScanTabletResolver(tablets), busyTimeout);
+        ims = delegate.startMultiScan(tinfo, credentials, tcolumns, ssiList, batch, ssio,
+            authorizations, waitForWrites, tSamplerConfig, batchTimeOut, contextArg,
+            executionHints, resolver, busyTimeout, encodeResults);
+        started = true;
+      } finally {
+        if (!started) {
+          // release the tablets of a scan that failed to start, see startScan
+          resolver.close();
+        }
+      }
 
       LOG.trace("started multi scan: {}", ims.getScanID());
+      addServerLoad(ims.result);
       return ims;
     } catch (ScanServerBusyException be) {
       scanServerMetrics.incrementBusy();
@@ -1078,7 +1234,7 @@ public class ScanServer extends AbstractServer
 
     try (ScanReservation reservation = reserveFilesInstrumented(scanID)) {
       Preconditions.checkState(reservation.getFailures().isEmpty());
-      return delegate.continueMultiScan(tinfo, scanID, busyTimeout);
+      return addServerLoad(delegate.continueMultiScan(tinfo, scanID, busyTimeout));
     } catch (ScanServerBusyException be) {
       scanServerMetrics.incrementBusy();
       throw be;
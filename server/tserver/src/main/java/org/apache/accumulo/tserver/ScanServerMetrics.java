@@ -22,10 +22,14 @@ import static org.apache.accumulo.core.metrics.Metric.SCAN_BUSY_TIMEOUT_COUNT;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_RESERVATION_CONFLICT_COUNTER;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_RESERVATION_TOTAL_TIMER;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_RESERVATION_WRITEOUT_TIMER;
+import static org.apache.accumulo.core.metrics.Metric.SCAN_SERVER_LOAD;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_TABLET_METADATA_CACHE;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.schema.TabletMetadata;
@@ -34,8 +38,10 @@ import org.apache.accumulo.server.metrics.NoopMetrics;
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 
 import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
@@ -48,9 +54,13 @@ public class ScanServerMetrics implements MetricsProducer {
   private final AtomicLong reservationConflictCount = new AtomicLong(0);
 
   private final LoadingCache<KeyExtent,TabletMetadata> tabletMetadataCache;
+  // the load is returned with every scan response, so only compute it periodically
+  private final Supplier<Integer> scanLoad;
 
-  public ScanServerMetrics(final LoadingCache<KeyExtent,TabletMetadata> tabletMetadataCache) {
+  public ScanServerMetrics(final LoadingCache<KeyExtent,TabletMetadata> tabletMetadataCache,
+      IntSupplier scanLoad) {
     this.tabletMetadataCache = tabletMetadataCache;
+    this.scanLoad = Suppliers.memoizeWithExpiration(scanLoad::getAsInt, 100, TimeUnit.MILLISECONDS);
   }
 
   @Override
@@ -65,6 +75,8 @@ public class ScanServerMetrics implements MetricsProducer {
         .builder(SCAN_RESERVATION_CONFLICT_COUNTER.getName(), reservationConflictCount,
             AtomicLong::get)
         .description(SCAN_RESERVATION_CONFLICT_COUNTER.getDescription()).register(registry);
+    Gauge.builder(SCAN_SERVER_LOAD.getName(), this, ScanServerMetrics::getScanLoad)
+        .description(SCAN_SERVER_LOAD.getDescription()).register(registry);
 
     if (tabletMetadataCache != null) {
       Preconditions.checkState(tabletMetadataCache.policy().isRecordingStats(),
@@ -82,6 +94,13 @@ public class ScanServerMetrics implements MetricsProducer {
     writeOutReservationTimer.record(time);
   }
 
+  /**
+   * @return the number of scans running or queued on this server, as of at most 100ms ago
+   */
+  public int getScanLoad() {
+    return scanLoad.get();
+  }
+
   public void incrementBusy() {
     busyTimeoutCount.incrementAndGet();
   }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import org.apache.accumulo.core.metadata.ScanServerRefTabletFile;
+
+/**
+ * Combines the scan server file references that concurrent scans need written to the metadata
+ * table into fewer writes. While one write is running, the references of all the scans that
+ * arrive are collected and written together by the first of those scans once the running write
+ * finishes. Each call to {@link #put(Collection)} returns only after its references were written,
+ * so callers can rely on them being in the metadata table just as when writing them directly.
+ */
+class ScanServerRefBatcher {
+
+  private static class Batch {
+    private final List<ScanServerRefTabletFile> refs = new ArrayList<>();
+    private final CompletableFuture<Void> written = new CompletableFuture<>();
+  }
+
+  private final Consumer<Collection<ScanServerRefTabletFile>> writer;
+
+  // the batch that scans are currently adding their references to, guarded by this
+  private Batch open = null;
+  // true while a batch is being written, guarded by this
+  private boolean writing = false;
+
+  ScanServerRefBatcher(Consumer<Collection<ScanServerRefTabletFile>> writer) {
+    this.writer = writer;
+  }
+
+  void put(Collection<ScanServerRefTabletFile> refs) {
+    Batch batch;
+    boolean leader;
+    synchronized (this) {
+      leader = open == null;
+      if (leader) {
+        open = new Batch();
+      }
+      batch = open;
+      batch.refs.addAll(refs);
+
+      if (leader) {
+        // other scans may add their references to the batch while waiting for the running write
+        while (writing) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            open = null;
+            batch.written.completeExceptionally(e);
+            throw new IllegalStateException(e);
+          }
+        }
+        writing = true;
+        open = null;
+      }
+    }
+
+    if (leader) {
+      try {
+        writer.accept(batch.refs);
+        batch.written.complete(null);
+      } catch (RuntimeException e) {
+        batch.written.completeExceptionally(e);
+        throw e;
+      } finally {
+        synchronized (this) {
+          writing = false;
+          notifyAll();
+        }
+      }
+    } else {
+      try {
+        batch.written.join();
+      } catch (CompletionException e) {
+        throw new IllegalStateException("Failed to write scan server references", e.getCause());
+      }
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.StoredTabletFile;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata;
+import org.apache.accumulo.tserver.TabletServerResourceManager.TabletResourceManager;
+import org.apache.accumulo.tserver.tablet.SnapshotTablet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Shares snapshot tablets between the scans of a scan server. Without this every scan creates its
+ * own {@link SnapshotTablet} and {@link TabletResourceManager}, even when many short scans read the
+ * same tablet.
+ *
+ * <p>
+ * A cached tablet is used for as long as the tablet metadata that scans reserve has the same
+ * files. When the files change a new tablet is created for the new files, reusing the resource
+ * manager of the previous one. The previous tablet is retired and closed once the scans using it
+ * finish. The readers of the files that did not change stay open in the file manager, so only the
+ * new files have to be opened. Tablets that no scan used for a while are closed and removed.
+ */
+class SnapshotTabletCache {
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotTabletCache.class);
+
+  interface TabletFactory {
+    SnapshotTablet newTablet(TabletMetadata metadata, TabletResourceManager resources)
+        throws IOException;
+  }
+
+  private static class Entry {
+    private final SnapshotTablet tablet;
+    private final Map<StoredTabletFile,DataFileValue> files;
+    private final TabletResourceManager resources;
+    private int references = 0;
+    private long lastUseTime;
+    private boolean retired = false;
+
+    private Entry(SnapshotTablet tablet, Map<StoredTabletFile,DataFileValue> files,
+        TabletResourceManager resources) {
+      this.tablet = tablet;
+      this.files = files;
+      this.resources = resources;
+    }
+  }
+
+  private final Function<KeyExtent,TabletResourceManager> resourcesFactory;
+  private final TabletFactory tabletFactory;
+  private final LongSupplier currentTimeMillis;
+
+  // the tablets new scans use, guarded by this
+  private final Map<KeyExtent,Entry> current = new HashMap<>();
+  // all tablets that are current or retired but still used by scans, guarded by this
+  private final Map<SnapshotTablet,Entry> entries = new IdentityHashMap<>();
+
+  SnapshotTabletCache(Function<KeyExtent,TabletResourceManager> resourcesFactory,
+      TabletFactory tabletFactory) {
+    this(resourcesFactory, tabletFactory, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  SnapshotTabletCache(Function<KeyExtent,TabletResourceManager> resourcesFactory,
+      TabletFactory tabletFactory, LongSupplier currentTimeMillis) {
+    this.resourcesFactory = resourcesFactory;
+    this.tabletFactory = tabletFactory;
+    this.currentTimeMillis = currentTimeMillis;
+  }
+
+  /**
+   * Returns a tablet for the files in the given metadata. Each tablet returned must be passed to
+   * {@link #release(SnapshotTablet)} once the scan using it is done.
+   */
+  SnapshotTablet acquire(TabletMetadata metadata) throws IOException {
+    KeyExtent extent = metadata.getExtent();
+    Map<StoredTabletFile,DataFileValue> files = metadata.getFilesMap();
+    SnapshotTablet toClose = null;
+    SnapshotTablet tablet;
+
+    synchronized (this) {
+      Entry entry = current.get(extent);
+      if (entry == null || !entry.files.equals(files)) {
+        TabletResourceManager resources =
+            entry == null ? resourcesFactory.apply(extent) : entry.resources;
+        Entry newEntry =
+            new Entry(tabletFactory.newTablet(metadata, resources), Map.copyOf(files), resources);
+        if (entry != null) {
+          log.trace("Files of {} changed, replacing its cached tablet", extent);
+          entry.retired = true;
+          if (entry.references == 0) {
+            entries.remove(entry.tablet);
+            toClose = entry.tablet;
+          }
+        }
+        current.put(extent, newEntry);
+        entries.put(newEntry.tablet, newEntry);
+        entry = newEntry;
+      }
+      entry.references++;
+      entry.lastUseTime = currentTimeMillis.getAsLong();
+      tablet = entry.tablet;
+    }
+
+    if (toClose != null) {
+      toClose.close(false);
+    }
+    return tablet;
+  }
+
+  /**
+   * Releases a tablet returned by {@link #acquire(TabletMetadata)}.
+   *
+   * @return false if the tablet did not come from this cache
+   */
+  boolean release(SnapshotTablet tablet) throws IOException {
+    synchronized (this) {
+      Entry entry = entries.get(tablet);
+      if (entry == null) {
+        return false;
+      }
+      entry.references--;
+      entry.lastUseTime = currentTimeMillis.getAsLong();
+      if (entry.references > 0 || !entry.retired) {
+        return true;
+      }
+      entries.remove(tablet);
+    }
+
+    tablet.close(false);
+    return true;
+  }
+
+  /**
+   * Closes and removes the tablets that no scan used for longer than the given time.
+   */
+  void removeIdle(long maxIdleMillis) {
+    List<SnapshotTablet> toClose = new ArrayList<>();
+    synchronized (this) {
+      long now = currentTimeMillis.getAsLong();
+      var iter = current.values().iterator();
+      while (iter.hasNext()) {
+        Entry entry = iter.next();
+        if (entry.references == 0 && now - entry.lastUseTime > maxIdleMillis) {
+          iter.remove();
+          entries.remove(entry.tablet);
+          toClose.add(entry.tablet);
+        }
+      }
+    }
+
+    for (SnapshotTablet tablet : toClose) {
+      try {
+        tablet.close(false);
+      } catch (IOException e) {
+        log.warn("Error closing idle tablet {}", tablet.getExtent(), e);
+      }
+    }
+  }
+
+  synchronized int size() {
+    return current.size();
+  }
+}
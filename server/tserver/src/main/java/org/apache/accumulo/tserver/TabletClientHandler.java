@@ -262,6 +262,13 @@ public class TabletClientHandler implements TabletServerClientService.Iface,
     }
   }
 
+  private void recordUpdates(TableId tableId, List<Mutation> mutations) {
+    HotRowTracker hotRowTracker = server.resourceManager.getHotRowTracker();
+    if (hotRowTracker != null) {
+      hotRowTracker.recordUpdates(tableId, mutations);
+    }
+  }
+
   private void flush(UpdateSession us) {
 
     int mutationCount = 0;
@@ -297,6 +304,7 @@ public class TabletClientHandler implements TabletServerClientService.Iface,
           preppedMutations += mutations.size();
           try {
             server.updateMetrics.addMutationArraySize(mutations.size());
+            recordUpdates(tablet.getExtent().tableId(), mutations);
 
             PreparedMutations prepared = tablet.prepareMutationsForCommit(us.cenv, mutations);
 
@@ -591,6 +599,7 @@ public class TabletClientHandler implements TabletServerClientService.Iface,
           List<Mutation> mutations = Collections.unmodifiableList(entry.getValue());
           preppedMutions += mutations.size();
           if (!mutations.isEmpty()) {
+            recordUpdates(tablet.getExtent().tableId(), mutations);
 
             PreparedMutations prepared = tablet.prepareMutationsForCommit(
                 new TservConstraintEnv(server.getContext(), security, sess.credentials), mutations);
@@ -1318,7 +1327,8 @@ public class TabletClientHandler implements TabletServerClientService.Iface,
     FileSystemResolver volMgr = fs::getFileSystemByPath;
     Future<SummaryCollection> future =
         new Gatherer(server.getContext(), request, tableCfg, tableCfg.getCryptoService())
-            .processFiles(volMgr, files, summaryCache, indexCache, fileLenCache, srp);
+            .processFiles(volMgr, files, summaryCache, indexCache, fileLenCache,
+                server.resourceManager.getFileSummaryCache(), srp);
 
     return startSummaryOperation(credentials, future);
   }
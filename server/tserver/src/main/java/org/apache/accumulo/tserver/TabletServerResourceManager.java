@@ -76,6 +76,7 @@ import org.apache.accumulo.core.spi.scan.ScanExecutor;
 import org.apache.accumulo.core.spi.scan.ScanInfo;
 import org.apache.accumulo.core.spi.scan.ScanPrioritizer;
 import org.apache.accumulo.core.spi.scan.SimpleScanDispatcher;
+import org.apache.accumulo.core.summary.FileSummaryCache;
 import org.apache.accumulo.core.trace.TraceUtil;
 import org.apache.accumulo.core.util.Timer;
 import org.apache.accumulo.core.util.cache.Caches.CacheName;
@@ -89,6 +90,7 @@ import org.apache.accumulo.tserver.memory.LargestFirstMemoryManager;
 import org.apache.accumulo.tserver.memory.NativeMapLoader;
 import org.apache.accumulo.tserver.memory.TabletMemoryReport;
 import org.apache.accumulo.tserver.session.ScanSession;
+import org.apache.accumulo.tserver.tablet.ScanResultCache;
 import org.apache.accumulo.tserver.tablet.Tablet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -133,6 +135,9 @@ public class TabletServerResourceManager {
   private final ServerContext context;
 
   private Cache<String,Long> fileLenCache;
+  private final FileSummaryCache fileSummaryCache;
+  private final HotRowTracker hotRowTracker;
+  private final ScanResultCache scanResultCache;
 
   /**
    * This method creates a task that changes the number of core and maximum threads on the thread
@@ -197,7 +202,7 @@ public class TabletServerResourceManager {
         .getPoolBuilder(ACCUMULO_POOL_PREFIX.poolName + ".scan." + sec.name)
         .numCoreThreads(sec.getCurrentMaxThreads()).numMaxThreads(sec.getCurrentMaxThreads())
         .withTimeOut(0L, MILLISECONDS).withQueue(queue).atPriority(sec.priority)
-        .enableThreadPoolMetrics(enableMetrics).build();
+        .useVirtualThreads(sec.virtualThreads).enableThreadPoolMetrics(enableMetrics).build();
 
     modifyThreadPoolSizesAtRuntime(sec::getCurrentMaxThreads,
         ACCUMULO_POOL_PREFIX.poolName + ".scan." + sec.name, es);
@@ -380,6 +385,39 @@ public class TabletServerResourceManager {
 
     fileManager = new FileManager(context, maxOpenFiles, fileLenCache);
 
+    long fileSummaryCacheSize = acuConf.getAsBytes(Property.TSERV_SUMMARY_FILE_CACHE_SIZE);
+    if (fileSummaryCacheSize > 0) {
+      fileSummaryCache = new FileSummaryCache(
+          context.getCaches().createNewBuilder(CacheName.TSRM_FILE_SUMMARIES, true),
+          fileSummaryCacheSize);
+    } else {
+      fileSummaryCache = null;
+    }
+
+    long scanResultCacheSize = acuConf.getAsBytes(Property.TSERV_SCAN_RESULT_CACHE_SIZE);
+    if (scanResultCacheSize > 0) {
+      scanResultCache = new ScanResultCache(
+          context.getCaches().createNewBuilder(CacheName.TSRM_SCAN_RESULTS, true),
+          scanResultCacheSize);
+    } else {
+      scanResultCache = null;
+    }
+
+    int hotRowsTracked = acuConf.getCount(Property.TSERV_HOT_ROWS_TRACKED);
+    if (hotRowsTracked > 0) {
+      hotRowTracker = new HotRowTracker(hotRowsTracked);
+      long hotRowsInterval = acuConf.getTimeInMillis(Property.TSERV_HOT_ROWS_INTERVAL);
+      ThreadPools.watchNonCriticalScheduledTask(context.getScheduledExecutor()
+          .scheduleWithFixedDelay(Threads.createNamedRunnable("HotRowLogger", () -> {
+            for (HotRowTracker.HotRow hotRow : hotRowTracker.rotate()) {
+              log.debug("Hot row {} -- split at it to move the rows after it to another tablet",
+                  hotRow);
+            }
+          }), hotRowsInterval, hotRowsInterval, TimeUnit.MILLISECONDS));
+    } else {
+      hotRowTracker = null;
+    }
+
     memoryManager = new LargestFirstMemoryManager();
     memoryManager.init(context);
     memMgmt = new MemoryManagementFramework();
@@ -395,6 +433,17 @@ public class TabletServerResourceManager {
     return fileManager.getOpenFiles();
   }
 
+  /**
+   * @return the number of scans running or queued in all scan executors
+   */
+  public int getScanLoad() {
+    int load = 0;
+    for (ThreadPoolExecutor executor : scanExecutors.values()) {
+      load += executor.getActiveCount() + executor.getQueue().size();
+    }
+    return load;
+  }
+
   /**
    * Accepts some map which is tracking active assignment task(s) (running) and monitors them to
    * ensure that the time the assignment(s) have been running don't exceed a threshold. If the time
@@ -851,6 +900,27 @@ public class TabletServerResourceManager {
     return fileLenCache;
   }
 
+  /**
+   * @return the cache of file summaries, or null if it is disabled
+   */
+  public FileSummaryCache getFileSummaryCache() {
+    return fileSummaryCache;
+  }
+
+  /**
+   * @return the cache of scan results, or null if it is disabled
+   */
+  public ScanResultCache getScanResultCache() {
+    return scanResultCache;
+  }
+
+  /**
+   * @return the tracker of the most frequently used rows, or null if it is disabled
+   */
+  public HotRowTracker getHotRowTracker() {
+    return hotRowTracker;
+  }
+
   public ExecutorService getSummaryRetrievalExecutor() {
     return summaryRetrievalPool;
   }
@@ -47,6 +47,7 @@ import org.apache.accumulo.core.data.NamespaceId;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.ScanResultEncoding;
 import org.apache.accumulo.core.dataImpl.thrift.InitialMultiScan;
 import org.apache.accumulo.core.dataImpl.thrift.InitialScan;
 import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
@@ -71,9 +72,11 @@ import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.server.fs.TooManyFilesException;
 import org.apache.accumulo.server.rpc.TServerUtils;
 import org.apache.accumulo.server.security.SecurityOperation;
+import org.apache.accumulo.tserver.scan.AdaptiveBatchSize;
 import org.apache.accumulo.tserver.scan.LookupTask;
 import org.apache.accumulo.tserver.scan.NextBatchTask;
 import org.apache.accumulo.tserver.scan.ScanParameters;
+import org.apache.accumulo.tserver.scan.ScanTask;
 import org.apache.accumulo.tserver.session.MultiScanSession;
 import org.apache.accumulo.tserver.session.ScanSession;
 import org.apache.accumulo.tserver.session.ScanSession.TabletResolver;
@@ -97,6 +100,7 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
   protected final SecurityOperation security;
   private final WriteTracker writeTracker;
   private final long MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS;
+  private final int readAheadBatches;
 
   public ThriftScanClientHandler(TabletHostingServer server, WriteTracker writeTracker) {
     this.server = server;
@@ -105,6 +109,8 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
     this.security = context.getSecurityOperation();
     MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS = server.getContext().getConfiguration()
         .getTimeInMillis(Property.TSERV_SCAN_RESULTS_MAX_TIMEOUT);
+    readAheadBatches = Math.max(1, server.getContext().getConfiguration()
+        .getCount(Property.TSERV_SCAN_RESULTS_READAHEAD_BATCHES));
   }
 
   private NamespaceId getNamespaceId(TCredentials credentials, TableId tableId)
@@ -117,6 +123,13 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
     }
   }
 
+  private void recordLookups(TableId tableId, List<Range> ranges) {
+    HotRowTracker hotRowTracker = server.getResourceManager().getHotRowTracker();
+    if (hotRowTracker != null) {
+      hotRowTracker.recordLookups(tableId, ranges);
+    }
+  }
+
   private ScanDispatcher getScanDispatcher(KeyExtent extent) {
     if (extent.isRootTablet() || extent.isMeta()) {
       // dispatcher is only for user tables
@@ -131,7 +144,8 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
       TRange range, List<TColumn> columns, int batchSize, List<IterInfo> ssiList,
       Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
       boolean isolated, long readaheadThreshold, TSamplerConfiguration tSamplerConfig,
-      long batchTimeOut, String contextArg, Map<String,String> executionHints, long busyTimeout)
+      long batchTimeOut, String contextArg, Map<String,String> executionHints, long busyTimeout,
+      boolean encodeResults, boolean adaptiveBatchSize)
       throws NotServingTabletException, ThriftSecurityException,
       org.apache.accumulo.core.tabletscan.thrift.TooManyFilesException, TSampleNotPresentException,
       ScanServerBusyException {
@@ -147,7 +161,7 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
     };
     return this.startScan(tinfo, credentials, extent, range, columns, batchSize, ssiList, ssio,
         authorizations, waitForWrites, isolated, readaheadThreshold, tSamplerConfig, batchTimeOut,
-        contextArg, executionHints, resolver, busyTimeout);
+        contextArg, executionHints, resolver, busyTimeout, encodeResults, adaptiveBatchSize);
   }
 
   public InitialScan startScan(TInfo tinfo, TCredentials credentials, KeyExtent extent,
@@ -155,9 +169,10 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
       Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
       boolean isolated, long readaheadThreshold, TSamplerConfiguration tSamplerConfig,
       long batchTimeOut, String contextArg, Map<String,String> executionHints,
-      ScanSession.TabletResolver tabletResolver, long busyTimeout) throws NotServingTabletException,
-      ThriftSecurityException, org.apache.accumulo.core.tabletscan.thrift.TooManyFilesException,
-      TSampleNotPresentException, ScanServerBusyException {
+      ScanSession.TabletResolver tabletResolver, long busyTimeout, boolean encodeResults,
+      boolean adaptiveBatchSize) throws NotServingTabletException, ThriftSecurityException,
+      org.apache.accumulo.core.tabletscan.thrift.TooManyFilesException, TSampleNotPresentException,
+      ScanServerBusyException {
 
     server.getScanMetrics().incrementStartScan();
 
@@ -207,10 +222,16 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
         columnSet, ssiList, ssio, isolated, SamplerConfigurationImpl.fromThrift(tSamplerConfig),
         batchTimeOut, contextArg);
 
+    if (adaptiveBatchSize && batchSize > 0) {
+      scanParams.setAdaptiveBatchSize(new AdaptiveBatchSize(batchSize,
+          tablet.getTableConfiguration().getAsBytes(Property.TABLE_SCAN_MAXMEM)));
+    }
+
     final SingleScanSession scanSession = new SingleScanSession(credentials, extent, scanParams,
-        readaheadThreshold, executionHints, tabletResolver);
-    scanSession.scanner =
-        tablet.createScanner(new Range(range), scanParams, scanSession.interruptFlag);
+        readaheadThreshold, executionHints, encodeResults, tabletResolver);
+    Range scanRange = new Range(range);
+    recordLookups(tableId, List.of(scanRange));
+    scanSession.scanner = tablet.createScanner(scanRange, scanParams, scanSession.interruptFlag);
 
     long sid = server.getSessionManager().createSession(scanSession, true);
 
@@ -254,66 +275,92 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
 
     server.getScanMetrics().incrementContinueScan();
 
-    if (scanSession.getScanTask() == null) {
-      scanSession.setScanTask(new NextBatchTask(server, scanID, scanSession.interruptFlag));
-      server.getResourceManager().executeReadAhead(scanSession.extent,
-          getScanDispatcher(scanSession.extent), scanSession, scanSession.getScanTask());
+    AdaptiveBatchSize adaptiveBatchSize = scanSession.scanParams.getAdaptiveBatchSize();
+    if (adaptiveBatchSize != null) {
+      adaptiveBatchSize.batchRequested();
     }
 
-    ScanBatch bresult;
-    try {
-      bresult = scanSession.getScanTask().get(busyTimeout, MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS,
-          TimeUnit.MILLISECONDS);
-      scanSession.clearScanTask();
-    } catch (ExecutionException e) {
-      server.getSessionManager().removeSession(scanID);
-      if (e.getCause() instanceof NotServingTabletException) {
-        throw (NotServingTabletException) e.getCause();
-      } else if (e.getCause() instanceof TooManyFilesException) {
-        throw new org.apache.accumulo.core.tabletscan.thrift.TooManyFilesException(
-            scanSession.extent.toThrift());
-      } else if (e.getCause() instanceof SampleNotPresentException) {
-        throw new TSampleNotPresentException(scanSession.extent.toThrift());
-      } else if (e.getCause() instanceof IOException) {
-        sleepUninterruptibly(MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS, TimeUnit.MILLISECONDS);
-        List<KVEntry> empty = Collections.emptyList();
-        bresult = new ScanBatch(empty, true);
-        scanSession.clearScanTask();
-      } else {
-        throw new RuntimeException(e);
+    // use batches that were read ahead before waiting on a scan task
+    ScanBatch bresult = scanSession.pollReadAheadBatch();
+    if (bresult == null) {
+      if (scanSession.getScanTask() == null) {
+        scanSession.setScanTask(new NextBatchTask(server, scanID, scanSession.interruptFlag));
+        server.getResourceManager().executeReadAhead(scanSession.extent,
+            getScanDispatcher(scanSession.extent), scanSession, scanSession.getScanTask());
       }
-    } catch (CancellationException ce) {
-      server.getSessionManager().removeSession(scanID);
-      TabletBase tablet = scanSession.getTabletResolver().getTablet(scanSession.extent);
-      if (busyTimeout > 0) {
-        server.getScanMetrics().incrementBusy();
-        throw new ScanServerBusyException();
-      } else if (tablet == null || tablet.isClosed()) {
-        throw new NotServingTabletException(scanSession.extent.toThrift());
-      } else {
-        throw new NoSuchScanIDException();
+
+      ScanTask<ScanBatch> scanTask = scanSession.getScanTask();
+      if (scanTask instanceof NextBatchTask) {
+        ((NextBatchTask) scanTask).resultRequested();
+      }
+
+      try {
+        bresult = scanTask.get(busyTimeout, MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS,
+            TimeUnit.MILLISECONDS);
+        scanSession.clearScanTask();
+        if (scanTask instanceof NextBatchTask) {
+          var nextBatchTask = (NextBatchTask) scanTask;
+          scanSession.addReadAheadBatches(nextBatchTask.getReadAheadBatches(),
+              nextBatchTask.getReadAheadFailure());
+        }
+      } catch (ExecutionException e) {
+        server.getSessionManager().removeSession(scanID);
+        if (e.getCause() instanceof NotServingTabletException) {
+          throw (NotServingTabletException) e.getCause();
+        } else if (e.getCause() instanceof TooManyFilesException) {
+          throw new org.apache.accumulo.core.tabletscan.thrift.TooManyFilesException(
+              scanSession.extent.toThrift());
+        } else if (e.getCause() instanceof SampleNotPresentException) {
+          throw new TSampleNotPresentException(scanSession.extent.toThrift());
+        } else if (e.getCause() instanceof IOException) {
+          sleepUninterruptibly(MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS, TimeUnit.MILLISECONDS);
+          List<KVEntry> empty = Collections.emptyList();
+          bresult = new ScanBatch(empty, true);
+          scanSession.clearScanTask();
+        } else {
+          throw new RuntimeException(e);
+        }
+      } catch (CancellationException ce) {
+        server.getSessionManager().removeSession(scanID);
+        TabletBase tablet = scanSession.getTabletResolver().getTablet(scanSession.extent);
+        if (busyTimeout > 0) {
+          server.getScanMetrics().incrementBusy();
+          throw new ScanServerBusyException();
+        } else if (tablet == null || tablet.isClosed()) {
+          throw new NotServingTabletException(scanSession.extent.toThrift());
+        } else {
+          throw new NoSuchScanIDException();
+        }
+      } catch (TimeoutException e) {
+        List<TKeyValue> param = Collections.emptyList();
+        long timeout = server.getConfiguration().getTimeInMillis(Property.TSERV_CLIENT_TIMEOUT);
+        server.getSessionManager().removeIfNotAccessed(scanID, timeout);
+        return new ScanResult(param, true);
+      } catch (Exception t) {
+        server.getSessionManager().removeSession(scanID);
+        log.warn("Failed to get next batch", t);
+        throw new RuntimeException(t);
       }
-    } catch (TimeoutException e) {
-      List<TKeyValue> param = Collections.emptyList();
-      long timeout = server.getConfiguration().getTimeInMillis(Property.TSERV_CLIENT_TIMEOUT);
-      server.getSessionManager().removeIfNotAccessed(scanID, timeout);
-      return new ScanResult(param, true);
-    } catch (Exception t) {
-      server.getSessionManager().removeSession(scanID);
-      log.warn("Failed to get next batch", t);
-      throw new RuntimeException(t);
     }
 
-    ScanResult scanResult = new ScanResult(Key.compress(bresult.getResults()), bresult.isMore());
+    ScanResult scanResult;
+    if (scanSession.isEncodeResults()) {
+      scanResult = new ScanResult(List.of(), bresult.isMore());
+      scanResult.encodedResults = ScanResultEncoding.encode(bresult.getResults());
+    } else {
+      scanResult = new ScanResult(Key.compress(bresult.getResults()), bresult.isMore());
+    }
 
-    scanSession.entriesReturned += scanResult.results.size();
+    scanSession.entriesReturned += bresult.getResults().size();
 
     scanSession.batchCount++;
 
-    if (scanResult.more && scanSession.batchCount > scanSession.readaheadThreshold) {
-      // start reading next batch while current batch is transmitted
+    if (scanResult.more && scanSession.batchCount > scanSession.readaheadThreshold
+        && scanSession.getScanTask() == null && scanSession.shouldReadAhead(bresult)) {
+      // start reading next batches while current batch is transmitted
       // to client
-      scanSession.setScanTask(new NextBatchTask(server, scanID, scanSession.interruptFlag));
+      scanSession.setScanTask(
+          new NextBatchTask(server, scanID, scanSession.interruptFlag, readAheadBatches));
       server.getResourceManager().executeReadAhead(scanSession.extent,
           getScanDispatcher(scanSession.extent), scanSession, scanSession.getScanTask());
     }
@@ -322,6 +369,10 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
       closeScan(tinfo, scanID);
     }
 
+    if (adaptiveBatchSize != null) {
+      adaptiveBatchSize.batchReturned();
+    }
+
     return scanResult;
   }
 
@@ -351,7 +402,7 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
       Map<TKeyExtent,List<TRange>> tbatch, List<TColumn> tcolumns, List<IterInfo> ssiList,
       Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
       TSamplerConfiguration tSamplerConfig, long batchTimeOut, String contextArg,
-      Map<String,String> executionHints, long busyTimeout)
+      Map<String,String> executionHints, long busyTimeout, boolean encodeResults)
       throws ThriftSecurityException, TSampleNotPresentException, ScanServerBusyException {
 
     final Map<KeyExtent,List<TRange>> batch = new HashMap<>();
@@ -369,7 +420,7 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
     };
     return this.startMultiScan(tinfo, credentials, tcolumns, ssiList, batch, ssio, authorizations,
         waitForWrites, tSamplerConfig, batchTimeOut, contextArg, executionHints, resolver,
-        busyTimeout);
+        busyTimeout, encodeResults);
   }
 
   public InitialMultiScan startMultiScan(TInfo tinfo, TCredentials credentials,
@@ -377,7 +428,7 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
       Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
       TSamplerConfiguration tSamplerConfig, long batchTimeOut, String contextArg,
       Map<String,String> executionHints, ScanSession.TabletResolver tabletResolver,
-      long busyTimeout)
+      long busyTimeout, boolean encodeResults)
       throws ThriftSecurityException, TSampleNotPresentException, ScanServerBusyException {
 
     server.getScanMetrics().incrementStartScan();
@@ -433,11 +484,12 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
             SamplerConfigurationImpl.fromThrift(tSamplerConfig), batchTimeOut, contextArg);
 
     final MultiScanSession mss = new MultiScanSession(credentials, threadPoolExtent, batch,
-        scanParams, executionHints, tabletResolver);
+        scanParams, executionHints, encodeResults, tabletResolver);
 
     mss.numTablets = batch.size();
     for (List<Range> ranges : batch.values()) {
       mss.numRanges += ranges.size();
+      recordLookups(threadPoolExtent.tableId(), ranges);
     }
 
     long sid = server.getSessionManager().createSession(mss, true);
@@ -23,6 +23,7 @@ import static org.apache.accumulo.core.metrics.Metric.COMPACTOR_ENTRIES_WRITTEN;
 import static org.apache.accumulo.core.metrics.Metric.COMPACTOR_MAJC_STUCK;
 import static org.apache.accumulo.core.metrics.Metric.TSERVER_ENTRIES;
 import static org.apache.accumulo.core.metrics.Metric.TSERVER_HOLD;
+import static org.apache.accumulo.core.metrics.Metric.TSERVER_HOT_ROW_COUNT;
 import static org.apache.accumulo.core.metrics.Metric.TSERVER_INGEST_BYTES;
 import static org.apache.accumulo.core.metrics.Metric.TSERVER_INGEST_ENTRIES;
 import static org.apache.accumulo.core.metrics.Metric.TSERVER_MEM_ENTRIES;
@@ -119,6 +120,8 @@ public class TabletServerMetrics implements MetricsProducer {
         .description(TSERVER_TABLETS_FILES.getDescription()).register(registry);
     Gauge.builder(TSERVER_HOLD.getName(), util, TabletServerMetricsUtil::getHoldTime)
         .description(TSERVER_HOLD.getDescription()).register(registry);
+    Gauge.builder(TSERVER_HOT_ROW_COUNT.getName(), util, TabletServerMetricsUtil::getHotRowCount)
+        .description(TSERVER_HOT_ROW_COUNT.getDescription()).register(registry);
     Gauge.builder(TSERVER_INGEST_ENTRIES.getName(), util, TabletServerMetricsUtil::getIngestCount)
         .description(TSERVER_INGEST_ENTRIES.getDescription()).register(registry);
     Gauge.builder(TSERVER_INGEST_BYTES.getName(), util, TabletServerMetricsUtil::getIngestByteCount)
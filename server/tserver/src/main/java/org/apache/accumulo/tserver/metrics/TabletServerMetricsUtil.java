@@ -18,6 +18,7 @@
  */
 package org.apache.accumulo.tserver.metrics;
 
+import org.apache.accumulo.tserver.HotRowTracker;
 import org.apache.accumulo.tserver.TabletServer;
 import org.apache.accumulo.tserver.TabletServerResourceManager.AssignmentWatcher;
 import org.apache.accumulo.tserver.tablet.Tablet;
@@ -119,6 +120,11 @@ public class TabletServerMetricsUtil {
     return tserver.getTotalMinorCompactions();
   }
 
+  public long getHotRowCount() {
+    HotRowTracker hotRowTracker = tserver.getResourceManager().getHotRowTracker();
+    return hotRowTracker == null ? 0 : hotRowTracker.getLastHottestCount();
+  }
+
   public double getHoldTime() {
     return tserver.getHoldTimeMillis() / 1000.;
   }
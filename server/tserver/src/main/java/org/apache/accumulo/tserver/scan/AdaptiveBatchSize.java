@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.scan;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Chooses the size of the batches of a scan whose client asked for adaptive batch sizing with the
+ * {@code adaptiveBatchSize} argument of startScan. The first batch is small so the client gets its
+ * first entries quickly. Each time a batch fills up within {@link #TARGET_BATCH_NANOS} and
+ * the client came back for it within that time, the limits double, up to the batch size the client
+ * asked for and the memory limit of the table. When the client is slow to ask for the next batch,
+ * the scan is bound by the client, so the limits stay the same. They are halved when the server is
+ * low on memory or a batch took much longer than the target to read, which happens with expensive
+ * iterators.
+ */
+public class AdaptiveBatchSize {
+
+  static final int INITIAL_ENTRIES = 16;
+  static final long INITIAL_BYTES = 64 * 1024;
+  static final long TARGET_BATCH_NANOS = MILLISECONDS.toNanos(100);
+
+  private final int maxEntries;
+  private final long maxBytes;
+  private final int minEntries;
+  private final long minBytes;
+
+  private int entries;
+  private long bytes;
+
+  private long lastReturnedNanos = -1;
+  private long clientNanos = 0;
+
+  /**
+   * @param maxEntries the batch size the client asked for
+   * @param maxBytes the memory limit for a batch of the table
+   */
+  public AdaptiveBatchSize(int maxEntries, long maxBytes) {
+    Preconditions.checkArgument(maxEntries > 0 && maxBytes > 0);
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+    this.minEntries = Math.min(maxEntries, INITIAL_ENTRIES);
+    this.minBytes = Math.min(maxBytes, INITIAL_BYTES);
+    this.entries = minEntries;
+    this.bytes = minBytes;
+  }
+
+  public synchronized int getMaxEntries() {
+    return entries;
+  }
+
+  public synchronized long getMaxBytes() {
+    return bytes;
+  }
+
+  /**
+   * Called when a client asks for the next batch.
+   */
+  public synchronized void batchRequested() {
+    if (lastReturnedNanos >= 0) {
+      clientNanos = System.nanoTime() - lastReturnedNanos;
+    }
+  }
+
+  /**
+   * Called when a batch was sent to the client.
+   */
+  public synchronized void batchReturned() {
+    lastReturnedNanos = System.nanoTime();
+  }
+
+  /**
+   * Called after a batch was read to adjust the size of the following batches.
+   *
+   * @param filled true if the batch ended because it reached the limits of this object
+   * @param readNanos the time it took to read the batch
+   * @param lowMemory true if the server was low on memory while reading the batch
+   */
+  public synchronized void batchRead(boolean filled, long readNanos, boolean lowMemory) {
+    if (lowMemory || readNanos > 4 * TARGET_BATCH_NANOS) {
+      entries = Math.max(minEntries, entries / 2);
+      bytes = Math.max(minBytes, bytes / 2);
+    } else if (filled && readNanos <= TARGET_BATCH_NANOS && clientNanos <= TARGET_BATCH_NANOS) {
+      entries = (int) Math.min(maxEntries, 2L * entries);
+      bytes = bytes > maxBytes / 2 ? maxBytes : 2 * bytes;
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "entries=" + entries + ", bytes=" + bytes;
+  }
+}
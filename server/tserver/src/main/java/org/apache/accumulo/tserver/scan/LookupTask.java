@@ -33,6 +33,7 @@ import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.ScanResultEncoding;
 import org.apache.accumulo.core.dataImpl.thrift.MultiScanResult;
 import org.apache.accumulo.core.dataImpl.thrift.TKey;
 import org.apache.accumulo.core.dataImpl.thrift.TKeyExtent;
@@ -170,7 +171,7 @@ public class LookupTask extends ScanTask<MultiScanResult> {
 
       // add results to queue
       MultiScanResult multiScanResult = getMultiScanResult(results, partScan, failures, fullScans,
-          partNextKey, partNextKeyInclusive, queriesIsEmpty);
+          partNextKey, partNextKeyInclusive, queriesIsEmpty, session.isEncodeResults());
       addResult(multiScanResult);
     } catch (IterationInterruptedException iie) {
       if (!isCancelled()) {
@@ -190,12 +191,18 @@ public class LookupTask extends ScanTask<MultiScanResult> {
 
   private MultiScanResult getMultiScanResult(List<KVEntry> results, KeyExtent partScan,
       Map<KeyExtent,List<Range>> failures, List<KeyExtent> fullScans, Key partNextKey,
-      boolean partNextKeyInclusive, boolean queriesIsEmpty) {
+      boolean partNextKeyInclusive, boolean queriesIsEmpty, boolean encodeResults) {
 
     // convert everything to thrift before adding result
-    List<TKeyValue> retResults = results.stream().map(
-        entry -> new TKeyValue(entry.getKey().toThrift(), ByteBuffer.wrap(entry.getValue().get())))
-        .collect(Collectors.toList());
+    List<TKeyValue> retResults;
+    ByteBuffer encodedResults = null;
+    if (encodeResults) {
+      retResults = List.of();
+      encodedResults = ScanResultEncoding.encode(results);
+    } else {
+      retResults = results.stream().map(entry -> new TKeyValue(entry.getKey().toThrift(),
+          ByteBuffer.wrap(entry.getValue().get()))).collect(Collectors.toList());
+    }
 
     // @formatter:off
     Map<TKeyExtent,List<TRange>> retFailures = failures.entrySet().stream().collect(Collectors.toMap(
@@ -214,7 +221,9 @@ public class LookupTask extends ScanTask<MultiScanResult> {
       retPartNextKey = partNextKey.toThrift();
     }
 
-    return new MultiScanResult(retResults, retFailures, retFullScans, retPartScan, retPartNextKey,
-        partNextKeyInclusive, queriesIsEmpty);
+    MultiScanResult multiScanResult = new MultiScanResult(retResults, retFailures, retFullScans,
+        retPartScan, retPartNextKey, partNextKeyInclusive, queriesIsEmpty);
+    multiScanResult.encodedResults = encodedResults;
+    return multiScanResult;
   }
 }
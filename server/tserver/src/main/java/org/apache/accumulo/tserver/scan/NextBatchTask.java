@@ -19,6 +19,8 @@
 package org.apache.accumulo.tserver.scan;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.accumulo.core.client.SampleNotPresentException;
@@ -37,11 +39,26 @@ public class NextBatchTask extends ScanTask<ScanBatch> {
   private static final Logger log = LoggerFactory.getLogger(NextBatchTask.class);
 
   private final long scanID;
+  private final int maxBatches;
+  private final List<ScanBatch> readAheadBatches = new ArrayList<>();
+  private Exception readAheadFailure = null;
+  private volatile boolean resultRequested = false;
 
   public NextBatchTask(TabletHostingServer server, long scanID, AtomicBoolean interruptFlag) {
+    this(server, scanID, interruptFlag, 1);
+  }
+
+  /**
+   * @param maxBatches the maximum number of batches this task will read. Batches after the first
+   *        are only read until a client asks for the result of this task and are available from
+   *        {@link #getReadAheadBatches()} after the result was obtained.
+   */
+  public NextBatchTask(TabletHostingServer server, long scanID, AtomicBoolean interruptFlag,
+      int maxBatches) {
     super(server);
     this.scanID = scanID;
     this.interruptFlag = interruptFlag;
+    this.maxBatches = maxBatches;
 
     if (interruptFlag.get()) {
       cancel(true);
@@ -75,8 +92,19 @@ public class NextBatchTask extends ScanTask<ScanBatch> {
         return;
       }
 
+      // a failure that happened while a previous task was reading ahead is reported once the
+      // batches read before it were returned
+      Exception failure = scanSession.takeReadAheadFailure();
+      if (failure instanceof IOException) {
+        throw (IOException) failure;
+      } else if (failure != null) {
+        throw (RuntimeException) failure;
+      }
+
       ScanBatch batch = scanSession.scanner.read();
 
+      readAhead(scanSession, batch);
+
       // there should only be one thing on the queue at a time, so
       // it should be ok to call add()
       // instead of put()... if add() fails because queue is at
@@ -103,4 +131,46 @@ public class NextBatchTask extends ScanTask<ScanBatch> {
     }
 
   }
+
+  /**
+   * Keeps reading batches after the first one while no client is waiting on this task, so that the
+   * scan makes progress while the client is processing previous batches.
+   */
+  private void readAhead(SingleScanSession scanSession, ScanBatch first) {
+    ScanBatch last = first;
+    while (last.isMore() && readAheadBatches.size() + 1 < maxBatches && !resultRequested
+        && !isCancelled()) {
+      try {
+        last = scanSession.scanner.read();
+      } catch (IOException | RuntimeException e) {
+        // return what was read so far and let the next batch task report the failure
+        readAheadFailure = e;
+        return;
+      }
+      readAheadBatches.add(last);
+    }
+  }
+
+  /**
+   * Signals that a client is waiting on the result of this task, so it should stop reading ahead.
+   */
+  public void resultRequested() {
+    resultRequested = true;
+  }
+
+  /**
+   * @return the batches read after the batch returned as the result of this task. Should only be
+   *         called after the result of this task was obtained.
+   */
+  public List<ScanBatch> getReadAheadBatches() {
+    return readAheadBatches;
+  }
+
+  /**
+   * @return the exception that stopped reading ahead, or null if there was none. Should only be
+   *         called after the result of this task was obtained.
+   */
+  public Exception getReadAheadFailure() {
+    return readAheadFailure;
+  }
 }
@@ -45,6 +45,7 @@ public final class ScanParameters {
   private final String classLoaderContext;
   private volatile Long scanSessionId = null;
   private volatile ScanDispatch dispatch;
+  private volatile AdaptiveBatchSize adaptiveBatchSize;
 
   public ScanParameters(int maxEntries, Authorizations authorizations, Set<Column> columnSet,
       List<IterInfo> ssiList, Map<String,Map<String,String>> ssio, boolean isolated,
@@ -80,6 +81,18 @@ public final class ScanParameters {
     return maxEntries;
   }
 
+  /**
+   * @return the object that chooses the size of each batch when the client asked for adaptive
+   *         batch sizing, otherwise null and every batch is limited by {@link #getMaxEntries()}
+   */
+  public AdaptiveBatchSize getAdaptiveBatchSize() {
+    return adaptiveBatchSize;
+  }
+
+  public void setAdaptiveBatchSize(AdaptiveBatchSize adaptiveBatchSize) {
+    this.adaptiveBatchSize = adaptiveBatchSize;
+  }
+
   public boolean isIsolated() {
     return isolated;
   }
@@ -126,6 +139,7 @@ public final class ScanParameters {
     buf.append(", isolated=").append(this.isolated);
     buf.append(", maxEntries=").append(this.maxEntries);
     buf.append(", num=").append(this.maxEntries);
+    buf.append(", adaptiveBatchSize=").append(this.adaptiveBatchSize);
     buf.append(", samplerConfig=").append(this.samplerConfig);
     buf.append(", scanSessionId=").append(this.scanSessionId);
     buf.append("]");
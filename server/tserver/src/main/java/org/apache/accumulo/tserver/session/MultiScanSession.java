@@ -42,8 +42,8 @@ public class MultiScanSession extends ScanSession<MultiScanResult> {
 
   public MultiScanSession(TCredentials credentials, KeyExtent threadPoolExtent,
       Map<KeyExtent,List<Range>> queries, ScanParameters scanParams,
-      Map<String,String> executionHints, TabletResolver tabletResolver) {
-    super(credentials, scanParams, executionHints, tabletResolver);
+      Map<String,String> executionHints, boolean encodeResults, TabletResolver tabletResolver) {
+    super(credentials, scanParams, executionHints, encodeResults, tabletResolver);
     this.queries = queries;
     this.threadPoolExtent = threadPoolExtent;
     this.exents = Set.copyOf(queries.keySet());
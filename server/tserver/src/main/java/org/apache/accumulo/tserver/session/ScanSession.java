@@ -87,12 +87,13 @@ public abstract class ScanSession<T> extends Session implements ScanInfo {
 
   public final ScanParameters scanParams;
   private final Map<String,String> executionHints;
+  private final boolean encodeResults;
   private final TabletResolver tabletResolver;
 
   private final AtomicReference<ScanTask<T>> scanTaskRef = new AtomicReference<>();
 
   ScanSession(TCredentials credentials, ScanParameters scanParams,
-      Map<String,String> executionHints, TabletResolver tabletResolver) {
+      Map<String,String> executionHints, boolean encodeResults, TabletResolver tabletResolver) {
     super(credentials);
     this.scanParams = scanParams;
     if (executionHints == null) {
@@ -100,6 +101,7 @@ public abstract class ScanSession<T> extends Session implements ScanInfo {
     } else {
       this.executionHints = Collections.unmodifiableMap(executionHints);
     }
+    this.encodeResults = encodeResults;
     this.tabletResolver = tabletResolver;
   }
 
@@ -178,6 +180,14 @@ public abstract class ScanSession<T> extends Session implements ScanInfo {
     return executionHints;
   }
 
+  /**
+   * @return true if the client asked for results in the encoded form created by
+   *         {@link org.apache.accumulo.core.dataImpl.ScanResultEncoding}
+   */
+  public boolean isEncodeResults() {
+    return encodeResults;
+  }
+
   public void finishedRun(long start, long finish) {
     long idleTime = start - getLastRunTime().orElse(getCreationTime());
     long runTime = finish - start;
@@ -18,6 +18,8 @@
  */
 package org.apache.accumulo.tserver.session;
 
+import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -37,13 +39,49 @@ public class SingleScanSession extends ScanSession<ScanBatch> {
   public Scanner scanner;
   public final long readaheadThreshold;
 
+  // batches that were read ahead of the client asking for them, in the order they were read
+  private final ArrayDeque<ScanBatch> readAheadBatches = new ArrayDeque<>();
+  // failure that stopped reading ahead, reported after all read ahead batches are returned
+  private Exception readAheadFailure = null;
+
   public SingleScanSession(TCredentials credentials, KeyExtent extent, ScanParameters scanParams,
-      long readaheadThreshold, Map<String,String> executionHints, TabletResolver tabletResolver) {
-    super(credentials, scanParams, executionHints, tabletResolver);
+      long readaheadThreshold, Map<String,String> executionHints, boolean encodeResults,
+      TabletResolver tabletResolver) {
+    super(credentials, scanParams, executionHints, encodeResults, tabletResolver);
     this.extent = extent;
     this.readaheadThreshold = readaheadThreshold;
   }
 
+  /**
+   * @return the oldest batch that was read ahead and not yet returned to the client, or null if
+   *         there are none
+   */
+  public ScanBatch pollReadAheadBatch() {
+    return readAheadBatches.poll();
+  }
+
+  public void addReadAheadBatches(List<ScanBatch> batches, Exception failure) {
+    readAheadBatches.addAll(batches);
+    readAheadFailure = failure;
+  }
+
+  public Exception takeReadAheadFailure() {
+    Exception failure = readAheadFailure;
+    readAheadFailure = null;
+    return failure;
+  }
+
+  /**
+   * Batches are only read ahead once all batches read ahead before were returned, so that no more
+   * than the configured number of read ahead batches are buffered for the session.
+   *
+   * @param returned the batch being returned to the client
+   * @return true if the next batches should be read ahead
+   */
+  public boolean shouldReadAhead(ScanBatch returned) {
+    return readAheadBatches.isEmpty() && returned.isMore();
+  }
+
   @Override
   public Type getScanType() {
     return Type.SINGLE;
@@ -63,6 +101,7 @@ public class SingleScanSession extends ScanSession<ScanBatch> {
       if (localScanTask != null) {
         localScanTask.cancel(true);
       }
+      readAheadBatches.clear();
     } finally {
       if (scanner != null) {
         ret = scanner.close();
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.tablet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.accumulo.core.data.Column;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
+import org.apache.accumulo.core.sample.impl.SamplerConfigurationImpl;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.tserver.scan.ScanParameters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches the results of scans that fit in a single batch, so that repeating the same scan of a
+ * tablet whose data has not changed does not run the iterator stack again.
+ *
+ * <p>
+ * Entries are keyed by everything that determines the results of a scan: the tablet, range,
+ * columns, authorizations, iterators and their options, sampler, class loader context and batch
+ * size, along with the data version of the tablet and the update count of the table configuration.
+ * When a tablet's memory or files change its data version changes, so the entries for its old data
+ * are no longer requested and are evicted as the cache fills.
+ */
+public class ScanResultCache {
+
+  private static class ScanKey {
+    private final KeyExtent extent;
+    private final long dataVersion;
+    private final long configVersion;
+    private final Range range;
+    private final Set<Column> columns;
+    private final Authorizations authorizations;
+    private final List<IterInfo> ssiList;
+    private final Map<String,Map<String,String>> ssio;
+    private final SamplerConfigurationImpl samplerConfig;
+    private final String classLoaderContext;
+    private final int maxEntries;
+    private final int hash;
+
+    private ScanKey(TabletBase tablet, long dataVersion, Range range, ScanParameters params) {
+      this.extent = tablet.getExtent();
+      this.dataVersion = dataVersion;
+      this.configVersion = tablet.getTableConfiguration().getUpdateCount();
+      this.range = range;
+      this.columns = params.getColumnSet();
+      this.authorizations = params.getAuthorizations();
+      this.ssiList = params.getSsiList();
+      this.ssio = params.getSsio();
+      this.samplerConfig = params.getSamplerConfigurationImpl();
+      this.classLoaderContext = params.getClassLoaderContext();
+      this.maxEntries = params.getMaxEntries();
+      this.hash = Objects.hash(extent, dataVersion, configVersion, range, columns, authorizations,
+          ssiList, ssio, samplerConfig, classLoaderContext, maxEntries);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o instanceof ScanKey) {
+        ScanKey other = (ScanKey) o;
+        return hash == other.hash && dataVersion == other.dataVersion
+            && configVersion == other.configVersion && maxEntries == other.maxEntries
+            && extent.equals(other.extent) && range.equals(other.range)
+            && columns.equals(other.columns) && authorizations.equals(other.authorizations)
+            && ssiList.equals(other.ssiList) && ssio.equals(other.ssio)
+            && Objects.equals(samplerConfig, other.samplerConfig)
+            && Objects.equals(classLoaderContext, other.classLoaderContext);
+      }
+      return false;
+    }
+
+    private int estimateSize() {
+      long size = 256 + authorizations.getAuthorizationsArray().length
+          + columns.size() * 64L + ssiList.size() * 128L + ssio.size() * 128L;
+      if (range.getStartKey() != null) {
+        size += range.getStartKey().getSize();
+      }
+      if (range.getEndKey() != null) {
+        size += range.getEndKey().getSize();
+      }
+      return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+  }
+
+  private static class CachedBatch {
+    private final List<KVEntry> results;
+    private final long numBytes;
+    private final int memoryUsed;
+
+    private CachedBatch(List<KVEntry> results, long numBytes) {
+      this.results = results;
+      this.numBytes = numBytes;
+      long memory = 64;
+      for (KVEntry entry : results) {
+        memory += entry.estimateMemoryUsed();
+      }
+      this.memoryUsed = (int) Math.min(memory, Integer.MAX_VALUE);
+    }
+  }
+
+  private final Cache<ScanKey,CachedBatch> cache;
+
+  /**
+   * @param builder a builder used to create the cache, which will be limited to the given size
+   * @param maxSize the approximate maximum number of bytes of results to keep
+   */
+  public ScanResultCache(Caffeine<Object,Object> builder, long maxSize) {
+    this.cache = builder.maximumWeight(maxSize)
+        .weigher((ScanKey key, CachedBatch value) -> key.estimateSize() + value.memoryUsed).build();
+  }
+
+  /**
+   * @param dataVersion the data version of the tablet, obtained before reading its data
+   * @return the complete results of the scan, or null if they are not cached
+   */
+  Batch get(TabletBase tablet, long dataVersion, Range range, ScanParameters params) {
+    CachedBatch cached = cache.getIfPresent(new ScanKey(tablet, dataVersion, range, params));
+    if (cached == null) {
+      return null;
+    }
+    // the cached list is immutable and its entries are never modified, so callers can share them
+    return new Batch(false, cached.results.isEmpty() ? null : cached.results, null,
+        cached.numBytes);
+  }
+
+  /**
+   * Caches the results of a scan if they are complete, meaning the scan ended within the batch.
+   *
+   * @param dataVersion the data version of the tablet, obtained before reading its data
+   */
+  void put(TabletBase tablet, long dataVersion, Range range, ScanParameters params,
+      Batch results) {
+    if (results.getContinueKey() != null) {
+      return;
+    }
+    List<KVEntry> entries = results.getResults() == null ? List.of() : results.getResults();
+    cache.put(new ScanKey(tablet, dataVersion, range, params),
+        new CachedBatch(List.copyOf(entries), results.getNumBytes()));
+  }
+}
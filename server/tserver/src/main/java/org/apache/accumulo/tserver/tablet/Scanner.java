@@ -95,6 +95,26 @@ public class Scanner {
         throw new IllegalStateException("Tried to use scanner after it was closed.");
       }
 
+      // an isolated scan must keep reading the data it started with, so only its first read can use
+      // the result cache
+      ScanResultCache resultCache = null;
+      long dataVersion = 0;
+      if (!scanParams.isIsolated() || isolatedDataSource == null) {
+        resultCache = tablet.getScanResultCache(scanParams);
+      }
+      if (resultCache != null) {
+        // get the version before reading, so cached results are never older than their version
+        dataVersion = tablet.getDataVersion();
+        results = resultCache.get(tablet, dataVersion, range, scanParams);
+        if (results != null) {
+          if (results.getResults() == null) {
+            range = null;
+            return new ScanBatch(new ArrayList<>(), false);
+          }
+          return new ScanBatch(results.getResults(), false);
+        }
+      }
+
       if (scanParams.isIsolated()) {
         if (isolatedDataSource == null) {
           isolatedDataSource = tablet.createDataSource(scanParams, true, interruptFlag);
@@ -119,6 +139,10 @@ public class Scanner {
 
       results = tablet.nextBatch(iter, range, scanParams);
 
+      if (resultCache != null) {
+        resultCache.put(tablet, dataVersion, range, scanParams, results);
+      }
+
       if (results.getResults() == null) {
         range = null;
         return new ScanBatch(new ArrayList<>(), false);
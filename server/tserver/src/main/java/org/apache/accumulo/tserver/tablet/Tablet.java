@@ -756,6 +756,7 @@ public class Tablet extends TabletBase {
     }
 
     getTabletMemory().mutate(commitSession, mutations, totalCount);
+    dataChanged();
 
     synchronized (this) {
       if (isCloseComplete()) {
@@ -1709,6 +1710,7 @@ public class Tablet extends TabletBase {
           // the files and in memory map changed, incrementing this will cause scans to switch data
           // sources
           dataSourceDeletions.incrementAndGet();
+          dataChanged();
 
           // important to call this after updating latestMetadata and tabletMemory
           computeNumEntries();
@@ -1716,6 +1718,7 @@ public class Tablet extends TabletBase {
 
           // the files changed, incrementing this will cause scans to switch data sources
           dataSourceDeletions.incrementAndGet();
+          dataChanged();
 
           // important to call this after updating latestMetadata
           computeNumEntries();
@@ -58,6 +58,7 @@ import org.apache.accumulo.tserver.InMemoryMap;
 import org.apache.accumulo.tserver.TabletHostingServer;
 import org.apache.accumulo.tserver.TabletServerResourceManager;
 import org.apache.accumulo.tserver.metrics.TabletServerScanMetrics;
+import org.apache.accumulo.tserver.scan.AdaptiveBatchSize;
 import org.apache.accumulo.tserver.scan.ScanParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +77,12 @@ public abstract class TabletBase {
   protected final ServerContext context;
   private final TabletHostingServer server;
 
+  private static final AtomicLong nextDataVersion = new AtomicLong(0);
+
+  // taken from a sequence shared by all tablets, so a version is never reused by a tablet that is
+  // unloaded and loaded again
+  private volatile long dataVersion = nextDataVersion.incrementAndGet();
+
   protected final AtomicLong lookupCount = new AtomicLong(0);
   protected final AtomicLong queryResultCount = new AtomicLong(0);
   protected final AtomicLong queryResultBytes = new AtomicLong(0);
@@ -130,6 +137,35 @@ public abstract class TabletBase {
 
   public abstract long getDataSourceDeletions();
 
+  /**
+   * @return a number that changes whenever the data seen by a new scan of this tablet may change,
+   *         because its memory or files changed
+   */
+  public long getDataVersion() {
+    return dataVersion;
+  }
+
+  /**
+   * Called after the memory or files of this tablet change, so that a new scan may see different
+   * data.
+   */
+  protected void dataChanged() {
+    dataVersion = nextDataVersion.incrementAndGet();
+  }
+
+  /**
+   * @return the cache to use for the results of a scan of this tablet, or null if the results of
+   *         scans of this tablet are not cached
+   */
+  ScanResultCache getScanResultCache(ScanParameters scanParams) {
+    if (scanParams.getAdaptiveBatchSize() != null
+        || !tableConfiguration.getBoolean(Property.TABLE_SCAN_RESULT_CACHE_ENABLED)) {
+      // adaptive batch sizes change between scans, so their batches can not be reused
+      return null;
+    }
+    return server.getResourceManager().getScanResultCache();
+  }
+
   abstract TabletServerResourceManager.TabletResourceManager getTabletResources();
 
   public abstract List<InMemoryMap.MemoryIterator>
@@ -272,6 +308,15 @@ public abstract class TabletBase {
     long resultBytes = 0L;
 
     long maxResultsSize = getTableConfiguration().getAsBytes(Property.TABLE_SCAN_MAXMEM);
+    int maxEntries = scanParams.getMaxEntries();
+
+    AdaptiveBatchSize adaptiveBatchSize = scanParams.getAdaptiveBatchSize();
+    if (adaptiveBatchSize != null) {
+      maxResultsSize = Math.min(maxResultsSize, adaptiveBatchSize.getMaxBytes());
+      maxEntries = Math.min(maxEntries, adaptiveBatchSize.getMaxEntries());
+    }
+    boolean batchFilled = false;
+    boolean sawLowMemory = false;
 
     Key continueKey = null;
     boolean skipContinueKey = false;
@@ -311,8 +356,9 @@ public abstract class TabletBase {
             log.info("Not continuing next batch because low on memory, extent: {}", extent);
             server.getScanMetrics().incrementEarlyReturnForLowMemory();
           });
-      if (runningLowOnMemory || resultSize >= maxResultsSize
-          || results.size() >= scanParams.getMaxEntries() || timesUp) {
+      batchFilled = resultSize >= maxResultsSize || results.size() >= maxEntries;
+      sawLowMemory = runningLowOnMemory;
+      if (runningLowOnMemory || batchFilled || timesUp) {
         continueKey = new Key(key);
         skipContinueKey = true;
         break;
@@ -345,6 +391,10 @@ public abstract class TabletBase {
       }
     }
 
+    if (adaptiveBatchSize != null) {
+      adaptiveBatchSize.batchRead(batchFilled, System.nanoTime() - startNanos, sawLowMemory);
+    }
+
     return new Batch(skipContinueKey, results, continueKey, resultBytes);
   }
 
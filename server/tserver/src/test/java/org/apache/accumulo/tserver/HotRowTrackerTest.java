@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.tserver.HotRowTracker.HotRow;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class HotRowTrackerTest {
+
+  private static final TableId TABLE1 = TableId.of("1");
+  private static final TableId TABLE2 = TableId.of("2");
+
+  private static Mutation mutation(String row) {
+    Mutation m = new Mutation(row);
+    m.put("f", "q", "v");
+    return m;
+  }
+
+  private static List<String> rows(List<HotRow> hotRows) {
+    return hotRows.stream().map(hr -> hr.getTableId() + ":" + new String(hr.getRow(), UTF_8))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testHotRowsFound() {
+    HotRowTracker tracker = new HotRowTracker(20);
+
+    // 20,000 updates to distinct rows mixed with 7,000 updates to a few hot rows
+    for (int batch = 0; batch < 1000; batch++) {
+      List<Mutation> mutations = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        mutations.add(mutation(String.format("r%06d", batch * 20 + i)));
+      }
+      for (int i = 0; i < 3; i++) {
+        mutations.add(mutation("counter"));
+      }
+      mutations.add(mutation("popular"));
+      mutations.add(mutation("popular"));
+      tracker.recordUpdates(TABLE1, mutations);
+      // the same row in another table is counted separately
+      tracker.recordUpdates(TABLE2, List.of(mutation("popular"), mutation("popular")));
+    }
+    assertEquals(27_000, tracker.getTotal());
+    assertEquals(20, tracker.getCountedRows().size());
+
+    // only the rows known to be used more than total / capacity times are hot
+    List<HotRow> hotRows = tracker.rotate();
+    assertEquals(List.of("1:counter", "1:popular", "2:popular"),
+        rows(hotRows).stream().sorted().collect(Collectors.toList()));
+    HotRow counter = hotRows.get(0);
+    assertEquals("1:counter", rows(hotRows).get(0));
+    assertTrue(counter.getGuaranteedCount() <= 3000);
+    assertTrue(counter.getCount() >= 3000);
+    assertTrue(counter.getGuaranteedCount() > 27_000 / 20);
+    assertEquals(new Text("counter"), counter.getSplitPoint());
+    assertEquals(counter.getCount(), tracker.getLastHottestCount());
+
+    // the next window starts empty
+    assertEquals(0, tracker.getTotal());
+    assertEquals(List.of(), tracker.getCountedRows());
+    assertEquals(List.of(), tracker.rotate());
+    assertEquals(0, tracker.getLastHottestCount());
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws Exception {
+    HotRowTracker tracker = new HotRowTracker(10);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int batch = 0; batch < 500; batch++) {
+            List<Mutation> mutations = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+              mutations.add(mutation(String.format("r%d_%06d", thread, batch * 5 + i)));
+            }
+            mutations.add(mutation("counter"));
+            tracker.recordUpdates(TABLE1, mutations);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // the rows of all threads are counted, whichever stripes they are in
+    assertEquals(4 * 500 * 6, tracker.getTotal());
+    assertEquals(10, tracker.getCountedRows().size());
+    List<HotRow> hotRows = tracker.rotate();
+    assertEquals(List.of("1:counter"), rows(hotRows));
+    assertTrue(hotRows.get(0).getCount() >= 2000);
+  }
+
+  @Test
+  public void testLookups() {
+    HotRowTracker tracker = new HotRowTracker(4);
+    for (int i = 0; i < 100; i++) {
+      tracker.recordLookups(TABLE1,
+          List.of(Range.exact("a"), new Range("b"), Range.exact("c", "f"), new Range("d", "e")));
+    }
+    // the range over several rows was not counted
+    assertEquals(300, tracker.getTotal());
+    assertEquals(List.of("1:a", "1:b", "1:c"),
+        rows(tracker.getCountedRows()).stream().sorted().collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testSingleRow() {
+    assertArrayEquals("a".getBytes(UTF_8), HotRowTracker.getSingleRow(new Range("a")));
+    assertArrayEquals("a".getBytes(UTF_8), HotRowTracker.getSingleRow(Range.exact("a", "f")));
+    assertArrayEquals("a".getBytes(UTF_8),
+        HotRowTracker.getSingleRow(new Range(new Key("a", "f"), new Key("a", "g"))));
+    assertNull(HotRowTracker.getSingleRow(new Range("a", "b")));
+    assertNull(HotRowTracker.getSingleRow(new Range("a", true, "a\0", true)));
+    assertNull(HotRowTracker.getSingleRow(new Range()));
+    assertNull(HotRowTracker.getSingleRow(new Range(null, "a")));
+  }
+}
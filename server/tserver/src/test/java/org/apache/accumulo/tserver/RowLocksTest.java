@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.thrift.TConditionalMutation;
+import org.apache.accumulo.server.data.ServerConditionalMutation;
+import org.apache.accumulo.tserver.RowLocks.RowLock;
+import org.junit.jupiter.api.Test;
+
+public class RowLocksTest {
+
+  private static final KeyExtent EXTENT = new KeyExtent(TableId.of("1"), null, null);
+
+  private static Map<KeyExtent,List<ServerConditionalMutation>> updates(String... rows) {
+    List<ServerConditionalMutation> scml = new ArrayList<>();
+    long id = 0;
+    for (String row : rows) {
+      Mutation m = new Mutation(row);
+      m.put("f", "q", "v");
+      var tcm = new TConditionalMutation(List.of(), m.toThrift(), id++);
+      scml.add(new ServerConditionalMutation(tcm));
+    }
+    Map<KeyExtent,List<ServerConditionalMutation>> updates = new HashMap<>();
+    updates.put(EXTENT, scml);
+    return updates;
+  }
+
+  private static List<String> rows(List<ServerConditionalMutation> scml) {
+    return scml == null ? List.of()
+        : scml.stream().map(scm -> new String(scm.getRow(), UTF_8)).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testDeferLockedRows() throws Exception {
+    RowLocks rowLocks = new RowLocks();
+
+    var updates1 = updates("a", "b", "c");
+    Map<KeyExtent,List<ServerConditionalMutation>> deferred1 = new HashMap<>();
+    List<RowLock> locks1 = rowLocks.acquireRowlocks(updates1, deferred1);
+    assertEquals(3, locks1.size());
+    assertTrue(deferred1.isEmpty());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // rows locked by another session should be deferred
+      var updates2 = updates("b", "d");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred2 = new HashMap<>();
+      List<RowLock> locks2 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates2, deferred2)).get();
+      assertEquals(1, locks2.size());
+      assertEquals(new ArrayByteSequence("d"), locks2.get(0).rowSeq);
+      assertEquals(List.of("d"), rows(updates2.get(EXTENT)));
+      assertEquals(List.of("b"), rows(deferred2.get(EXTENT)));
+      executor.submit(() -> rowLocks.releaseRowLocks(locks2)).get();
+
+      rowLocks.releaseRowLocks(locks1);
+
+      // once released the rows can be locked by another session
+      var updates3 = updates("b", "c");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred3 = new HashMap<>();
+      List<RowLock> locks3 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates3, deferred3)).get();
+      assertEquals(2, locks3.size());
+      assertTrue(deferred3.isEmpty());
+      executor.submit(() -> rowLocks.releaseRowLocks(locks3)).get();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testStripeCollisions() throws Exception {
+    // with a single stripe every row shares a lock
+    RowLocks rowLocks = new RowLocks(1, 16);
+
+    // a session can lock multiple rows that share a stripe
+    var updates1 = updates("a", "b");
+    Map<KeyExtent,List<ServerConditionalMutation>> deferred1 = new HashMap<>();
+    List<RowLock> locks1 = rowLocks.acquireRowlocks(updates1, deferred1);
+    assertEquals(2, locks1.size());
+    assertTrue(deferred1.isEmpty());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // rows in a stripe held by another session are deferred even though they are not locked
+      var updates2 = updates("x", "y");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred2 = new HashMap<>();
+      List<RowLock> locks2 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates2, deferred2)).get();
+      assertTrue(locks2.isEmpty());
+      assertEquals(List.of(), rows(updates2.get(EXTENT)));
+      assertEquals(List.of("x", "y"), rows(deferred2.get(EXTENT)));
+
+      // every acquisition of the shared stripe must be released before another session can lock
+      rowLocks.releaseRowLocks(locks1.subList(0, 1));
+      var updates3 = updates("x", "y");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred3 = new HashMap<>();
+      assertTrue(executor.submit(() -> rowLocks.acquireRowlocks(updates3, deferred3)).get()
+          .isEmpty());
+      rowLocks.releaseRowLocks(locks1.subList(1, 2));
+
+      var updates4 = updates("x", "y");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred4 = new HashMap<>();
+      List<RowLock> locks4 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates4, deferred4)).get();
+      assertEquals(2, locks4.size());
+      assertTrue(deferred4.isEmpty());
+      executor.submit(() -> rowLocks.releaseRowLocks(locks4)).get();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static String[] rows(String prefix, int count) {
+    String[] rows = new String[count];
+    for (int i = 0; i < count; i++) {
+      rows[i] = String.format("%s%06d", prefix, i);
+    }
+    return rows;
+  }
+
+  @Test
+  public void testLargeSessions() throws Exception {
+    RowLocks rowLocks = new RowLocks();
+
+    // a session with more rows than there are stripes covers nearly every stripe
+    var updates1 = updates(rows("a", RowLocks.DEFAULT_STRIPES * 2));
+    Map<KeyExtent,List<ServerConditionalMutation>> deferred1 = new HashMap<>();
+    List<RowLock> locks1 = rowLocks.acquireRowlocks(updates1, deferred1);
+    assertEquals(RowLocks.DEFAULT_STRIPES * 2, locks1.size());
+    assertTrue(deferred1.isEmpty());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // another large session that touches different rows in the same stripes is not deferred
+      var updates2 = updates(rows("b", RowLocks.DEFAULT_STRIPES * 2));
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred2 = new HashMap<>();
+      List<RowLock> locks2 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates2, deferred2)).get();
+      assertEquals(RowLocks.DEFAULT_STRIPES * 2, locks2.size());
+      assertTrue(deferred2.isEmpty());
+      executor.submit(() -> rowLocks.releaseRowLocks(locks2)).get();
+
+      // a large session still defers the rows it shares with another large session
+      String[] rows3 = rows("c", RowLocks.DEFAULT_STRIPES);
+      rows3[0] = "a000010";
+      var updates3 = updates(rows3);
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred3 = new HashMap<>();
+      List<RowLock> locks3 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates3, deferred3)).get();
+      assertEquals(RowLocks.DEFAULT_STRIPES - 1, locks3.size());
+      assertEquals(List.of("a000010"), rows(deferred3.get(EXTENT)));
+      executor.submit(() -> rowLocks.releaseRowLocks(locks3)).get();
+
+      // a small session is deferred on the stripes of a large session
+      var updates4 = updates("a000020", "c000001");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred4 = new HashMap<>();
+      List<RowLock> locks4 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates4, deferred4)).get();
+      assertTrue(rows(deferred4.get(EXTENT)).contains("a000020"));
+      executor.submit(() -> rowLocks.releaseRowLocks(locks4)).get();
+
+      rowLocks.releaseRowLocks(locks1);
+
+      var updates5 = updates("a000020", "a000010");
+      Map<KeyExtent,List<ServerConditionalMutation>> deferred5 = new HashMap<>();
+      List<RowLock> locks5 =
+          executor.submit(() -> rowLocks.acquireRowlocks(updates5, deferred5)).get();
+      assertEquals(2, locks5.size());
+      assertTrue(deferred5.isEmpty());
+      executor.submit(() -> rowLocks.releaseRowLocks(locks5)).get();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testStripesSpreadRows() {
+    RowLocks rowLocks = new RowLocks();
+    Set<Integer> stripes = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      stripes.add(rowLocks.getStripe(new ArrayByteSequence(String.format("row%06d", i))));
+    }
+    assertTrue(stripes.size() > 800, "only used " + stripes.size() + " stripes");
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.accumulo.core.metadata.ScanServerRefTabletFile;
+import org.junit.jupiter.api.Test;
+
+public class ScanServerRefBatcherTest {
+
+  private static final UUID SERVER_ID = UUID.randomUUID();
+
+  private static ScanServerRefTabletFile ref(int i) {
+    return new ScanServerRefTabletFile(SERVER_ID, "localhost:1234",
+        "hdfs://nn1/accumulo/tables/1/t-0001/F" + i + ".rf");
+  }
+
+  private static void waitUntilWaiting(List<Thread> threads) throws InterruptedException {
+    for (Thread thread : threads) {
+      while (thread.getState() != Thread.State.WAITING) {
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentPutsAreCombined() throws Exception {
+    List<Set<ScanServerRefTabletFile>> writes = new ArrayList<>();
+    CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    CountDownLatch finishFirstWrite = new CountDownLatch(1);
+
+    ScanServerRefBatcher batcher = new ScanServerRefBatcher(refs -> {
+      synchronized (writes) {
+        writes.add(new HashSet<>(refs));
+      }
+      firstWriteStarted.countDown();
+      try {
+        finishFirstWrite.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    Thread first = new Thread(() -> batcher.put(List.of(ref(0))));
+    first.start();
+    firstWriteStarted.await();
+
+    // these arrive while the first write is running, so should all be written together
+    List<Thread> waiting = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      int refNum = i;
+      Thread thread = new Thread(() -> batcher.put(List.of(ref(refNum))));
+      thread.start();
+      waiting.add(thread);
+    }
+    waitUntilWaiting(waiting);
+    assertEquals(1, writes.size());
+
+    finishFirstWrite.countDown();
+    first.join();
+    for (Thread thread : waiting) {
+      thread.join();
+    }
+
+    assertEquals(List.of(Set.of(ref(0)), Set.of(ref(1), ref(2), ref(3), ref(4))), writes);
+  }
+
+  @Test
+  public void testFailure() throws Exception {
+    ScanServerRefBatcher batcher = new ScanServerRefBatcher(refs -> {
+      throw new IllegalStateException("write failed");
+    });
+    assertThrows(IllegalStateException.class, () -> batcher.put(List.of(ref(0))));
+
+    // a failed write should not prevent later writes
+    List<ScanServerRefTabletFile> written = new ArrayList<>();
+    ScanServerRefBatcher batcher2 = new ScanServerRefBatcher(written::addAll);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        int refNum = i;
+        futures.add(executor.submit(() -> batcher2.put(List.of(ref(refNum)))));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(100, new HashSet<>(written).size());
+  }
+}
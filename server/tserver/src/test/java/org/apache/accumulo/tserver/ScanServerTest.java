@@ -148,7 +148,7 @@ public class ScanServerTest {
     reservation.close();
     reservation.close();
     expect(handler.startScan(tinfo, tcreds, sextent, trange, tcols, 10, titer, ssio, auths, false,
-        false, 10, tsc, 30L, classLoaderContext, execHints, resolver, 0L))
+        false, 10, tsc, 30L, classLoaderContext, execHints, resolver, 0L, false, false))
         .andReturn(new InitialScan(15, null));
     expect(handler.continueScan(tinfo, 15, 0L)).andReturn(new ScanResult());
     handler.closeScan(tinfo, 15);
@@ -164,7 +164,7 @@ public class ScanServerTest {
 
     TKeyExtent textent = createMock(TKeyExtent.class);
     InitialScan is = ss.startScan(tinfo, tcreds, textent, trange, tcols, 10, titer, ssio, auths,
-        false, false, 10, tsc, 30L, classLoaderContext, execHints, 0L);
+        false, false, 10, tsc, 30L, classLoaderContext, execHints, 0L, false, false);
     assertEquals(15, is.getScanID());
     ss.continueScan(tinfo, is.getScanID(), 0L);
     ss.closeScan(tinfo, is.getScanID());
@@ -205,7 +205,7 @@ public class ScanServerTest {
 
     assertThrows(NotServingTabletException.class, () -> {
       ss.startScan(tinfo, tcreds, textent, trange, tcols, 10, titer, ssio, auths, false, false, 10,
-          tsc, 30L, classLoaderContext, execHints, 0L);
+          tsc, 30L, classLoaderContext, execHints, 0L, false, false);
     });
 
     verify(extent, reservation);
@@ -249,7 +249,8 @@ public class ScanServerTest {
     reservation.close();
     reservation.close();
     expect(handler.startMultiScan(tinfo, tcreds, tcols, titer, batch, ssio, auths, false, tsc, 30L,
-        classLoaderContext, execHints, resolver, 0L)).andReturn(new InitialMultiScan(15, null));
+        classLoaderContext, execHints, resolver, 0L, false))
+        .andReturn(new InitialMultiScan(15, null));
     expect(handler.continueMultiScan(tinfo, 15, 0L)).andReturn(new MultiScanResult());
     handler.closeMultiScan(tinfo, 15);
 
@@ -265,7 +266,7 @@ public class ScanServerTest {
     Map<TKeyExtent,List<TRange>> extents = new HashMap<>();
     extents.put(createMock(TKeyExtent.class), ranges);
     InitialMultiScan is = ss.startMultiScan(tinfo, tcreds, extents, tcols, titer, ssio, auths,
-        false, tsc, 30L, classLoaderContext, execHints, 0L);
+        false, tsc, 30L, classLoaderContext, execHints, 0L, false);
     assertEquals(15, is.getScanID());
     ss.continueMultiScan(tinfo, is.getScanID(), 0L);
     assertEquals(15, is.getScanID());
@@ -313,7 +314,7 @@ public class ScanServerTest {
     InitialMultiScan ims = new InitialMultiScan(15, null);
     ims.setResult(new MultiScanResult());
     expect(handler.startMultiScan(tinfo, tcreds, tcols, titer, batch, ssio, auths, false, tsc, 30L,
-        classLoaderContext, execHints, resolver, 0L)).andReturn(ims);
+        classLoaderContext, execHints, resolver, 0L, false)).andReturn(ims);
 
     replay(extent, reservation, handler);
 
@@ -327,7 +328,7 @@ public class ScanServerTest {
     Map<TKeyExtent,List<TRange>> extents = new HashMap<>();
     extents.put(textent, ranges);
     InitialMultiScan is = ss.startMultiScan(tinfo, tcreds, extents, tcols, titer, ssio, auths,
-        false, tsc, 30L, classLoaderContext, execHints, 0L);
+        false, tsc, 30L, classLoaderContext, execHints, 0L, false);
     assertEquals(15, is.getScanID());
     assertEquals(0, is.getResult().getFailuresSize());
 
@@ -370,7 +371,7 @@ public class ScanServerTest {
 
     assertThrows(TException.class, () -> {
       ss.startMultiScan(tinfo, tcreds, extents, tcols, titer, ssio, auths, false, tsc, 30L,
-          classLoaderContext, execHints, 0L);
+          classLoaderContext, execHints, 0L, false);
     });
     verify(handler);
   }
@@ -401,7 +402,7 @@ public class ScanServerTest {
     reservation.close();
     reservation.close();
     expect(handler.startScan(tinfo, tcreds, sextent, trange, tcols, 10, titer, ssio, auths, false,
-        false, 10, tsc, 30L, classLoaderContext, execHints, resolver, 0L))
+        false, 10, tsc, 30L, classLoaderContext, execHints, resolver, 0L, false, false))
         .andReturn(new InitialScan(15, null));
     expect(handler.continueScan(tinfo, 15, 0L)).andReturn(new ScanResult());
     handler.closeScan(tinfo, 15);
@@ -417,7 +418,7 @@ public class ScanServerTest {
 
     TKeyExtent textent = createMock(TKeyExtent.class);
     InitialScan is = ss.startScan(tinfo, tcreds, textent, trange, tcols, 10, titer, ssio, auths,
-        false, false, 10, tsc, 30L, classLoaderContext, execHints, 0L);
+        false, false, 10, tsc, 30L, classLoaderContext, execHints, 0L, false, false);
     assertEquals(15, is.getScanID());
     ss.continueScan(tinfo, is.getScanID(), 0L);
     ss.closeScan(tinfo, is.getScanID());
@@ -459,7 +460,7 @@ public class ScanServerTest {
     TKeyExtent textent = createMock(TKeyExtent.class);
     assertThrows(TException.class, () -> {
       ss.startScan(tinfo, tcreds, textent, trange, tcols, 10, titer, ssio, auths, false, false, 10,
-          tsc, 30L, classLoaderContext, execHints, 0L);
+          tsc, 30L, classLoaderContext, execHints, 0L, false, false);
     });
     verify(sextent, reservation, handler);
 
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.reset;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.StoredTabletFile;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata;
+import org.apache.accumulo.tserver.TabletServerResourceManager.TabletResourceManager;
+import org.apache.accumulo.tserver.tablet.SnapshotTablet;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class SnapshotTabletCacheTest {
+
+  private static final KeyExtent EXTENT = new KeyExtent(TableId.of("1"), new Text("m"), null);
+
+  private static StoredTabletFile file(String name) {
+    return StoredTabletFile.of(new Path("hdfs://nn1/accumulo/tables/1/t-0001/" + name));
+  }
+
+  private static TabletMetadata metadata(StoredTabletFile... files) {
+    var filesMap = new TreeMap<StoredTabletFile,DataFileValue>();
+    for (StoredTabletFile file : files) {
+      filesMap.put(file, new DataFileValue(100, 10));
+    }
+    TabletMetadata tm = createMock(TabletMetadata.class);
+    expect(tm.getExtent()).andReturn(EXTENT).anyTimes();
+    expect(tm.getFilesMap()).andReturn(filesMap).anyTimes();
+    replay(tm);
+    return tm;
+  }
+
+  @Test
+  public void testSharingAndRetiring() throws Exception {
+    List<SnapshotTablet> created = new ArrayList<>();
+    List<TabletResourceManager> resourcesUsed = new ArrayList<>();
+    List<TabletResourceManager> resourcesCreated = new ArrayList<>();
+    AtomicLong time = new AtomicLong(1000);
+
+    SnapshotTabletCache cache = new SnapshotTabletCache(extent -> {
+      var trm = createMock(TabletResourceManager.class);
+      resourcesCreated.add(trm);
+      return trm;
+    }, (tm, trm) -> {
+      SnapshotTablet tablet = createMock(SnapshotTablet.class);
+      created.add(tablet);
+      resourcesUsed.add(trm);
+      return tablet;
+    }, time::get);
+
+    // scans of the same files share a tablet
+    var tm1 = metadata(file("F1.rf"), file("F2.rf"));
+    SnapshotTablet t1 = cache.acquire(tm1);
+    assertSame(t1, cache.acquire(metadata(file("F1.rf"), file("F2.rf"))));
+    assertEquals(1, created.size());
+    replay(t1);
+
+    // new files create a new tablet that reuses the resource manager, the old tablet stays open
+    // until the scans using it finish
+    SnapshotTablet t2 = cache.acquire(metadata(file("F2.rf"), file("F3.rf")));
+    assertNotSame(t1, t2);
+    assertEquals(1, resourcesCreated.size());
+    assertSame(resourcesUsed.get(0), resourcesUsed.get(1));
+    assertTrue(cache.release(t1));
+    verify(t1);
+
+    reset(t1);
+    t1.close(false);
+    replay(t1);
+    assertTrue(cache.release(t1));
+    verify(t1);
+
+    // tablets that did not come from the cache are not released by it
+    assertFalse(cache.release(createMock(SnapshotTablet.class)));
+
+    // the current tablet is closed once idle for long enough
+    replay(t2);
+    assertTrue(cache.release(t2));
+    time.addAndGet(5000);
+    cache.removeIdle(10000);
+    assertEquals(1, cache.size());
+    verify(t2);
+
+    reset(t2);
+    expect(t2.getExtent()).andReturn(EXTENT).anyTimes();
+    t2.close(false);
+    replay(t2);
+    time.addAndGet(6000);
+    cache.removeIdle(10000);
+    assertEquals(0, cache.size());
+    verify(t2);
+  }
+
+  @Test
+  public void testRetireUnused() throws Exception {
+    List<SnapshotTablet> created = new ArrayList<>();
+    SnapshotTabletCache cache =
+        new SnapshotTabletCache(extent -> createMock(TabletResourceManager.class), (tm, trm) -> {
+          SnapshotTablet tablet = createMock(SnapshotTablet.class);
+          created.add(tablet);
+          return tablet;
+        });
+
+    SnapshotTablet t1 = cache.acquire(metadata(file("F1.rf")));
+    t1.close(false);
+    replay(t1);
+    assertTrue(cache.release(t1));
+
+    // the old tablet is not used by any scan, so it is closed when it is replaced
+    SnapshotTablet t2 = cache.acquire(metadata());
+    verify(t1);
+    assertEquals(2, created.size());
+    assertSame(created.get(1), t2);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.scan;
+
+import static org.apache.accumulo.tserver.scan.AdaptiveBatchSize.INITIAL_BYTES;
+import static org.apache.accumulo.tserver.scan.AdaptiveBatchSize.INITIAL_ENTRIES;
+import static org.apache.accumulo.tserver.scan.AdaptiveBatchSize.TARGET_BATCH_NANOS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveBatchSizeTest {
+
+  @Test
+  public void testGrowth() {
+    var batchSize = new AdaptiveBatchSize(1000, 1_000_000);
+    assertEquals(INITIAL_ENTRIES, batchSize.getMaxEntries());
+    assertEquals(INITIAL_BYTES, batchSize.getMaxBytes());
+
+    // batches that fill up quickly double the limits
+    batchSize.batchRead(true, 0, false);
+    assertEquals(2 * INITIAL_ENTRIES, batchSize.getMaxEntries());
+    assertEquals(2 * INITIAL_BYTES, batchSize.getMaxBytes());
+
+    // a batch that did not fill up, like the last batch of a tablet, does not change the limits
+    batchSize.batchRead(false, 0, false);
+    assertEquals(2 * INITIAL_ENTRIES, batchSize.getMaxEntries());
+
+    // the limits never exceed what the client and table allow
+    for (int i = 0; i < 20; i++) {
+      batchSize.batchRead(true, 0, false);
+    }
+    assertEquals(1000, batchSize.getMaxEntries());
+    assertEquals(1_000_000, batchSize.getMaxBytes());
+  }
+
+  @Test
+  public void testShrink() {
+    var batchSize = new AdaptiveBatchSize(1000, 1_000_000);
+    for (int i = 0; i < 20; i++) {
+      batchSize.batchRead(true, 0, false);
+    }
+
+    batchSize.batchRead(true, 0, true);
+    assertEquals(500, batchSize.getMaxEntries());
+    assertEquals(500_000, batchSize.getMaxBytes());
+
+    // a slow batch does not grow the limits, a very slow one shrinks them
+    batchSize.batchRead(true, 2 * TARGET_BATCH_NANOS, false);
+    assertEquals(500, batchSize.getMaxEntries());
+    batchSize.batchRead(true, 5 * TARGET_BATCH_NANOS, false);
+    assertEquals(250, batchSize.getMaxEntries());
+
+    // never below the initial limits
+    for (int i = 0; i < 20; i++) {
+      batchSize.batchRead(true, 0, true);
+    }
+    assertEquals(INITIAL_ENTRIES, batchSize.getMaxEntries());
+    assertEquals(INITIAL_BYTES, batchSize.getMaxBytes());
+  }
+
+  @Test
+  public void testSmallLimits() {
+    // a client batch size smaller than the initial size is used as is
+    var batchSize = new AdaptiveBatchSize(5, 1000);
+    assertEquals(5, batchSize.getMaxEntries());
+    assertEquals(1000, batchSize.getMaxBytes());
+    batchSize.batchRead(true, 0, false);
+    batchSize.batchRead(true, 0, true);
+    assertEquals(5, batchSize.getMaxEntries());
+    assertEquals(1000, batchSize.getMaxBytes());
+  }
+
+  @Test
+  public void testSlowClient() throws Exception {
+    var batchSize = new AdaptiveBatchSize(1000, 1_000_000);
+    batchSize.batchRequested();
+    batchSize.batchRead(true, 0, false);
+    batchSize.batchReturned();
+    assertEquals(2 * INITIAL_ENTRIES, batchSize.getMaxEntries());
+
+    // the client took longer than the target to ask for the next batch, so larger batches would
+    // not make the scan faster
+    Thread.sleep(2 * TARGET_BATCH_NANOS / 1_000_000);
+    batchSize.batchRequested();
+    batchSize.batchRead(true, 0, false);
+    assertEquals(2 * INITIAL_ENTRIES, batchSize.getMaxEntries());
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.scan;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.securityImpl.thrift.TCredentials;
+import org.apache.accumulo.tserver.TabletHostingServer;
+import org.apache.accumulo.tserver.session.ScanSession.TabletResolver;
+import org.apache.accumulo.tserver.session.SingleScanSession;
+import org.apache.accumulo.tserver.tablet.ScanBatch;
+import org.apache.accumulo.tserver.tablet.Scanner;
+import org.apache.accumulo.tserver.tablet.TabletBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NextBatchTaskTest {
+
+  private static final long SCAN_ID = 42;
+
+  private TabletHostingServer server;
+  private SingleScanSession session;
+  private Scanner scanner;
+
+  @BeforeEach
+  public void setup() {
+    TabletBase tablet = createMock(TabletBase.class);
+    TabletResolver resolver = new TabletResolver() {
+      @Override
+      public TabletBase getTablet(KeyExtent extent) {
+        return tablet;
+      }
+
+      @Override
+      public void close() {}
+    };
+    session = new SingleScanSession(
+        new TCredentials("user", "token", ByteBuffer.allocate(0), "instance"),
+        new KeyExtent(TableId.of("1"), null, null), null, 1, null, false, resolver);
+    scanner = createMock(Scanner.class);
+    session.scanner = scanner;
+
+    server = createMock(TabletHostingServer.class);
+    expect(server.getSession(SCAN_ID)).andReturn(session).anyTimes();
+    replay(server, tablet);
+  }
+
+  private static ScanBatch batch(boolean more) {
+    return new ScanBatch(List.of(), more);
+  }
+
+  private NextBatchTask task(int maxBatches) {
+    return new NextBatchTask(server, SCAN_ID, new AtomicBoolean(false), maxBatches);
+  }
+
+  private static ScanBatch get(NextBatchTask task) throws Exception {
+    return task.get(0, 1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testReadAheadBuffer() throws Exception {
+    ScanBatch b1 = batch(true);
+    ScanBatch b2 = batch(true);
+    ScanBatch b3 = batch(true);
+    expect(scanner.read()).andReturn(b1).andReturn(b2).andReturn(b3);
+    replay(scanner);
+
+    NextBatchTask task = task(3);
+    task.run();
+    assertSame(b1, get(task));
+    assertEquals(List.of(b2, b3), task.getReadAheadBatches());
+    assertNull(task.getReadAheadFailure());
+
+    session.addReadAheadBatches(task.getReadAheadBatches(), task.getReadAheadFailure());
+    // nothing more is read ahead until all buffered batches were returned
+    assertFalse(session.shouldReadAhead(b1));
+    assertSame(b2, session.pollReadAheadBatch());
+    assertFalse(session.shouldReadAhead(b2));
+    assertSame(b3, session.pollReadAheadBatch());
+    assertTrue(session.shouldReadAhead(b3));
+    assertNull(session.pollReadAheadBatch());
+    verify(scanner);
+  }
+
+  @Test
+  public void testReadAheadStops() throws Exception {
+    ScanBatch b1 = batch(true);
+    ScanBatch last = batch(false);
+    expect(scanner.read()).andReturn(b1).andReturn(last);
+    replay(scanner);
+
+    // reading ahead stops at the last batch of the scan
+    NextBatchTask task = task(5);
+    task.run();
+    assertSame(b1, get(task));
+    assertEquals(List.of(last), task.getReadAheadBatches());
+    session.addReadAheadBatches(task.getReadAheadBatches(), null);
+    assertSame(last, session.pollReadAheadBatch());
+    assertFalse(session.shouldReadAhead(last));
+    verify(scanner);
+  }
+
+  @Test
+  public void testResultRequested() throws Exception {
+    ScanBatch b1 = batch(true);
+    expect(scanner.read()).andReturn(b1);
+    replay(scanner);
+
+    // a client waiting on the task stops it from reading ahead
+    NextBatchTask task = task(5);
+    task.resultRequested();
+    task.run();
+    assertSame(b1, get(task));
+    assertEquals(List.of(), task.getReadAheadBatches());
+    verify(scanner);
+  }
+
+  @Test
+  public void testCancelled() throws Exception {
+    AtomicReference<NextBatchTask> task = new AtomicReference<>();
+    expect(scanner.read()).andReturn(batch(true)).andAnswer(() -> {
+      task.get().cancel(true);
+      return batch(true);
+    });
+    replay(scanner);
+
+    // canceling the task while it reads ahead stops it from reading more batches
+    task.set(task(5));
+    task.get().run();
+    assertThrows(CancellationException.class, () -> get(task.get()));
+    verify(scanner);
+  }
+
+  @Test
+  public void testReadAheadFailure() throws Exception {
+    ScanBatch b1 = batch(true);
+    ScanBatch b2 = batch(true);
+    IOException failure = new IOException("failed to read file");
+    expect(scanner.read()).andReturn(b1).andReturn(b2).andThrow(failure);
+    replay(scanner);
+
+    // the batches read before the failure are returned
+    NextBatchTask task = task(5);
+    task.run();
+    assertSame(b1, get(task));
+    assertEquals(List.of(b2), task.getReadAheadBatches());
+    assertSame(failure, task.getReadAheadFailure());
+
+    session.addReadAheadBatches(task.getReadAheadBatches(), task.getReadAheadFailure());
+    assertSame(b2, session.pollReadAheadBatch());
+    assertTrue(session.shouldReadAhead(b2));
+
+    // the next task reports the failure without reading from the scanner
+    NextBatchTask next = task(5);
+    next.run();
+    var e = assertThrows(ExecutionException.class, () -> get(next));
+    assertSame(failure, e.getCause());
+    assertNull(session.takeReadAheadFailure());
+    verify(scanner);
+  }
+}
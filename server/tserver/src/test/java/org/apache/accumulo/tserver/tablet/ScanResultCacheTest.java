@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.tablet;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.server.conf.TableConfiguration;
+import org.apache.accumulo.tserver.scan.ScanParameters;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+public class ScanResultCacheTest {
+
+  private static final KeyExtent EXTENT = new KeyExtent(TableId.of("1"), new Text("m"), null);
+
+  private static ScanParameters params(String... auths) {
+    return new ScanParameters(1000, new Authorizations(auths), Set.of(), List.of(), Map.of(),
+        false, null, Long.MAX_VALUE, null);
+  }
+
+  private static List<KVEntry> entries(String... rows) {
+    return Stream.of(rows).map(r -> new KVEntry(new Key(r), new Value("v")))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testCache() {
+    AtomicLong configVersion = new AtomicLong(1);
+    TableConfiguration tableConf = createMock(TableConfiguration.class);
+    expect(tableConf.getUpdateCount()).andAnswer(configVersion::get).anyTimes();
+    TabletBase tablet = createMock(SnapshotTablet.class);
+    expect(tablet.getExtent()).andReturn(EXTENT).anyTimes();
+    expect(tablet.getTableConfiguration()).andReturn(tableConf).anyTimes();
+    replay(tableConf, tablet);
+
+    ScanResultCache cache = new ScanResultCache(Caffeine.newBuilder(), 1_000_000);
+    Range range = new Range("a", "c");
+    List<KVEntry> results = entries("a", "b", "c");
+    cache.put(tablet, 5, range, params("A"), new Batch(false, results, null, 30));
+
+    Batch cached = cache.get(tablet, 5, range, params("A"));
+    assertNotNull(cached);
+    assertEquals(results, cached.getResults());
+    assertEquals(30, cached.getNumBytes());
+    assertNull(cached.getContinueKey());
+
+    // anything that could change the results is part of the key
+    assertNull(cache.get(tablet, 6, range, params("A")));
+    assertNull(cache.get(tablet, 5, new Range("a", "d"), params("A")));
+    assertNull(cache.get(tablet, 5, range, params("B")));
+    configVersion.incrementAndGet();
+    assertNull(cache.get(tablet, 5, range, params("A")));
+
+    // results that did not complete the scan are not cached
+    cache.put(tablet, 7, range, params("A"), new Batch(true, entries("a"), new Key("a"), 10));
+    assertNull(cache.get(tablet, 7, range, params("A")));
+
+    // a scan that found nothing is cached
+    cache.put(tablet, 8, range, params("A"), new Batch(false, null, null, 0));
+    cached = cache.get(tablet, 8, range, params("A"));
+    assertNotNull(cached);
+    assertNull(cached.getResults());
+  }
+}
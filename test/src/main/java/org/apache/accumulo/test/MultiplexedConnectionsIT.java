@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.accumulo.core.client.Accumulo;
+import org.apache.accumulo.core.client.AccumuloClient;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.admin.NewTableConfiguration;
+import org.apache.accumulo.core.conf.ClientProperty;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.harness.SharedMiniClusterBase;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MultiplexedConnectionsIT extends SharedMiniClusterBase {
+
+  private static final int ROWS = 100_000;
+
+  @Override
+  protected Duration defaultTimeout() {
+    return Duration.ofMinutes(3);
+  }
+
+  @BeforeAll
+  public static void setup() throws Exception {
+    SharedMiniClusterBase.startMiniCluster();
+  }
+
+  @AfterAll
+  public static void teardown() {
+    SharedMiniClusterBase.stopMiniCluster();
+  }
+
+  private static String row(int i) {
+    return String.format("row_%08d", i);
+  }
+
+  @Test
+  public void testBatchWriter() throws Exception {
+    Properties props = getClientProps();
+    props.setProperty(ClientProperty.RPC_MULTIPLEXED_CONNECTIONS.getKey(), "2");
+    String table = getUniqueNames(1)[0];
+    try (AccumuloClient client = Accumulo.newClient().from(props).build()) {
+      SortedSet<Text> splits = new TreeSet<>();
+      for (int i = 1; i < 10; i++) {
+        splits.add(new Text(row(i * ROWS / 10)));
+      }
+      client.tableOperations().create(table, new NewTableConfiguration().withSplits(splits));
+
+      // a small buffer and several threads send many one way applyUpdates per update session,
+      // which the servers must run in order for every mutation to be written
+      BatchWriterConfig config = new BatchWriterConfig().setMaxMemory(50_000).setMaxWriteThreads(4);
+      try (BatchWriter writer = client.createBatchWriter(table, config)) {
+        for (int i = 0; i < ROWS; i++) {
+          Mutation m = new Mutation(row(i));
+          m.put("f", "q", Integer.toString(i));
+          writer.addMutation(m);
+        }
+      }
+
+      try (Scanner scanner = client.createScanner(table, Authorizations.EMPTY)) {
+        int i = 0;
+        for (Entry<Key,Value> entry : scanner) {
+          assertEquals(row(i), entry.getKey().getRow().toString());
+          assertEquals(Integer.toString(i), entry.getValue().toString());
+          i++;
+        }
+        assertEquals(ROWS, i);
+      }
+    }
+  }
+}
@@ -21,16 +21,37 @@ package org.apache.accumulo.test.ample;
 import static org.apache.accumulo.test.ample.metadata.TestAmple.testAmpleServerContext;
 
 import org.apache.accumulo.manager.Manager;
+import org.apache.accumulo.manager.split.Splitter;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.test.ample.metadata.TestAmple.TestServerAmpleImpl;
 import org.easymock.EasyMock;
 
 public class TestAmpleUtil {
 
+  private static Splitter splitter;
+  private static ServerContext splitterContext;
+
+  /**
+   * The splitter only reads files and table configuration, it does not use Ample. So instead of
+   * creating thread pools for every mocked manager that are never stopped, a single splitter is
+   * created for the underlying context when first needed and shared.
+   */
+  private static synchronized Splitter getSplitter(ServerContext context) {
+    if (splitter == null || splitterContext != context) {
+      if (splitter != null) {
+        splitter.stop();
+      }
+      splitter = new Splitter(context);
+      splitterContext = context;
+    }
+    return splitter;
+  }
+
   public static Manager mockWithAmple(ServerContext context, TestServerAmpleImpl ample) {
+    ServerContext testContext = testAmpleServerContext(context, ample);
     Manager manager = EasyMock.mock(Manager.class);
-    EasyMock.expect(manager.getContext()).andReturn(testAmpleServerContext(context, ample))
-        .atLeastOnce();
+    EasyMock.expect(manager.getContext()).andReturn(testContext).atLeastOnce();
+    EasyMock.expect(manager.getSplitter()).andAnswer(() -> getSplitter(context)).anyTimes();
     EasyMock.replay(manager);
     return manager;
   }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.test.performance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.classloader.ClassLoaderUtil;
+import org.apache.accumulo.core.cli.Help;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.user.AgeOffFilter;
+import org.apache.accumulo.core.iterators.user.RegExFilter;
+import org.apache.accumulo.core.iterators.user.VersioningIterator;
+import org.apache.accumulo.core.iteratorsImpl.IteratorBuilder;
+import org.apache.accumulo.core.iteratorsImpl.IteratorConfigUtil;
+import org.apache.accumulo.core.iteratorsImpl.system.SortedMapIterator;
+
+import com.beust.jcommander.Parameter;
+
+/**
+ * Measures the time to build an iterator stack and use it for a single row lookup, which is the
+ * work a tablet server does for every small scan. The stack is built with
+ * {@link IteratorConfigUtil#loadIterators(SortedKeyValueIterator, IteratorBuilder)}, which reuses
+ * loaded iterator classes and their constructors, and with the previous approach of loading each
+ * class through its class loader and constructing each iterator by reflection. Both use the same
+ * class loader and iterators, so the difference is the cost of creating the iterators.
+ */
+public class IteratorStackBenchmark {
+
+  static class Opts extends Help {
+    @Parameter(names = "--stacks", description = "number of iterator stacks to build")
+    int stacks = 1_000_000;
+    @Parameter(names = "--depth",
+        description = "number of times the versioning, age off and regex iterators are stacked")
+    int depth = 2;
+  }
+
+  private static final IteratorEnvironment ENV = new IteratorEnvironment() {};
+
+  public static void main(String[] args) throws Exception {
+    Opts opts = new Opts();
+    opts.parseArgs(IteratorStackBenchmark.class.getName(), args);
+
+    List<IterInfo> iters = new ArrayList<>();
+    Map<String,Map<String,String>> iterOpts = new HashMap<>();
+    int priority = 20;
+    for (int i = 0; i < opts.depth; i++) {
+      iters.add(new IterInfo(priority++, VersioningIterator.class.getName(), "vers" + i));
+      iters.add(new IterInfo(priority++, AgeOffFilter.class.getName(), "ageoff" + i));
+      iterOpts.put("ageoff" + i, Map.of("ttl", Long.toString(Long.MAX_VALUE / 2)));
+      iters.add(new IterInfo(priority++, RegExFilter.class.getName(), "regex" + i));
+      iterOpts.put("regex" + i, Map.of(RegExFilter.ROW_REGEX, "row.*"));
+    }
+
+    TreeMap<Key,Value> data = new TreeMap<>();
+    for (int r = 0; r < 100; r++) {
+      for (int ts = 0; ts < 3; ts++) {
+        data.put(new Key(String.format("row%03d", r), "f", "q", System.currentTimeMillis() - ts),
+            new Value("v" + ts));
+      }
+    }
+
+    // run each mode twice so the second run of each is measured with a warmed up jvm
+    for (int i = 0; i < 2; i++) {
+      run(opts, false, iters, iterOpts, data);
+      run(opts, true, iters, iterOpts, data);
+    }
+  }
+
+  private static void run(Opts opts, boolean cached, List<IterInfo> iters,
+      Map<String,Map<String,String>> iterOpts, TreeMap<Key,Value> data) throws Exception {
+    IteratorBuilder builder =
+        IteratorBuilder.builder(iters).opts(iterOpts).env(ENV).useClassLoader(null).build();
+
+    long found = 0;
+    long start = System.nanoTime();
+    for (int s = 0; s < opts.stacks; s++) {
+      SortedKeyValueIterator<Key,Value> source = new SortedMapIterator(data);
+      SortedKeyValueIterator<Key,Value> stack;
+      if (cached) {
+        stack = IteratorConfigUtil.loadIterators(source, builder);
+      } else {
+        stack = loadReflectively(source, iters, iterOpts);
+      }
+      stack.seek(Range.exact(String.format("row%03d", s % 100)), Set.of(), false);
+      if (stack.hasTop()) {
+        found++;
+      }
+    }
+    long nanos = System.nanoTime() - start;
+
+    System.out.printf("cached: %5s  stacks: %,d  iterators: %d  time: %,d ms  stacks/sec: %,.0f"
+        + "  (found %,d)%n", cached, opts.stacks, iters.size(), nanos / 1_000_000,
+        opts.stacks / (nanos / 1_000_000_000.0), found);
+  }
+
+  private static SortedKeyValueIterator<Key,Value> loadReflectively(
+      SortedKeyValueIterator<Key,Value> source, List<IterInfo> iters,
+      Map<String,Map<String,String>> iterOpts) throws Exception {
+    SortedKeyValueIterator<Key,Value> prev = source;
+    for (IterInfo iterInfo : iters) {
+      @SuppressWarnings("unchecked")
+      var clazz = (Class<SortedKeyValueIterator<Key,Value>>) ClassLoaderUtil.loadClass(null,
+          iterInfo.className, SortedKeyValueIterator.class);
+      SortedKeyValueIterator<Key,Value> skvi = clazz.getDeclaredConstructor().newInstance();
+      Map<String,String> options = iterOpts.getOrDefault(iterInfo.iterName, Map.of());
+      skvi.init(prev, options, ENV);
+      prev = skvi;
+    }
+    return prev;
+  }
+}
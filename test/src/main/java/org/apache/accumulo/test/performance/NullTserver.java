@@ -146,7 +146,7 @@ public class NullTserver {
         Map<TKeyExtent,List<TRange>> batch, List<TColumn> columns, List<IterInfo> ssiList,
         Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
         TSamplerConfiguration tsc, long batchTimeOut, String context,
-        Map<String,String> executionHints, long busyTimeout) {
+        Map<String,String> executionHints, long busyTimeout, boolean encodeResults) {
       return null;
     }
 
@@ -155,7 +155,8 @@ public class NullTserver {
         TRange range, List<TColumn> columns, int batchSize, List<IterInfo> ssiList,
         Map<String,Map<String,String>> ssio, List<ByteBuffer> authorizations, boolean waitForWrites,
         boolean isolated, long readaheadThreshold, TSamplerConfiguration tsc, long batchTimeOut,
-        String classLoaderContext, Map<String,String> executionHints, long busyTimeout) {
+        String classLoaderContext, Map<String,String> executionHints, long busyTimeout,
+        boolean encodeResults, boolean adaptiveBatchSize) {
       return null;
     }
 
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.test.performance;
+
+import static org.apache.accumulo.core.util.LazySingletons.RANDOM;
+
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.cli.ClientOpts;
+import org.apache.accumulo.core.client.Accumulo;
+import org.apache.accumulo.core.client.AccumuloClient;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.admin.NewTableConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.hadoop.io.Text;
+
+import com.beust.jcommander.Parameter;
+
+/**
+ * Creates a split storm and measures how long it takes the manager to work through it. A table is
+ * pre-split and ingested into with a split threshold high enough that nothing splits. The threshold
+ * is then lowered so that every tablet in the table needs to split at the same time, which is what
+ * happens after a sudden burst of ingest. The benchmark waits until the number of tablets stops
+ * changing and reports the time taken and the rate at which tablets were split.
+ */
+public class SplitStormBenchmark {
+
+  static class Opts extends ClientOpts {
+    @Parameter(names = "--table", description = "table to create")
+    String table = "split_storm";
+    @Parameter(names = "--tablets", description = "number of tablets to create before ingest")
+    int tablets = 1000;
+    @Parameter(names = "--entries", description = "number of entries to ingest")
+    long entries = 10_000_000;
+    @Parameter(names = "--valueSize", description = "size of each value")
+    int valueSize = 100;
+    @Parameter(names = "--threshold",
+        description = "split threshold to set after ingest, which starts the split storm")
+    String threshold = "1M";
+    @Parameter(names = "--stableSeconds",
+        description = "seconds the tablet count must not change for the storm to be over")
+    int stableSeconds = 30;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Opts opts = new Opts();
+    opts.parseArgs(SplitStormBenchmark.class.getName(), args);
+
+    try (AccumuloClient client = Accumulo.newClient().from(opts.getClientProps()).build()) {
+      SortedSet<Text> splits = new TreeSet<>();
+      for (int i = 1; i < opts.tablets; i++) {
+        splits.add(new Text(row((long) i * Long.MAX_VALUE / opts.tablets)));
+      }
+
+      client.tableOperations().create(opts.table,
+          new NewTableConfiguration().withSplits(splits)
+              .setProperties(Map.of(Property.TABLE_SPLIT_THRESHOLD.getKey(), "1T")));
+
+      long start = System.nanoTime();
+      byte[] value = new byte[opts.valueSize];
+      try (BatchWriter writer = client.createBatchWriter(opts.table)) {
+        for (long i = 0; i < opts.entries; i++) {
+          RANDOM.get().nextBytes(value);
+          Mutation m = new Mutation(row(RANDOM.get().nextLong() & Long.MAX_VALUE));
+          m.put("cf", "cq", value);
+          writer.addMutation(m);
+        }
+      }
+      client.tableOperations().flush(opts.table, null, null, true);
+      System.out.printf("Ingested %,d entries into %,d tablets in %,d ms%n", opts.entries,
+          opts.tablets, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+      int before = client.tableOperations().listSplits(opts.table).size() + 1;
+      start = System.nanoTime();
+      client.tableOperations().setProperty(opts.table, Property.TABLE_SPLIT_THRESHOLD.getKey(),
+          opts.threshold);
+
+      int current = before;
+      long lastChange = System.nanoTime();
+      while (System.nanoTime() - lastChange < TimeUnit.SECONDS.toNanos(opts.stableSeconds)) {
+        Thread.sleep(1000);
+        int count = client.tableOperations().listSplits(opts.table).size() + 1;
+        if (count != current) {
+          System.out.printf("  %,d tablets after %,d ms%n", count,
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+          current = count;
+          lastChange = System.nanoTime();
+        }
+      }
+
+      long stormMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(lastChange - start));
+      System.out.printf(
+          "Split storm went from %,d to %,d tablets in %,d ms (%,.1f new tablets/sec)%n", before,
+          current, stormMillis, (current - before) / (stormMillis / 1000.0));
+    }
+  }
+
+  private static String row(long value) {
+    return String.format("%019d", value);
+  }
+}
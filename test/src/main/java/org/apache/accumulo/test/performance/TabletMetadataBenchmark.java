@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.test.performance;
+
+import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.DIRECTORY_COLUMN;
+import static org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily.TIME_COLUMN;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.cli.Help;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.StoredTabletFile;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.DataFileColumnFamily;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.TabletColumnFamily;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+
+import com.beust.jcommander.Parameter;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Measures the time to convert the metadata rows of a large number of tablets into
+ * {@link TabletMetadata} objects and the heap retained by those objects, with and without the
+ * compact representation enabled by
+ * {@link org.apache.accumulo.core.metadata.schema.TabletsMetadata.Options#compact()}. The metadata
+ * rows are generated in memory, so this measures the client side cost of a metadata scan without
+ * needing a running instance. Files are shared by consecutive tablets to mimic a table that was
+ * split many times.
+ */
+public class TabletMetadataBenchmark {
+
+  static class Opts extends Help {
+    @Parameter(names = "--tablets", description = "number of tablets to convert")
+    int tablets = 1_000_000;
+    @Parameter(names = "--files", description = "number of files per tablet")
+    int filesPerTablet = 5;
+    @Parameter(names = "--sharing",
+        description = "number of consecutive tablets that share the same files")
+    int sharing = 8;
+  }
+
+  public static void main(String[] args) {
+    Opts opts = new Opts();
+    opts.parseArgs(TabletMetadataBenchmark.class.getName(), args);
+
+    // run each mode twice so the second run of each is measured with a warmed up jvm
+    for (int i = 0; i < 2; i++) {
+      run(opts, false);
+      run(opts, true);
+    }
+  }
+
+  private static void run(Opts opts, boolean compact) {
+    EnumSet<ColumnType> columns =
+        EnumSet.of(ColumnType.PREV_ROW, ColumnType.FILES, ColumnType.DIR, ColumnType.TIME);
+    TableId tableId = TableId.of("1");
+
+    long heapBefore = usedHeap();
+
+    List<TabletMetadata> tablets = new ArrayList<>(opts.tablets);
+    long convertNanos = 0;
+    Text prevEndRow = null;
+    for (int t = 0; t < opts.tablets; t++) {
+      Text endRow = t == opts.tablets - 1 ? null : new Text(String.format("%010d", t));
+      SortedMap<Key,Value> row = createRow(new KeyExtent(tableId, endRow, prevEndRow), t, opts);
+      prevEndRow = endRow;
+
+      long start = System.nanoTime();
+      tablets.add(TabletMetadata.convertRow(row.entrySet().iterator(), columns, false, false,
+          compact));
+      convertNanos += System.nanoTime() - start;
+    }
+
+    long heapAfter = usedHeap();
+
+    long totalSize = 0;
+    for (TabletMetadata tm : tablets) {
+      totalSize += tm.getFileSize();
+    }
+
+    System.out.printf(
+        "compact: %5s  tablets: %,d  convert time: %,d ms  tablets/sec: %,.0f"
+            + "  retained heap: %,d MB  (total file size %,d)%n",
+        compact, tablets.size(), convertNanos / 1_000_000,
+        tablets.size() / (convertNanos / 1_000_000_000.0), (heapAfter - heapBefore) >> 20,
+        totalSize);
+  }
+
+  private static SortedMap<Key,Value> createRow(KeyExtent extent, int tablet, Opts opts) {
+    Mutation mutation = TabletColumnFamily.createPrevRowMutation(extent);
+    DIRECTORY_COLUMN.put(mutation, new Value("t-" + tablet));
+    TIME_COLUMN.put(mutation, new Value("M0"));
+
+    int fileGroup = tablet / opts.sharing;
+    for (int f = 0; f < opts.filesPerTablet; f++) {
+      var file = StoredTabletFile.of(new Path(
+          "hdfs://nn1/accumulo/tables/1/t-" + fileGroup + "/F" + fileGroup + "_" + f + ".rf"));
+      mutation.at().family(DataFileColumnFamily.NAME).qualifier(file.getMetadata())
+          .put(new DataFileValue(1000L * (f + 1), 10L * (f + 1)).encode());
+    }
+
+    SortedMap<Key,Value> row = new TreeMap<>();
+    mutation.getUpdates().forEach(cu -> row.put(new Key(mutation.getRow(), cu.getColumnFamily(),
+        cu.getColumnQualifier(), cu.getTimestamp()), new Value(cu.getValue())));
+    return row;
+  }
+
+  @SuppressFBWarnings(value = "DM_GC", justification = "gc is okay for measuring retained heap")
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}